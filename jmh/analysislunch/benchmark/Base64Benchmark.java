@@ -0,0 +1,54 @@
+package analysislunch.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 이미지 Base64 인코딩/디코딩 벤치마크.
+ *
+ * <p>{@code GeminiClient.encodeImageToBase64}와 {@code GitHubClient.encodeFileToBase64}는
+ * 파일 전체를 읽어 한 번에 인코딩하고, {@code GeminiClient}는 생성된 이미지를 한 번에
+ * 디코딩합니다. 두 클라이언트의 private 메서드와 같은 방식으로 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Base64Benchmark {
+
+    private File sourceImage;
+    private String encodedImage;
+
+    @Setup
+    public void setUp() throws IOException {
+        sourceImage = Fixtures.largestImage();
+        encodedImage = Base64.getEncoder().encodeToString(Files.readAllBytes(sourceImage.toPath()));
+    }
+
+    @Benchmark
+    public String encodeFile() throws IOException {
+        byte[] bytes = Files.readAllBytes(sourceImage.toPath());
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    @Benchmark
+    public byte[] decodeGeneratedImage() {
+        return Base64.getDecoder().decode(encodedImage);
+    }
+}
@@ -0,0 +1,58 @@
+package analysislunch.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import analysislunch.infrastructure.crawler.HtmlImageScanner;
+
+/**
+ * 블로그 페이지에서 첫 이미지 URL을 찾는 비용 벤치마크.
+ *
+ * <p>예전 방식(페이지 전체 문자열에 지연 정규식)과 {@link HtmlImageScanner}의 스트림 스캔을
+ * 같은 약 300KB 페이지로 비교합니다. 네트워크 수신량 차이는 포함하지 않습니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlogScanBenchmark {
+
+    private static final Pattern IMAGE_URL_PATTERN = Pattern.compile(
+        "class=\"se-module se-module-image\"[^>]*>[\\s\\S]*?<img[^>]+(?:data-lazy-src|src)=\"([^\"]+)\"",
+        Pattern.CASE_INSENSITIVE
+    );
+
+    private String page;
+
+    @Setup
+    public void setUp() {
+        page = Fixtures.blogPage(300_000);
+    }
+
+    @Benchmark
+    public String regexOnString() {
+        Matcher matcher = IMAGE_URL_PATTERN.matcher(page);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    @Benchmark
+    public String scanFirst() throws IOException {
+        return HtmlImageScanner.findFirst(new StringReader(page));
+    }
+}
@@ -0,0 +1,88 @@
+package analysislunch.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import analysislunch.domain.model.MenuHistoryEntry;
+import analysislunch.infrastructure.history.DishSearchIndex;
+import analysislunch.infrastructure.history.MenuHistoryStore;
+
+/**
+ * 메뉴 이름 검색 비용 벤치마크.
+ *
+ * <p>10년치(약 3,650건) 메뉴 기록에서 "볶음"이 들어간 메뉴별 제공일을 찾을 때,
+ * 모든 기록의 메뉴 문자열을 나눠 훑는 방식과 {@link DishSearchIndex}의 역색인 질의를 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DishSearchBenchmark {
+
+    private static final String[] DISHES = {
+        "제육볶음", "김치찌개", "돼지고기 김치볶음", "된장국", "잡곡밥", "계란말이", "미역국", "돈까스", "오징어볶음", "요구르트"
+    };
+    private static final int DAYS = 3_650;
+    private static final int DISHES_PER_MEAL = 6;
+    private static final String QUERY = "볶음";
+
+    private final LocalDate today = LocalDate.of(2026, 1, 1);
+    private List<MenuHistoryEntry> entries;
+    private DishSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        entries = new ArrayList<>();
+        index = new DishSearchIndex();
+        LocalDate day = today.minusDays(DAYS);
+        for (int i = 0; i < DAYS; i++, day = day.plusDays(1)) {
+            List<String> menu = new ArrayList<>();
+            for (int d = 0; d < DISHES_PER_MEAL; d++) {
+                // 실제 메뉴처럼 같은 요리도 표기가 조금씩 달라 메뉴 종류가 수천 개가 되도록 합니다.
+                String dish = DISHES[random.nextInt(DISHES.length)];
+                menu.add(random.nextInt(4) == 0 ? dish + " " + random.nextInt(500) : dish);
+            }
+            MenuHistoryEntry entry = new MenuHistoryEntry(day.toString(), String.join(", ", menu), "", "",
+                List.of(), 0L);
+            entries.add(entry);
+            index.add(entry);
+        }
+    }
+
+    @Benchmark
+    public Map<String, String> scanHistory() {
+        Map<String, String> lastServed = new HashMap<>();
+        for (MenuHistoryEntry entry : entries) {
+            for (String dish : MenuHistoryStore.dishesOf(entry.menu())) {
+                if (dish.contains(QUERY)) {
+                    lastServed.put(dish, entry.date());
+                }
+            }
+        }
+        return lastServed;
+    }
+
+    @Benchmark
+    public List<DishSearchIndex.DishHit> indexSearch() {
+        return index.search(QUERY, today, 10);
+    }
+}
@@ -0,0 +1,126 @@
+package analysislunch.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * 벤치마크 공통 픽스처.
+ *
+ * <p>이미지는 저장소의 {@code images/} 디렉터리에 실제로 쌓인 메뉴/음식 이미지 중 가장 큰
+ * PNG를 사용합니다. Gemini 응답은 그 이미지를 Base64로 담아 실제 응답과 같은 구조로 만듭니다.
+ */
+final class Fixtures {
+
+    /** Gemini 칼로리 분석 응답과 같은 형식의 마크다운 표. */
+    static final String CALORIE_TABLE = """
+        | 메뉴명 | 예상 칼로리 |
+        |---|---|
+        | 흑미밥 | 310kcal |
+        | 김치찌개 | 250kcal |
+        | 제육볶음 | 420kcal |
+        | 계란말이 | 150kcal |
+        | 콩나물무침 | 45kcal |
+        | 배추김치 | 20kcal |
+        | 요구르트 | 80kcal |
+
+        **총 예상 칼로리: 1275kcal**
+        """;
+
+    private static final String IMAGES_DIR = "images";
+    private static final String PNG_EXTENSION = ".png";
+    private static final Gson GSON = new Gson();
+
+    private Fixtures() {
+        // 유틸리티 클래스 - 인스턴스화 금지
+    }
+
+    /**
+     * {@code images/}에서 가장 큰 PNG 파일을 반환합니다.
+     *
+     * @return 픽스처 이미지 파일
+     * @throws IOException 디렉터리가 없거나 PNG 파일이 없을 때
+     */
+    static File largestImage() throws IOException {
+        File[] pngs = new File(IMAGES_DIR).listFiles((dir, name) -> name.endsWith(PNG_EXTENSION));
+        if (pngs == null || pngs.length == 0) {
+            throw new IOException("픽스처 이미지를 찾을 수 없습니다: " + new File(IMAGES_DIR).getAbsolutePath()
+                + " (프로젝트 루트에서 실행하세요)");
+        }
+        return Arrays.stream(pngs).max(Comparator.comparingLong(File::length)).orElseThrow();
+    }
+
+    /**
+     * 이미지 생성 요청에 대한 Gemini {@code generateContent} 응답을 만듭니다.
+     *
+     * <p>실제 응답처럼 짧은 텍스트 파트 뒤에 {@code inlineData} 파트가 오고,
+     * 그 뒤에 {@code usageMetadata}가 이어집니다.
+     *
+     * @param imageBytes 응답에 담을 이미지 바이트
+     * @return 응답 JSON 문자열 (이미지 크기의 약 4/3배)
+     */
+    static String geminiImageResponse(byte[] imageBytes) {
+        JsonObject textPart = new JsonObject();
+        textPart.addProperty("text", "요청하신 오늘의 점심 메뉴 이미지입니다.");
+
+        JsonObject inlineData = new JsonObject();
+        inlineData.addProperty("mimeType", "image/png");
+        inlineData.addProperty("data", Base64.getEncoder().encodeToString(imageBytes));
+        JsonObject imagePart = new JsonObject();
+        imagePart.add("inlineData", inlineData);
+
+        JsonArray parts = new JsonArray();
+        parts.add(textPart);
+        parts.add(imagePart);
+        JsonObject content = new JsonObject();
+        content.add("parts", parts);
+        content.addProperty("role", "model");
+
+        JsonObject candidate = new JsonObject();
+        candidate.add("content", content);
+        candidate.addProperty("finishReason", "STOP");
+        candidate.addProperty("index", 0);
+        JsonArray candidates = new JsonArray();
+        candidates.add(candidate);
+
+        JsonObject usage = new JsonObject();
+        usage.addProperty("promptTokenCount", 412);
+        usage.addProperty("candidatesTokenCount", 1290);
+        usage.addProperty("totalTokenCount", 1702);
+
+        JsonObject response = new JsonObject();
+        response.add("candidates", candidates);
+        response.add("usageMetadata", usage);
+        response.addProperty("modelVersion", "gemini-3.1-flash-image-preview");
+        return GSON.toJson(response);
+    }
+
+    /**
+     * 네이버 모바일 글과 비슷한 모양의 HTML 페이지를 만듭니다.
+     *
+     * <p>앞쪽에 스크립트와 첫 이미지 모듈이 있고, 그 뒤로 {@code length}자까지 문단 마크업이 이어집니다.
+     *
+     * @param length 대략적인 페이지 길이(문자)
+     * @return HTML 문자열
+     */
+    static String blogPage(int length) {
+        StringBuilder html = new StringBuilder(length + 1024);
+        html.append("<!DOCTYPE html><html lang=\"ko\"><head><meta charset=\"UTF-8\"><title>오늘의 점심</title>")
+            .append("<script>var tpl = '<img src=\"/decoy.png\">';</script></head><body>")
+            .append("<div class=\"se-component se-image\"><div class=\"se-module se-module-image\" data-a=\"1\">")
+            .append("<a href=\"#\"><img src=\"https://postfiles.pstatic.net/blur.png?type=w80_blur\" ")
+            .append("data-lazy-src=\"https://postfiles.pstatic.net/menu.png?type=w773\" alt=\"menu\"></a></div></div>");
+        int paragraph = 0;
+        while (html.length() < length) {
+            html.append("<div class=\"se-component se-text\"><p class=\"se-text-paragraph\">")
+                .append("<span>오늘도 맛있게 드세요. 문단 ").append(paragraph++).append("</span></p></div>\n");
+        }
+        return html.append("</body></html>").toString();
+    }
+}
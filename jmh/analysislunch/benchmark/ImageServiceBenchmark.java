@@ -0,0 +1,68 @@
+package analysislunch.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import analysislunch.domain.service.ImageService;
+
+/**
+ * {@link ImageService}의 CPU 집약 단계(해시, PNG→JPG 변환, 칼로리 카드 렌더링) 벤치마크.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ImageServiceBenchmark {
+
+    private ImageService imageService;
+    private File sourceImage;
+    private File jpgOutput;
+    private File cardOutput;
+
+    @Setup
+    public void setUp() throws IOException {
+        imageService = new ImageService();
+        sourceImage = Fixtures.largestImage();
+        jpgOutput = Files.createTempFile("bench_processed", ".jpg").toFile();
+        cardOutput = Files.createTempFile("bench_calorie", ".png").toFile();
+    }
+
+    @TearDown
+    public void tearDown() {
+        jpgOutput.delete();
+        cardOutput.delete();
+    }
+
+    @Benchmark
+    public String calculateFileHash() throws IOException {
+        return imageService.calculateFileHash(sourceImage);
+    }
+
+    @Benchmark
+    public long convertPngToWhiteBgJpg() throws IOException {
+        imageService.convertPngToWhiteBgJpg(sourceImage, jpgOutput);
+        return jpgOutput.length();
+    }
+
+    @Benchmark
+    public long createCalorieCard() throws IOException {
+        imageService.createCalorieCard(Fixtures.CALORIE_TABLE, cardOutput);
+        return cardOutput.length();
+    }
+}
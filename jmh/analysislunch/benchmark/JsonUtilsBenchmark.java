@@ -0,0 +1,48 @@
+package analysislunch.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import analysislunch.utils.JsonUtils;
+
+/**
+ * 수 MB 크기의 Gemini 이미지 생성 응답에서 텍스트/이미지 데이터를 추출하는 비용 벤치마크.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonUtilsBenchmark {
+
+    private String imageResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] imageBytes = Files.readAllBytes(Fixtures.largestImage().toPath());
+        imageResponse = Fixtures.geminiImageResponse(imageBytes);
+    }
+
+    @Benchmark
+    public String extractImageData() {
+        return JsonUtils.extractImageData(imageResponse);
+    }
+
+    @Benchmark
+    public String extractGeminiText() {
+        return JsonUtils.extractGeminiText(imageResponse);
+    }
+}
@@ -0,0 +1,89 @@
+package analysislunch.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpServer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import analysislunch.utils.HttpUtils;
+import analysislunch.utils.MultipartBody;
+import analysislunch.utils.WireTimingRecorder;
+
+/**
+ * {@link HttpUtils#postMultipart}로 실제 이미지 두 장을 루프백 서버에 업로드하는 비용 벤치마크.
+ *
+ * <p>Discord 전송과 같은 모양(필드 하나 + 파일 두 개)의 본문을 매번 새로 만들어 보냅니다.
+ * 서버는 본문을 끝까지 읽고 Telegram/Discord와 비슷한 짧은 JSON을 돌려주므로,
+ * 측정값은 네트워크 지연을 뺀 클라이언트 측 직렬화/복사 비용에 가깝습니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MultipartBenchmark {
+
+    private static final byte[] OK_RESPONSE = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private String url;
+    private File sourceImage;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, OK_RESPONSE.length);
+            exchange.getResponseBody().write(OK_RESPONSE);
+            exchange.close();
+        });
+        server.start();
+        url = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/upload";
+
+        sourceImage = Fixtures.largestImage();
+    }
+
+    @TearDown(Level.Iteration)
+    public void drainTimings() {
+        // 요청마다 쌓이는 측정 샘플이 GC 프로파일을 왜곡하지 않도록 비웁니다.
+        WireTimingRecorder.drain();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public String postMultipart() throws IOException {
+        MultipartBody body = new MultipartBody()
+            .field("payload_json", "{\"content\":\"오늘의 점심 메뉴\"}")
+            .file("files[0]", sourceImage, "image/png")
+            .file("files[1]", sourceImage, "image/png");
+        return HttpUtils.postMultipart(url, body);
+    }
+}
@@ -0,0 +1,94 @@
+package analysislunch.benchmark;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import analysislunch.domain.model.CalorieTable;
+import analysislunch.domain.model.MenuHistoryEntry;
+import analysislunch.infrastructure.history.NutritionAnalytics;
+
+/**
+ * 메뉴 이력 월별 칼로리 추이 질의 비용 벤치마크.
+ *
+ * <p>평일 10년치(약 2,600건) 기록으로, 질의마다 모든 기록의 마크다운 표를 다시 파싱해 묶는 방식과
+ * {@link NutritionAnalytics}의 증분 집계를 읽는 방식을 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NutritionAnalyticsBenchmark {
+
+    private static final String[] DISHES = {
+        "흑미밥", "김치찌개", "제육볶음", "계란말이", "콩나물무침", "배추김치", "된장국", "돈까스", "미역국", "요구르트"
+    };
+    private static final int YEARS = 10;
+    private static final int DISHES_PER_MEAL = 6;
+    private static final YearMonth FROM = YearMonth.of(2016, 1);
+    private static final YearMonth TO = FROM.plusYears(YEARS).minusMonths(1);
+
+    private List<MenuHistoryEntry> entries;
+    private NutritionAnalytics analytics;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        entries = new ArrayList<>();
+        for (LocalDate day = FROM.atDay(1); !day.isAfter(TO.atEndOfMonth()); day = day.plusDays(1)) {
+            if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            StringBuilder table = new StringBuilder("| 메뉴명 | 예상 칼로리 |\n|---|---|\n");
+            List<String> menu = new ArrayList<>();
+            int total = 0;
+            for (int i = 0; i < DISHES_PER_MEAL; i++) {
+                String dish = DISHES[random.nextInt(DISHES.length)];
+                int kcal = 20 + random.nextInt(400);
+                total += kcal;
+                menu.add(dish);
+                table.append("| ").append(dish).append(" | ").append(kcal).append("kcal |\n");
+            }
+            table.append("\n**총 예상 칼로리: ").append(total).append("kcal**\n");
+            entries.add(new MenuHistoryEntry(day.toString(), String.join(", ", menu), table.toString(),
+                "", List.of(), 0L));
+        }
+        analytics = new NutritionAnalytics();
+        entries.forEach(analytics::add);
+    }
+
+    @Benchmark
+    public TreeMap<YearMonth, double[]> reparseAll() {
+        TreeMap<YearMonth, double[]> months = new TreeMap<>();
+        for (MenuHistoryEntry entry : entries) {
+            YearMonth month = YearMonth.from(LocalDate.parse(entry.date()));
+            double[] sumAndCount = months.computeIfAbsent(month, key -> new double[2]);
+            sumAndCount[0] += CalorieTable.parse(entry.calorieAnalysis()).totalKcal();
+            sumAndCount[1]++;
+        }
+        return months;
+    }
+
+    @Benchmark
+    public List<NutritionAnalytics.PeriodStat> rollup() {
+        return analytics.monthlyTrend(FROM, TO);
+    }
+}
@@ -0,0 +1,60 @@
+package analysislunch.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import analysislunch.domain.service.NutritionReference;
+
+/**
+ * 열량표 참조 사전 비용 벤치마크.
+ *
+ * <p>함께 배포한 열량표를 읽어 트라이와 bigram 색인을 만드는 시간과, OCR 표기가 섞인 하루치 메뉴
+ * 7개(정확 일치, 원산지 괄호, 앞에 수식어가 붙은 이름, 모르는 메뉴)를 찾는 시간을 잽니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NutritionReferenceBenchmark {
+
+    private static final String[] DISHES = {
+        "흑미밥", "돈육 김치찌개", "제육볶음(국내산)", "계란말이", "콩나물무침", "배추김치", "양장피"
+    };
+
+    private NutritionReference reference;
+
+    @Setup
+    public void setUp() throws IOException {
+        reference = NutritionReference.load();
+    }
+
+    @Benchmark
+    public NutritionReference load() throws IOException {
+        return NutritionReference.load();
+    }
+
+    @Benchmark
+    public int matchMenu() {
+        int kcal = 0;
+        for (String dish : DISHES) {
+            NutritionReference.Match match = reference.match(dish);
+            if (match != null && match.confidence() >= NutritionReference.MIN_CONFIDENCE) {
+                kcal += match.kcal();
+            }
+        }
+        return kcal;
+    }
+}
@@ -0,0 +1,14 @@
+package analysislunch.loadtest;
+
+/**
+ * 스텁 서비스 하나의 응답 특성.
+ *
+ * @param latency      응답 전 지연 분포
+ * @param errorRate    5xx 응답 비율 (0~1)
+ * @param throttleRate 429 응답 비율 (0~1, {@code Retry-After: 1} 포함)
+ */
+public record FaultProfile(Latency latency, double errorRate, double throttleRate) {
+
+    /** 지연과 오류가 없는 프로필. */
+    public static final FaultProfile HEALTHY = new FaultProfile(Latency.NONE, 0d, 0d);
+}
@@ -0,0 +1,84 @@
+package analysislunch.loadtest;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 스텁 응답에 주입할 지연 분포.
+ *
+ * <p>문자열 표기는 {@code fixed:<ms>}, {@code uniform:<minMs>:<maxMs>},
+ * {@code lognormal:<medianMs>:<sigma>} 세 가지입니다. 외부 API 응답 시간은 꼬리가 긴
+ * 분포를 보이므로 기본값은 로그정규 분포를 사용합니다.
+ */
+@FunctionalInterface
+public interface Latency {
+
+    /** 지연 없음. */
+    Latency NONE = () -> 0L;
+
+    /**
+     * 분포에서 지연 시간 하나를 뽑습니다.
+     *
+     * @return 지연 시간(ms), 0 이상
+     */
+    long sampleMillis();
+
+    /**
+     * 항상 같은 지연을 반환하는 분포를 생성합니다.
+     *
+     * @param millis 지연 시간(ms)
+     * @return 고정 지연 분포
+     */
+    static Latency fixed(long millis) {
+        return () -> millis;
+    }
+
+    /**
+     * 구간 내 균등 분포를 생성합니다.
+     *
+     * @param minMillis 최솟값(ms)
+     * @param maxMillis 최댓값(ms)
+     * @return 균등 분포
+     */
+    static Latency uniform(long minMillis, long maxMillis) {
+        return () -> ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1);
+    }
+
+    /**
+     * 로그정규 분포를 생성합니다.
+     *
+     * @param medianMillis 중앙값(ms)
+     * @param sigma        로그 척도 표준편차 (0.5면 p99가 중앙값의 약 3.2배)
+     * @return 로그정규 분포
+     */
+    static Latency logNormal(double medianMillis, double sigma) {
+        return () -> Math.round(medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    /**
+     * 문자열 표기를 분포로 변환합니다.
+     *
+     * @param spec 분포 표기 (예: "lognormal:1800:0.5")
+     * @param scale 모든 시간 값에 곱할 배율
+     * @return 지연 분포
+     * @throws IllegalArgumentException 표기가 올바르지 않을 때
+     */
+    static Latency parse(String spec, double scale) {
+        String[] parts = spec.split(":");
+        try {
+            switch (parts[0].toLowerCase(Locale.ROOT)) {
+                case "fixed":
+                    return fixed(Math.round(Double.parseDouble(parts[1]) * scale));
+                case "uniform":
+                    return uniform(Math.round(Double.parseDouble(parts[1]) * scale),
+                        Math.round(Double.parseDouble(parts[2]) * scale));
+                case "lognormal":
+                    return logNormal(Double.parseDouble(parts[1]) * scale, Double.parseDouble(parts[2]));
+                default:
+                    throw new IllegalArgumentException("알 수 없는 지연 분포: " + spec);
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("지연 분포 형식 오류: " + spec, e);
+        }
+    }
+}
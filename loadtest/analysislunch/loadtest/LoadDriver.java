@@ -0,0 +1,284 @@
+package analysislunch.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import analysislunch.Main;
+import analysislunch.config.AppConfig;
+import analysislunch.config.EndpointConfig;
+import analysislunch.config.GeminiModelConfig;
+import analysislunch.config.RuntimeConfig;
+import analysislunch.config.SubscriberRegistry;
+import analysislunch.domain.model.RunOutcome;
+import analysislunch.domain.service.LunchFlowService;
+import analysislunch.utils.HttpCassette;
+import analysislunch.utils.HttpUtils;
+
+/**
+ * 스텁 서버를 상대로 N개 식당의 파이프라인을 동시에 실행하고 종단 지연과 처리량을 보고합니다.
+ *
+ * <p>식당마다 별도 작업 디렉터리와 {@link LunchFlowService}를 두고, 매 실행 전 스텁의 블로그 글을
+ * 수정된 것으로 만들고 해시 파일을 지워 조기 종료 없이 전체 파이프라인(피드 확인 → 크롤링 → Gemini 2회
+ * → 5개 채널 전송)을 태웁니다. 스텁 메뉴는 모두 열량표에 있으므로 칼로리 분석은 Gemini 없이 계산됩니다.
+ * 모든 채널을 활성화합니다.
+ *
+ * <pre>
+ * ./gradlew loadTest -PloadTestArgs="--cafeterias 8 --runs 5 --latency-scale 0.1 --throttle-rate 0.05"
+ * </pre>
+ *
+ * <p>옵션:
+ * <ul>
+ *   <li>{@code --cafeterias N} 동시에 실행할 식당 수 (기본 4)</li>
+ *   <li>{@code --runs N} 식당별 연속 실행 횟수 (기본 3)</li>
+ *   <li>{@code --latency-scale X} 기본 지연 분포의 시간 배율 (기본 0.05, 1이면 운영 수준)</li>
+ *   <li>{@code --error-rate P} 모든 서비스의 5xx 비율 (기본 0). 스텁은 모든 서비스를 한 호스트로 내므로
+ *       5xx가 몰리면 호스트 회로 차단기가 모든 서비스에 함께 열립니다. Gemini는 모델마다 회로가 따로라 예외입니다.</li>
+ *   <li>{@code --throttle-rate P} 모든 서비스의 429 비율 (기본 0)</li>
+ *   <li>{@code --subscribers N} 식당별 브로드캐스트 구독자 수, Slack/Telegram 각각 N곳 (기본 0)</li>
+ *   <li>{@code --cdn-delay MS} GitHub 업로드 후 raw URL이 이미지를 내려주기까지의 시간 (기본 0, 배율 미적용)</li>
+ *   <li>{@code --latency 서비스=분포} 서비스별 지연 분포 재정의, 반복 가능
+ *       (예: {@code gemini-image=lognormal:9000:0.6}, 배율 적용)</li>
+ *   <li>{@code --cassette FILE} 모든 HTTP 요청을 이 카세트로 녹화하거나 재생 (기본 사용 안 함)</li>
+ *   <li>{@code --cassette-mode MODE} {@code record}, {@code replay}, {@code replay-realtime} 중 하나
+ *       (기본 replay). 재생 모드에서는 스텁 서버로 요청이 가지 않습니다.</li>
+ *   <li>{@code --deadline SECONDS} 실행 1회 기한 (기본 600, 0이면 기한 없음, 배율 미적용).
+ *       짧게 주면 선택 작업이 덜어지는 동작을 볼 수 있습니다.</li>
+ * </ul>
+ */
+public final class LoadDriver {
+
+    private static final String IMAGES_DIR = "images";
+    private static final String MENU_IMAGE_PREFIX = "lunch_1";
+    private static final String FOOD_IMAGE_PREFIX = "lunch_food_";
+    private static final String HASH_FILE = "menu_hash.txt";
+    private static final int DEFAULT_DEADLINE_SECONDS = 600;
+
+    /** 서비스별 기본 지연 분포 (운영 환경에서 관찰되는 중앙값 수준). */
+    private static final Map<String, String> DEFAULT_LATENCIES = new LinkedHashMap<>();
+
+    static {
+        DEFAULT_LATENCIES.put("naver", "lognormal:120:0.4");
+        DEFAULT_LATENCIES.put("gemini", "lognormal:1800:0.5");
+        DEFAULT_LATENCIES.put("gemini-image", "lognormal:9000:0.5");
+        DEFAULT_LATENCIES.put("slack", "lognormal:250:0.4");
+        DEFAULT_LATENCIES.put("github", "lognormal:450:0.5");
+        DEFAULT_LATENCIES.put("github-raw", "lognormal:80:0.4");
+        DEFAULT_LATENCIES.put("telegram", "lognormal:300:0.4");
+        DEFAULT_LATENCIES.put("discord", "lognormal:280:0.4");
+        DEFAULT_LATENCIES.put("googlechat", "lognormal:350:0.4");
+        DEFAULT_LATENCIES.put("instagram", "lognormal:700:0.5");
+    }
+
+    /** 일시 오류 재시도가 대체 모델로 넘어가도록 모든 작업에 대체 모델을 둡니다. 스텁은 모델 이름을 가리지 않습니다. */
+    private static final GeminiModelConfig GEMINI_MODELS = new GeminiModelConfig(
+        new GeminiModelConfig.Route("gemini-2.5-flash-lite", "gemini-2.5-flash", 10_000L),
+        new GeminiModelConfig.Route("gemini-3.1-flash-image-preview", "gemini-2.5-flash-image", 45_000L),
+        new GeminiModelConfig.Route("gemini-2.5-flash-lite", "gemini-2.5-flash", 15_000L),
+        0d, 0d);
+
+    private LoadDriver() {
+        // 실행 진입점 - 인스턴스화 금지
+    }
+
+    /**
+     * 부하 테스트를 실행하고 결과를 표준 출력에 보고합니다.
+     *
+     * @param args 명령줄 옵션 (클래스 설명 참고)
+     * @throws Exception 스텁 서버 시작 또는 실행 대기 실패 시
+     */
+    public static void main(String[] args) throws Exception {
+        int cafeterias = 4;
+        int runs = 3;
+        double latencyScale = 0.05;
+        double errorRate = 0d;
+        double throttleRate = 0d;
+        int subscribers = 0;
+        long cdnDelayMillis = 0L;
+        Path cassetteFile = null;
+        HttpCassette.Mode cassetteMode = HttpCassette.Mode.REPLAY;
+        int deadlineSeconds = DEFAULT_DEADLINE_SECONDS;
+        Map<String, String> latencies = new LinkedHashMap<>(DEFAULT_LATENCIES);
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--cafeterias" -> cafeterias = Integer.parseInt(require(args[i], value));
+                case "--runs" -> runs = Integer.parseInt(require(args[i], value));
+                case "--latency-scale" -> latencyScale = Double.parseDouble(require(args[i], value));
+                case "--error-rate" -> errorRate = Double.parseDouble(require(args[i], value));
+                case "--throttle-rate" -> throttleRate = Double.parseDouble(require(args[i], value));
+                case "--subscribers" -> subscribers = Integer.parseInt(require(args[i], value));
+                case "--cdn-delay" -> cdnDelayMillis = Long.parseLong(require(args[i], value));
+                case "--cassette" -> cassetteFile = Path.of(require(args[i], value));
+                case "--cassette-mode" -> cassetteMode = HttpCassette.Mode.parse(require(args[i], value));
+                case "--deadline" -> deadlineSeconds = Integer.parseInt(require(args[i], value));
+                case "--latency" -> {
+                    String[] pair = require(args[i], value).split("=", 2);
+                    if (pair.length != 2 || !DEFAULT_LATENCIES.containsKey(pair[0])) {
+                        throw new IllegalArgumentException("지연 재정의 형식 오류 (서비스=분포): " + value);
+                    }
+                    latencies.put(pair[0], pair[1]);
+                }
+                default -> throw new IllegalArgumentException("알 수 없는 옵션: " + args[i]);
+            }
+            i++;
+        }
+
+        Map<String, FaultProfile> profiles = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : latencies.entrySet()) {
+            profiles.put(entry.getKey(),
+                new FaultProfile(Latency.parse(entry.getValue(), latencyScale), errorRate, throttleRate));
+        }
+
+        byte[] menuImage = Files.readAllBytes(pickImage(MENU_IMAGE_PREFIX).toPath());
+        byte[] generatedImage = Files.readAllBytes(pickImage(FOOD_IMAGE_PREFIX).toPath());
+        Path root = Files.createTempDirectory("analysislunch-loadtest");
+
+        System.out.printf("식당 %d곳 × %d회, 구독자 %d×2, 지연 배율 %.3f, 5xx %.1f%%, 429 %.1f%%, 작업 디렉터리 %s%n",
+            cafeterias, runs, subscribers, latencyScale, errorRate * 100, throttleRate * 100, root);
+
+        HttpCassette cassette = cassetteFile != null ? HttpCassette.open(cassetteFile, cassetteMode) : null;
+        HttpUtils.useCassette(cassette);
+        try (StubServer stub = new StubServer(profiles, menuImage, generatedImage, cdnDelayMillis)) {
+            List<RunResult> results = Collections.synchronizedList(new ArrayList<>());
+            ExecutorService pool = Executors.newFixedThreadPool(cafeterias);
+            long wallStart = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < cafeterias; c++) {
+                Path workDir = Files.createDirectories(root.resolve("cafeteria-" + c));
+                LunchFlowService flow = Main.createFlowService(stubConfig(stub, workDir, subscribers, deadlineSeconds));
+                int runsPerCafeteria = runs;
+                futures.add(pool.submit(() -> runCafeteria(stub, flow, workDir, runsPerCafeteria, results)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long wallNanos = System.nanoTime() - wallStart;
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+
+            report(results, wallNanos, stub.requestCounts());
+        } finally {
+            HttpUtils.useCassette(null);
+            if (cassette != null) {
+                cassette.close();
+                System.out.printf("HTTP 카세트 %s (%s): 녹화 %d건%n", cassetteFile, cassetteMode, cassette.size());
+            }
+        }
+    }
+
+    private static void runCafeteria(
+            StubServer stub, LunchFlowService flow, Path workDir, int runs, List<RunResult> results) {
+        File hashFile = workDir.resolve(HASH_FILE).toFile();
+        for (int r = 0; r < runs; r++) {
+            // 매번 "새 메뉴"로 취급되도록 블로그 글을 수정된 것으로 만들고 이전 해시를 지웁니다.
+            stub.updateBlogPost();
+            hashFile.delete();
+            long start = System.nanoTime();
+            RunOutcome outcome = flow.run();
+            results.add(new RunResult(System.nanoTime() - start, outcome));
+        }
+    }
+
+    private static AppConfig stubConfig(StubServer stub, Path workDir, int subscribers, int deadlineSeconds) {
+        List<String> slackChannels = new ArrayList<>();
+        List<String> telegramChats = new ArrayList<>();
+        for (int i = 0; i < subscribers; i++) {
+            slackChannels.add("C0SUB" + i);
+            telegramChats.add("-100" + (1_000_000 + i));
+        }
+        RuntimeConfig runtime = new RuntimeConfig(
+            0, 0, 0, 0,
+            workDir.resolve("metrics.prom").toString(),
+            workDir.resolve("http_timings.jsonl").toString(),
+            workDir.toString(),
+            null, null,
+            deadlineSeconds);
+        return new AppConfig(
+            "xoxb-stub", "C0STUB", "stub-gemini-key", "stub-github-token", "stub/analysislunch",
+            stub.googleChatWebhookUrl(), false,
+            "stub-telegram-token", "@stub_channel",
+            stub.discordWebhookUrl(),
+            "stub-instagram-token", "17840000000000000",
+            EndpointConfig.forSingleHost(stub.baseUrl()),
+            new SubscriberRegistry(slackChannels, telegramChats),
+            runtime,
+            GEMINI_MODELS);
+    }
+
+    private static void report(List<RunResult> results, long wallNanos, Map<String, Long> requestCounts) {
+        long[] latencies = results.stream().mapToLong(RunResult::nanos).sorted().toArray();
+        Map<RunOutcome, Integer> outcomes = new EnumMap<>(RunOutcome.class);
+        for (RunResult result : results) {
+            outcomes.merge(result.outcome(), 1, Integer::sum);
+        }
+        double wallSeconds = wallNanos / 1e9;
+
+        System.out.println();
+        System.out.printf("실행 %d회, 총 %.2fs, 처리량 %.2f runs/s%n",
+            latencies.length, wallSeconds, latencies.length / wallSeconds);
+        System.out.printf("종단 지연: p50 %s, p90 %s, p99 %s, max %s%n",
+            millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.90)),
+            millis(percentile(latencies, 0.99)), millis(latencies.length > 0 ? latencies[latencies.length - 1] : 0));
+        System.out.println("실행 결과: " + outcomes);
+        System.out.println("스텁 요청 수 (서비스 응답코드):");
+        requestCounts.forEach((key, count) -> System.out.printf("  %-20s %6d%n", key, count));
+    }
+
+    /**
+     * 정렬된 배열에서 nearest-rank 방식으로 백분위수를 구합니다.
+     */
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0L;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.0fms", nanos / 1e6);
+    }
+
+    private static File pickImage(String prefix) throws IOException {
+        File[] candidates = new File(IMAGES_DIR).listFiles((dir, name) -> name.endsWith(".png"));
+        if (candidates == null || candidates.length == 0) {
+            throw new IOException("픽스처 이미지를 찾을 수 없습니다: " + new File(IMAGES_DIR).getAbsolutePath()
+                + " (프로젝트 루트에서 실행하세요)");
+        }
+        return Arrays.stream(candidates)
+            .filter(file -> file.getName().startsWith(prefix))
+            .max(Comparator.comparingLong(File::length))
+            .orElseGet(() -> Arrays.stream(candidates).max(Comparator.comparingLong(File::length)).orElseThrow());
+    }
+
+    private static String require(String option, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("옵션 값 누락: " + option);
+        }
+        return value;
+    }
+
+    /**
+     * 파이프라인 1회 실행 결과.
+     *
+     * @param nanos   종단 소요 시간(ns)
+     * @param outcome 실행 결과
+     */
+    private record RunResult(long nanos, RunOutcome outcome) {
+    }
+}
@@ -0,0 +1,488 @@
+package analysislunch.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import analysislunch.config.EndpointConfig;
+
+/**
+ * 파이프라인이 호출하는 외부 서비스를 흉내 내는 프로세스 내 스텁 서버.
+ *
+ * <p>{@link EndpointConfig#forSingleHost(String)}의 경로 규칙을 따르며, Discord/Google Chat
+ * Webhook은 {@link #discordWebhookUrl()}/{@link #googleChatWebhookUrl()}을 사용합니다.
+ * 서비스마다 {@link FaultProfile}로 지연 분포, 5xx 비율, 429 비율을 주입할 수 있고,
+ * 서비스/응답 코드별 요청 수를 집계합니다.
+ *
+ * <p>서비스 키: {@code naver}, {@code gemini}(텍스트), {@code gemini-image}(이미지 생성),
+ * {@code slack}, {@code github}, {@code github-raw}, {@code telegram}, {@code discord},
+ * {@code googlechat}, {@code instagram}.
+ */
+public final class StubServer implements AutoCloseable {
+
+    private static final String CONTENT_TYPE_JSON = "application/json; charset=UTF-8";
+    private static final String CONTENT_TYPE_PNG = "image/png";
+    private static final String MEDIA_TYPE_PHOTO = "\"type\":\"photo\"";
+    private static final String CONTENT_TYPE_HTML = "text/html; charset=UTF-8";
+    private static final String CONTENT_TYPE_RSS = "application/rss+xml; charset=UTF-8";
+    /** Instagram 컨테이너가 IN_PROGRESS로 보이는 시간(ms). */
+    private static final long CONTAINER_INGEST_MILLIS = 150L;
+    /** 블로그 페이지의 대략적인 길이(문자). 이미지 모듈은 앞쪽에 있습니다. */
+    private static final int BLOG_PAGE_CHARS = 300_000;
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_CREATED = 201;
+    private static final int HTTP_NOT_MODIFIED = 304;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final int HTTP_SERVER_ERROR = 500;
+    private static final int HTTP_UNAVAILABLE = 503;
+
+    private static final String OCR_TEXT = "2026년 10월 19일 월요일\n흑미밥, 김치찌개, 제육볶음, 계란말이, 콩나물무침, 배추김치, 요구르트";
+    private static final String CALORIE_TEXT = """
+        | 메뉴명 | 예상 칼로리 |
+        |---|---|
+        | 흑미밥 | 310kcal |
+        | 김치찌개 | 250kcal |
+        | 제육볶음 | 420kcal |
+        | 계란말이 | 150kcal |
+        | 콩나물무침 | 45kcal |
+        | 배추김치 | 20kcal |
+        | 요구르트 | 80kcal |
+
+        **총 예상 칼로리: 1275kcal**
+        """;
+
+    /** Gemini가 이미지 한 장에 매기는 토큰 수 (usageMetadata 흉내). */
+    private static final int STUB_IMAGE_TOKENS = 1290;
+    private static final int STUB_PROMPT_TOKENS = 600;
+
+    private static final Gson GSON = new Gson();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, FaultProfile> profiles;
+    private final byte[] menuImage;
+    private final byte[] generatedImage;
+    private final byte[] geminiImageResponse;
+    private final byte[] blogPage;
+    private final AtomicLong feedRevision = new AtomicLong(1L);
+    private final long cdnDelayMillis;
+    private final Map<String, Long> publishedAt = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> uploads = new ConcurrentHashMap<>();
+    private final Map<String, Long> containerCreatedAt = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+    private final AtomicLong idSequence = new AtomicLong(1_000_000L);
+
+    /**
+     * 루프백 임의 포트에서 스텁 서버를 시작합니다.
+     *
+     * @param profiles       서비스 키별 응답 특성 (없는 키는 {@link FaultProfile#HEALTHY})
+     * @param menuImage      블로그 이미지로 내려줄 메뉴판 PNG
+     * @param generatedImage Gemini 이미지 생성 결과이자, 업로드 기록이 없는 GitHub raw 경로에 내려줄 PNG
+     * @param cdnDelayMillis GitHub 업로드 후 raw URL이 404 대신 이미지를 내려주기까지의 시간(ms)
+     * @throws IOException 서버 소켓 생성 실패 시
+     */
+    public StubServer(Map<String, FaultProfile> profiles, byte[] menuImage, byte[] generatedImage,
+            long cdnDelayMillis) throws IOException {
+        this.profiles = Map.copyOf(profiles);
+        this.cdnDelayMillis = cdnDelayMillis;
+        this.menuImage = menuImage;
+        this.generatedImage = generatedImage;
+        this.geminiImageResponse = buildGeminiImageResponse(generatedImage);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        blogPage = buildBlogPage(baseUrl());
+        server.createContext("/naver", exchange -> handle(exchange, "naver", this::naver));
+        server.createContext("/gemini", exchange -> handle(exchange, geminiService(exchange), this::gemini));
+        server.createContext("/slack", exchange -> handle(exchange, "slack", this::slack));
+        server.createContext("/github-raw", exchange -> handle(exchange, "github-raw", this::githubRaw));
+        server.createContext("/github", exchange -> handle(exchange, "github", this::github));
+        server.createContext("/telegram", exchange -> handle(exchange, "telegram", this::telegram));
+        server.createContext("/discord", exchange -> handle(exchange, "discord", this::discord));
+        server.createContext("/googlechat", exchange -> handle(exchange, "googlechat", this::googleChat));
+        server.createContext("/instagram", exchange -> handle(exchange, "instagram", this::instagram));
+        server.start();
+    }
+
+    /**
+     * 서버 기본 URL을 반환합니다.
+     *
+     * @return 예: "http://127.0.0.1:54321"
+     */
+    public String baseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort();
+    }
+
+    /**
+     * Discord Webhook URL을 반환합니다.
+     *
+     * @return Webhook URL
+     */
+    public String discordWebhookUrl() {
+        return baseUrl() + "/discord/webhook";
+    }
+
+    /**
+     * Google Chat Webhook URL을 반환합니다.
+     *
+     * @return Webhook URL
+     */
+    public String googleChatWebhookUrl() {
+        return baseUrl() + "/googlechat/webhook";
+    }
+
+    /**
+     * 서비스/응답 코드별 요청 수를 반환합니다.
+     *
+     * @return "서비스 응답코드" 키로 정렬된 요청 수
+     */
+    public Map<String, Long> requestCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        requestCounts.forEach((key, adder) -> counts.put(key, adder.sum()));
+        return counts;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * 공통 처리: 요청 본문을 끝까지 읽고, 지연을 주입한 뒤 장애를 굴려 보고, 정상이면
+     * 서비스 처리기에 위임합니다.
+     */
+    private void handle(HttpExchange exchange, String service, Route route) throws IOException {
+        int status;
+        try (exchange) {
+            byte[] requestBody;
+            try (InputStream in = exchange.getRequestBody()) {
+                requestBody = in.readAllBytes();
+            }
+            FaultProfile profile = profiles.getOrDefault(service, FaultProfile.HEALTHY);
+            sleep(profile.latency().sampleMillis());
+
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < profile.throttleRate()) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                status = respond(exchange, HTTP_TOO_MANY_REQUESTS, CONTENT_TYPE_JSON,
+                    errorBody(service, HTTP_TOO_MANY_REQUESTS));
+            } else if (roll < profile.throttleRate() + profile.errorRate()) {
+                int errorStatus = service.startsWith("gemini") ? HTTP_UNAVAILABLE : HTTP_SERVER_ERROR;
+                status = respond(exchange, errorStatus, CONTENT_TYPE_JSON, errorBody(service, errorStatus));
+            } else {
+                status = route.handle(exchange, new String(requestBody, StandardCharsets.UTF_8));
+            }
+        }
+        requestCounts.computeIfAbsent(service + " " + status, k -> new LongAdder()).increment();
+    }
+
+    private int naver(HttpExchange exchange, String body) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.endsWith("/image.png")) {
+            return respond(exchange, HTTP_OK, CONTENT_TYPE_PNG, menuImage);
+        }
+        if (path.endsWith("/rss")) {
+            long revision = feedRevision.get();
+            String etag = "\"stub-feed-" + revision + "\"";
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(HTTP_NOT_MODIFIED, -1);
+                exchange.close();
+                return HTTP_NOT_MODIFIED;
+            }
+            return respond(exchange, HTTP_OK, CONTENT_TYPE_RSS, blogFeed(revision));
+        }
+        try {
+            return respond(exchange, HTTP_OK, CONTENT_TYPE_HTML, blogPage);
+        } catch (IOException e) {
+            // 크롤러는 이미지 모듈을 찾으면 나머지 본문을 받지 않고 연결을 닫습니다.
+            return HTTP_OK;
+        }
+    }
+
+    /**
+     * 실제 네이버 모바일 글과 비슷한 모양의 페이지를 만듭니다.
+     *
+     * <p>앞쪽 스크립트 안에 이미지 모듈처럼 보이는 문자열을, 본문 첫 모듈에 자리표시 {@code src}와
+     * 실제 {@code data-lazy-src}를 두고, 그 뒤로 약 300KB의 문단/댓글 마크업을 이어 붙입니다.
+     */
+    private static byte[] buildBlogPage(String baseUrl) {
+        StringBuilder html = new StringBuilder(BLOG_PAGE_CHARS + 4096);
+        html.append("<!DOCTYPE html><html lang=\"ko\"><head><meta charset=\"UTF-8\"><title>오늘의 점심</title>")
+            .append("<script>var tpl = '<div class=\"se-module se-module-image\"><img src=\"/decoy.png\"></div>';")
+            .append("</script></head><body><!-- <div class=\"se-module se-module-image\"> -->")
+            .append("<div class=\"se-component se-image\"><div class=\"se-module se-module-image\" data-a=\"1\">")
+            .append("<a href=\"#\"><img src=\"").append(baseUrl).append("/naver/blur.png?type=w80_blur\" ")
+            .append("data-lazy-src=\"").append(baseUrl).append("/naver/image.png\" alt=\"menu\"></a></div></div>");
+        int paragraph = 0;
+        while (html.length() < BLOG_PAGE_CHARS) {
+            html.append("<div class=\"se-component se-text\"><p class=\"se-text-paragraph\">")
+                .append("<span>오늘도 맛있게 드세요. 문단 ").append(paragraph++).append("</span></p></div>\n");
+        }
+        return utf8(html.append("</body></html>").toString());
+    }
+
+    /**
+     * 블로그 글({@code /naver/blog}) 하나를 최신 글로 담은 RSS 2.0 피드를 만듭니다.
+     * 글이 수정될 때마다 바뀌는 {@code lastBuildDate}를 리비전 번호로 흉내 냅니다.
+     */
+    private byte[] blogFeed(long revision) {
+        String updated = String.format("Mon, 19 Oct 2026 %02d:%02d:%02d +0900",
+            8 + revision / 3600 % 16, revision / 60 % 60, revision % 60);
+        return utf8("<?xml version=\"1.0\" encoding=\"UTF-8\"?><rss version=\"2.0\"><channel>"
+            + "<title>오늘의 점심</title><link>" + baseUrl() + "/naver</link>"
+            + "<lastBuildDate>" + updated + "</lastBuildDate>"
+            + "<item><title>10월 19일 점심</title><link>" + baseUrl() + "/naver/blog</link>"
+            + "<guid>" + baseUrl() + "/naver/blog</guid><pubDate>Mon, 19 Oct 2026 08:30:00 +0900</pubDate></item>"
+            + "</channel></rss>");
+    }
+
+    /**
+     * 블로그 글이 수정된 것처럼 피드의 ETag와 {@code lastBuildDate}를 바꿉니다.
+     * 이후 피드 요청은 304 대신 새 본문을 받습니다.
+     */
+    public void updateBlogPost() {
+        feedRevision.incrementAndGet();
+    }
+
+    private String geminiService(HttpExchange exchange) {
+        return exchange.getRequestURI().getPath().contains("-image") ? "gemini-image" : "gemini";
+    }
+
+    private int gemini(HttpExchange exchange, String body) throws IOException {
+        if (exchange.getRequestURI().getPath().contains("-image")) {
+            return respond(exchange, HTTP_OK, CONTENT_TYPE_JSON, geminiImageResponse);
+        }
+        String text = body.contains("칼로리") ? CALORIE_TEXT : OCR_TEXT;
+        return respond(exchange, HTTP_OK, CONTENT_TYPE_JSON, utf8(geminiTextResponse(text)));
+    }
+
+    private int slack(HttpExchange exchange, String body) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        JsonObject response = new JsonObject();
+        response.addProperty("ok", true);
+        if (path.endsWith("/chat.postMessage")) {
+            response.addProperty("channel", "C0STUB");
+            response.addProperty("ts", System.currentTimeMillis() / 1000 + "." + nextId() % 1_000_000);
+        } else if (path.endsWith("/files.getUploadURLExternal")) {
+            String fileId = "F" + nextId();
+            response.addProperty("upload_url", baseUrl() + "/slack/upload/" + fileId);
+            response.addProperty("file_id", fileId);
+        } else if (path.contains("/upload/")) {
+            return respond(exchange, HTTP_OK, "text/plain", utf8("OK - " + body.length()));
+        }
+        return respond(exchange, HTTP_OK, CONTENT_TYPE_JSON, utf8(GSON.toJson(response)));
+    }
+
+    private int github(HttpExchange exchange, String body) throws IOException {
+        if ("GET".equals(exchange.getRequestMethod())) {
+            return respond(exchange, HTTP_NOT_FOUND, CONTENT_TYPE_JSON, utf8("{\"message\":\"Not Found\"}"));
+        }
+        String name = fileName(exchange);
+        JsonObject request = GSON.fromJson(body, JsonObject.class);
+        if (request != null && request.has("content")) {
+            uploads.put(name, Base64.getMimeDecoder().decode(request.get("content").getAsString()));
+        }
+        publishedAt.put(name, System.currentTimeMillis());
+        JsonObject content = new JsonObject();
+        content.addProperty("sha", Long.toHexString(nextId()));
+        JsonObject response = new JsonObject();
+        response.add("content", content);
+        return respond(exchange, HTTP_CREATED, CONTENT_TYPE_JSON, utf8(GSON.toJson(response)));
+    }
+
+    private int githubRaw(HttpExchange exchange, String body) throws IOException {
+        // CDN 전파 지연: 업로드 직후에는 아직 객체가 없는 것처럼 404를 돌려줍니다.
+        String name = fileName(exchange);
+        Long uploaded = publishedAt.get(name);
+        if (uploaded != null && System.currentTimeMillis() < uploaded + cdnDelayMillis) {
+            return respond(exchange, HTTP_NOT_FOUND, CONTENT_TYPE_JSON, utf8("{\"message\":\"Not Found\"}"));
+        }
+        return respond(exchange, HTTP_OK, CONTENT_TYPE_PNG, uploads.getOrDefault(name, generatedImage));
+    }
+
+    private static String fileName(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private int telegram(HttpExchange exchange, String body) throws IOException {
+        if (exchange.getRequestURI().getPath().endsWith("/sendMediaGroup")) {
+            // 앨범 항목 수만큼 사진 메시지를 돌려줍니다. multipart든 JSON이든 media 배열은 같은 모양입니다.
+            StringBuilder messages = new StringBuilder();
+            for (int from = 0; (from = body.indexOf(MEDIA_TYPE_PHOTO, from)) >= 0; from += MEDIA_TYPE_PHOTO.length()) {
+                messages.append(messages.length() > 0 ? "," : "").append(photoMessage(nextId()));
+            }
+            return respond(exchange, HTTP_OK, CONTENT_TYPE_JSON,
+                utf8("{\"ok\":true,\"result\":[" + messages + "]}"));
+        }
+        if (exchange.getRequestURI().getPath().endsWith("/sendPhoto")) {
+            return respond(exchange, HTTP_OK, CONTENT_TYPE_JSON,
+                utf8("{\"ok\":true,\"result\":" + photoMessage(nextId()) + "}"));
+        }
+        return respond(exchange, HTTP_OK, CONTENT_TYPE_JSON,
+            utf8("{\"ok\":true,\"result\":{\"message_id\":" + nextId() + "}}"));
+    }
+
+    private static String photoMessage(long id) {
+        return "{\"message_id\":" + id
+            + ",\"photo\":[{\"file_id\":\"AgAD-s-" + id + "\"},{\"file_id\":\"AgAD-" + id + "\"}]}";
+    }
+
+    private int discord(HttpExchange exchange, String body) throws IOException {
+        return respond(exchange, HTTP_OK, CONTENT_TYPE_JSON, utf8("{\"id\":\"" + nextId() + "\"}"));
+    }
+
+    private int googleChat(HttpExchange exchange, String body) throws IOException {
+        long id = nextId();
+        return respond(exchange, HTTP_OK, CONTENT_TYPE_JSON, utf8("{\"name\":\"spaces/STUB/messages/" + id
+            + "\",\"thread\":{\"name\":\"spaces/STUB/threads/" + id + "\"}}"));
+    }
+
+    private int instagram(HttpExchange exchange, String body) throws IOException {
+        if ("GET".equals(exchange.getRequestMethod())) {
+            // 컨테이너 상태: 만든 직후 잠시는 Meta가 이미지를 가져가는 중인 것처럼 IN_PROGRESS를 돌려줍니다.
+            String id = fileName(exchange);
+            Long created = containerCreatedAt.get(id);
+            String status = created != null && System.currentTimeMillis() < created + CONTAINER_INGEST_MILLIS
+                ? "IN_PROGRESS" : "FINISHED";
+            return respond(exchange, HTTP_OK, CONTENT_TYPE_JSON,
+                utf8("{\"status_code\":\"" + status + "\",\"id\":\"" + id + "\"}"));
+        }
+        String id = "1789" + nextId();
+        containerCreatedAt.put(id, System.currentTimeMillis());
+        return respond(exchange, HTTP_OK, CONTENT_TYPE_JSON, utf8("{\"id\":\"" + id + "\"}"));
+    }
+
+    private static int respond(HttpExchange exchange, int status, String contentType, byte[] body)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Content-Length", Integer.toString(body.length));
+            exchange.sendResponseHeaders(status, -1);
+            return status;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+        return status;
+    }
+
+    private static byte[] errorBody(String service, int status) {
+        switch (service) {
+            case "gemini":
+            case "gemini-image":
+                String reason = status == HTTP_TOO_MANY_REQUESTS ? "RESOURCE_EXHAUSTED" : "UNAVAILABLE";
+                return utf8("{\"error\":{\"code\":" + status + ",\"message\":\"stub\",\"status\":\"" + reason + "\"}}");
+            case "slack":
+                return utf8(status == HTTP_TOO_MANY_REQUESTS
+                    ? "{\"ok\":false,\"error\":\"ratelimited\"}"
+                    : "{\"ok\":false,\"error\":\"internal_error\"}");
+            case "telegram":
+                return utf8("{\"ok\":false,\"error_code\":" + status + ",\"description\":\"stub\""
+                    + (status == HTTP_TOO_MANY_REQUESTS ? ",\"parameters\":{\"retry_after\":1}" : "") + "}");
+            default:
+                return utf8("{\"error\":{\"code\":" + status + ",\"message\":\"stub\"}}");
+        }
+    }
+
+    private static String geminiTextResponse(String text) {
+        JsonObject part = new JsonObject();
+        part.addProperty("text", text);
+        // 이미지 입력 1장(약 1,290토큰)과 프롬프트, 한글 두 글자당 한 토큰 정도의 출력으로 어림합니다.
+        return GSON.toJson(geminiResponse(part, STUB_IMAGE_TOKENS + STUB_PROMPT_TOKENS, text.length() / 2 + 1));
+    }
+
+    private static byte[] buildGeminiImageResponse(byte[] image) {
+        JsonObject inlineData = new JsonObject();
+        inlineData.addProperty("mimeType", CONTENT_TYPE_PNG);
+        inlineData.addProperty("data", Base64.getEncoder().encodeToString(image));
+        JsonObject part = new JsonObject();
+        part.add("inlineData", inlineData);
+        return utf8(GSON.toJson(geminiResponse(part, STUB_PROMPT_TOKENS, STUB_IMAGE_TOKENS)));
+    }
+
+    private static JsonObject geminiResponse(JsonObject part, int promptTokens, int outputTokens) {
+        JsonArray parts = new JsonArray();
+        parts.add(part);
+        JsonObject content = new JsonObject();
+        content.add("parts", parts);
+        content.addProperty("role", "model");
+        JsonObject candidate = new JsonObject();
+        candidate.add("content", content);
+        candidate.addProperty("finishReason", "STOP");
+        JsonArray candidates = new JsonArray();
+        candidates.add(candidate);
+        JsonObject response = new JsonObject();
+        response.add("candidates", candidates);
+        JsonObject usage = new JsonObject();
+        usage.addProperty("promptTokenCount", promptTokens);
+        usage.addProperty("candidatesTokenCount", outputTokens);
+        usage.addProperty("totalTokenCount", promptTokens + outputTokens);
+        response.add("usageMetadata", usage);
+        return response;
+    }
+
+    private long nextId() {
+        return idSequence.incrementAndGet();
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 서비스별 정상 응답 처리기.
+     */
+    @FunctionalInterface
+    private interface Route {
+
+        /**
+         * 응답을 보냅니다.
+         *
+         * @param exchange 요청/응답 교환
+         * @param body     요청 본문 (UTF-8)
+         * @return 보낸 응답 코드
+         * @throws IOException 응답 쓰기 실패 시
+         */
+        int handle(HttpExchange exchange, String body) throws IOException;
+    }
+}
@@ -1,10 +1,26 @@
 package analysislunch;
 
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 import lombok.extern.slf4j.Slf4j;
 
 import analysislunch.config.AppConfig;
+import analysislunch.config.EndpointConfig;
+import analysislunch.config.RuntimeConfig;
+import analysislunch.domain.model.RunOutcome;
+import analysislunch.domain.service.BroadcastService;
 import analysislunch.domain.service.ImageService;
 import analysislunch.domain.service.LunchFlowService;
+import analysislunch.domain.service.NutritionReference;
+import analysislunch.infrastructure.api.MenuApiServer;
+import analysislunch.infrastructure.api.MenuEventStream;
 import analysislunch.infrastructure.client.DiscordClient;
 import analysislunch.infrastructure.client.GeminiClient;
 import analysislunch.infrastructure.client.GitHubClient;
@@ -12,65 +28,78 @@ import analysislunch.infrastructure.client.GoogleChatClient;
 import analysislunch.infrastructure.client.InstagramClient;
 import analysislunch.infrastructure.client.SlackClient;
 import analysislunch.infrastructure.client.TelegramClient;
+import analysislunch.infrastructure.client.TelegramFileCache;
+import analysislunch.infrastructure.client.TokenLedger;
 import analysislunch.infrastructure.crawler.BlogCrawler;
+import analysislunch.infrastructure.crawler.BlogFeedWatcher;
+import analysislunch.infrastructure.history.DishSearchIndex;
+import analysislunch.infrastructure.history.MenuHistoryStore;
+import analysislunch.infrastructure.history.NutritionAnalytics;
+import analysislunch.infrastructure.metrics.MetricsRegistry;
+import analysislunch.infrastructure.metrics.PrometheusExporter;
+import analysislunch.utils.HttpCassette;
+import analysislunch.utils.HttpUtils;
+import analysislunch.utils.Lazy;
 
 
 /**
  * 점심 메뉴 분석 애플리케이션 진입점.
  *
  * <p>환경 변수를 로드하고 의존성을 초기화한 뒤 {@link LunchFlowService}를 실행합니다.
+ * 기본은 cron 1회 실행이며 종료 시 메트릭을 Prometheus 텍스트 파일로 남깁니다.
+ * {@code DAEMON_INTERVAL_SECONDS}가 설정되면 데몬 모드로 주기 실행하며
+ * {@code /metrics} HTTP 엔드포인트를 엽니다.
  */
 @Slf4j
 public class Main {
 
+    private static final String HEADLESS_PROPERTY = "java.awt.headless";
+    private static final String HTTP_SERVER_NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    private static final String METRIC_TIME_TO_EARLY_EXIT = "lunch_time_to_early_exit_seconds";
+    private static final String TELEGRAM_FILE_CACHE = "telegram_file_ids.tsv";
+    private static final String INSTAGRAM_PENDING_STATE = "instagram_pending.tsv";
+    private static final String BLOG_FEED_STATE = "blog_feed_state.properties";
+    private static final String MENU_HISTORY_FILE = "menu_history.log";
+    private static final String GEMINI_USAGE_STATE = "gemini_usage.properties";
+
     /**
      * 애플리케이션 메인 메서드.
      *
      * @param args 커맨드라인 인수 (사용하지 않음)
      */
     public static void main(String[] args) {
+        // 카드 렌더링은 화면이 필요 없으므로 디스플레이 탐색 없이 AWT를 초기화합니다.
+        if (System.getProperty(HEADLESS_PROPERTY) == null) {
+            System.setProperty(HEADLESS_PROPERTY, "true");
+        }
+        // 내장 HTTP 서버는 헤더와 본문을 따로 쓰므로, Nagle 알고리즘이 켜져 있으면 keep-alive 요청마다
+        // 지연 ACK(약 40ms)를 기다립니다. 첫 HttpServer 생성 전에 설정해야 적용됩니다.
+        if (System.getProperty(HTTP_SERVER_NODELAY_PROPERTY) == null) {
+            System.setProperty(HTTP_SERVER_NODELAY_PROPERTY, "true");
+        }
         log.info("🚀 프로그램 시작: 점심 메뉴 확인");
 
         try {
             // 1. 설정 로드
             AppConfig config = AppConfig.load();
+            if (config.getRuntime().isHttpCassetteEnabled()) {
+                useHttpCassette(config.getRuntime());
+            }
 
-            // 2. 인프라 초기화
-            BlogCrawler blogCrawler = new BlogCrawler();
-            ImageService imageService = new ImageService();
-            GeminiClient geminiClient = new GeminiClient(config.getGeminiApiKey());
-            SlackClient slackClient = new SlackClient(config.getBotToken());
-            GitHubClient gitHubClient = new GitHubClient(config.getGithubToken(), config.getGithubRepo());
-            GoogleChatClient googleChatClient = new GoogleChatClient(config.getGoogleChatWebhook());
-
-            // 선택 채널: 설정이 있을 때만 클라이언트를 생성합니다.
-            TelegramClient telegramClient = config.isTelegramEnabled()
-                ? new TelegramClient(config.getTelegramBotToken(), config.getTelegramChatId())
-                : null;
-            DiscordClient discordClient = config.isDiscordEnabled()
-                ? new DiscordClient(config.getDiscordWebhook())
-                : null;
-            InstagramClient instagramClient = config.isInstagramEnabled()
-                ? new InstagramClient(config.getInstagramAccessToken(), config.getInstagramBusinessAccountId())
-                : null;
-
-            // 3. 서비스 초기화
-            LunchFlowService flowService = new LunchFlowService(
-                config,
-                imageService,
-                blogCrawler,
-                geminiClient,
-                slackClient,
-                gitHubClient,
-                googleChatClient,
-                telegramClient,
-                discordClient,
-                instagramClient
-            );
+            // 2~3. 인프라 및 서비스 초기화
+            LunchFlowService flowService = createFlowService(config);
 
             // 4. 애플리케이션 실행
-            flowService.run();
-
+            RuntimeConfig runtime = config.getRuntime();
+            if (runtime.isDaemon()) {
+                runDaemon(flowService, runtime);
+            } else {
+                RunOutcome outcome = flowService.run();
+                if (outcome == RunOutcome.UNCHANGED) {
+                    recordTimeToEarlyExit();
+                }
+                exportMetricsFile(runtime);
+            }
 
         } catch (IllegalStateException e) {
             log.error("❌ 초기화 실패", e);
@@ -78,4 +107,246 @@ public class Main {
             log.error("❌ 치명적 오류 발생: [{}]", e.getClass().getSimpleName(), e);
         }
     }
+
+    /**
+     * 설정에 따라 클라이언트를 생성하고 {@link LunchFlowService}를 조립합니다.
+     *
+     * <p>엔드포인트 기본 URL과 작업 디렉터리는 설정을 따르므로, 스텁 서버를 향한
+     * 설정을 넘기면 같은 조립 코드로 부하 테스트용 인스턴스를 만들 수 있습니다.
+     *
+     * @param config 애플리케이션 설정
+     * @return 실행 준비가 끝난 {@link LunchFlowService}
+     */
+    public static LunchFlowService createFlowService(AppConfig config) {
+        EndpointConfig endpoints = config.getEndpoints();
+        BlogCrawler blogCrawler = new BlogCrawler();
+        BlogFeedWatcher feedWatcher = endpoints.getBlogFeedUrl() != null
+            ? new BlogFeedWatcher(
+                endpoints.getBlogFeedUrl(), Path.of(config.getRuntime().getWorkDir(), BLOG_FEED_STATE))
+            : null;
+        ImageService imageService = new ImageService(new File(config.getRuntime().getWorkDir()));
+
+        // 클라이언트는 처음 사용할 때 생성합니다. 메뉴가 바뀌지 않은 실행은 여기서 아무것도 만들지 않습니다.
+        Lazy<TokenLedger> tokenLedger = Lazy.of(() -> new TokenLedger(config.getGithubRepo(), config.getGeminiModels(),
+            Path.of(config.getRuntime().getWorkDir(), GEMINI_USAGE_STATE)));
+        Lazy<GeminiClient> geminiClient = Lazy.of(() -> new GeminiClient(
+            config.getGeminiApiKey(), endpoints.getGeminiApiBaseUrl(), config.getGeminiModels(), tokenLedger.get()));
+        Lazy<SlackClient> slackClient = Lazy.of(() ->
+            new SlackClient(config.getBotToken(), endpoints.getSlackApiBaseUrl()));
+        Lazy<GitHubClient> gitHubClient = Lazy.of(() -> new GitHubClient(
+            config.getGithubToken(), config.getGithubRepo(),
+            endpoints.getGithubApiBaseUrl(), endpoints.getGithubRawBaseUrl()));
+        Lazy<GoogleChatClient> googleChatClient = Lazy.of(() ->
+            new GoogleChatClient(config.getGoogleChatWebhook()));
+
+        // 선택 채널: 설정이 있을 때만 클라이언트를 생성합니다.
+        // Telegram은 기본 채팅 없이 구독 채팅에만 보낼 수도 있으므로 봇 토큰만 있으면 생성합니다.
+        Lazy<TelegramClient> telegramClient = Lazy.of(() -> config.getTelegramBotToken() != null
+            ? new TelegramClient(
+                config.getTelegramBotToken(), config.getTelegramChatId(), endpoints.getTelegramApiBaseUrl(),
+                new TelegramFileCache(Path.of(config.getRuntime().getWorkDir(), TELEGRAM_FILE_CACHE)))
+            : null);
+        Lazy<DiscordClient> discordClient = Lazy.of(() -> config.isDiscordEnabled()
+            ? new DiscordClient(config.getDiscordWebhook())
+            : null);
+        Lazy<InstagramClient> instagramClient = Lazy.of(() -> config.isInstagramEnabled()
+            ? new InstagramClient(
+                config.getInstagramAccessToken(), config.getInstagramBusinessAccountId(),
+                endpoints.getInstagramApiBaseUrl(),
+                Path.of(config.getRuntime().getWorkDir(), INSTAGRAM_PENDING_STATE))
+            : null);
+
+        // 이력은 부가 기능이므로 파일을 열지 못하면 경고만 남기고 기록을 건너뜁니다.
+        Lazy<MenuHistoryStore> historyStore = Lazy.of(() -> {
+            Path historyFile = Path.of(config.getRuntime().getWorkDir(), MENU_HISTORY_FILE);
+            try {
+                return new MenuHistoryStore(historyFile);
+            } catch (IOException e) {
+                log.warn("메뉴 이력 저장소 열기 실패 ({}): {}", historyFile, e.getMessage());
+                return null;
+            }
+        });
+        Lazy<NutritionAnalytics> nutritionAnalytics = Lazy.of(() -> {
+            MenuHistoryStore store = historyStore.get();
+            return store != null ? NutritionAnalytics.from(store) : null;
+        });
+        Lazy<DishSearchIndex> dishSearchIndex = Lazy.of(() -> {
+            MenuHistoryStore store = historyStore.get();
+            return store != null ? DishSearchIndex.from(store) : null;
+        });
+        // 열량표가 없으면 칼로리 분석은 매번 Gemini에 맡깁니다.
+        Lazy<NutritionReference> nutritionReference = Lazy.of(() -> {
+            try {
+                return NutritionReference.load();
+            } catch (IOException e) {
+                log.warn("열량표 읽기 실패 ({}): {}", NutritionReference.REFERENCE_FILE_PATH, e.getMessage());
+                return null;
+            }
+        });
+
+        MenuApiServer menuApi = config.getRuntime().isMenuApiEnabled()
+            ? startMenuApi(config.getRuntime().getMenuApiPort(), historyStore, dishSearchIndex)
+            : null;
+        MenuEventStream menuStream = config.getRuntime().isMenuStreamEnabled()
+            ? startMenuStream(config.getRuntime().getMenuStreamPort(), historyStore)
+            : null;
+
+        return new LunchFlowService(
+            config,
+            imageService,
+            blogCrawler,
+            feedWatcher,
+            geminiClient,
+            tokenLedger,
+            nutritionReference,
+            slackClient,
+            gitHubClient,
+            googleChatClient,
+            telegramClient,
+            discordClient,
+            instagramClient,
+            new BroadcastService(
+                config.getSubscribers().without(config.getChannelId(), config.getTelegramChatId()),
+                slackClient, telegramClient),
+            historyStore,
+            nutritionAnalytics,
+            dishSearchIndex,
+            menuApi,
+            menuStream
+        );
+    }
+
+    /**
+     * 메뉴 API를 이력의 최근 메뉴로 채워 시작합니다. 부가 기능이므로 시작하지 못하면 경고만 남깁니다.
+     *
+     * @param port            수신 포트
+     * @param historyStore    메뉴 이력 저장소
+     * @param dishSearchIndex 메뉴 검색 색인
+     * @return 시작한 메뉴 API, 실패 시 {@code null}
+     */
+    private static MenuApiServer startMenuApi(
+            int port, Lazy<MenuHistoryStore> historyStore, Lazy<DishSearchIndex> dishSearchIndex) {
+        MenuApiServer menuApi = new MenuApiServer(dishSearchIndex);
+        MenuHistoryStore store = historyStore.get();
+        if (store != null) {
+            menuApi.publishHistory(store);
+        }
+        try {
+            menuApi.start(port);
+        } catch (IOException e) {
+            log.warn("메뉴 API 시작 실패 (포트 {}): {}", port, e.getMessage());
+            return null;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(menuApi::close));
+        return menuApi;
+    }
+
+    /**
+     * 메뉴 SSE 스트림을 이력의 가장 최근 메뉴로 채워 시작합니다. 시작하지 못하면 경고만 남깁니다.
+     *
+     * @param port         수신 포트
+     * @param historyStore 메뉴 이력 저장소
+     * @return 시작한 스트림, 실패 시 {@code null}
+     */
+    private static MenuEventStream startMenuStream(int port, Lazy<MenuHistoryStore> historyStore) {
+        MenuEventStream menuStream = new MenuEventStream();
+        try {
+            menuStream.start(port);
+        } catch (IOException e) {
+            log.warn("메뉴 SSE 스트림 시작 실패 (포트 {}): {}", port, e.getMessage());
+            return null;
+        }
+        MenuHistoryStore store = historyStore.get();
+        if (store != null) {
+            menuStream.publishLatest(store);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(menuStream::close));
+        return menuStream;
+    }
+
+    /**
+     * 설정된 HTTP 카세트를 열어 모든 HTTP 요청에 설치합니다.
+     *
+     * <p>녹화 모드는 실제 서비스 응답을 파일에 남기고, 재생 모드는 외부 서비스를 호출하지 않고
+     * 녹화된 응답으로 파이프라인을 끝까지 실행합니다.
+     *
+     * @param runtime 실행 방식 설정
+     * @throws IOException 카세트 파일을 열지 못했을 때
+     */
+    private static void useHttpCassette(RuntimeConfig runtime) throws IOException {
+        HttpCassette cassette =
+            HttpCassette.open(Path.of(runtime.getHttpCassetteFile()), runtime.getHttpCassetteMode());
+        HttpUtils.useCassette(cassette);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                cassette.close();
+            } catch (IOException e) {
+                log.warn("HTTP 카세트 닫기 실패: {}", e.getMessage());
+            }
+        }));
+    }
+
+    /**
+     * 데몬 모드로 파이프라인을 주기 실행합니다. 프로세스가 종료될 때까지 반환하지 않습니다.
+     *
+     * @param flowService 실행할 파이프라인
+     * @param runtime     실행 방식 설정
+     * @throws IOException 메트릭 엔드포인트 시작 실패 시
+     */
+    private static void runDaemon(LunchFlowService flowService, RuntimeConfig runtime) throws IOException {
+        PrometheusExporter exporter = new PrometheusExporter(MetricsRegistry.global());
+        exporter.startHttp(runtime.getMetricsPort());
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        CountDownLatch shutdown = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            log.info("🛑 데몬 종료 중...");
+            scheduler.shutdownNow();
+            exporter.close();
+            shutdown.countDown();
+        }));
+
+        log.info("🔁 데몬 모드 시작 (실행 간격: {}초)", runtime.getDaemonIntervalSeconds());
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                flowService.run();
+            } catch (RuntimeException e) {
+                // 예외가 전파되면 이후 스케줄이 중단되므로 여기서 흡수합니다.
+                log.error("❌ 예기치 않은 오류 발생: [{}]", e.getClass().getSimpleName(), e);
+            }
+        }, 0, runtime.getDaemonIntervalSeconds(), TimeUnit.SECONDS);
+        try {
+            shutdown.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * JVM 시작부터 조기 종료(메뉴 변경 없음) 판정까지 걸린 시간을 게이지로 기록합니다.
+     *
+     * <p>cron 실행 대부분이 이 경로로 끝나므로 콜드 스타트 비용이 곧 실행 비용입니다.
+     * 관리 빈 로딩 시간이 섞이지 않도록 현재 시각을 먼저 잡습니다.
+     */
+    private static void recordTimeToEarlyExit() {
+        long now = System.currentTimeMillis();
+        double seconds = (now - ManagementFactory.getRuntimeMXBean().getStartTime()) / 1000d;
+        MetricsRegistry.global()
+            .gauge(METRIC_TIME_TO_EARLY_EXIT, "JVM 시작부터 조기 종료 판정까지 걸린 시간")
+            .set(seconds);
+        log.info("⏱️ 조기 종료까지 {}ms", Math.round(seconds * 1000));
+    }
+
+    /**
+     * cron 실행 종료 시 메트릭을 파일로 기록합니다. 실패해도 실행 결과에는 영향을 주지 않습니다.
+     *
+     * @param runtime 실행 방식 설정
+     */
+    private static void exportMetricsFile(RuntimeConfig runtime) {
+        try {
+            new PrometheusExporter(MetricsRegistry.global()).writeFile(Path.of(runtime.getMetricsFile()));
+        } catch (IOException e) {
+            log.warn("메트릭 파일 기록 실패: {}", e.getMessage());
+        }
+    }
 }
@@ -13,6 +13,7 @@ public class AppConfig {
     private static final String ENV_GITHUB_TOKEN = "GITHUB_TOKEN";
     private static final String ENV_GITHUB_REPO = "GITHUB_REPO";
     private static final String ENV_GOOGLE_CHAT_WEBHOOK_URL = "GOOGLE_CHAT_WEBHOOK_URL";
+    private static final String ENV_GOOGLE_CHAT_SINGLE_CARD = "GOOGLE_CHAT_SINGLE_CARD";
     private static final String ENV_TELEGRAM_BOT_TOKEN = "TELEGRAM_BOT_TOKEN";
     private static final String ENV_TELEGRAM_CHAT_ID = "TELEGRAM_CHAT_ID";
     private static final String ENV_DISCORD_WEBHOOK_URL = "DISCORD_WEBHOOK_URL";
@@ -25,11 +26,16 @@ public class AppConfig {
     private final String githubToken;
     private final String githubRepo;
     private final String googleChatWebhook;
+    private final boolean googleChatSingleCard;
     private final String telegramBotToken;
     private final String telegramChatId;
     private final String discordWebhook;
     private final String instagramAccessToken;
     private final String instagramBusinessAccountId;
+    private final EndpointConfig endpoints;
+    private final SubscriberRegistry subscribers;
+    private final RuntimeConfig runtime;
+    private final GeminiModelConfig geminiModels;
 
     /**
      * AppConfig 생성자.
@@ -40,11 +46,16 @@ public class AppConfig {
      * @param githubToken      GitHub 개인 액세스 토큰
      * @param githubRepo       GitHub 저장소 (예: "owner/repo")
      * @param googleChatWebhook Google Chat Webhook URL
+     * @param googleChatSingleCard Google Chat에 두 이미지를 카드 메시지 하나로 보낼지 여부
      * @param telegramBotToken Telegram 봇 토큰 (선택, 미설정 시 {@code null})
      * @param telegramChatId   Telegram 채팅 ID (선택, 미설정 시 {@code null})
      * @param discordWebhook   Discord Webhook URL (선택, 미설정 시 {@code null})
      * @param instagramAccessToken       Instagram Graph API 액세스 토큰 (선택, 미설정 시 {@code null})
      * @param instagramBusinessAccountId Instagram 비즈니스 계정 ID (선택, 미설정 시 {@code null})
+     * @param endpoints                  외부 서비스 엔드포인트 기본 URL
+     * @param subscribers                기본 채널 외 브로드캐스트 구독자
+     * @param runtime                    실행 방식 및 운영 관측 설정
+     * @param geminiModels               Gemini 작업별 모델과 지연 SLO
      */
     public AppConfig(
             String botToken,
@@ -53,22 +64,32 @@ public class AppConfig {
             String githubToken,
             String githubRepo,
             String googleChatWebhook,
+            boolean googleChatSingleCard,
             String telegramBotToken,
             String telegramChatId,
             String discordWebhook,
             String instagramAccessToken,
-            String instagramBusinessAccountId) {
+            String instagramBusinessAccountId,
+            EndpointConfig endpoints,
+            SubscriberRegistry subscribers,
+            RuntimeConfig runtime,
+            GeminiModelConfig geminiModels) {
         this.botToken = botToken;
         this.channelId = channelId;
         this.geminiApiKey = geminiApiKey;
         this.githubToken = githubToken;
         this.githubRepo = githubRepo;
         this.googleChatWebhook = googleChatWebhook;
+        this.googleChatSingleCard = googleChatSingleCard;
         this.telegramBotToken = telegramBotToken;
         this.telegramChatId = telegramChatId;
         this.discordWebhook = discordWebhook;
         this.instagramAccessToken = instagramAccessToken;
         this.instagramBusinessAccountId = instagramBusinessAccountId;
+        this.endpoints = endpoints;
+        this.subscribers = subscribers;
+        this.runtime = runtime;
+        this.geminiModels = geminiModels;
     }
 
     /**
@@ -84,6 +105,7 @@ public class AppConfig {
         String githubToken = requireEnv(ENV_GITHUB_TOKEN);
         String githubRepo = requireEnv(ENV_GITHUB_REPO);
         String googleChatWebhook = requireEnv(ENV_GOOGLE_CHAT_WEBHOOK_URL);
+        boolean googleChatSingleCard = optionalBooleanEnv(ENV_GOOGLE_CHAT_SINGLE_CARD);
 
         // 선택 채널: 미설정 시 해당 채널 전송을 건너뜁니다.
         String telegramBotToken = optionalEnv(ENV_TELEGRAM_BOT_TOKEN);
@@ -93,9 +115,13 @@ public class AppConfig {
         String instagramBusinessAccountId = optionalEnv(ENV_INSTAGRAM_BUSINESS_ACCOUNT_ID);
 
         return new AppConfig(
-            botToken, channelId, geminiApiKey, githubToken, githubRepo, googleChatWebhook,
+            botToken, channelId, geminiApiKey, githubToken, githubRepo, googleChatWebhook, googleChatSingleCard,
             telegramBotToken, telegramChatId, discordWebhook,
-            instagramAccessToken, instagramBusinessAccountId);
+            instagramAccessToken, instagramBusinessAccountId,
+            EndpointConfig.load(),
+            SubscriberRegistry.load(),
+            RuntimeConfig.load(),
+            GeminiModelConfig.load());
     }
 
     /**
@@ -104,11 +130,61 @@ public class AppConfig {
      * @param key 환경 변수 키
      * @return 환경 변수 값, 없거나 비어있으면 {@code null}
      */
-    private static String optionalEnv(String key) {
+    static String optionalEnv(String key) {
         String value = System.getenv(key);
         return (value == null || value.isEmpty()) ? null : value;
     }
 
+    /**
+     * 정수 환경 변수 값을 읽고, 없으면 기본값을 반환합니다 (선택 설정용).
+     *
+     * @param key          환경 변수 키
+     * @param defaultValue 미설정 시 기본값
+     * @return 환경 변수 정수 값 또는 기본값
+     * @throws IllegalStateException 값이 정수가 아닐 때
+     */
+    static int optionalIntEnv(String key, int defaultValue) {
+        String value = optionalEnv(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("환경 변수 형식 오류 (정수 필요): " + key + "=" + value, e);
+        }
+    }
+
+    /**
+     * 실수 환경 변수 값을 읽고, 없으면 기본값을 반환합니다 (선택 설정용).
+     *
+     * @param key          환경 변수 키
+     * @param defaultValue 미설정 시 기본값
+     * @return 환경 변수 실수 값 또는 기본값
+     * @throws IllegalStateException 값이 숫자가 아닐 때
+     */
+    static double optionalDoubleEnv(String key, double defaultValue) {
+        String value = optionalEnv(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("환경 변수 형식 오류 (숫자 필요): " + key + "=" + value, e);
+        }
+    }
+
+    /**
+     * 불리언 환경 변수 값을 읽습니다 (선택 설정용).
+     *
+     * @param key 환경 변수 키
+     * @return 값이 {@code true}(대소문자 무시)이면 {@code true}, 그 외나 미설정이면 {@code false}
+     */
+    static boolean optionalBooleanEnv(String key) {
+        return Boolean.parseBoolean(optionalEnv(key));
+    }
+
     /**
      * 환경 변수 값을 읽고, 누락된 경우 예외를 던집니다.
      *
@@ -178,6 +254,15 @@ public class AppConfig {
         return googleChatWebhook;
     }
 
+    /**
+     * Google Chat에 두 이미지를 카드 메시지 하나로 보낼지 여부를 반환합니다.
+     *
+     * @return {@code GOOGLE_CHAT_SINGLE_CARD=true}이면 {@code true}, 기본은 스레드에 카드 두 개
+     */
+    public boolean isGoogleChatSingleCard() {
+        return googleChatSingleCard;
+    }
+
     /**
      * Telegram 봇 토큰을 반환합니다.
      *
@@ -249,4 +334,40 @@ public class AppConfig {
     public boolean isInstagramEnabled() {
         return instagramAccessToken != null && instagramBusinessAccountId != null;
     }
+
+    /**
+     * 외부 서비스 엔드포인트 설정을 반환합니다.
+     *
+     * @return {@link EndpointConfig}
+     */
+    public EndpointConfig getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * 기본 채널 외 브로드캐스트 구독자 목록을 반환합니다.
+     *
+     * @return {@link SubscriberRegistry}
+     */
+    public SubscriberRegistry getSubscribers() {
+        return subscribers;
+    }
+
+    /**
+     * 실행 방식 및 운영 관측 설정을 반환합니다.
+     *
+     * @return {@link RuntimeConfig}
+     */
+    public RuntimeConfig getRuntime() {
+        return runtime;
+    }
+
+    /**
+     * Gemini 작업별 모델 설정을 반환합니다.
+     *
+     * @return Gemini 모델과 지연 SLO 설정
+     */
+    public GeminiModelConfig getGeminiModels() {
+        return geminiModels;
+    }
 }
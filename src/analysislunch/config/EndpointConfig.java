@@ -0,0 +1,191 @@
+package analysislunch.config;
+
+/**
+ * 외부 서비스 엔드포인트 기본 URL을 담는 불변 클래스.
+ *
+ * <p>모든 항목은 선택 환경 변수이며, 미설정 시 운영 엔드포인트를 사용합니다. 블로그 피드
+ * ({@code BLOG_FEED_URL})만 기본값이 없으며, 설정하면 고정 글 대신 피드로 새 글을 찾습니다.
+ * 로컬 스텁 서버로 전체 파이프라인을 부하/회귀 테스트할 때 기본 URL만 바꿔 끼웁니다.
+ * 끝의 {@code /}는 제거하여 저장합니다.
+ */
+public class EndpointConfig {
+
+    private static final String ENV_BLOG_URL = "BLOG_URL";
+    private static final String ENV_BLOG_FEED_URL = "BLOG_FEED_URL";
+    private static final String ENV_GEMINI_API_BASE_URL = "GEMINI_API_BASE_URL";
+    private static final String ENV_SLACK_API_BASE_URL = "SLACK_API_BASE_URL";
+    private static final String ENV_GITHUB_API_BASE_URL = "GITHUB_API_BASE_URL";
+    private static final String ENV_GITHUB_RAW_BASE_URL = "GITHUB_RAW_BASE_URL";
+    private static final String ENV_TELEGRAM_API_BASE_URL = "TELEGRAM_API_BASE_URL";
+    private static final String ENV_INSTAGRAM_API_BASE_URL = "INSTAGRAM_API_BASE_URL";
+
+    private static final String DEFAULT_BLOG_URL = "https://m.blog.naver.com/yjm3038/222191646255";
+    private static final String DEFAULT_GEMINI_API_BASE_URL = "https://generativelanguage.googleapis.com/v1beta";
+    private static final String DEFAULT_SLACK_API_BASE_URL = "https://slack.com/api";
+    private static final String DEFAULT_GITHUB_API_BASE_URL = "https://api.github.com";
+    private static final String DEFAULT_GITHUB_RAW_BASE_URL = "https://raw.githubusercontent.com";
+    private static final String DEFAULT_TELEGRAM_API_BASE_URL = "https://api.telegram.org";
+    private static final String DEFAULT_INSTAGRAM_API_BASE_URL = "https://graph.facebook.com/v21.0";
+
+    private final String blogUrl;
+    private final String blogFeedUrl;
+    private final String geminiApiBaseUrl;
+    private final String slackApiBaseUrl;
+    private final String githubApiBaseUrl;
+    private final String githubRawBaseUrl;
+    private final String telegramApiBaseUrl;
+    private final String instagramApiBaseUrl;
+
+    /**
+     * EndpointConfig 생성자.
+     *
+     * @param blogUrl             메뉴 이미지가 올라오는 네이버 블로그 글 URL
+     * @param blogFeedUrl         새 글을 찾을 블로그 RSS/JSON Feed URL ({@code null}이면 {@code blogUrl}만 확인)
+     * @param geminiApiBaseUrl    Gemini API 기본 URL (버전 포함)
+     * @param slackApiBaseUrl     Slack Web API 기본 URL
+     * @param githubApiBaseUrl    GitHub REST API 기본 URL
+     * @param githubRawBaseUrl    GitHub Raw 콘텐츠 기본 URL
+     * @param telegramApiBaseUrl  Telegram Bot API 기본 URL
+     * @param instagramApiBaseUrl Instagram Graph API 기본 URL (버전 포함)
+     */
+    public EndpointConfig(
+            String blogUrl,
+            String blogFeedUrl,
+            String geminiApiBaseUrl,
+            String slackApiBaseUrl,
+            String githubApiBaseUrl,
+            String githubRawBaseUrl,
+            String telegramApiBaseUrl,
+            String instagramApiBaseUrl) {
+        this.blogUrl = blogUrl;
+        this.blogFeedUrl = blogFeedUrl;
+        this.geminiApiBaseUrl = stripTrailingSlash(geminiApiBaseUrl);
+        this.slackApiBaseUrl = stripTrailingSlash(slackApiBaseUrl);
+        this.githubApiBaseUrl = stripTrailingSlash(githubApiBaseUrl);
+        this.githubRawBaseUrl = stripTrailingSlash(githubRawBaseUrl);
+        this.telegramApiBaseUrl = stripTrailingSlash(telegramApiBaseUrl);
+        this.instagramApiBaseUrl = stripTrailingSlash(instagramApiBaseUrl);
+    }
+
+    /**
+     * 환경 변수에서 설정을 읽어 {@link EndpointConfig} 인스턴스를 생성합니다.
+     *
+     * @return {@link EndpointConfig} 인스턴스
+     */
+    public static EndpointConfig load() {
+        return new EndpointConfig(
+            envOrDefault(ENV_BLOG_URL, DEFAULT_BLOG_URL),
+            AppConfig.optionalEnv(ENV_BLOG_FEED_URL),
+            envOrDefault(ENV_GEMINI_API_BASE_URL, DEFAULT_GEMINI_API_BASE_URL),
+            envOrDefault(ENV_SLACK_API_BASE_URL, DEFAULT_SLACK_API_BASE_URL),
+            envOrDefault(ENV_GITHUB_API_BASE_URL, DEFAULT_GITHUB_API_BASE_URL),
+            envOrDefault(ENV_GITHUB_RAW_BASE_URL, DEFAULT_GITHUB_RAW_BASE_URL),
+            envOrDefault(ENV_TELEGRAM_API_BASE_URL, DEFAULT_TELEGRAM_API_BASE_URL),
+            envOrDefault(ENV_INSTAGRAM_API_BASE_URL, DEFAULT_INSTAGRAM_API_BASE_URL));
+    }
+
+    /**
+     * 모든 서비스를 같은 서버의 하위 경로로 향하게 하는 설정을 생성합니다.
+     *
+     * <p>서비스별 경로는 {@code /naver}(글은 {@code /naver/blog}, 피드는 {@code /naver/rss}),
+     * {@code /gemini}, {@code /slack}, {@code /github}, {@code /github-raw}, {@code /telegram},
+     * {@code /instagram}입니다.
+     * 로컬 스텁 서버 하나로 전체 파이프라인을 실행할 때 사용합니다.
+     *
+     * @param baseUrl 서버 기본 URL (예: "http://127.0.0.1:8080")
+     * @return {@link EndpointConfig} 인스턴스
+     */
+    public static EndpointConfig forSingleHost(String baseUrl) {
+        String base = stripTrailingSlash(baseUrl);
+        return new EndpointConfig(
+            base + "/naver/blog",
+            base + "/naver/rss",
+            base + "/gemini",
+            base + "/slack",
+            base + "/github",
+            base + "/github-raw",
+            base + "/telegram",
+            base + "/instagram");
+    }
+
+    private static String envOrDefault(String key, String defaultValue) {
+        String value = AppConfig.optionalEnv(key);
+        return value != null ? value : defaultValue;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    /**
+     * 네이버 블로그 글 URL을 반환합니다.
+     *
+     * @return 블로그 글 URL
+     */
+    public String getBlogUrl() {
+        return blogUrl;
+    }
+
+    /**
+     * 새 글을 찾을 블로그 피드 URL을 반환합니다.
+     *
+     * @return 피드 URL, 설정하지 않았으면 {@code null}
+     */
+    public String getBlogFeedUrl() {
+        return blogFeedUrl;
+    }
+
+    /**
+     * Gemini API 기본 URL을 반환합니다.
+     *
+     * @return Gemini API 기본 URL
+     */
+    public String getGeminiApiBaseUrl() {
+        return geminiApiBaseUrl;
+    }
+
+    /**
+     * Slack Web API 기본 URL을 반환합니다.
+     *
+     * @return Slack Web API 기본 URL
+     */
+    public String getSlackApiBaseUrl() {
+        return slackApiBaseUrl;
+    }
+
+    /**
+     * GitHub REST API 기본 URL을 반환합니다.
+     *
+     * @return GitHub REST API 기본 URL
+     */
+    public String getGithubApiBaseUrl() {
+        return githubApiBaseUrl;
+    }
+
+    /**
+     * GitHub Raw 콘텐츠 기본 URL을 반환합니다.
+     *
+     * @return GitHub Raw 콘텐츠 기본 URL
+     */
+    public String getGithubRawBaseUrl() {
+        return githubRawBaseUrl;
+    }
+
+    /**
+     * Telegram Bot API 기본 URL을 반환합니다.
+     *
+     * @return Telegram Bot API 기본 URL
+     */
+    public String getTelegramApiBaseUrl() {
+        return telegramApiBaseUrl;
+    }
+
+    /**
+     * Instagram Graph API 기본 URL을 반환합니다.
+     *
+     * @return Instagram Graph API 기본 URL
+     */
+    public String getInstagramApiBaseUrl() {
+        return instagramApiBaseUrl;
+    }
+}
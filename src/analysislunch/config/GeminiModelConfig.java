@@ -0,0 +1,135 @@
+package analysislunch.config;
+
+/**
+ * Gemini 작업별 모델, 지연 SLO, 비용 예산 설정을 담는 불변 클래스.
+ *
+ * <p>메뉴 OCR과 칼로리 분석은 텍스트 모델을, 음식 이미지 생성은 이미지 모델을 씁니다.
+ * 각 작업은 기본 모델이 지연 SLO와 오류율을 지키는 동안 기본 모델로, 그렇지 못하면 대체 모델로
+ * 보내집니다. 대체 모델을 설정하지 않으면 항상 기본 모델을 씁니다.
+ *
+ * <p>실행당/일일 예상 비용(USD) 예산을 넘으면 파이프라인은 이미지 생성과 칼로리 분석을 건너뜁니다.
+ * 0이면 예산을 두지 않습니다.
+ */
+public class GeminiModelConfig {
+
+    private static final String ENV_TEXT_MODEL = "GEMINI_TEXT_MODEL";
+    private static final String ENV_TEXT_FALLBACK_MODEL = "GEMINI_TEXT_FALLBACK_MODEL";
+    private static final String ENV_IMAGE_MODEL = "GEMINI_IMAGE_MODEL";
+    private static final String ENV_IMAGE_FALLBACK_MODEL = "GEMINI_IMAGE_FALLBACK_MODEL";
+    private static final String ENV_OCR_SLO_MS = "GEMINI_OCR_SLO_MS";
+    private static final String ENV_IMAGE_SLO_MS = "GEMINI_IMAGE_SLO_MS";
+    private static final String ENV_CALORIE_SLO_MS = "GEMINI_CALORIE_SLO_MS";
+    private static final String ENV_RUN_BUDGET_USD = "GEMINI_RUN_BUDGET_USD";
+    private static final String ENV_DAILY_BUDGET_USD = "GEMINI_DAILY_BUDGET_USD";
+
+    private static final String DEFAULT_TEXT_MODEL = "gemini-2.5-flash-lite";
+    private static final String DEFAULT_IMAGE_MODEL = "gemini-3.1-flash-image-preview";
+    private static final int DEFAULT_OCR_SLO_MS = 10_000;
+    private static final int DEFAULT_IMAGE_SLO_MS = 45_000;
+    private static final int DEFAULT_CALORIE_SLO_MS = 15_000;
+
+    private final Route ocr;
+    private final Route imageGeneration;
+    private final Route calorieAnalysis;
+    private final double runBudgetUsd;
+    private final double dailyBudgetUsd;
+
+    /**
+     * 작업 하나의 모델 경로.
+     *
+     * @param primaryModel  기본 모델 이름
+     * @param fallbackModel 기본 모델이 SLO를 지키지 못할 때 쓸 모델 이름 (없으면 {@code null})
+     * @param sloMillis     기본 모델 응답 지연 SLO(ms), 최근 p90이 이 값을 넘으면 대체 모델로 보냄
+     */
+    public record Route(String primaryModel, String fallbackModel, long sloMillis) {
+    }
+
+    /**
+     * GeminiModelConfig 생성자.
+     *
+     * @param ocr             메뉴 OCR 경로
+     * @param imageGeneration 음식 이미지 생성 경로
+     * @param calorieAnalysis 칼로리 분석 경로
+     * @param runBudgetUsd    실행 1회 예상 비용 예산(USD), 0이면 제한 없음
+     * @param dailyBudgetUsd  하루 예상 비용 예산(USD), 0이면 제한 없음
+     */
+    public GeminiModelConfig(
+            Route ocr, Route imageGeneration, Route calorieAnalysis, double runBudgetUsd, double dailyBudgetUsd) {
+        this.ocr = ocr;
+        this.imageGeneration = imageGeneration;
+        this.calorieAnalysis = calorieAnalysis;
+        this.runBudgetUsd = runBudgetUsd;
+        this.dailyBudgetUsd = dailyBudgetUsd;
+    }
+
+    /**
+     * 환경 변수에서 설정을 읽어 {@link GeminiModelConfig} 인스턴스를 생성합니다.
+     *
+     * <p>모든 항목은 선택이며, 미설정 시 기존 고정 모델을 대체 모델 없이 사용합니다.
+     *
+     * @return {@link GeminiModelConfig} 인스턴스
+     * @throws IllegalStateException SLO 값이 정수가 아니거나 예산 값이 숫자가 아닐 때
+     */
+    public static GeminiModelConfig load() {
+        String textModel = orDefault(AppConfig.optionalEnv(ENV_TEXT_MODEL), DEFAULT_TEXT_MODEL);
+        String textFallback = AppConfig.optionalEnv(ENV_TEXT_FALLBACK_MODEL);
+        String imageModel = orDefault(AppConfig.optionalEnv(ENV_IMAGE_MODEL), DEFAULT_IMAGE_MODEL);
+        String imageFallback = AppConfig.optionalEnv(ENV_IMAGE_FALLBACK_MODEL);
+        return new GeminiModelConfig(
+            new Route(textModel, textFallback, AppConfig.optionalIntEnv(ENV_OCR_SLO_MS, DEFAULT_OCR_SLO_MS)),
+            new Route(imageModel, imageFallback, AppConfig.optionalIntEnv(ENV_IMAGE_SLO_MS, DEFAULT_IMAGE_SLO_MS)),
+            new Route(textModel, textFallback,
+                AppConfig.optionalIntEnv(ENV_CALORIE_SLO_MS, DEFAULT_CALORIE_SLO_MS)),
+            AppConfig.optionalDoubleEnv(ENV_RUN_BUDGET_USD, 0d),
+            AppConfig.optionalDoubleEnv(ENV_DAILY_BUDGET_USD, 0d));
+    }
+
+    /**
+     * 메뉴 OCR 경로를 반환합니다.
+     *
+     * @return 메뉴 OCR 모델 경로
+     */
+    public Route getOcr() {
+        return ocr;
+    }
+
+    /**
+     * 음식 이미지 생성 경로를 반환합니다.
+     *
+     * @return 이미지 생성 모델 경로
+     */
+    public Route getImageGeneration() {
+        return imageGeneration;
+    }
+
+    /**
+     * 칼로리 분석 경로를 반환합니다.
+     *
+     * @return 칼로리 분석 모델 경로
+     */
+    public Route getCalorieAnalysis() {
+        return calorieAnalysis;
+    }
+
+    /**
+     * 실행 1회 예상 비용 예산을 반환합니다.
+     *
+     * @return 예산(USD), 0이면 제한 없음
+     */
+    public double getRunBudgetUsd() {
+        return runBudgetUsd;
+    }
+
+    /**
+     * 하루 예상 비용 예산을 반환합니다.
+     *
+     * @return 예산(USD), 0이면 제한 없음
+     */
+    public double getDailyBudgetUsd() {
+        return dailyBudgetUsd;
+    }
+
+    private static String orDefault(String value, String defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,241 @@
+package analysislunch.config;
+
+import analysislunch.utils.HttpCassette;
+
+/**
+ * 실행 방식(cron/데몬)과 운영 관측 설정을 담는 불변 클래스.
+ *
+ * <p>모든 항목은 선택 환경 변수이며, 미설정 시 기존 cron 1회 실행과 동일하게 동작합니다.
+ */
+public class RuntimeConfig {
+
+    private static final String ENV_DAEMON_INTERVAL_SECONDS = "DAEMON_INTERVAL_SECONDS";
+    private static final String ENV_METRICS_PORT = "METRICS_PORT";
+    private static final String ENV_MENU_API_PORT = "MENU_API_PORT";
+    private static final String ENV_MENU_STREAM_PORT = "MENU_STREAM_PORT";
+    private static final String ENV_METRICS_FILE = "METRICS_FILE";
+    private static final String ENV_HTTP_TIMINGS_FILE = "HTTP_TIMINGS_FILE";
+    private static final String ENV_WORK_DIR = "WORK_DIR";
+    private static final String ENV_HTTP_CASSETTE_FILE = "HTTP_CASSETTE_FILE";
+    private static final String ENV_HTTP_CASSETTE_MODE = "HTTP_CASSETTE_MODE";
+    private static final String ENV_RUN_DEADLINE_SECONDS = "RUN_DEADLINE_SECONDS";
+
+    private static final int DEFAULT_METRICS_PORT = 9464;
+    private static final String DEFAULT_METRICS_FILE = "metrics.prom";
+    private static final String DEFAULT_HTTP_TIMINGS_FILE = "http_timings.jsonl";
+    private static final String DEFAULT_WORK_DIR = ".";
+    private static final String DEFAULT_HTTP_CASSETTE_MODE = "replay";
+    private static final int DEFAULT_RUN_DEADLINE_SECONDS = 600;
+
+    private final int daemonIntervalSeconds;
+    private final int metricsPort;
+    private final int menuApiPort;
+    private final int menuStreamPort;
+    private final String metricsFile;
+    private final String httpTimingsFile;
+    private final String workDir;
+    private final String httpCassetteFile;
+    private final HttpCassette.Mode httpCassetteMode;
+    private final int runDeadlineSeconds;
+
+    /**
+     * RuntimeConfig 생성자.
+     *
+     * @param daemonIntervalSeconds 데몬 모드 실행 간격(초), 0이면 cron 1회 실행
+     * @param metricsPort           데몬 모드의 {@code /metrics} 수신 포트
+     * @param menuApiPort           데몬 모드의 메뉴 API 수신 포트, 0이면 사용 안 함
+     * @param menuStreamPort        데몬 모드의 메뉴 SSE 스트림 수신 포트, 0이면 사용 안 함
+     * @param metricsFile           cron 실행 종료 시 기록할 Prometheus 텍스트 파일 경로
+     * @param httpTimingsFile       실행마다 HTTP 구간별 측정값을 덧붙일 JSONL 파일 경로
+     * @param workDir               임시 이미지와 해시 파일을 둘 작업 디렉터리
+     * @param httpCassetteFile      HTTP 녹화/재생 카세트 파일 경로, {@code null}이면 사용 안 함
+     * @param httpCassetteMode      HTTP 카세트 동작 방식 (카세트를 쓰지 않으면 무시)
+     * @param runDeadlineSeconds    파이프라인 1회 실행 기한(초), 0이면 기한 없음
+     */
+    public RuntimeConfig(
+            int daemonIntervalSeconds,
+            int metricsPort,
+            int menuApiPort,
+            int menuStreamPort,
+            String metricsFile,
+            String httpTimingsFile,
+            String workDir,
+            String httpCassetteFile,
+            HttpCassette.Mode httpCassetteMode,
+            int runDeadlineSeconds) {
+        this.daemonIntervalSeconds = daemonIntervalSeconds;
+        this.metricsPort = metricsPort;
+        this.menuApiPort = menuApiPort;
+        this.menuStreamPort = menuStreamPort;
+        this.metricsFile = metricsFile;
+        this.httpTimingsFile = httpTimingsFile;
+        this.workDir = workDir;
+        this.httpCassetteFile = httpCassetteFile;
+        this.httpCassetteMode = httpCassetteMode;
+        this.runDeadlineSeconds = runDeadlineSeconds;
+    }
+
+    /**
+     * 환경 변수에서 설정을 읽어 {@link RuntimeConfig} 인스턴스를 생성합니다.
+     *
+     * @return {@link RuntimeConfig} 인스턴스
+     * @throws IllegalStateException 숫자 설정 값이나 카세트 모드가 올바르지 않을 때
+     */
+    public static RuntimeConfig load() {
+        int daemonIntervalSeconds = AppConfig.optionalIntEnv(ENV_DAEMON_INTERVAL_SECONDS, 0);
+        int metricsPort = AppConfig.optionalIntEnv(ENV_METRICS_PORT, DEFAULT_METRICS_PORT);
+        int menuApiPort = AppConfig.optionalIntEnv(ENV_MENU_API_PORT, 0);
+        int menuStreamPort = AppConfig.optionalIntEnv(ENV_MENU_STREAM_PORT, 0);
+        String metricsFile = AppConfig.optionalEnv(ENV_METRICS_FILE);
+        String httpTimingsFile = AppConfig.optionalEnv(ENV_HTTP_TIMINGS_FILE);
+        String workDir = AppConfig.optionalEnv(ENV_WORK_DIR);
+        String httpCassetteFile = AppConfig.optionalEnv(ENV_HTTP_CASSETTE_FILE);
+        String httpCassetteMode = AppConfig.optionalEnv(ENV_HTTP_CASSETTE_MODE);
+        return new RuntimeConfig(
+            daemonIntervalSeconds,
+            metricsPort,
+            menuApiPort,
+            menuStreamPort,
+            metricsFile != null ? metricsFile : DEFAULT_METRICS_FILE,
+            httpTimingsFile != null ? httpTimingsFile : DEFAULT_HTTP_TIMINGS_FILE,
+            workDir != null ? workDir : DEFAULT_WORK_DIR,
+            httpCassetteFile,
+            parseCassetteMode(httpCassetteMode != null ? httpCassetteMode : DEFAULT_HTTP_CASSETTE_MODE),
+            AppConfig.optionalIntEnv(ENV_RUN_DEADLINE_SECONDS, DEFAULT_RUN_DEADLINE_SECONDS));
+    }
+
+    private static HttpCassette.Mode parseCassetteMode(String value) {
+        try {
+            return HttpCassette.Mode.parse(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("환경 변수 형식 오류 (record, replay, replay-realtime 중 하나): "
+                + ENV_HTTP_CASSETTE_MODE + "=" + value, e);
+        }
+    }
+
+    /**
+     * 데몬 모드 여부를 반환합니다.
+     *
+     * @return 실행 간격이 설정되어 있으면 {@code true}
+     */
+    public boolean isDaemon() {
+        return daemonIntervalSeconds > 0;
+    }
+
+    /**
+     * 데몬 모드 실행 간격을 반환합니다.
+     *
+     * @return 실행 간격(초), cron 모드면 0
+     */
+    public int getDaemonIntervalSeconds() {
+        return daemonIntervalSeconds;
+    }
+
+    /**
+     * 메트릭 HTTP 포트를 반환합니다.
+     *
+     * @return {@code /metrics} 수신 포트
+     */
+    public int getMetricsPort() {
+        return metricsPort;
+    }
+
+    /**
+     * 메뉴 API 포트를 반환합니다.
+     *
+     * @return 메뉴 API 수신 포트, 사용하지 않으면 0
+     */
+    public int getMenuApiPort() {
+        return menuApiPort;
+    }
+
+    /**
+     * 메뉴 API 사용 여부를 반환합니다. 메뉴 API는 데몬 모드에서만 엽니다.
+     *
+     * @return 데몬 모드이고 포트가 설정되어 있으면 {@code true}
+     */
+    public boolean isMenuApiEnabled() {
+        return isDaemon() && menuApiPort > 0;
+    }
+
+    /**
+     * 메뉴 SSE 스트림 포트를 반환합니다.
+     *
+     * @return 메뉴 SSE 스트림 수신 포트, 사용하지 않으면 0
+     */
+    public int getMenuStreamPort() {
+        return menuStreamPort;
+    }
+
+    /**
+     * 메뉴 SSE 스트림 사용 여부를 반환합니다. 스트림은 데몬 모드에서만 엽니다.
+     *
+     * @return 데몬 모드이고 포트가 설정되어 있으면 {@code true}
+     */
+    public boolean isMenuStreamEnabled() {
+        return isDaemon() && menuStreamPort > 0;
+    }
+
+    /**
+     * 메트릭 파일 경로를 반환합니다.
+     *
+     * @return Prometheus 텍스트 파일 경로
+     */
+    public String getMetricsFile() {
+        return metricsFile;
+    }
+
+    /**
+     * HTTP 구간별 측정값 파일 경로를 반환합니다.
+     *
+     * @return JSONL 파일 경로
+     */
+    public String getHttpTimingsFile() {
+        return httpTimingsFile;
+    }
+
+    /**
+     * 작업 디렉터리를 반환합니다.
+     *
+     * @return 임시 이미지와 해시 파일을 둘 디렉터리 경로
+     */
+    public String getWorkDir() {
+        return workDir;
+    }
+
+    /**
+     * HTTP 카세트 사용 여부를 반환합니다.
+     *
+     * @return 카세트 파일이 설정되어 있으면 {@code true}
+     */
+    public boolean isHttpCassetteEnabled() {
+        return httpCassetteFile != null;
+    }
+
+    /**
+     * HTTP 카세트 파일 경로를 반환합니다.
+     *
+     * @return 카세트 파일 경로, 사용하지 않으면 {@code null}
+     */
+    public String getHttpCassetteFile() {
+        return httpCassetteFile;
+    }
+
+    /**
+     * HTTP 카세트 동작 방식을 반환합니다.
+     *
+     * @return 녹화/재생 방식
+     */
+    public HttpCassette.Mode getHttpCassetteMode() {
+        return httpCassetteMode;
+    }
+
+    /**
+     * 파이프라인 1회 실행 기한을 반환합니다.
+     *
+     * @return 실행 기한(초), 0이면 기한 없음
+     */
+    public int getRunDeadlineSeconds() {
+        return runDeadlineSeconds;
+    }
+}
@@ -0,0 +1,163 @@
+package analysislunch.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * 기본 채널 외에 메뉴를 받을 Slack 채널과 Telegram 채팅 목록을 담는 불변 클래스.
+ *
+ * <p>구독자 파일은 한 줄에 하나씩 {@code 플랫폼:ID} 형식으로 적습니다. 빈 줄과
+ * {@code #}으로 시작하는 줄은 무시하고, 중복은 처음 나온 순서대로 한 번만 남깁니다.
+ * <pre>
+ * # 팀 채널
+ * slack:C0123456789
+ * telegram:@lunch_channel
+ * telegram:-1001234567890
+ * </pre>
+ */
+public class SubscriberRegistry {
+
+    private static final String ENV_SUBSCRIBERS_FILE = "SUBSCRIBERS_FILE";
+    private static final String DEFAULT_SUBSCRIBERS_FILE = "subscribers.txt";
+    private static final String COMMENT_PREFIX = "#";
+    private static final String PLATFORM_SLACK = "slack";
+    private static final String PLATFORM_TELEGRAM = "telegram";
+
+    private static final SubscriberRegistry EMPTY = new SubscriberRegistry(List.of(), List.of());
+
+    private final List<String> slackChannels;
+    private final List<String> telegramChats;
+
+    /**
+     * SubscriberRegistry 생성자.
+     *
+     * @param slackChannels Slack 채널 ID 목록
+     * @param telegramChats Telegram 채팅 ID 목록
+     */
+    public SubscriberRegistry(List<String> slackChannels, List<String> telegramChats) {
+        this.slackChannels = Collections.unmodifiableList(new ArrayList<>(new LinkedHashSet<>(slackChannels)));
+        this.telegramChats = Collections.unmodifiableList(new ArrayList<>(new LinkedHashSet<>(telegramChats)));
+    }
+
+    /**
+     * 구독자가 없는 레지스트리를 반환합니다.
+     *
+     * @return 빈 {@link SubscriberRegistry}
+     */
+    public static SubscriberRegistry empty() {
+        return EMPTY;
+    }
+
+    /**
+     * {@code SUBSCRIBERS_FILE}(기본 {@value #DEFAULT_SUBSCRIBERS_FILE})에서 구독자를 읽습니다.
+     *
+     * <p>기본 경로에 파일이 없으면 빈 레지스트리를 반환합니다. 환경 변수로 경로를
+     * 지정했는데 읽을 수 없으면 설정 오류로 봅니다.
+     *
+     * @return {@link SubscriberRegistry} 인스턴스
+     * @throws IllegalStateException 파일을 읽을 수 없거나 형식이 잘못되었을 때
+     */
+    public static SubscriberRegistry load() {
+        String configured = AppConfig.optionalEnv(ENV_SUBSCRIBERS_FILE);
+        Path file = Path.of(configured != null ? configured : DEFAULT_SUBSCRIBERS_FILE);
+        if (configured == null && !Files.exists(file)) {
+            return EMPTY;
+        }
+        try {
+            return parse(Files.readAllLines(file, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("구독자 파일 읽기 실패: " + file, e);
+        }
+    }
+
+    /**
+     * 구독자 파일 내용을 해석합니다.
+     *
+     * @param lines 파일의 각 줄
+     * @return {@link SubscriberRegistry} 인스턴스
+     * @throws IllegalStateException 알 수 없는 플랫폼이거나 ID가 비어 있을 때
+     */
+    public static SubscriberRegistry parse(List<String> lines) {
+        List<String> slack = new ArrayList<>();
+        List<String> telegram = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith(COMMENT_PREFIX)) {
+                continue;
+            }
+            int colon = line.indexOf(':');
+            String platform = colon > 0 ? line.substring(0, colon).trim() : "";
+            String id = colon > 0 ? line.substring(colon + 1).trim() : "";
+            if (id.isEmpty()) {
+                throw new IllegalStateException("구독자 형식 오류 (" + (i + 1) + "행, 플랫폼:ID 필요): " + line);
+            }
+            switch (platform) {
+                case PLATFORM_SLACK -> slack.add(id);
+                case PLATFORM_TELEGRAM -> telegram.add(id);
+                default -> throw new IllegalStateException(
+                    "알 수 없는 구독 플랫폼 (" + (i + 1) + "행): " + platform);
+            }
+        }
+        return new SubscriberRegistry(slack, telegram);
+    }
+
+    /**
+     * 지정한 기본 채널을 뺀 레지스트리를 반환합니다.
+     *
+     * <p>기본 채널은 스레드/캡션을 갖춘 개별 전송 경로로 이미 받으므로 브로드캐스트에서
+     * 제외해 같은 메뉴를 두 번 받지 않게 합니다.
+     *
+     * @param slackChannel Slack 기본 채널 ID (null 허용)
+     * @param telegramChat Telegram 기본 채팅 ID (null 허용)
+     * @return 기본 채널이 빠진 {@link SubscriberRegistry}
+     */
+    public SubscriberRegistry without(String slackChannel, String telegramChat) {
+        List<String> slack = new ArrayList<>(slackChannels);
+        List<String> telegram = new ArrayList<>(telegramChats);
+        slack.remove(slackChannel);
+        telegram.remove(telegramChat);
+        return new SubscriberRegistry(slack, telegram);
+    }
+
+    /**
+     * Slack 구독 채널 ID 목록을 반환합니다.
+     *
+     * @return 읽기 전용 채널 ID 목록 (파일 순서)
+     */
+    public List<String> getSlackChannels() {
+        return slackChannels;
+    }
+
+    /**
+     * Telegram 구독 채팅 ID 목록을 반환합니다.
+     *
+     * @return 읽기 전용 채팅 ID 목록 (파일 순서)
+     */
+    public List<String> getTelegramChats() {
+        return telegramChats;
+    }
+
+    /**
+     * 구독자가 하나도 없는지 확인합니다.
+     *
+     * @return 모든 목록이 비어 있으면 {@code true}
+     */
+    public boolean isEmpty() {
+        return slackChannels.isEmpty() && telegramChats.isEmpty();
+    }
+
+    /**
+     * 전체 구독자 수를 반환합니다.
+     *
+     * @return Slack 채널 수와 Telegram 채팅 수의 합
+     */
+    public int size() {
+        return slackChannels.size() + telegramChats.size();
+    }
+}
@@ -0,0 +1,107 @@
+package analysislunch.domain.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gemini 칼로리 분석 결과(마크다운 표)를 파싱한 불변 레코드.
+ *
+ * @param rows      메뉴별 행 (표 순서)
+ * @param totalLine 총 칼로리 줄 (굵게 표시 제거, 없으면 빈 문자열)
+ */
+public record CalorieTable(List<Row> rows, String totalLine) {
+
+    private static final String PIPE_DELIMITER = "\\|";
+    private static final String TABLE_HEADER_MENU = "메뉴명";
+    private static final String TABLE_SEPARATOR_PREFIX = "---";
+    private static final String TOTAL_CALORIE_KEYWORD = "총 예상 칼로리";
+    private static final String BOLD_MARKER = "**";
+
+    /**
+     * compact constructor: 행 목록을 불변으로 복사합니다.
+     */
+    public CalorieTable {
+        rows = List.copyOf(rows);
+        totalLine = totalLine != null ? totalLine : "";
+    }
+
+    /**
+     * 마크다운 표 형식의 칼로리 분석 문자열을 파싱합니다.
+     *
+     * <p>헤더/구분 행은 건너뛰고, {@code 총 예상 칼로리}가 들어간 표 밖의 줄을 총계 줄로 씁니다.
+     *
+     * @param calorieInfo 칼로리 분석 문자열
+     * @return 파싱 결과 (표가 없으면 행이 비어 있음)
+     */
+    public static CalorieTable parse(String calorieInfo) {
+        List<Row> rows = new ArrayList<>();
+        String totalLine = "";
+        for (String line : calorieInfo.split("\n")) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("|" + TABLE_SEPARATOR_PREFIX) || line.startsWith("|-")) {
+                continue;
+            }
+            if (line.startsWith("|")) {
+                String[] parts = line.split(PIPE_DELIMITER);
+                if (parts.length >= 3) {
+                    String menu = parts[1].trim();
+                    String cal = parts[2].trim();
+                    if (!menu.equals(TABLE_HEADER_MENU) && !menu.contains(TABLE_SEPARATOR_PREFIX)) {
+                        rows.add(new Row(menu, cal, leadingNumber(cal)));
+                    }
+                }
+            } else if (line.contains(TOTAL_CALORIE_KEYWORD)) {
+                totalLine = line.replace(BOLD_MARKER, "").trim();
+            }
+        }
+        return new CalorieTable(rows, totalLine);
+    }
+
+    /**
+     * 총 칼로리(kcal)를 반환합니다. 총계 줄의 숫자를 우선하고, 없으면 행의 합을 씁니다.
+     *
+     * @return 총 칼로리, 알 수 없으면 0
+     */
+    public int totalKcal() {
+        int fromLine = leadingNumber(totalLine.substring(totalLine.indexOf(':') + 1));
+        if (fromLine > 0) {
+            return fromLine;
+        }
+        int sum = 0;
+        for (Row row : rows) {
+            sum += Math.max(0, row.kcal());
+        }
+        return sum;
+    }
+
+    /**
+     * 문자열에서 처음 나오는 정수를 읽습니다 (예: "약 1,275kcal" → 1275). 쉼표는 무시합니다.
+     *
+     * @return 정수, 숫자가 없으면 -1
+     */
+    private static int leadingNumber(String text) {
+        long value = -1;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+                if (value > Integer.MAX_VALUE) {
+                    return Integer.MAX_VALUE;
+                }
+            } else if (value >= 0 && c != ',') {
+                break;
+            }
+        }
+        return (int) value;
+    }
+
+    /**
+     * 표의 메뉴 한 행.
+     *
+     * @param menu        메뉴명
+     * @param calorieText 칼로리 칸 원문 (예: "310kcal")
+     * @param kcal        칼로리 칸의 숫자, 없으면 -1
+     */
+    public record Row(String menu, String calorieText, int kcal) {
+    }
+}
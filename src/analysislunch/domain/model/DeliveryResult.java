@@ -0,0 +1,38 @@
+package analysislunch.domain.model;
+
+/**
+ * 브로드캐스트 대상 하나에 대한 전송 결과.
+ *
+ * @param destination 전송 대상
+ * @param delivered   전송 성공 여부
+ * @param attempts    재시도를 포함한 시도 횟수
+ * @param nanos       대상 하나를 처리하는 데 걸린 시간(ns), 묶음 전송이면 묶음 전체 시간
+ * @param error       실패 사유 (성공 시 {@code null})
+ */
+public record DeliveryResult(Destination destination, boolean delivered, int attempts, long nanos, String error) {
+
+    /**
+     * 성공 결과를 생성합니다.
+     *
+     * @param destination 전송 대상
+     * @param attempts    시도 횟수
+     * @param nanos       소요 시간(ns)
+     * @return 성공 {@link DeliveryResult}
+     */
+    public static DeliveryResult success(Destination destination, int attempts, long nanos) {
+        return new DeliveryResult(destination, true, attempts, nanos, null);
+    }
+
+    /**
+     * 실패 결과를 생성합니다.
+     *
+     * @param destination 전송 대상
+     * @param attempts    시도 횟수
+     * @param nanos       소요 시간(ns)
+     * @param error       실패 사유
+     * @return 실패 {@link DeliveryResult}
+     */
+    public static DeliveryResult failure(Destination destination, int attempts, long nanos, String error) {
+        return new DeliveryResult(destination, false, attempts, nanos, error);
+    }
+}
@@ -0,0 +1,41 @@
+package analysislunch.domain.model;
+
+/**
+ * 브로드캐스트 전송 대상 하나.
+ *
+ * @param platform 대상 플랫폼
+ * @param id       플랫폼 내 대상 ID (Slack 채널 ID, Telegram 채팅 ID)
+ */
+public record Destination(Platform platform, String id) {
+
+    /**
+     * 브로드캐스트를 지원하는 플랫폼.
+     */
+    public enum Platform {
+
+        /** Slack 채널. */
+        SLACK("slack"),
+        /** Telegram 채널/그룹/개인 채팅. */
+        TELEGRAM("telegram");
+
+        private final String label;
+
+        Platform(String label) {
+            this.label = label;
+        }
+
+        /**
+         * 메트릭 레이블 등에 쓰는 소문자 이름을 반환합니다.
+         *
+         * @return 레이블 값 (예: "slack")
+         */
+        public String label() {
+            return label;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return platform.label() + ":" + id;
+    }
+}
@@ -0,0 +1,33 @@
+package analysislunch.domain.model;
+
+import java.util.List;
+
+/**
+ * 메뉴 이력 저장소에 남기는 실행 1회분의 메뉴 기록.
+ *
+ * @param date             메뉴 날짜 (ISO 형식, 예: "2026-02-18")
+ * @param menu             메뉴 내용 (쉼표로 구분된 메뉴 목록)
+ * @param calorieAnalysis  Gemini 칼로리 분석 결과 (마크다운 표)
+ * @param imageHash        원본 메뉴판 이미지의 SHA-256
+ * @param imageRefs        생성 이미지 참조 목록 (식판 이미지, 칼로리 카드의 내용 해시 접두사)
+ * @param recordedAtMillis 기록 시각 (Unix ms)
+ */
+public record MenuHistoryEntry(
+        String date,
+        String menu,
+        String calorieAnalysis,
+        String imageHash,
+        List<String> imageRefs,
+        long recordedAtMillis) {
+
+    /**
+     * compact constructor: null 값을 빈 값으로 대체하고 목록을 불변으로 복사합니다.
+     */
+    public MenuHistoryEntry {
+        date = date != null ? date : "";
+        menu = menu != null ? menu : "";
+        calorieAnalysis = calorieAnalysis != null ? calorieAnalysis : "";
+        imageHash = imageHash != null ? imageHash : "";
+        imageRefs = imageRefs != null ? List.copyOf(imageRefs) : List.of();
+    }
+}
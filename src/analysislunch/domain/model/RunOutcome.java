@@ -0,0 +1,31 @@
+package analysislunch.domain.model;
+
+/**
+ * 점심 메뉴 파이프라인 1회 실행의 결과.
+ */
+public enum RunOutcome {
+
+    /** 메뉴 이미지가 바뀌지 않아 조기 종료했습니다. */
+    UNCHANGED("unchanged"),
+    /** 한 채널 이상에 전송하고 해시를 갱신했습니다. */
+    DELIVERED("delivered"),
+    /** 모든 채널 전송에 실패해 해시를 갱신하지 않았습니다. */
+    UNDELIVERED("undelivered"),
+    /** 전송 전 단계에서 오류가 발생했습니다. */
+    FAILED("failed");
+
+    private final String label;
+
+    RunOutcome(String label) {
+        this.label = label;
+    }
+
+    /**
+     * 메트릭 레이블 등에 쓰는 소문자 이름을 반환합니다.
+     *
+     * @return 레이블 값 (예: "delivered")
+     */
+    public String label() {
+        return label;
+    }
+}
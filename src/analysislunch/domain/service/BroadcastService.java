@@ -0,0 +1,333 @@
+package analysislunch.domain.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+import analysislunch.config.SubscriberRegistry;
+import analysislunch.domain.model.DeliveryResult;
+import analysislunch.domain.model.Destination;
+import analysislunch.infrastructure.client.RateLimitedException;
+import analysislunch.infrastructure.client.SlackClient;
+import analysislunch.infrastructure.client.TelegramClient;
+import analysislunch.infrastructure.metrics.MetricsRegistry;
+import analysislunch.utils.Deadline;
+import analysislunch.utils.DeadlineExceededException;
+import analysislunch.utils.RateLimiter;
+
+/**
+ * 구독자 레지스트리의 모든 Slack 채널과 Telegram 채팅에 메뉴를 동시에 전송하는 서비스.
+ *
+ * <p>이미지는 플랫폼마다 한 번만 올리고 돌려받은 핸들을 재사용합니다.
+ * <ul>
+ *   <li>Slack: 채널 묶음마다 두 파일을 올린 뒤 {@code files.completeUploadExternal}
+ *       한 번으로 묶음 전체에 공유합니다.</li>
+ *   <li>Telegram: 사진을 한 번 올려 캐시한 {@code file_id}로 채팅마다 앨범 요청 하나씩 보냅니다.</li>
+ * </ul>
+ * 따라서 전송 시간은 업로드 바이트가 아니라 플랫폼 요청 한도에 비례합니다. 요청은
+ * 플랫폼별 {@link RateLimiter}로 속도를 맞추고, 429를 받으면 서버가 알려 준 시간만큼
+ * 해당 플랫폼 전체를 멈춘 뒤 재시도합니다.
+ */
+@Slf4j
+public class BroadcastService {
+
+    /** Bot API 안내 한도(초당 약 30건)보다 약간 낮게 잡습니다. */
+    private static final double TELEGRAM_REQUESTS_PER_SECOND = 25d;
+    private static final int TELEGRAM_BURST = 5;
+    /** {@code files.completeUploadExternal}은 Tier 4(분당 100회 이상)입니다. */
+    private static final double SLACK_REQUESTS_PER_SECOND = 1.5d;
+    private static final int SLACK_BURST = 3;
+    /** 한 번의 공유 호출에 넣을 채널 수. 문서화된 상한이 없어 보수적으로 잡습니다. */
+    private static final int SLACK_CHANNELS_PER_SHARE = 50;
+    private static final int WORKER_THREADS = 8;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int SEED_ATTEMPTS = 3;
+    private static final int MAX_LOGGED_FAILURES = 20;
+
+    private static final String METRIC_DELIVERIES = "lunch_broadcast_deliveries_total";
+
+    private final SubscriberRegistry subscribers;
+    private final Supplier<SlackClient> slackClient;
+    private final Supplier<TelegramClient> telegramClient;
+    private final RateLimiter slackLimiter = new RateLimiter(SLACK_REQUESTS_PER_SECOND, SLACK_BURST);
+    private final RateLimiter telegramLimiter = new RateLimiter(TELEGRAM_REQUESTS_PER_SECOND, TELEGRAM_BURST);
+
+    /**
+     * BroadcastService 생성자.
+     *
+     * @param subscribers    브로드캐스트 구독자 (기본 채널은 제외된 목록)
+     * @param slackClient    Slack API 클라이언트
+     * @param telegramClient Telegram API 클라이언트 (봇 토큰 미설정 시 {@code null} 반환)
+     */
+    public BroadcastService(
+            SubscriberRegistry subscribers,
+            Supplier<SlackClient> slackClient,
+            Supplier<TelegramClient> telegramClient) {
+        this.subscribers = subscribers;
+        this.slackClient = slackClient;
+        this.telegramClient = telegramClient;
+    }
+
+    /**
+     * 전송할 구독자가 있는지 확인합니다.
+     *
+     * @return 구독자가 하나라도 있으면 {@code true}
+     */
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    /**
+     * 모든 구독자에게 메뉴 안내와 두 이미지를 전송하고 대상별 결과를 반환합니다.
+     *
+     * <p>한 대상의 실패는 다른 대상에 영향을 주지 않습니다. 작업 스레드에도 호출 스레드의 실행 기한이 적용됩니다.
+     * 칼로리 카드가 없으면 식판 이미지만 보냅니다.
+     *
+     * @param foodImage   식판 이미지 파일
+     * @param cardImage   칼로리 카드 이미지 파일 ({@code null}이면 식판 이미지만 전송)
+     * @param title       식판 이미지 제목 (Slack)
+     * @param message     메뉴 안내 본문
+     * @param cardTitle   칼로리 카드 제목 (Slack)
+     * @param cardComment 칼로리 카드 캡션 (Telegram)
+     * @return 대상별 전송 결과 (구독자마다 하나)
+     */
+    public List<DeliveryResult> broadcast(
+            File foodImage, File cardImage, String title, String message, String cardTitle, String cardComment) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(WORKER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "broadcast-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<List<DeliveryResult>>> futures = new ArrayList<>();
+            List<String> channels = subscribers.getSlackChannels();
+            for (int from = 0; from < channels.size(); from += SLACK_CHANNELS_PER_SHARE) {
+                List<String> batch = channels.subList(from, Math.min(from + SLACK_CHANNELS_PER_SHARE, channels.size()));
+                futures.add(pool.submit(Deadline.propagate(
+                    () -> shareToSlack(batch, foodImage, cardImage, title, message, cardTitle))::get));
+            }
+
+            List<DeliveryResult> results = new ArrayList<>();
+            if (!subscribers.getTelegramChats().isEmpty()) {
+                broadcastTelegram(pool, futures, results, foodImage, cardImage, message, cardComment);
+            }
+            for (Future<List<DeliveryResult>> future : futures) {
+                results.addAll(await(future));
+            }
+            report(results);
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 채널 묶음 하나에 두 이미지를 올리고 한 번의 호출로 공유합니다.
+     */
+    private List<DeliveryResult> shareToSlack(
+            List<String> channels, File foodImage, File cardImage, String title, String message, String cardTitle) {
+        long start = System.nanoTime();
+        int[] attempts = {0};
+        String error = null;
+        try {
+            SlackClient client = slackClient.get();
+            List<String> fileIds = client.uploadAll(photosOf(foodImage, cardImage));
+            Map<String, String> files = new LinkedHashMap<>();
+            files.put(fileIds.get(0), title);
+            if (cardImage != null) {
+                files.put(fileIds.get(1), cardTitle);
+            }
+            withRetry(slackLimiter, attempts, () -> client.shareFiles(files, channels, message));
+        } catch (IOException e) {
+            error = e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "중단됨";
+        }
+        long nanos = System.nanoTime() - start;
+        List<DeliveryResult> results = new ArrayList<>(channels.size());
+        for (String channel : channels) {
+            Destination destination = new Destination(Destination.Platform.SLACK, channel);
+            results.add(error == null
+                ? DeliveryResult.success(destination, attempts[0], nanos)
+                : DeliveryResult.failure(destination, attempts[0], nanos, error));
+        }
+        return results;
+    }
+
+    /**
+     * 사진의 {@code file_id}가 캐시에 없으면 첫 채팅에 올려 확보한 뒤 나머지 채팅을 작업으로 나눠 제출합니다.
+     *
+     * <p>기본 채팅에 이미 보냈다면 캐시가 채워져 있어 바로 병렬 전송합니다. 업로드가 실패한
+     * 채팅은 실패로 기록하고 다음 채팅으로 업로드를 다시 시도합니다.
+     */
+    private void broadcastTelegram(
+            ExecutorService pool,
+            List<Future<List<DeliveryResult>>> futures,
+            List<DeliveryResult> results,
+            File foodImage,
+            File cardImage,
+            String message,
+            String cardComment) {
+        TelegramClient client = telegramClient.get();
+        List<String> chats = subscribers.getTelegramChats();
+        if (client == null) {
+            log.warn("Telegram 봇 토큰이 없어 구독 채팅 {}곳을 건너뜁니다.", chats.size());
+            for (String chat : chats) {
+                results.add(DeliveryResult.failure(
+                    new Destination(Destination.Platform.TELEGRAM, chat), 0, 0L, "봇 토큰 미설정"));
+            }
+            return;
+        }
+
+        List<File> photos = photosOf(foodImage, cardImage);
+        int next = 0;
+        try {
+            while (!client.isCached(photos) && next < chats.size() && next < SEED_ATTEMPTS) {
+                results.add(sendTelegram(client, chats.get(next++), photos, message, cardComment));
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+            if (!client.isCached(photos)) {
+                failRemaining(results, chats.subList(next, chats.size()), "사진 업로드 실패로 file_id를 확보하지 못함");
+                return;
+            }
+        } catch (IOException e) {
+            failRemaining(results, chats.subList(next, chats.size()), "사진 파일 읽기 실패: " + e.getMessage());
+            return;
+        }
+        for (String chat : chats.subList(next, chats.size())) {
+            futures.add(pool.submit(Deadline.propagate(
+                () -> List.of(sendTelegram(client, chat, photos, message, cardComment)))::get));
+        }
+    }
+
+    private static List<File> photosOf(File foodImage, File cardImage) {
+        return cardImage != null ? List.of(foodImage, cardImage) : List.of(foodImage);
+    }
+
+    private static void failRemaining(List<DeliveryResult> results, List<String> chats, String reason) {
+        for (String chat : chats) {
+            results.add(DeliveryResult.failure(new Destination(Destination.Platform.TELEGRAM, chat), 0, 0L, reason));
+        }
+    }
+
+    /**
+     * 채팅 하나에 안내 본문과 두 사진을 앨범으로 보냅니다. 캐시된 사진은 {@code file_id}만 보냅니다.
+     *
+     * <p>본문이 캡션 한도를 넘을 때만 텍스트 메시지를 따로 보내며, 재시도는 요청 단위로 합니다.
+     */
+    private DeliveryResult sendTelegram(
+            TelegramClient client, String chat, List<File> photos, String message, String cardComment) {
+        Destination destination = new Destination(Destination.Platform.TELEGRAM, chat);
+        long start = System.nanoTime();
+        int[] attempts = {0};
+        boolean inline = TelegramClient.fitsCaption(message);
+        List<String> captions = photos.size() > 1
+            ? Arrays.asList(inline ? message : null, cardComment)
+            : Collections.singletonList(inline ? message : null);
+        try {
+            if (!inline) {
+                withRetry(telegramLimiter, attempts, () -> client.sendMessage(chat, message));
+            }
+            withRetry(telegramLimiter, attempts, () -> client.sendMediaGroup(chat, photos, captions));
+            return DeliveryResult.success(destination, attempts[0], System.nanoTime() - start);
+        } catch (IOException e) {
+            return DeliveryResult.failure(destination, attempts[0], System.nanoTime() - start, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return DeliveryResult.failure(destination, attempts[0], System.nanoTime() - start, "중단됨");
+        }
+    }
+
+    /**
+     * 허가를 받아 호출하고, 429이면 플랫폼 전체를 멈춘 뒤 최대 {@value #MAX_ATTEMPTS}회까지 재시도합니다.
+     *
+     * <p>429 이외의 오류(채팅 없음, 권한 없음 등)는 재시도해도 같으므로 바로 전파합니다. 서버가 요구한
+     * 대기 시간이 실행 기한을 넘으면 재시도하지 않고 이번 발송을 실패로 끝냅니다.
+     */
+    private void withRetry(RateLimiter limiter, int[] attempts, Call call) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            limiter.acquire();
+            attempts[0]++;
+            try {
+                call.run();
+                return;
+            } catch (RateLimitedException e) {
+                // 기한과 상관없이 멈춰야 같은 플랫폼의 다른 발송도 한도를 지킵니다.
+                limiter.pauseFor(e.getRetryAfterMillis());
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                if (!Deadline.allows(e.getRetryAfterMillis())) {
+                    throw new DeadlineExceededException(
+                        "재시도 대기 " + e.getRetryAfterMillis() + "ms가 실행 기한을 넘음: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private List<DeliveryResult> await(Future<List<DeliveryResult>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return List.of();
+        } catch (ExecutionException e) {
+            // 작업은 예외를 결과로 바꿔 반환하므로 여기까지 오면 예상치 못한 런타임 오류입니다.
+            log.error("⚠️ 브로드캐스트 작업 오류: {}", e.getCause().toString());
+            return List.of();
+        }
+    }
+
+    /**
+     * 플랫폼별 성공/실패 수를 로그와 메트릭에 남깁니다.
+     */
+    private void report(List<DeliveryResult> results) {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        Map<Destination.Platform, int[]> counts = new LinkedHashMap<>();
+        List<DeliveryResult> failures = new ArrayList<>();
+        for (DeliveryResult result : results) {
+            String platform = result.destination().platform().label();
+            metrics.counter(METRIC_DELIVERIES, "브로드캐스트 대상별 전송 결과",
+                "platform", platform, "result", result.delivered() ? "success" : "failure").increment();
+            int[] count = counts.computeIfAbsent(result.destination().platform(), k -> new int[2]);
+            count[result.delivered() ? 0 : 1]++;
+            if (!result.delivered()) {
+                failures.add(result);
+            }
+        }
+        counts.forEach((platform, count) ->
+            log.info("📣 브로드캐스트 {}: 성공 {} / 실패 {}", platform.label(), count[0], count[1]));
+        for (DeliveryResult failure : failures.subList(0, Math.min(failures.size(), MAX_LOGGED_FAILURES))) {
+            log.warn("⚠️ 브로드캐스트 실패 {} (시도 {}회): {}",
+                failure.destination(), failure.attempts(), failure.error());
+        }
+        if (failures.size() > MAX_LOGGED_FAILURES) {
+            log.warn("⚠️ 그 밖의 브로드캐스트 실패 {}건 생략", failures.size() - MAX_LOGGED_FAILURES);
+        }
+    }
+
+    /**
+     * 예외를 던질 수 있는 API 호출 하나.
+     */
+    @FunctionalInterface
+    private interface Call {
+        void run() throws IOException;
+    }
+}
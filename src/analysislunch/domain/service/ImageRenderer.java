@@ -0,0 +1,236 @@
+package analysislunch.domain.service;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.imageio.ImageIO;
+
+import lombok.extern.slf4j.Slf4j;
+
+import analysislunch.domain.model.CalorieTable;
+import analysislunch.utils.Lazy;
+
+/**
+ * AWT/ImageIO 기반 이미지 변환과 칼로리 카드 렌더링을 담당하는 클래스.
+ *
+ * <p>폰트는 처음 카드를 그릴 때 한 번 로드해 재사용합니다. AWT 클래스 로딩과 폰트 초기화
+ * 비용이 크므로 {@link ImageService}가 처음 필요할 때 생성합니다.
+ */
+@Slf4j
+final class ImageRenderer {
+
+    private static final String FONT_FILE_PATH = "fonts/NanumGothic.ttf";
+    private static final String FALLBACK_FONT_FAMILY = "SansSerif";
+    private static final String OUTPUT_FORMAT_JPG = "jpg";
+    private static final String OUTPUT_FORMAT_PNG = "png";
+
+    private static final int CARD_WIDTH = 1000;
+    private static final int CARD_ROW_HEIGHT = 60;
+    private static final int CARD_HEADER_HEIGHT = 120;
+    private static final int CARD_FOOTER_HEIGHT = 100;
+    private static final int CARD_PADDING_X = 80;
+    private static final int CARD_CALORIE_X = 750;
+    private static final int CARD_SEPARATOR_MARGIN = 50;
+    private static final int CARD_ROW_INITIAL_Y_OFFSET = 40;
+    private static final int CARD_ROW_STRIPE_Y_OFFSET = 35;
+    private static final float FONT_SIZE_HEADER = 36f;
+    private static final float FONT_SIZE_SUBTEXT = 18f;
+    private static final float FONT_SIZE_ROW = 24f;
+    private static final float FONT_SIZE_TOTAL = 32f;
+    private static final int FONT_SIZE_FALLBACK = 12;
+    private static final int SEPARATOR_STROKE_WIDTH = 2;
+    private static final int HEADER_TEXT_Y = 75;
+    private static final int SUBTEXT_X_OFFSET = 330;
+
+    // --- 카드 배경 색상 ---
+    private static final Color COLOR_BG_DARK = new Color(33, 37, 41);
+    private static final Color COLOR_BG_HEADER = new Color(44, 48, 52);
+    // --- 헤더 텍스트 색상 ---
+    private static final Color COLOR_ACCENT_YELLOW = new Color(255, 193, 7);
+    private static final Color COLOR_TEXT_MUTED = new Color(173, 181, 189);
+    // --- 행 색상 ---
+    private static final Color COLOR_ROW_STRIPE = new Color(255, 255, 255, 10);
+    private static final Color COLOR_TEXT_LIGHT = new Color(248, 249, 250);
+    private static final Color COLOR_ACCENT_CYAN = new Color(13, 202, 240);
+    // --- 구분선 / 합계 색상 ---
+    private static final Color COLOR_SEPARATOR = new Color(73, 80, 87);
+    private static final Color COLOR_TOTAL_RED = new Color(255, 99, 71);
+
+    /** 폰트 파싱은 카드 렌더링에만 필요하므로 전처리(JPG 변환)와 분리해 지연 로드합니다. */
+    private final Lazy<Font> font = Lazy.of(ImageRenderer::loadFont);
+
+    /**
+     * 렌더링 경로를 한 번 실행해 ImageIO 플러그인, 글꼴 래스터라이저를 미리 초기화합니다.
+     */
+    void warmUp() {
+        ImageIO.getImageWritersByFormatName(OUTPUT_FORMAT_JPG).hasNext();
+        ImageIO.getImageWritersByFormatName(OUTPUT_FORMAT_PNG).hasNext();
+        BufferedImage scratch = new BufferedImage(CARD_WIDTH, CARD_ROW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = scratch.createGraphics();
+        applyRenderingHints(g2d);
+        g2d.setFont(font.get().deriveFont(Font.BOLD, FONT_SIZE_ROW));
+        g2d.drawString("오늘의 영양 분석 0123456789kcal", CARD_PADDING_X, CARD_ROW_INITIAL_Y_OFFSET);
+        g2d.dispose();
+    }
+
+    /**
+     * PNG 이미지를 흰색 배경의 JPG 이미지로 변환합니다.
+     *
+     * @param input  변환할 PNG 파일
+     * @param output 저장할 JPG 파일
+     * @throws IOException 이미지 읽기/쓰기 실패 시
+     */
+    void convertPngToWhiteBgJpg(File input, File output) throws IOException {
+        BufferedImage original = ImageIO.read(input);
+        if (original == null) {
+            throw new IOException("이미지 읽기 실패: " + input.getName());
+        }
+
+        BufferedImage newImage = new BufferedImage(
+            original.getWidth(), original.getHeight(), BufferedImage.TYPE_INT_RGB
+        );
+
+        Graphics2D g2d = newImage.createGraphics();
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(0, 0, newImage.getWidth(), newImage.getHeight());
+        g2d.drawImage(original, 0, 0, null);
+        g2d.dispose();
+
+        ImageIO.write(newImage, OUTPUT_FORMAT_JPG, output);
+    }
+
+    /**
+     * 칼로리 분석 정보를 담은 카드 이미지를 생성합니다.
+     *
+     * @param calorieInfo 마크다운 표 형식의 칼로리 분석 문자열
+     * @param output      생성할 PNG 이미지 파일
+     * @throws IOException 이미지 생성 또는 저장 실패 시
+     */
+    void createCalorieCard(String calorieInfo, File output) throws IOException {
+        CalorieTable table = CalorieTable.parse(calorieInfo);
+        List<String[]> rows = new ArrayList<>(table.rows().size());
+        for (CalorieTable.Row row : table.rows()) {
+            rows.add(new String[]{row.menu(), row.calorieText()});
+        }
+        String totalLine = table.totalLine();
+
+        BufferedImage cardImage = renderCard(rows, totalLine, font.get());
+        ImageIO.write(cardImage, OUTPUT_FORMAT_PNG, output);
+    }
+
+    /**
+     * 폰트를 로드합니다. 커스텀 폰트 로드 실패 시 기본 폰트를 반환합니다.
+     *
+     * @return 로드된 {@link Font}
+     */
+    private static Font loadFont() {
+        File fontFile = new File(FONT_FILE_PATH);
+        if (!fontFile.exists() || !fontFile.canRead()) {
+            log.warn("폰트 파일을 찾을 수 없거나 읽을 수 없습니다: {} — 기본 폰트 사용", fontFile.getAbsolutePath());
+            return new Font(FALLBACK_FONT_FAMILY, Font.PLAIN, FONT_SIZE_FALLBACK);
+        }
+
+        try (FileInputStream fis = new FileInputStream(fontFile)) {
+            return Font.createFont(Font.TRUETYPE_FONT, fis);
+        } catch (java.awt.FontFormatException | IOException e) {
+            log.warn("폰트 로드 실패, 기본 폰트 사용: {}", e.getMessage());
+            return new Font(FALLBACK_FONT_FAMILY, Font.PLAIN, FONT_SIZE_FALLBACK);
+        }
+    }
+
+    /**
+     * 칼로리 카드 이미지를 렌더링합니다.
+     *
+     * @param rows      메뉴명과 칼로리 쌍의 목록
+     * @param totalLine 총 칼로리 텍스트
+     * @param font      사용할 폰트
+     * @return 렌더링된 {@link BufferedImage}
+     */
+    private BufferedImage renderCard(List<String[]> rows, String totalLine, Font font) {
+        int contentHeight = rows.size() * CARD_ROW_HEIGHT;
+        int height = CARD_HEADER_HEIGHT + contentHeight + CARD_FOOTER_HEIGHT;
+
+        BufferedImage cardImage = new BufferedImage(CARD_WIDTH, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = cardImage.createGraphics();
+
+        applyRenderingHints(g2d);
+        drawBackground(g2d, height);
+        drawHeader(g2d, font);
+        drawRows(g2d, rows, font);
+        drawSeparator(g2d, height);
+        drawTotal(g2d, totalLine, font, height);
+
+        g2d.dispose();
+        return cardImage;
+    }
+
+    private void applyRenderingHints(Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    }
+
+    private void drawBackground(Graphics2D g2d, int height) {
+        g2d.setColor(COLOR_BG_DARK);
+        g2d.fillRect(0, 0, CARD_WIDTH, height);
+        g2d.setColor(COLOR_BG_HEADER);
+        g2d.fillRect(0, 0, CARD_WIDTH, CARD_HEADER_HEIGHT);
+    }
+
+    private void drawHeader(Graphics2D g2d, Font font) {
+        g2d.setColor(COLOR_ACCENT_YELLOW);
+        g2d.setFont(font.deriveFont(Font.BOLD, FONT_SIZE_HEADER));
+        g2d.drawString("📊 오늘의 영양 분석", CARD_PADDING_X, HEADER_TEXT_Y);
+
+        g2d.setColor(COLOR_TEXT_MUTED);
+        g2d.setFont(font.deriveFont(Font.PLAIN, FONT_SIZE_SUBTEXT));
+        g2d.drawString("AI가 분석한 예상 칼로리 정보입니다", CARD_WIDTH - SUBTEXT_X_OFFSET, HEADER_TEXT_Y);
+    }
+
+    private void drawRows(Graphics2D g2d, List<String[]> rows, Font font) {
+        int y = CARD_HEADER_HEIGHT + CARD_ROW_INITIAL_Y_OFFSET;
+        Font menuFont = font.deriveFont(Font.PLAIN, FONT_SIZE_ROW);
+        Font calFont = font.deriveFont(Font.BOLD, FONT_SIZE_ROW);
+
+        for (int i = 0; i < rows.size(); i++) {
+            String[] row = rows.get(i);
+            if (i % 2 == 0) {
+                g2d.setColor(COLOR_ROW_STRIPE);
+                g2d.fillRect(CARD_SEPARATOR_MARGIN, y - CARD_ROW_STRIPE_Y_OFFSET,
+                    CARD_WIDTH - CARD_SEPARATOR_MARGIN * 2, CARD_ROW_HEIGHT);
+            }
+            g2d.setColor(COLOR_TEXT_LIGHT);
+            g2d.setFont(menuFont);
+            g2d.drawString(row[0], CARD_PADDING_X, y);
+
+            g2d.setColor(COLOR_ACCENT_CYAN);
+            g2d.setFont(calFont);
+            g2d.drawString(row[1], CARD_CALORIE_X, y);
+
+            y += CARD_ROW_HEIGHT;
+        }
+    }
+
+    private void drawSeparator(Graphics2D g2d, int height) {
+        g2d.setColor(COLOR_SEPARATOR);
+        g2d.setStroke(new BasicStroke(SEPARATOR_STROKE_WIDTH));
+        g2d.drawLine(CARD_SEPARATOR_MARGIN, height - CARD_FOOTER_HEIGHT,
+            CARD_WIDTH - CARD_SEPARATOR_MARGIN, height - CARD_FOOTER_HEIGHT);
+    }
+
+    private void drawTotal(Graphics2D g2d, String totalLine, Font font, int height) {
+        if (!totalLine.isEmpty()) {
+            g2d.setColor(COLOR_TOTAL_RED);
+            g2d.setFont(font.deriveFont(Font.BOLD, FONT_SIZE_TOTAL));
+            g2d.drawString(totalLine, CARD_PADDING_X, height - CARD_SEPARATOR_MARGIN / 2);
+        }
+    }
+}
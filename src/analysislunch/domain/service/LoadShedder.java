@@ -0,0 +1,145 @@
+package analysislunch.domain.service;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+
+import analysislunch.infrastructure.metrics.MetricsRegistry;
+import analysislunch.utils.Deadline;
+
+/**
+ * 실행 기한을 파이프라인 단계별 예산으로 나누고, 남은 시간이 모자라면 선택 작업을 덜어내는 클래스.
+ *
+ * <p>각 단계는 {@link #enter(Stage)}로 연 스코프 안에서 실행되며, 스코프의 {@link Deadline}이 그
+ * 단계의 모든 HTTP 요청 제한 시간과 재시도 대기 상한이 됩니다. 핵심 단계는 실행 기한에서 뒤따르는
+ * 핵심 단계의 예산을 뺀 시각까지, 선택 단계는 여기에 더해 자기 예산 안에서만 실행됩니다.
+ *
+ * <p>선택 단계는 시작 전에 {@link #admit(Stage)}로 확인합니다. 남은 시간이 이 단계부터 끝까지의
+ * 예산 합보다 적으면 Instagram → 칼로리 분석 → 이미지 생성 순서로, 아직 실행하지 않은 선택 단계를
+ * 덜어내 텍스트 메뉴 전송 시간을 지킵니다. 덜어낸 단계는
+ * {@code lunch_load_shed_total}에 기록됩니다.
+ */
+@Slf4j
+final class LoadShedder {
+
+    private static final String METRIC_SHED = "lunch_load_shed_total";
+
+    /**
+     * 파이프라인 단계. 선언 순서가 실행 순서입니다.
+     */
+    enum Stage {
+        FEED("feed", 15_000L, 0),
+        CRAWL("crawl", 20_000L, 0),
+        DOWNLOAD("download", 30_000L, 0),
+        OCR("ocr", 60_000L, 0),
+        IMAGE_GENERATION("image_generation", 90_000L, 3),
+        CALORIE_ANALYSIS("calorie_analysis", 45_000L, 2),
+        DELIVERY("delivery", 90_000L, 0),
+        INSTAGRAM("instagram", 120_000L, 1),
+        PERSIST("persist", 30_000L, 0);
+
+        private final String label;
+        private final long budgetMillis;
+        /** 덜어내는 순서 (1이 가장 먼저), 0이면 덜어내지 않는 핵심 단계. */
+        private final int shedRank;
+
+        Stage(String label, long budgetMillis, int shedRank) {
+            this.label = label;
+            this.budgetMillis = budgetMillis;
+            this.shedRank = shedRank;
+        }
+
+        boolean isOptional() {
+            return shedRank > 0;
+        }
+    }
+
+    private final Deadline run;
+    private final Set<Stage> disabled;
+    private final Set<Stage> shed = EnumSet.noneOf(Stage.class);
+
+    /**
+     * LoadShedder 생성자.
+     *
+     * @param run      실행 기한 ({@code null}이면 기한 없이 모든 단계를 실행)
+     * @param disabled 설정상 실행하지 않는 단계 (예산 계산에서 뺌)
+     */
+    LoadShedder(Deadline run, Set<Stage> disabled) {
+        this.run = run;
+        this.disabled = disabled.isEmpty() ? EnumSet.noneOf(Stage.class) : EnumSet.copyOf(disabled);
+    }
+
+    /**
+     * 단계의 기한을 현재 스레드에 지정합니다.
+     *
+     * @param stage 시작할 단계
+     * @return 닫으면 이전 기한을 복원하는 스코프
+     */
+    Deadline.Scope enter(Stage stage) {
+        if (run == null) {
+            return Deadline.enter(null);
+        }
+        long reserve = plannedMillis(stage, true) - stage.budgetMillis;
+        // 뒤 단계 몫을 남길 수 없을 만큼 늦었으면 핵심 단계라도 끝까지 시도합니다.
+        Deadline limit = run.remainingMillis() > reserve ? run.minus(reserve) : run;
+        return Deadline.enter(stage.isOptional() ? limit.within(stage.budgetMillis) : limit);
+    }
+
+    /**
+     * 선택 단계를 실행할 시간이 있는지 확인하고, 모자라면 덜어낼 단계를 정합니다.
+     *
+     * @param stage 시작하려는 선택 단계
+     * @return 실행해도 되면 {@code true}, 덜어냈으면 {@code false}
+     */
+    boolean admit(Stage stage) {
+        if (run == null) {
+            return true;
+        }
+        if (disabled.contains(stage)) {
+            return false;
+        }
+        long remaining = run.remainingMillis();
+        long needed = plannedMillis(stage, false);
+        while (!shed.contains(stage) && remaining < needed) {
+            Stage victim = nextVictim(stage);
+            shed.add(victim);
+            MetricsRegistry.global().counter(METRIC_SHED, "실행 기한이 모자라 덜어낸 선택 단계 수",
+                "stage", victim.label).increment();
+            log.warn("⏱️ 실행 기한까지 {}ms 남아 {} 단계를 건너뜁니다 (남은 단계 예산 {}ms)",
+                remaining, victim.label, needed);
+            needed = plannedMillis(stage, false);
+        }
+        return !shed.contains(stage);
+    }
+
+    /**
+     * {@code from}부터 마지막 단계까지, 실행할 단계의 예산 합을 구합니다.
+     *
+     * @param coreOnly {@code true}면 {@code from} 뒤의 선택 단계는 빼고 셉니다
+     */
+    private long plannedMillis(Stage from, boolean coreOnly) {
+        long total = 0;
+        for (Stage stage : Stage.values()) {
+            boolean counted = stage == from || !coreOnly || !stage.isOptional();
+            if (stage.ordinal() >= from.ordinal() && counted && !disabled.contains(stage) && !shed.contains(stage)) {
+                total += stage.budgetMillis;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * {@code from}부터 남은 선택 단계 중 가장 먼저 덜어낼 단계를 고릅니다. {@code from}은 항상 후보입니다.
+     */
+    private Stage nextVictim(Stage from) {
+        Stage victim = from;
+        for (Stage stage : Stage.values()) {
+            if (stage.ordinal() > from.ordinal() && stage.isOptional() && stage.shedRank < victim.shedRank
+                    && !disabled.contains(stage) && !shed.contains(stage)) {
+                victim = stage;
+            }
+        }
+        return victim;
+    }
+}
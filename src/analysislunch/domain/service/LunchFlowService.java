@@ -2,12 +2,31 @@ package analysislunch.domain.service;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
 import analysislunch.config.AppConfig;
+import analysislunch.domain.model.DeliveryResult;
+import analysislunch.domain.model.MenuHistoryEntry;
 import analysislunch.domain.model.MenuInfo;
+import analysislunch.domain.model.RunOutcome;
+import analysislunch.domain.service.LoadShedder.Stage;
+import analysislunch.infrastructure.api.MenuApiServer;
+import analysislunch.infrastructure.api.MenuEventStream;
 import analysislunch.infrastructure.client.GeminiClient;
 import analysislunch.infrastructure.client.GitHubClient;
 import analysislunch.infrastructure.client.DiscordClient;
@@ -15,18 +34,36 @@ import analysislunch.infrastructure.client.GoogleChatClient;
 import analysislunch.infrastructure.client.InstagramClient;
 import analysislunch.infrastructure.client.SlackClient;
 import analysislunch.infrastructure.client.TelegramClient;
+import analysislunch.infrastructure.client.TokenLedger;
 import analysislunch.infrastructure.crawler.BlogCrawler;
+import analysislunch.infrastructure.crawler.BlogFeedWatcher;
+import analysislunch.infrastructure.history.DishSearchIndex;
+import analysislunch.infrastructure.history.MenuHistoryStore;
+import analysislunch.infrastructure.history.NutritionAnalytics;
+import analysislunch.infrastructure.metrics.Histogram;
+import analysislunch.infrastructure.metrics.MetricsRegistry;
+import analysislunch.utils.Deadline;
+import analysislunch.utils.HashUtils;
+import analysislunch.utils.JsonUtils;
+import analysislunch.utils.MenuDates;
+import analysislunch.utils.WireTiming;
+import analysislunch.utils.WireTimingRecorder;
 
 /**
  * 점심 메뉴 분석 전체 흐름을 조율하는 서비스 클래스.
  *
- * <p>블로그 크롤링 → 이미지 다운로드 → 메뉴 추출 → 이미지 생성 → 칼로리 분석
- * → Slack/Google Chat 전송 → 해시 업데이트 순서로 실행됩니다.
+ * <p>(피드 확인 →) 블로그 크롤링 → 이미지 다운로드 → 메뉴 추출 → 이미지 생성 → 칼로리 분석
+ * → 채널 전송 → 구독자 브로드캐스트 → 해시 업데이트 → 이력 기록 순서로 실행됩니다.
+ * Gemini 비용 예산을 넘으면 이미지 생성과 칼로리 분석을 건너뛰고 메뉴판 이미지와 메뉴만 전송합니다.
+ * 칼로리 분석은 함께 배포한 열량표({@link NutritionReference})에서 모든 메뉴를 찾으면 Gemini를 부르지 않습니다.
+ *
+ * <p>실행마다 {@code RUN_DEADLINE_SECONDS} 기한을 두고 {@link LoadShedder}로 단계별 예산을
+ * 나눕니다. 시간이 모자라면 Instagram, 칼로리 분석, 이미지 생성 순서로 덜어내며, 선택 단계가 자기 예산
+ * 안에 끝나지 않으면 건너뛴 것과 같이 처리해 텍스트 메뉴는 제때 전송합니다.
  */
 @Slf4j
 public class LunchFlowService {
 
-    private static final String BLOG_URL = "https://m.blog.naver.com/yjm3038/222191646255";
     private static final String TEMP_ORIGINAL_FILE = "temp_original.png";
     private static final String TEMP_PROCESSED_FILE = "lunch_menu_white_bg.jpg";
     private static final String GENERATED_FOOD_FILE = "generated_food.png";
@@ -38,141 +75,594 @@ public class LunchFlowService {
     private static final String IG_FOOD_IMAGE_PREFIX = "ig_food_";
     private static final String IG_CARD_IMAGE_PREFIX = "ig_card_";
     private static final String IMAGE_EXTENSION = ".png";
+    private static final int CONTENT_ID_LENGTH = 16;
     private static final String MENU_TITLE_SUFFIX = " - 점심 메뉴";
     private static final String CALORIE_CARD_TITLE = "상세 칼로리 분석";
     private static final String CALORIE_CARD_COMMENT = "📊 *상세 칼로리 분석표*";
-    private static final long GOOGLE_CHAT_SEND_DELAY_MS = 1000L;
+    private static final long IMAGE_URL_READY_TIMEOUT_MS = 10_000L;
+    private static final int RECENT_WEEKS = 4;
+    private static final int TOP_DISH_COUNT = 3;
+
+    private static final String METRIC_STAGE_DURATION = "lunch_stage_duration_seconds";
+    private static final String METRIC_RUN_DURATION = "lunch_run_duration_seconds";
+    private static final String METRIC_RUNS = "lunch_runs_total";
+    private static final String METRIC_LAST_RUN = "lunch_last_run_timestamp_seconds";
+    private static final String METRIC_DELIVERIES = "lunch_channel_deliveries_total";
+    private static final String METRIC_UPLOAD_BYTES = "lunch_channel_upload_bytes_total";
+    private static final String STEP_IMAGE_GENERATION = "image_generation";
+    private static final String STEP_CALORIE_ANALYSIS = "calorie_analysis";
+    private static final String STEP_CALORIE_REFERENCE = "calorie_reference";
+    private static final String CHANNEL_SLACK = "slack";
+    private static final String CHANNEL_GOOGLE_CHAT = "google_chat";
+    private static final String CHANNEL_TELEGRAM = "telegram";
+    private static final String CHANNEL_DISCORD = "discord";
+    private static final String CHANNEL_INSTAGRAM = "instagram";
+
+    /** 두 번째 이미지의 raw URL 확인을 첫 번째 이미지 확인·전송과 겹쳐 진행하는 데몬 스레드 풀. */
+    private static final ExecutorService URL_PROBE_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "raw-url-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private final AppConfig config;
     private final ImageService imageService;
     private final BlogCrawler blogCrawler;
-    private final GeminiClient geminiClient;
-    private final SlackClient slackClient;
-    private final GitHubClient gitHubClient;
-    private final GoogleChatClient googleChatClient;
-    private final TelegramClient telegramClient;
-    private final DiscordClient discordClient;
-    private final InstagramClient instagramClient;
+    private final BlogFeedWatcher feedWatcher;
+    private final Supplier<GeminiClient> geminiClient;
+    private final Supplier<TokenLedger> tokenLedger;
+    private final Supplier<NutritionReference> nutritionReference;
+    private final Supplier<SlackClient> slackClient;
+    private final Supplier<GitHubClient> gitHubClient;
+    private final Supplier<GoogleChatClient> googleChatClient;
+    private final Supplier<TelegramClient> telegramClient;
+    private final Supplier<DiscordClient> discordClient;
+    private final Supplier<InstagramClient> instagramClient;
+    private final BroadcastService broadcastService;
+    private final Supplier<MenuHistoryStore> historyStore;
+    private final Supplier<NutritionAnalytics> nutritionAnalytics;
+    private final Supplier<DishSearchIndex> dishSearchIndex;
+    private final MenuApiServer menuApi;
+    private final MenuEventStream menuStream;
+    private final File workDir;
+    /** 이번 실행에서 Gemini 사용량을 집계 중인 장부. 메뉴가 바뀐 실행에서만 설정됩니다. */
+    private TokenLedger activeLedger;
 
     /**
      * LunchFlowService 생성자.
      *
+     * <p>클라이언트는 {@link Supplier}로 받아 처음 쓰는 시점에 꺼냅니다. 메뉴가 바뀌지 않은
+     * 실행은 크롤러와 이미지 서비스만 사용하므로 나머지 클라이언트는 만들어지지 않습니다.
+     *
      * @param config           애플리케이션 설정
      * @param imageService     이미지 처리 서비스
      * @param blogCrawler      블로그 크롤러
+     * @param feedWatcher      블로그 피드 감시기 (선택, {@code null}이면 고정 글을 매번 크롤링)
      * @param geminiClient     Gemini API 클라이언트
+     * @param tokenLedger      Gemini 토큰 사용량/비용 장부
+     * @param nutritionReference 메뉴 열량표 (선택, 읽지 못하면 {@code null} 반환)
      * @param slackClient      Slack API 클라이언트
      * @param gitHubClient     GitHub API 클라이언트
      * @param googleChatClient Google Chat API 클라이언트
-     * @param telegramClient   Telegram API 클라이언트 (선택, 미설정 시 {@code null})
-     * @param discordClient    Discord Webhook 클라이언트 (선택, 미설정 시 {@code null})
-     * @param instagramClient  Instagram Graph API 클라이언트 (선택, 미설정 시 {@code null})
+     * @param telegramClient   Telegram API 클라이언트 (선택, 미설정 시 {@code null} 반환)
+     * @param discordClient    Discord Webhook 클라이언트 (선택, 미설정 시 {@code null} 반환)
+     * @param instagramClient  Instagram Graph API 클라이언트 (선택, 미설정 시 {@code null} 반환)
+     * @param broadcastService 기본 채널 외 구독자 브로드캐스트 서비스
+     * @param historyStore     메뉴 이력 저장소 (선택, 열지 못하면 {@code null} 반환)
+     * @param nutritionAnalytics 메뉴 이력 칼로리 분석 (선택, 이력 저장소가 없으면 {@code null} 반환)
+     * @param dishSearchIndex  메뉴 이름 검색 색인 (선택, 이력 저장소가 없으면 {@code null} 반환)
+     * @param menuApi          메뉴 HTTP API (선택, {@code null}이면 공개하지 않음)
+     * @param menuStream       메뉴 SSE 스트림 (선택, {@code null}이면 이벤트를 보내지 않음)
      */
     public LunchFlowService(
             AppConfig config,
             ImageService imageService,
             BlogCrawler blogCrawler,
-            GeminiClient geminiClient,
-            SlackClient slackClient,
-            GitHubClient gitHubClient,
-            GoogleChatClient googleChatClient,
-            TelegramClient telegramClient,
-            DiscordClient discordClient,
-            InstagramClient instagramClient) {
+            BlogFeedWatcher feedWatcher,
+            Supplier<GeminiClient> geminiClient,
+            Supplier<TokenLedger> tokenLedger,
+            Supplier<NutritionReference> nutritionReference,
+            Supplier<SlackClient> slackClient,
+            Supplier<GitHubClient> gitHubClient,
+            Supplier<GoogleChatClient> googleChatClient,
+            Supplier<TelegramClient> telegramClient,
+            Supplier<DiscordClient> discordClient,
+            Supplier<InstagramClient> instagramClient,
+            BroadcastService broadcastService,
+            Supplier<MenuHistoryStore> historyStore,
+            Supplier<NutritionAnalytics> nutritionAnalytics,
+            Supplier<DishSearchIndex> dishSearchIndex,
+            MenuApiServer menuApi,
+            MenuEventStream menuStream) {
         this.config = config;
         this.imageService = imageService;
         this.blogCrawler = blogCrawler;
+        this.feedWatcher = feedWatcher;
         this.geminiClient = geminiClient;
+        this.tokenLedger = tokenLedger;
+        this.nutritionReference = nutritionReference;
         this.slackClient = slackClient;
         this.gitHubClient = gitHubClient;
         this.googleChatClient = googleChatClient;
         this.telegramClient = telegramClient;
         this.discordClient = discordClient;
         this.instagramClient = instagramClient;
+        this.broadcastService = broadcastService;
+        this.historyStore = historyStore;
+        this.nutritionAnalytics = nutritionAnalytics;
+        this.dishSearchIndex = dishSearchIndex;
+        this.menuApi = menuApi;
+        this.menuStream = menuStream;
+        this.workDir = new File(config.getRuntime().getWorkDir());
     }
 
     /**
      * 점심 메뉴 분석 전체 흐름을 실행합니다.
      *
      * <p>이미지 변경이 없으면 조기 종료합니다.
-     * 모든 작업 완료 후 임시 파일을 정리합니다.
+     * 모든 작업 완료 후 임시 파일을 정리합니다. 단계별 소요 시간과 실행 결과,
+     * 채널별 전송 결과는 {@link MetricsRegistry#global()}에 기록됩니다.
+     *
+     * @return 실행 결과
+     */
+    @SuppressWarnings("try")
+    public RunOutcome run() {
+        long runStart = System.nanoTime();
+        int deadlineSeconds = config.getRuntime().getRunDeadlineSeconds();
+        Deadline deadline = deadlineSeconds > 0 ? Deadline.after(deadlineSeconds * 1000L) : null;
+        RunOutcome outcome = RunOutcome.FAILED;
+        try (Deadline.Scope scope = Deadline.enter(deadline)) {
+            outcome = execute(new LoadShedder(deadline,
+                config.isInstagramEnabled() ? EnumSet.noneOf(Stage.class) : EnumSet.of(Stage.INSTAGRAM)));
+            return outcome;
+        } catch (IOException e) {
+            log.error("❌ 오류 발생: {}", e.getMessage());
+            return outcome;
+        } finally {
+            cleanupTempFiles();
+            if (activeLedger != null) {
+                if (activeLedger.finishRun()) {
+                    uploadUsageState(activeLedger);
+                }
+                activeLedger = null;
+            }
+            if (feedWatcher != null) {
+                uploadFeedState();
+            }
+            MetricsRegistry metrics = MetricsRegistry.global();
+            metrics.counter(METRIC_RUNS, "파이프라인 실행 결과별 횟수", "outcome", outcome.label()).increment();
+            metrics.histogram(METRIC_RUN_DURATION, "파이프라인 1회 실행 소요 시간", Histogram.Unit.SECONDS)
+                .recordSince(runStart);
+            metrics.gauge(METRIC_LAST_RUN, "마지막 실행 종료 시각 (Unix 초)")
+                .set(System.currentTimeMillis() / 1000d);
+            if (deadline != null && deadline.isExpired()) {
+                log.warn("⏱️ 실행이 기한 {}초를 넘겼습니다.", deadlineSeconds);
+            }
+            reportWireTimings();
+        }
+    }
+
+    /**
+     * 이번 실행에서 수집된 HTTP 구간별 측정값을 요약해 로그에 남기고 JSONL 파일에 덧붙입니다.
      */
-    public void run() {
+    private void reportWireTimings() {
+        List<WireTiming> samples = WireTimingRecorder.drain();
+        if (samples.isEmpty()) {
+            return;
+        }
+        log.info("HTTP 구간별 소요 시간 (평균):\n{}", WireTimingRecorder.summarize(samples));
+        Path timingsFile = Path.of(config.getRuntime().getHttpTimingsFile());
         try {
-            log.info("처리 시작...");
+            WireTimingRecorder.appendJsonl(samples, timingsFile);
+        } catch (IOException e) {
+            log.warn("HTTP 측정값 기록 실패 ({}): {}", timingsFile, e.getMessage());
+        }
+    }
 
-            // 1. 블로그에서 이미지 URL 추출
-            log.info("블로그에서 이미지 URL 추출 중...");
-            String imageUrl = blogCrawler.extractImageUrlFromBlog(BLOG_URL);
-            log.info("이미지 URL 발견: {}", imageUrl);
+    /**
+     * 파이프라인 각 단계를 순서대로 실행합니다.
+     *
+     * @param shedder 단계별 기한과 선택 작업 덜어내기를 정하는 객체
+     * @return 실행 결과
+     * @throws IOException 전송 전 핵심 단계에서 오류가 발생했거나 기한을 넘겼을 때
+     */
+    @SuppressWarnings("try")
+    private RunOutcome execute(LoadShedder shedder) throws IOException {
+        log.info("처리 시작...");
+
+        // 0. 피드 확인 (설정 시, 마지막 처리 이후 새 글/수정이 없으면 글과 이미지를 받지 않고 종료)
+        String postUrl = config.getEndpoints().getBlogUrl();
+        BlogFeedWatcher.FeedCheck feedCheck = null;
+        long stageStart;
+        if (feedWatcher != null) {
+            log.info("블로그 피드에서 새 글 확인 중...");
+            stageStart = System.nanoTime();
+            try (Deadline.Scope scope = shedder.enter(Stage.FEED)) {
+                feedCheck = feedWatcher.check();
+            }
+            recordStage("feed", stageStart);
+            if (!feedCheck.changed()) {
+                log.info("✅ 피드에 새 글이 없습니다. 작업을 중단합니다. (304: {}, 신호: {})",
+                    feedCheck.notModified(), feedCheck.signal());
+                return RunOutcome.UNCHANGED;
+            }
+            log.info("🔄 피드에서 새 글을 발견했습니다: {}", feedCheck.postUrl());
+            postUrl = feedCheck.postUrl();
+        }
 
-            // 2. 이미지 다운로드
-            log.info("이미지 다운로드 중...");
-            File originalFile = new File(TEMP_ORIGINAL_FILE);
+        // 1. 블로그에서 이미지 URL 추출
+        log.info("블로그에서 이미지 URL 추출 중...");
+        stageStart = System.nanoTime();
+        String imageUrl;
+        try (Deadline.Scope scope = shedder.enter(Stage.CRAWL)) {
+            imageUrl = blogCrawler.extractImageUrlFromBlog(postUrl);
+        }
+        recordStage("crawl", stageStart);
+        log.info("이미지 URL 발견: {}", imageUrl);
+
+        // 2. 이미지 다운로드
+        log.info("이미지 다운로드 중...");
+        File originalFile = workFile(TEMP_ORIGINAL_FILE);
+        stageStart = System.nanoTime();
+        try (Deadline.Scope scope = shedder.enter(Stage.DOWNLOAD)) {
             imageService.download(imageUrl, originalFile);
+        }
+        recordStage("download", stageStart);
 
-            // 3. 해시 비교 (변경 없으면 조기 종료)
-            String currentHash = imageService.calculateFileHash(originalFile);
-            String lastHash = imageService.loadLastHash();
-            if (currentHash.equals(lastHash)) {
-                log.info("✅ 이미지가 변경되지 않았습니다. 작업을 중단합니다. (Hash: {})", currentHash);
-                return;
-            }
-            log.info("🔄 이미지가 변경되었습니다. (새 Hash: {})", currentHash);
+        // 3. 해시 비교 (변경 없으면 조기 종료)
+        stageStart = System.nanoTime();
+        String currentHash = imageService.calculateFileHash(originalFile);
+        String lastHash = imageService.loadLastHash();
+        recordStage("hash", stageStart);
+        if (currentHash.equals(lastHash)) {
+            log.info("✅ 이미지가 변경되지 않았습니다. 작업을 중단합니다. (Hash: {})", currentHash);
+            markFeedProcessed(feedCheck);
+            return RunOutcome.UNCHANGED;
+        }
+        log.info("🔄 이미지가 변경되었습니다. (새 Hash: {})", currentHash);
+        // 폰트/래스터라이저 초기화를 Gemini 호출과 겹쳐 칼로리 카드 단계의 지연을 숨깁니다.
+        imageService.warmUpRenderingAsync();
 
-            // 4. 이미지 전처리 (투명 배경 → 흰색 배경)
-            log.info("이미지 전처리 중 (흰색 배경 추가)...");
-            File processedFile = new File(TEMP_PROCESSED_FILE);
-            imageService.convertPngToWhiteBgJpg(originalFile, processedFile);
+        // 4. 이미지 전처리 (투명 배경 → 흰색 배경)
+        log.info("이미지 전처리 중 (흰색 배경 추가)...");
+        File processedFile = workFile(TEMP_PROCESSED_FILE);
+        stageStart = System.nanoTime();
+        imageService.convertPngToWhiteBgJpg(originalFile, processedFile);
+        recordStage("preprocess", stageStart);
 
-            // 5. 이미지에서 메뉴 텍스트 추출
-            log.info("이미지에서 메뉴 텍스트 추출 중...");
-            MenuInfo menuInfo = geminiClient.extractMenuInfo(processedFile);
-            log.info("추출된 날짜: {}", menuInfo.date());
-            log.info("추출된 메뉴: {}", menuInfo.menu());
+        // 5. 이미지에서 메뉴 텍스트 추출 (메뉴 없이는 보낼 것이 없으므로 예산과 무관하게 실행)
+        activeLedger = tokenLedger.get();
+        activeLedger.startRun();
+        log.info("이미지에서 메뉴 텍스트 추출 중...");
+        stageStart = System.nanoTime();
+        MenuInfo menuInfo;
+        try (Deadline.Scope scope = shedder.enter(Stage.OCR)) {
+            menuInfo = geminiClient.get().extractMenuInfo(processedFile);
+        }
+        recordStage("ocr", stageStart);
+        log.info("추출된 날짜: {}", menuInfo.date());
+        log.info("추출된 메뉴: {}", menuInfo.menu());
+        LocalDate menuDate = resolveMenuDate(menuInfo);
 
-            // 6. 식판 이미지 생성
+        // 6. 식판 이미지 생성 (시간이나 비용 예산이 모자라면 원본 메뉴판 이미지로 대신함)
+        File generatedImage = originalFile;
+        boolean imageGenerated = false;
+        if (shedder.admit(Stage.IMAGE_GENERATION) && activeLedger.withinBudget(STEP_IMAGE_GENERATION)) {
             log.info("Gemini로 식판 이미지 생성 중...");
-            File generatedImage = geminiClient.generateFoodImage(menuInfo.menu());
+            stageStart = System.nanoTime();
+            try (Deadline.Scope scope = shedder.enter(Stage.IMAGE_GENERATION)) {
+                generatedImage = geminiClient.get().generateFoodImage(menuInfo.menu(), workFile(GENERATED_FOOD_FILE));
+                imageGenerated = true;
+            } catch (InterruptedIOException e) {
+                log.warn("⏱️ 식판 이미지 생성이 단계 기한 안에 끝나지 않아 메뉴판 이미지를 보냅니다: {}", e.getMessage());
+            }
+            recordStage(STEP_IMAGE_GENERATION, stageStart);
+        }
 
-            // 7. 칼로리 분석
+        // 7. 칼로리 분석 (열량표로 모든 메뉴를 알아보면 Gemini 없이 계산, 시간이나 비용 예산이 모자라면 생략)
+        String calorieAnalysis = JsonUtils.FALLBACK_TEXT;
+        boolean caloriesAnalyzed = false;
+        String offlineEstimate = estimateCaloriesOffline(menuInfo.menu());
+        if (offlineEstimate != null) {
+            log.info("열량표에서 모든 메뉴를 찾아 Gemini 칼로리 분석을 생략합니다.");
+            calorieAnalysis = offlineEstimate;
+            caloriesAnalyzed = true;
+        } else if (shedder.admit(Stage.CALORIE_ANALYSIS) && activeLedger.withinBudget(STEP_CALORIE_ANALYSIS)) {
             log.info("칼로리 분석 중...");
-            String calorieAnalysis = geminiClient.analyzeCalories(generatedImage, menuInfo.menu());
-            log.info("{}", calorieAnalysis);
+            stageStart = System.nanoTime();
+            try (Deadline.Scope scope = shedder.enter(Stage.CALORIE_ANALYSIS)) {
+                calorieAnalysis = geminiClient.get().analyzeCalories(generatedImage, menuInfo.menu());
+                caloriesAnalyzed = true;
+                log.info("{}", calorieAnalysis);
+            } catch (InterruptedIOException e) {
+                log.warn("⏱️ 칼로리 분석이 단계 기한 안에 끝나지 않아 생략합니다: {}", e.getMessage());
+            }
+            recordStage(STEP_CALORIE_ANALYSIS, stageStart);
+        }
 
-            // 8. 칼로리 카드 이미지 생성
+        // 8. 칼로리 카드 이미지 생성 (칼로리 분석을 건너뛰었으면 카드 없이 식판 이미지만 전송)
+        File calorieCardFile = null;
+        if (caloriesAnalyzed) {
             log.info("칼로리 카드 이미지 생성 중...");
-            File calorieCardFile = new File(CALORIE_CARD_FILE);
+            calorieCardFile = workFile(CALORIE_CARD_FILE);
+            stageStart = System.nanoTime();
             imageService.createCalorieCard(calorieAnalysis, calorieCardFile);
+            recordStage("calorie_card", stageStart);
+        } else {
+            log.info("칼로리 분석을 건너뛰어 칼로리 카드 없이 전송합니다.");
+        }
+
+        // 9. 메시지 구성
+        String title = menuInfo.date() + MENU_TITLE_SUFFIX;
+        String foodMessage = "📢 *" + title + "*\n\n"
+            + (imageGenerated ? " AI가 생성한 이미지 입니다. 실제 음식과 다를 수 있습니다.\n\n" : "")
+            + menuInfo.menu();
+
+        // 10~13. 각 채널 전송 (채널 독립 처리: 한쪽 실패가 다른 쪽을 막지 않음)
+        long attachmentBytes = generatedImage.length() + (calorieCardFile != null ? calorieCardFile.length() : 0L);
+        boolean slackSent;
+        boolean googleChatSent;
+        boolean telegramSent;
+        boolean discordSent;
+        boolean broadcastSent = false;
+        try (Deadline.Scope scope = shedder.enter(Stage.DELIVERY)) {
+            stageStart = System.nanoTime();
+            slackSent = sendToSlack(generatedImage, calorieCardFile, title, foodMessage);
+            recordDelivery(CHANNEL_SLACK, true, slackSent, attachmentBytes, stageStart);
+            stageStart = System.nanoTime();
+            googleChatSent = sendToGoogleChat(generatedImage, calorieCardFile, title, foodMessage);
+            recordDelivery(CHANNEL_GOOGLE_CHAT, true, googleChatSent, attachmentBytes, stageStart);
+            stageStart = System.nanoTime();
+            telegramSent = sendToTelegram(generatedImage, calorieCardFile, foodMessage);
+            recordDelivery(CHANNEL_TELEGRAM, config.isTelegramEnabled(), telegramSent, attachmentBytes, stageStart);
+            stageStart = System.nanoTime();
+            discordSent = sendToDiscord(generatedImage, calorieCardFile, foodMessage);
+            recordDelivery(CHANNEL_DISCORD, config.isDiscordEnabled(), discordSent, attachmentBytes, stageStart);
+            // 구독자 브로드캐스트 (기본 채널 제외, 이미지는 플랫폼별 1회 업로드)
+            if (broadcastService.hasSubscribers()) {
+                stageStart = System.nanoTime();
+                List<DeliveryResult> results = broadcastService.broadcast(
+                    generatedImage, calorieCardFile, title, foodMessage, CALORIE_CARD_TITLE, CALORIE_CARD_COMMENT);
+                recordStage("broadcast", stageStart);
+                broadcastSent = results.stream().anyMatch(DeliveryResult::delivered);
+            }
+        }
+        // 인스타그램은 가장 느리고 시간이 모자라면 가장 먼저 덜어내므로 다른 전송을 모두 마친 뒤 보냅니다.
+        // 마크다운 미지원 → 캡션에서 별표 제거
+        stageStart = System.nanoTime();
+        boolean instagramAdmitted = !config.isInstagramEnabled() || shedder.admit(Stage.INSTAGRAM);
+        boolean instagramSent = false;
+        if (instagramAdmitted) {
+            try (Deadline.Scope scope = shedder.enter(Stage.INSTAGRAM)) {
+                instagramSent = sendToInstagram(generatedImage, calorieCardFile, foodMessage.replace("*", ""));
+            }
+        }
+        recordDelivery(CHANNEL_INSTAGRAM, config.isInstagramEnabled() && instagramAdmitted, instagramSent,
+            attachmentBytes, stageStart);
+
+        publishMenu(menuInfo, menuDate, calorieAnalysis, currentHash, generatedImage, calorieCardFile);
 
-            // 9. 메시지 구성
-            String title = menuInfo.date() + MENU_TITLE_SUFFIX;
-            String foodMessage = "📢 *" + title + "*\n\n AI가 생성한 이미지 입니다. 실제 음식과 다를 수 있습니다.\n\n"
-                + menuInfo.menu();
-
-            // 10~13. 각 채널 전송 (채널 독립 처리: 한쪽 실패가 다른 쪽을 막지 않음)
-            boolean slackSent = sendToSlack(generatedImage, calorieCardFile, title, foodMessage);
-            boolean googleChatSent = sendToGoogleChat(generatedImage, calorieCardFile, title, foodMessage);
-            boolean telegramSent = sendToTelegram(generatedImage, calorieCardFile, foodMessage);
-            boolean discordSent = sendToDiscord(generatedImage, calorieCardFile, foodMessage);
-            // 인스타그램은 마크다운 미지원 → 캡션에서 별표 제거
-            boolean instagramSent = sendToInstagram(generatedImage, calorieCardFile, foodMessage.replace("*", ""));
-
-            // 14. 해시 저장 및 업로드 (한 채널이라도 전송에 성공한 경우)
-            if (slackSent || googleChatSent || telegramSent || discordSent || instagramSent) {
-                log.info("🔄 해시 업데이트 중... (Slack: {}, Google Chat: {}, Telegram: {}, Discord: {}, Instagram: {})",
-                    slackSent, googleChatSent, telegramSent, discordSent, instagramSent);
+        // 14. 해시 저장 및 업로드 (한 채널이라도 전송에 성공한 경우)
+        if (slackSent || googleChatSent || telegramSent || discordSent || instagramSent || broadcastSent) {
+            log.info("🔄 해시 업데이트 중... (Slack: {}, Google Chat: {}, Telegram: {}, Discord: {}, Instagram: {}, "
+                + "구독자: {})", slackSent, googleChatSent, telegramSent, discordSent, instagramSent, broadcastSent);
+            stageStart = System.nanoTime();
+            try (Deadline.Scope scope = shedder.enter(Stage.PERSIST)) {
                 imageService.saveHash(currentHash);
-                gitHubClient.uploadTextFile(currentHash, HASH_FILE);
-                log.info("✅ 작업이 완료되었습니다.");
-            } else {
-                log.warn("⚠️ 모든 채널 전송에 실패하여 해시를 저장하지 않습니다. 다음 실행 시 재시도합니다.");
+                gitHubClient.get().uploadTextFile(currentHash, HASH_FILE);
+                markFeedProcessed(feedCheck);
+            }
+            recordStage("persist_hash", stageStart);
+            recordHistory(menuInfo, menuDate, calorieAnalysis, currentHash, generatedImage, calorieCardFile);
+            log.info("✅ 작업이 완료되었습니다.");
+            return RunOutcome.DELIVERED;
+        }
+        log.warn("⚠️ 모든 채널 전송에 실패하여 해시를 저장하지 않습니다. 다음 실행 시 재시도합니다.");
+        return RunOutcome.UNDELIVERED;
+    }
+
+    /**
+     * 이번 실행 결과를 메뉴 API에 공개하고 SSE 스트림 구독자에게 알립니다. 둘 다 쓰지 않으면 아무것도 하지 않습니다.
+     *
+     * @param menuInfo        추출한 메뉴 정보
+     * @param menuDate        이력과 API의 날짜 키로 쓸 메뉴 날짜
+     * @param calorieAnalysis 칼로리 분석 결과
+     * @param imageHash       원본 메뉴판 이미지 해시
+     * @param foodImage       생성한 식판 이미지
+     * @param cardImage       칼로리 카드 이미지 (칼로리 분석을 건너뛰었으면 {@code null})
+     */
+    private void publishMenu(
+            MenuInfo menuInfo, LocalDate menuDate, String calorieAnalysis, String imageHash, File foodImage,
+            File cardImage) {
+        if (menuApi == null && menuStream == null) {
+            return;
+        }
+        long stageStart = System.nanoTime();
+        MenuHistoryEntry entry = new MenuHistoryEntry(menuDate.toString(), menuInfo.menu(), calorieAnalysis, imageHash,
+            List.of(), System.currentTimeMillis());
+        boolean imagesPublished = false;
+        if (menuApi != null) {
+            try {
+                menuApi.publish(entry, Files.readAllBytes(foodImage.toPath()),
+                    cardImage != null ? Files.readAllBytes(cardImage.toPath()) : null);
+                imagesPublished = true;
+            } catch (IOException e) {
+                log.warn("메뉴 API 공개 실패: {}", e.getMessage());
             }
+        }
+        if (menuStream != null) {
+            menuStream.publish(entry, imagesPublished, imagesPublished && cardImage != null);
+        }
+        recordStage("publish_menu", stageStart);
+    }
 
+    /**
+     * 전송한 메뉴를 이력 저장소에 남깁니다. 이력은 부가 정보이므로 실패해도 실행 결과를 바꾸지 않습니다.
+     *
+     * @param menuInfo        추출한 메뉴 정보
+     * @param menuDate        이력과 API의 날짜 키로 쓸 메뉴 날짜
+     * @param calorieAnalysis 칼로리 분석 결과
+     * @param imageHash       원본 메뉴판 이미지 해시
+     * @param foodImage       생성한 식판 이미지
+     * @param cardImage       칼로리 카드 이미지 (칼로리 분석을 건너뛰었으면 {@code null})
+     */
+    private void recordHistory(
+            MenuInfo menuInfo, LocalDate menuDate, String calorieAnalysis, String imageHash, File foodImage,
+            File cardImage) {
+        MenuHistoryStore store = historyStore.get();
+        if (store == null) {
+            return;
+        }
+        long stageStart = System.nanoTime();
+        // 분석/검색 인덱스는 처음 쓸 때 저장소 전체로 만들어지므로, 이번 기록이 두 번 더해지지 않게 추가 전에 가져옵니다.
+        NutritionAnalytics analytics = nutritionAnalytics.get();
+        DishSearchIndex searchIndex = dishSearchIndex.get();
+        MenuHistoryEntry entry;
+        try {
+            entry = new MenuHistoryEntry(menuDate.toString(), menuInfo.menu(), calorieAnalysis, imageHash,
+                cardImage != null ? List.of(contentId(foodImage), contentId(cardImage)) : List.of(contentId(foodImage)),
+                System.currentTimeMillis());
+            store.append(entry);
+            recordStage("history", stageStart);
+            log.info("메뉴 이력 기록 완료 (누적 {}건)", store.size());
         } catch (IOException e) {
-            log.error("❌ 오류 발생: {}", e.getMessage());
-        } finally {
-            cleanupTempFiles();
+            log.warn("메뉴 이력 기록 실패: {}", e.getMessage());
+            return;
+        }
+        uploadHistory(store);
+        if (searchIndex != null) {
+            searchIndex.add(entry);
+        }
+        if (analytics != null && analytics.add(entry)) {
+            logNutritionSummary(analytics);
+        }
+    }
+
+    /**
+     * 이력과 메뉴 API의 날짜 키로 쓸 메뉴 날짜를 정합니다.
+     *
+     * <p>OCR 날짜는 연도가 빠진 {@code 10월 20일 (월)} 같은 형식이 흔하므로 실행 날짜를 기준으로 읽고,
+     * 읽지 못하면({@code 날짜 없음} 포함) 실행 날짜를 씁니다. OCR 문자열은 메시지 제목에만 씁니다.
+     *
+     * @param menuInfo 추출한 메뉴 정보
+     * @return 메뉴 날짜
+     */
+    private static LocalDate resolveMenuDate(MenuInfo menuInfo) {
+        LocalDate runDate = MenuDates.today();
+        LocalDate menuDate = MenuDates.parse(menuInfo.date(), runDate);
+        if (menuDate == null) {
+            log.warn("메뉴 날짜를 읽지 못해 실행 날짜({})로 기록합니다: {}", runDate, menuInfo.date());
+            return runDate;
+        }
+        return menuDate;
+    }
+
+    /**
+     * 블로그 피드 상태(검증자, 처리한 글 신호)가 바뀌었으면 저장소에 올려 다음 cron 실행이 조건부 요청과
+     * 변경 판단을 이어 가게 합니다. 실패해도 실행 결과에는 영향을 주지 않습니다.
+     */
+    private void uploadFeedState() {
+        String state = feedWatcher.takeChangedState();
+        if (state == null) {
+            return;
+        }
+        try {
+            gitHubClient.get().uploadStateFile(state, feedWatcher.stateFileName());
+        } catch (IOException e) {
+            log.warn("피드 상태 업로드 실패 (다음 cron 실행은 피드를 처음부터 확인합니다): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 메뉴 이력 로그를 저장소에 올려 다음 cron 실행이 이력을 이어받게 합니다. 실패해도 실행 결과에는 영향을 주지 않습니다.
+     *
+     * @param store 메뉴 이력 저장소
+     */
+    private void uploadHistory(MenuHistoryStore store) {
+        try {
+            gitHubClient.get().uploadStateFile(store.file().toFile(), store.file().getFileName().toString());
+        } catch (IOException e) {
+            log.warn("메뉴 이력 업로드 실패 (다음 cron 실행은 이번 기록 없이 시작합니다): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 최근 4주 평균 칼로리와 자주 나온 메뉴를 로그로 남깁니다.
+     *
+     * @param analytics 메뉴 이력 칼로리 분석
+     */
+    private void logNutritionSummary(NutritionAnalytics analytics) {
+        LocalDate today = MenuDates.today();
+        List<NutritionAnalytics.PeriodStat> weeks = analytics.weeklyTrend(today.minusWeeks(RECENT_WEEKS), today);
+        int meals = weeks.stream().mapToInt(NutritionAnalytics.PeriodStat::meals).sum();
+        double kcalSum = weeks.stream().mapToDouble(week -> week.averageKcal() * week.meals()).sum();
+        String topDishes = analytics.topDishes(TOP_DISH_COUNT).stream()
+            .map(dish -> dish.dish() + "(" + dish.servings() + ")")
+            .collect(Collectors.joining(", "));
+        log.info("칼로리 추이: 최근 {}주 평균 {} kcal ({}끼), 자주 나온 메뉴 {}",
+            RECENT_WEEKS, meals > 0 ? Math.round(kcalSum / meals) : "-", meals, topDishes);
+    }
+
+    /**
+     * 피드에서 확인한 글을 처리 완료로 기록합니다. 피드를 쓰지 않으면 아무것도 하지 않습니다.
+     *
+     * @param feedCheck 이번 실행의 피드 확인 결과 (피드 미사용 시 {@code null})
+     */
+    private void markFeedProcessed(BlogFeedWatcher.FeedCheck feedCheck) {
+        if (feedCheck != null) {
+            feedWatcher.markProcessed(feedCheck);
+        }
+    }
+
+    /**
+     * 함께 배포한 열량표로 칼로리 분석 표를 만듭니다. 네트워크를 쓰지 않으므로 단계 예산과 상관없이 시도합니다.
+     *
+     * @param menu 메뉴 텍스트
+     * @return 모든 메뉴를 신뢰도 기준 이상으로 찾았으면 분석 표, 아니면 {@code null}
+     */
+    private String estimateCaloriesOffline(String menu) {
+        NutritionReference reference = nutritionReference.get();
+        if (reference == null) {
+            return null;
+        }
+        long stageStart = System.nanoTime();
+        String estimate = reference.estimate(menu);
+        recordStage(STEP_CALORIE_REFERENCE, stageStart);
+        return estimate;
+    }
+
+    /**
+     * 단계 소요 시간을 기록합니다.
+     *
+     * @param stage      단계 이름 (메트릭 레이블)
+     * @param startNanos 단계 시작 시각 ({@link System#nanoTime()})
+     */
+    private void recordStage(String stage, long startNanos) {
+        MetricsRegistry.global().histogram(METRIC_STAGE_DURATION, "파이프라인 단계별 소요 시간",
+            Histogram.Unit.SECONDS, "stage", stage).recordSince(startNanos);
+    }
+
+    /**
+     * 채널 전송 결과와 전송 소요 시간, 업로드한 이미지 바이트를 기록합니다.
+     *
+     * @param channel    채널 이름 (메트릭 레이블)
+     * @param enabled    채널 설정 여부 (미설정이면 {@code skipped}로 기록)
+     * @param sent       전송 성공 여부
+     * @param bytes      전송한 이미지 바이트 합계
+     * @param startNanos 전송 시작 시각 ({@link System#nanoTime()})
+     */
+    private void recordDelivery(String channel, boolean enabled, boolean sent, long bytes, long startNanos) {
+        if (!enabled) {
+            MetricsRegistry.global().counter(METRIC_DELIVERIES, "채널별 전송 결과",
+                "channel", channel, "result", "skipped").increment();
+            return;
+        }
+        recordStage("deliver_" + channel, startNanos);
+        MetricsRegistry metrics = MetricsRegistry.global();
+        metrics.counter(METRIC_DELIVERIES, "채널별 전송 결과",
+            "channel", channel, "result", sent ? "success" : "failure").increment();
+        if (sent) {
+            metrics.counter(METRIC_UPLOAD_BYTES, "채널별 전송한 이미지 바이트", "channel", channel).add(bytes);
         }
     }
 
@@ -185,11 +675,12 @@ public class LunchFlowService {
      * 원천적으로 방지합니다.
      *
      * <p>스레드 부모로는 항상 안정적인 ts를 반환하는 {@code chat.postMessage} 텍스트
-     * 메시지를 사용합니다. 그 ts를 두 파일 업로드의 {@code thread_ts}로 넘겨 답글로
-     * 묶으므로, 파일 업로드 응답의 공유 ts에 의존하지 않습니다(files:read 불필요).
+     * 메시지를 사용합니다. 두 파일은 부모 전송과 동시에 올려 두었다가, 부모 ts를
+     * {@code thread_ts}로 넘겨 한 번의 완료 호출로 답글에 묶습니다. 파일 업로드 응답의
+     * 공유 ts에 의존하지 않습니다(files:read 불필요).
      *
      * @param foodImage 식판 이미지 파일
-     * @param cardImage 칼로리 카드 이미지 파일
+     * @param cardImage 칼로리 카드 이미지 파일 ({@code null}이면 식판 이미지만 전송)
      * @param title     식판 이미지 파일 제목
      * @param message   부모 메시지(메뉴 안내) 본문
      * @return 전송에 성공하면 {@code true}, 실패하면 {@code false}
@@ -197,14 +688,17 @@ public class LunchFlowService {
     private boolean sendToSlack(File foodImage, File cardImage, String title, String message) {
         try {
             log.info("Slack에 전송 중...");
-            // 부모: 메뉴 안내 텍스트
-            String parentTs = slackClient.postMessage(config.getChannelId(), message);
+            // 부모: 메뉴 안내 텍스트 / 답글: 식판 이미지 + 칼로리 카드 (업로드는 부모 전송과 동시 진행)
+            Map<File, String> files = new LinkedHashMap<>();
+            files.put(foodImage, title);
+            if (cardImage != null) {
+                files.put(cardImage, CALORIE_CARD_TITLE);
+            }
+            String parentTs = slackClient.get().postMessageWithFiles(
+                config.getChannelId(), message, files, cardImage != null ? CALORIE_CARD_COMMENT : null);
             if (parentTs == null) {
-                log.warn("Slack 부모 메시지 ts를 확보하지 못했습니다. 이미지가 답글로 묶이지 않을 수 있습니다.");
+                log.warn("Slack 부모 메시지 ts를 확보하지 못했습니다. 이미지가 답글로 묶이지 않았을 수 있습니다.");
             }
-            // 답글: 식판 이미지 → 칼로리 카드
-            slackClient.uploadFile(config.getChannelId(), foodImage, title, null, parentTs);
-            slackClient.uploadFile(config.getChannelId(), cardImage, CALORIE_CARD_TITLE, CALORIE_CARD_COMMENT, parentTs);
             log.info("✅ Slack 스레드 전송 완료.");
             return true;
         } catch (IOException e) {
@@ -217,10 +711,13 @@ public class LunchFlowService {
      * Google Chat에 식판 이미지와 칼로리 카드를 카드 메시지로 전송합니다.
      *
      * <p>Google Chat 카드는 이미지 URL을 참조하므로, 전송 직전에 GitHub에 이미지를
-     * 업로드하고 raw URL을 사용합니다.
+     * 업로드하고 raw URL을 사용합니다. raw CDN이 이미지를 내려주는지 확인한 뒤 카드를 보내
+     * 깨진 이미지가 표시되지 않게 하며, 칼로리 카드 URL은 식판 카드를 보내는 동안 따로
+     * 확인합니다. 기본은 식판 카드를 보내고 응답으로 받은 스레드에 칼로리 카드를 답글로 다는
+     * 방식이며, {@code GOOGLE_CHAT_SINGLE_CARD}를 켜면 두 이미지를 카드 메시지 하나에 담아 보냅니다.
      *
      * @param foodImage 식판 이미지 파일
-     * @param cardImage 칼로리 카드 이미지 파일
+     * @param cardImage 칼로리 카드 이미지 파일 ({@code null}이면 식판 이미지만 전송)
      * @param title     식판 카드 제목
      * @param message   식판 카드 본문
      * @return 전송에 성공하면 {@code true}, 실패하면 {@code false}
@@ -231,19 +728,46 @@ public class LunchFlowService {
             long timestamp = System.currentTimeMillis();
             String foodImageName = FOOD_IMAGE_PREFIX + timestamp + IMAGE_EXTENSION;
             String cardImageName = CARD_IMAGE_PREFIX + timestamp + IMAGE_EXTENSION;
-            gitHubClient.uploadImage(foodImage, foodImageName);
-            gitHubClient.uploadImage(cardImage, cardImageName);
-            String foodImageUrl = gitHubClient.getRawUrl(foodImageName);
-            String cardImageUrl = gitHubClient.getRawUrl(cardImageName);
+            gitHubClient.get().uploadImage(foodImage, foodImageName);
+            if (cardImage != null) {
+                gitHubClient.get().uploadImage(cardImage, cardImageName);
+            }
+            String foodImageUrl = gitHubClient.get().getRawUrl(foodImageName);
+            String cardImageUrl = gitHubClient.get().getRawUrl(cardImageName);
+            // 칼로리 카드 URL은 식판 URL 확인과 식판 카드 전송 동안 함께 확인합니다.
+            CompletableFuture<Boolean> cardReady = cardImage != null
+                ? awaitImageUrlAsync(cardImageName, cardImage)
+                : CompletableFuture.completedFuture(false);
 
             log.info("Google Chat에 전송 중...");
             String chatThreadKey = "lunch-" + timestamp;
-            googleChatClient.sendCard(foodImageUrl, title, message, chatThreadKey);
-            log.info("✅ Google Chat 식판 이미지 전송 완료.");
+            if (config.isGoogleChatSingleCard()) {
+                List<GoogleChatClient.Section> sections = new ArrayList<>();
+                sections.add(new GoogleChatClient.Section(null, foodImageUrl, message));
+                awaitImageUrl(foodImageName, foodImage);
+                if (cardImage != null) {
+                    cardReady.join();
+                    sections.add(new GoogleChatClient.Section(CALORIE_CARD_TITLE, cardImageUrl, CALORIE_CARD_COMMENT));
+                }
+                googleChatClient.get().sendCard(title, sections, chatThreadKey);
+                log.info("✅ Google Chat 카드 전송 완료 (이미지 {}장).", sections.size());
+                return true;
+            }
 
-            waitForGoogleChatOrder();
+            awaitImageUrl(foodImageName, foodImage);
+            String threadName = googleChatClient.get().sendCard(foodImageUrl, title, message, chatThreadKey);
+            log.info("✅ Google Chat 식판 이미지 전송 완료.");
+            if (cardImage == null) {
+                return true;
+            }
 
-            googleChatClient.sendCard(cardImageUrl, CALORIE_CARD_TITLE, CALORIE_CARD_COMMENT, chatThreadKey);
+            // 식판 카드의 응답을 받은 뒤 그 스레드에 답글로 달므로 별도 대기 없이 순서가 보장됩니다.
+            cardReady.join();
+            if (threadName != null) {
+                googleChatClient.get().replyCard(threadName, cardImageUrl, CALORIE_CARD_TITLE, CALORIE_CARD_COMMENT);
+            } else {
+                googleChatClient.get().sendCard(cardImageUrl, CALORIE_CARD_TITLE, CALORIE_CARD_COMMENT, chatThreadKey);
+            }
             log.info("✅ Google Chat 칼로리 카드 전송 완료.");
             return true;
         } catch (IOException e) {
@@ -252,14 +776,44 @@ public class LunchFlowService {
         }
     }
 
+    /**
+     * GitHub raw URL이 이미지를 내려줄 때까지 기다립니다. 제한 시간이 지나면 그대로 진행합니다.
+     *
+     * @param filename 저장소 내 이미지 파일명
+     * @param image    업로드한 로컬 파일 (크기 비교용)
+     * @return 제한 시간 안에 준비되면 {@code true}
+     */
+    private boolean awaitImageUrl(String filename, File image) {
+        try {
+            return gitHubClient.get().awaitRawUrl(filename, image.length(), IMAGE_URL_READY_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("이미지 URL 확인 중 인터럽트 발생: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * {@link #awaitImageUrl(String, File)}를 확인 전용 스레드에서 시작합니다. 현재 실행 기한도 함께 넘깁니다.
+     *
+     * @param filename 저장소 내 이미지 파일명
+     * @param image    업로드한 로컬 파일 (크기 비교용)
+     * @return 확인이 끝나면 준비 여부로 완료되는 작업
+     */
+    private CompletableFuture<Boolean> awaitImageUrlAsync(String filename, File image) {
+        return CompletableFuture.supplyAsync(
+            Deadline.propagate(() -> awaitImageUrl(filename, image)), URL_PROBE_EXECUTOR);
+    }
+
     /**
      * Telegram 채널에 메뉴 안내 텍스트와 식판 이미지, 칼로리 카드를 전송합니다.
      *
-     * <p>설정이 없으면(미사용) 조용히 건너뜁니다. 이미지는 로컬 파일을 직접
-     * 업로드하므로 외부 이미지 URL에 의존하지 않습니다.
+     * <p>설정이 없으면(미사용) 조용히 건너뜁니다. 본문을 식판 사진의 캡션으로 붙여
+     * 두 이미지와 함께 앨범 하나로 보내므로 요청 한 번이면 됩니다. 이미지는 로컬 파일을
+     * 직접 업로드하므로 외부 이미지 URL에 의존하지 않습니다.
      *
      * @param foodImage 식판 이미지 파일
-     * @param cardImage 칼로리 카드 이미지 파일
+     * @param cardImage 칼로리 카드 이미지 파일 ({@code null}이면 식판 이미지만 전송)
      * @param message   메뉴 안내 본문
      * @return 전송에 성공하면 {@code true}, 미설정이거나 실패하면 {@code false}
      */
@@ -270,9 +824,7 @@ public class LunchFlowService {
         }
         try {
             log.info("Telegram에 전송 중...");
-            telegramClient.sendMessage(message);
-            telegramClient.sendPhoto(foodImage, null);
-            telegramClient.sendPhoto(cardImage, CALORIE_CARD_COMMENT);
+            telegramClient.get().sendMenu(foodImage, cardImage, message, CALORIE_CARD_COMMENT);
             log.info("✅ Telegram 전송 완료.");
             return true;
         } catch (IOException e) {
@@ -284,11 +836,12 @@ public class LunchFlowService {
     /**
      * Discord 채널에 메뉴 안내 본문과 식판 이미지, 칼로리 카드를 전송합니다.
      *
-     * <p>설정이 없으면(미사용) 조용히 건너뜁니다. 이미지는 로컬 파일을 직접
-     * 업로드하므로 외부 이미지 URL에 의존하지 않습니다.
+     * <p>설정이 없으면(미사용) 조용히 건너뜁니다. 두 이미지와 칼로리 카드 설명을 붙인
+     * 본문을 Webhook 호출 한 번으로 보냅니다. 이미지는 로컬 파일을 직접 업로드하므로
+     * 외부 이미지 URL에 의존하지 않습니다.
      *
      * @param foodImage 식판 이미지 파일
-     * @param cardImage 칼로리 카드 이미지 파일
+     * @param cardImage 칼로리 카드 이미지 파일 ({@code null}이면 식판 이미지만 전송)
      * @param message   메뉴 안내 본문
      * @return 전송에 성공하면 {@code true}, 미설정이거나 실패하면 {@code false}
      */
@@ -299,8 +852,11 @@ public class LunchFlowService {
         }
         try {
             log.info("Discord에 전송 중...");
-            discordClient.sendPhoto(foodImage, message);
-            discordClient.sendPhoto(cardImage, CALORIE_CARD_COMMENT);
+            if (cardImage != null) {
+                discordClient.get().sendPhotos(List.of(foodImage, cardImage), message + "\n\n" + CALORIE_CARD_COMMENT);
+            } else {
+                discordClient.get().sendPhotos(List.of(foodImage), message);
+            }
             log.info("✅ Discord 전송 완료.");
             return true;
         } catch (IOException e) {
@@ -315,10 +871,12 @@ public class LunchFlowService {
      * <p>설정이 없으면(미사용) 조용히 건너뜁니다. 인스타그램은 로컬 파일 업로드를
      * 지원하지 않고 공개 이미지 URL만 받으므로, GitHub에 이미지를 업로드해 raw URL을
      * 만든 뒤 캐러셀(2장)로 게시합니다. 다른 채널과 독립적으로, 자신만의 이미지를
-     * 업로드해 외부 상태에 의존하지 않습니다.
+     * 업로드해 외부 상태에 의존하지 않습니다. 파일명은 이미지 내용 해시로 정하므로,
+     * 앞선 실행이 발행에 실패해 같은 URL의 컨테이너가 남아 있으면 업로드를 건너뛰고
+     * 발행만 다시 시도합니다.
      *
      * @param foodImage 식판 이미지 파일
-     * @param cardImage 칼로리 카드 이미지 파일
+     * @param cardImage 칼로리 카드 이미지 파일 ({@code null}이면 식판 이미지만 전송)
      * @param caption   게시물 캡션 (평문)
      * @return 전송에 성공하면 {@code true}, 미설정이거나 실패하면 {@code false}
      */
@@ -328,46 +886,105 @@ public class LunchFlowService {
             return false;
         }
         try {
-            log.info("GitHub에 이미지 업로드 중 (Instagram용)...");
-            long timestamp = System.currentTimeMillis();
-            String foodImageName = IG_FOOD_IMAGE_PREFIX + timestamp + IMAGE_EXTENSION;
-            String cardImageName = IG_CARD_IMAGE_PREFIX + timestamp + IMAGE_EXTENSION;
-            gitHubClient.uploadImage(foodImage, foodImageName);
-            gitHubClient.uploadImage(cardImage, cardImageName);
+            String foodImageName = IG_FOOD_IMAGE_PREFIX + contentId(foodImage) + IMAGE_EXTENSION;
+            if (cardImage == null) {
+                // 캐러셀은 두 장부터이므로 식판 이미지만 단일 게시물로 올립니다.
+                log.info("GitHub에 이미지 업로드 중 (Instagram용)...");
+                gitHubClient.get().uploadImage(foodImage, foodImageName);
+                awaitImageUrl(foodImageName, foodImage);
+                log.info("Instagram에 전송 중...");
+                instagramClient.get().postImage(gitHubClient.get().getRawUrl(foodImageName), caption);
+                log.info("✅ Instagram 전송 완료.");
+                return true;
+            }
+            String cardImageName = IG_CARD_IMAGE_PREFIX + contentId(cardImage) + IMAGE_EXTENSION;
             List<String> imageUrls = List.of(
-                gitHubClient.getRawUrl(foodImageName),
-                gitHubClient.getRawUrl(cardImageName));
+                gitHubClient.get().getRawUrl(foodImageName),
+                gitHubClient.get().getRawUrl(cardImageName));
+            if (instagramClient.get().hasPendingCarousel(imageUrls, caption)) {
+                log.info("발행하지 못한 Instagram 컨테이너가 있어 이미지 업로드를 건너뜁니다.");
+            } else {
+                log.info("GitHub에 이미지 업로드 중 (Instagram용)...");
+                gitHubClient.get().uploadImage(foodImage, foodImageName);
+                gitHubClient.get().uploadImage(cardImage, cardImageName);
+                // Meta가 가져가기 전에 CDN이 이미지를 내려주는지 확인해 컨테이너 ERROR를 줄입니다.
+                CompletableFuture<Boolean> cardReady = awaitImageUrlAsync(cardImageName, cardImage);
+                awaitImageUrl(foodImageName, foodImage);
+                cardReady.join();
+            }
 
             log.info("Instagram에 전송 중...");
-            instagramClient.postCarousel(imageUrls, caption);
+            instagramClient.get().postCarousel(imageUrls, caption);
             log.info("✅ Instagram 전송 완료.");
             return true;
         } catch (IOException e) {
             log.error("⚠️ Instagram 전송 실패 (다른 채널은 계속 진행): {}", e.getMessage());
             return false;
+        } finally {
+            uploadInstagramState();
         }
     }
 
     /**
-     * Google Chat 메시지 순서 보장을 위해 잠시 대기합니다.
+     * 미발행 Instagram 컨테이너 목록이 바뀌었으면 저장소에 올려 다음 cron 실행이 컨테이너를 재사용하게 합니다.
+     * 실패해도 실행 결과에는 영향을 주지 않습니다.
      */
-    private void waitForGoogleChatOrder() {
+    private void uploadInstagramState() {
+        String state = instagramClient.get().takeChangedState();
+        if (state == null) {
+            return;
+        }
         try {
-            Thread.sleep(GOOGLE_CHAT_SEND_DELAY_MS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.warn("Google Chat 전송 대기 중 인터럽트 발생: {}", e.getMessage());
+            gitHubClient.get().uploadStateFile(state, instagramClient.get().stateFileName());
+        } catch (IOException e) {
+            log.warn("Instagram 미발행 컨테이너 상태 업로드 실패 (다음 cron 실행은 새 컨테이너를 만듭니다): {}",
+                e.getMessage());
         }
     }
 
+    /**
+     * 이미지 내용을 식별하는 짧은 해시를 반환합니다.
+     *
+     * @param image 이미지 파일
+     * @return SHA-256 앞 {@value #CONTENT_ID_LENGTH}자리 16진수
+     * @throws IOException 파일 읽기 실패 시
+     */
+    private static String contentId(File image) throws IOException {
+        return HashUtils.sha256Hex(image).substring(0, CONTENT_ID_LENGTH);
+    }
+
+    /**
+     * Gemini 하루 사용량 장부를 저장소에 올려 다음 cron 실행이 오늘 누적치를 이어받게 합니다.
+     * 실패해도 실행 결과에는 영향을 주지 않습니다.
+     *
+     * @param ledger 이번 실행을 집계한 장부
+     */
+    private void uploadUsageState(TokenLedger ledger) {
+        try {
+            gitHubClient.get().uploadStateFile(ledger.dailyState(), ledger.stateFileName());
+        } catch (IOException e) {
+            log.warn("Gemini 사용량 상태 업로드 실패 (다음 cron 실행은 오늘 누적치를 모릅니다): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 작업 디렉터리 안의 파일을 가리키는 {@link File}을 반환합니다.
+     *
+     * @param name 파일명
+     * @return 작업 디렉터리 기준 파일
+     */
+    private File workFile(String name) {
+        return new File(workDir, name);
+    }
+
     /**
      * 처리 과정에서 생성된 임시 파일들을 삭제합니다.
      */
     private void cleanupTempFiles() {
-        imageService.deleteFile(TEMP_ORIGINAL_FILE);
-        imageService.deleteFile(TEMP_PROCESSED_FILE);
-        imageService.deleteFile(GENERATED_FOOD_FILE);
-        imageService.deleteFile(CALORIE_CARD_FILE);
-        imageService.deleteFile(LEGACY_FOOD_FILE);
+        imageService.deleteFile(workFile(TEMP_ORIGINAL_FILE).getPath());
+        imageService.deleteFile(workFile(TEMP_PROCESSED_FILE).getPath());
+        imageService.deleteFile(workFile(GENERATED_FOOD_FILE).getPath());
+        imageService.deleteFile(workFile(CALORIE_CARD_FILE).getPath());
+        imageService.deleteFile(workFile(LEGACY_FOOD_FILE).getPath());
     }
 }
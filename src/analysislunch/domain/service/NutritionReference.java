@@ -0,0 +1,386 @@
+package analysislunch.domain.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import lombok.extern.slf4j.Slf4j;
+
+import analysislunch.infrastructure.history.MenuHistoryStore;
+
+/**
+ * 단체급식 메뉴의 1인분 열량표를 읽어 OCR로 읽은 메뉴 이름에 열량을 붙이는 참조 사전.
+ *
+ * <p>열량표는 작업 디렉터리 기준 {@code nutrition/korean_dishes.tsv}로 함께 배포합니다. 메뉴명과 별칭은
+ * NFC 정규화, 소문자화, 괄호 속 표기(원산지 등) 제거 후 글자와 숫자만 남긴 키로 두 가지 색인에 넣습니다.
+ * <ul>
+ *   <li>키를 뒤집어 넣은 배열 트라이: 노드의 자식 라벨을 {@code char[]}의 연속 구간에 두고 이진 탐색합니다.
+ *       한 번의 순회로 정확히 일치하는 키와, 이름 끝에 붙은 가장 긴 키(예: "돈육김치찌개"의 "김치찌개")를
+ *       찾습니다. 한국어 음식 이름은 뒤쪽 명사가 음식 종류를 정하므로 앞의 재료/수식어를 건너뛸 수 있습니다.</li>
+ *   <li>음절 bigram 역색인: 두 글자를 합친 {@code int} 키를 정렬해 두고 게시 목록은 {@code short[]} 하나에
+ *       이어 붙입니다. 한 글자를 잘못 읽은 이름도 Dice 계수로 가까운 키를 찾되, 음식 종류가 달라지지 않도록
+ *       끝 음절이 같은 키만 후보로 삼습니다.</li>
+ * </ul>
+ * 일치 신뢰도는 정확히 일치하면 1, 접미 일치는 {@code 0.5 + 0.5 × 일치 길이 / 이름 길이}, 그 밖에는 bigram
+ * Dice 계수이며 가장 큰 값을 씁니다. {@link #estimate(String)}는 모든 메뉴가 {@link #MIN_CONFIDENCE} 이상으로
+ * 일치할 때만 Gemini 칼로리 분석과 같은 형식의 표를 만들고, 하나라도 모르면 {@code null}을 반환합니다.
+ *
+ * <p>만든 뒤에는 바뀌지 않으므로 여러 스레드에서 함께 써도 안전합니다.
+ */
+@Slf4j
+public final class NutritionReference {
+
+    /** 기본 열량표 경로 (작업 디렉터리 기준). */
+    public static final String REFERENCE_FILE_PATH = "nutrition/korean_dishes.tsv";
+    /** 이 신뢰도 이상으로 일치해야 열량표 값을 씁니다. */
+    public static final double MIN_CONFIDENCE = 0.7;
+
+    /** 접미 일치로 인정하는 최소 키 길이. "밥", "국" 같은 한 글자 키가 아무 이름에나 붙지 않게 합니다. */
+    private static final int MIN_SUFFIX_LENGTH = 2;
+    private static final char COMMENT_PREFIX = '#';
+    private static final String COLUMN_SEPARATOR = "\t";
+    private static final String ALIAS_SEPARATOR = ",";
+    private static final Pattern BRACKETED = Pattern.compile("\\([^)]*\\)|\\[[^]]*]|（[^）]*）");
+    private static final String TABLE_HEADER = "| 메뉴명 | 예상 칼로리 |\n|---|---|\n";
+
+    // 메뉴(열량표 한 줄)
+    private final String[] names;
+    private final short[] kcal;
+
+    // 키(메뉴명과 별칭)
+    private final short[] keyEntry;
+    private final byte[] keyGrams;
+    private final char[] keyLast;
+
+    // 뒤집은 키의 트라이. 0번이 루트이고, 노드의 자식은 [firstChild, firstChild + childCount) 구간입니다.
+    private final char[] label;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final short[] terminalKey;
+
+    // bigram 역색인. gramKeys[i]의 게시 목록은 postings[gramStart[i], gramStart[i + 1]) 입니다.
+    private final int[] gramKeys;
+    private final int[] gramStart;
+    private final short[] postings;
+
+    /**
+     * 메뉴 이름 하나의 일치 결과.
+     *
+     * @param dish       찾은 메뉴 이름 (입력 그대로)
+     * @param reference  일치한 열량표 메뉴명
+     * @param kcal       1인분 열량(kcal)
+     * @param confidence 일치 신뢰도 (0~1)
+     */
+    public record Match(String dish, String reference, int kcal, double confidence) {
+    }
+
+    private NutritionReference(List<String> names, List<Integer> kcal, Map<String, Integer> keys) {
+        this.names = names.toArray(new String[0]);
+        this.kcal = new short[kcal.size()];
+        for (int i = 0; i < this.kcal.length; i++) {
+            this.kcal[i] = (short) (int) kcal.get(i);
+        }
+
+        String[] keyText = keys.keySet().toArray(new String[0]);
+        keyEntry = new short[keyText.length];
+        keyGrams = new byte[keyText.length];
+        keyLast = new char[keyText.length];
+        int totalChars = 0;
+        for (int k = 0; k < keyText.length; k++) {
+            keyEntry[k] = (short) (int) keys.get(keyText[k]);
+            keyGrams[k] = (byte) Math.min(Byte.MAX_VALUE, grams(keyText[k]).length);
+            keyLast[k] = keyText[k].charAt(keyText[k].length() - 1);
+            totalChars += keyText[k].length();
+        }
+
+        // 뒤집은 키를 정렬하면 같은 접미사를 가진 키가 모이므로, 노드를 너비 우선으로 만들며 자식을 연속 구간에 둡니다.
+        Integer[] order = new Integer[keyText.length];
+        String[] reversed = new String[keyText.length];
+        for (int k = 0; k < keyText.length; k++) {
+            order[k] = k;
+            reversed[k] = new StringBuilder(keyText[k]).reverse().toString();
+        }
+        Arrays.sort(order, (a, b) -> reversed[a].compareTo(reversed[b]));
+        int capacity = totalChars + 1;
+        char[] labels = new char[capacity];
+        int[] first = new int[capacity];
+        int[] counts = new int[capacity];
+        short[] terminals = new short[capacity];
+        Arrays.fill(terminals, (short) -1);
+        int[] lo = new int[capacity];
+        int[] hi = new int[capacity];
+        int[] depth = new int[capacity];
+        hi[0] = order.length;
+        int nodes = 1;
+        for (int node = 0; node < nodes; node++) {
+            int from = lo[node];
+            int d = depth[node];
+            if (from < hi[node] && reversed[order[from]].length() == d) {
+                terminals[node] = (short) (int) order[from++];
+            }
+            first[node] = nodes;
+            while (from < hi[node]) {
+                char c = reversed[order[from]].charAt(d);
+                int to = from + 1;
+                while (to < hi[node] && reversed[order[to]].charAt(d) == c) {
+                    to++;
+                }
+                labels[nodes] = c;
+                lo[nodes] = from;
+                hi[nodes] = to;
+                depth[nodes] = d + 1;
+                nodes++;
+                from = to;
+            }
+            counts[node] = nodes - first[node];
+        }
+        label = Arrays.copyOf(labels, nodes);
+        firstChild = Arrays.copyOf(first, nodes);
+        childCount = Arrays.copyOf(counts, nodes);
+        terminalKey = Arrays.copyOf(terminals, nodes);
+
+        // (bigram << 16 | 키 번호)를 정렬하면 bigram별 게시 목록이 키 번호 순으로 모입니다. 한글 bigram은 음수이므로
+        // 부호를 살려 밀어야 Arrays.binarySearch와 같은 순서가 됩니다.
+        long[] pairs = new long[totalChars + keyText.length];
+        int pairCount = 0;
+        for (int k = 0; k < keyText.length; k++) {
+            for (int gram : grams(keyText[k])) {
+                pairs[pairCount++] = ((long) gram << 16) | k;
+            }
+        }
+        Arrays.sort(pairs, 0, pairCount);
+        int[] gramKeyBuffer = new int[pairCount];
+        int[] gramStartBuffer = new int[pairCount + 1];
+        postings = new short[pairCount];
+        int gramCount = 0;
+        for (int i = 0; i < pairCount; i++) {
+            int gram = (int) (pairs[i] >> 16);
+            if (gramCount == 0 || gramKeyBuffer[gramCount - 1] != gram) {
+                gramKeyBuffer[gramCount] = gram;
+                gramStartBuffer[gramCount++] = i;
+            }
+            postings[i] = (short) (pairs[i] & 0xFFFF);
+        }
+        gramStartBuffer[gramCount] = pairCount;
+        gramKeys = Arrays.copyOf(gramKeyBuffer, gramCount);
+        gramStart = Arrays.copyOf(gramStartBuffer, gramCount + 1);
+    }
+
+    /**
+     * 기본 경로({@value #REFERENCE_FILE_PATH})의 열량표를 읽습니다.
+     *
+     * @return 참조 사전
+     * @throws IOException 파일을 읽지 못했거나 형식이 잘못됐을 때
+     */
+    public static NutritionReference load() throws IOException {
+        return load(Path.of(REFERENCE_FILE_PATH));
+    }
+
+    /**
+     * 열량표를 읽어 색인을 만듭니다.
+     *
+     * <p>한 줄에 {@code 메뉴명<TAB>1인분 kcal[<TAB>별칭,별칭...]}을 적고, 빈 줄과 {@code #}로 시작하는
+     * 줄은 건너뜁니다. 같은 키가 여러 번 나오면 먼저 나온 메뉴를 씁니다.
+     *
+     * @param file 열량표 파일 (UTF-8)
+     * @return 참조 사전
+     * @throws IOException 파일을 읽지 못했거나 형식이 잘못됐을 때
+     */
+    public static NutritionReference load(Path file) throws IOException {
+        long started = System.nanoTime();
+        List<String> names = new ArrayList<>();
+        List<Integer> kcal = new ArrayList<>();
+        Map<String, Integer> keys = new LinkedHashMap<>();
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (int lineNo = 1; lineNo <= lines.size(); lineNo++) {
+            String line = lines.get(lineNo - 1).strip();
+            if (line.isEmpty() || line.charAt(0) == COMMENT_PREFIX) {
+                continue;
+            }
+            String[] columns = line.split(COLUMN_SEPARATOR);
+            int value;
+            try {
+                value = columns.length >= 2 ? Integer.parseInt(columns[1].strip()) : -1;
+            } catch (NumberFormatException e) {
+                value = -1;
+            }
+            if (value < 0 || value > Short.MAX_VALUE) {
+                throw new IOException("열량표 형식 오류 (" + file + ":" + lineNo + "): " + line);
+            }
+            int entry = names.size();
+            names.add(columns[0].strip());
+            kcal.add(value);
+            List<String> spellings = new ArrayList<>(List.of(columns[0]));
+            if (columns.length >= 3) {
+                spellings.addAll(List.of(columns[2].split(ALIAS_SEPARATOR)));
+            }
+            for (String spelling : spellings) {
+                String key = normalize(spelling);
+                Integer previous = key.isEmpty() ? null : keys.putIfAbsent(key, entry);
+                if (previous != null && previous != entry) {
+                    log.debug("열량표 키 중복 ({}:{}): {}", file, lineNo, spelling);
+                }
+            }
+        }
+        if (keys.size() > Short.MAX_VALUE) {
+            throw new IOException("열량표 항목이 너무 많습니다: " + keys.size());
+        }
+        NutritionReference reference = new NutritionReference(names, kcal, keys);
+        log.debug("열량표 로드: 메뉴 {}종, 키 {}개, 트라이 노드 {}개, bigram {}개 ({} ms)",
+            names.size(), keys.size(), reference.label.length, reference.gramKeys.length,
+            (System.nanoTime() - started) / 1_000_000);
+        return reference;
+    }
+
+    /**
+     * 열량표의 메뉴 수를 반환합니다.
+     *
+     * @return 메뉴 수 (별칭 제외)
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * 메뉴 이름에 가장 가까운 열량표 메뉴를 찾습니다.
+     *
+     * @param dish 메뉴 이름 (OCR 결과 그대로)
+     * @return 일치 결과, 겹치는 키가 없으면 {@code null}
+     */
+    public Match match(String dish) {
+        String key = normalize(dish);
+        if (key.isEmpty()) {
+            return null;
+        }
+
+        // 이름을 뒤에서부터 트라이로 따라가며 가장 긴 접미 일치 키를 찾습니다.
+        int node = 0;
+        int suffixKey = -1;
+        int suffixLength = 0;
+        for (int i = key.length() - 1; i >= 0 && node >= 0; i--) {
+            node = child(node, key.charAt(i));
+            if (node >= 0 && terminalKey[node] >= 0) {
+                suffixKey = terminalKey[node];
+                suffixLength = key.length() - i;
+            }
+        }
+        if (suffixLength == key.length()) {
+            return toMatch(dish, suffixKey, 1.0);
+        }
+        int bestKey = -1;
+        double bestScore = 0.0;
+        if (suffixLength >= MIN_SUFFIX_LENGTH) {
+            bestKey = suffixKey;
+            bestScore = 0.5 + 0.5 * suffixLength / key.length();
+        }
+
+        int[] grams = grams(key);
+        int[] shared = new int[keyEntry.length];
+        for (int gram : grams) {
+            int g = Arrays.binarySearch(gramKeys, gram);
+            if (g >= 0) {
+                for (int p = gramStart[g]; p < gramStart[g + 1]; p++) {
+                    shared[postings[p]]++;
+                }
+            }
+        }
+        char last = key.charAt(key.length() - 1);
+        for (int k = 0; k < shared.length; k++) {
+            // 앞쪽 재료만 겹치는 다른 음식(예: "콩나물국밥"과 "콩나물국")을 고르지 않도록 끝 음절이 같아야 합니다.
+            if (shared[k] > 0 && keyLast[k] == last) {
+                double dice = 2.0 * shared[k] / (grams.length + keyGrams[k]);
+                if (dice > bestScore) {
+                    bestKey = k;
+                    bestScore = dice;
+                }
+            }
+        }
+        return bestKey >= 0 ? toMatch(dish, bestKey, bestScore) : null;
+    }
+
+    /**
+     * 메뉴 목록 전체의 칼로리 분석 표를 만듭니다.
+     *
+     * @param menu 쉼표 또는 줄바꿈으로 구분된 메뉴 목록
+     * @return {@code | 메뉴명 | 예상 칼로리 |} 표와 총계 줄, 신뢰도가 낮은 메뉴가 하나라도 있으면 {@code null}
+     */
+    public String estimate(String menu) {
+        StringBuilder table = new StringBuilder(TABLE_HEADER);
+        int total = 0;
+        int rows = 0;
+        for (String dish : MenuHistoryStore.dishesOf(menu)) {
+            if (normalize(dish).isEmpty()) {
+                continue;
+            }
+            Match match = match(dish);
+            if (match == null || match.confidence() < MIN_CONFIDENCE) {
+                log.debug("열량표에서 찾지 못한 메뉴: {} ({})", dish, match);
+                return null;
+            }
+            table.append("| ").append(dish).append(" | ").append(match.kcal()).append("kcal |\n");
+            total += match.kcal();
+            rows++;
+        }
+        if (rows == 0) {
+            return null;
+        }
+        return table.append("\n**총 예상 칼로리: ").append(total).append("kcal**").toString();
+    }
+
+    private Match toMatch(String dish, int key, double confidence) {
+        int entry = keyEntry[key];
+        return new Match(dish, names[entry], kcal[entry], confidence);
+    }
+
+    private int child(int node, char c) {
+        int from = firstChild[node];
+        int found = Arrays.binarySearch(label, from, from + childCount[node], c);
+        return found >= 0 ? found : -1;
+    }
+
+    /**
+     * 비교용 키를 만듭니다. NFC 정규화와 소문자화 후 괄호 속 표기를 지우고 글자와 숫자만 남깁니다.
+     */
+    static String normalize(String name) {
+        String normalized = Normalizer.normalize(name, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        normalized = BRACKETED.matcher(normalized).replaceAll("");
+        StringBuilder key = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(c);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * 키의 서로 다른 음절 bigram을 정렬해 반환합니다. 한 글자 키는 그 글자 하나를 토큰으로 씁니다.
+     */
+    private static int[] grams(String key) {
+        if (key.length() == 1) {
+            return new int[] {key.charAt(0)};
+        }
+        int[] grams = new int[key.length() - 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = (key.charAt(i) << 16) | key.charAt(i + 1);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (distinct == 0 || grams[distinct - 1] != grams[i]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+}
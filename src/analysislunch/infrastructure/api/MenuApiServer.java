@@ -0,0 +1,410 @@
+package analysislunch.infrastructure.api;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import analysislunch.domain.model.MenuHistoryEntry;
+import analysislunch.infrastructure.history.DishSearchIndex;
+import analysislunch.infrastructure.history.MenuHistoryStore;
+import analysislunch.utils.HashUtils;
+import analysislunch.utils.MenuDates;
+
+/**
+ * 오늘의 메뉴를 사이니지/사내 위젯에 제공하는 읽기 전용 내장 HTTP API.
+ *
+ * <p>엔드포인트:
+ * <ul>
+ *   <li>{@code GET /menu/today} - 오늘 메뉴 JSON (오늘 메뉴가 없으면 가장 최근 메뉴)</li>
+ *   <li>{@code GET /menu/{yyyy-MM-dd}} - 해당 날짜 메뉴 JSON</li>
+ *   <li>{@code GET /menu/{today|yyyy-MM-dd}/food.png}, {@code .../card.png} - 식판 이미지와 칼로리 카드</li>
+ *   <li>{@code GET /menu/search?q=...&limit=...} - {@link DishSearchIndex} 메뉴 검색</li>
+ * </ul>
+ *
+ * <p>메뉴 응답은 {@link #publish(MenuHistoryEntry, byte[], byte[])} 시점에 본문, gzip 본문, 강한 ETag를
+ * 미리 만들어 두므로, 요청 처리는 헤더를 붙이고 준비된 바이트 배열을 한 번 쓰는 일만 합니다.
+ * PNG는 이미 압축된 형식이라 gzip 본문을 만들지 않습니다. {@code If-None-Match}가 맞으면 304를
+ * 반환합니다. 최근 {@value #MAX_PUBLISHED_DATES}개 날짜만 메모리에 보관합니다.
+ *
+ * <p>요청은 가상 스레드에서 처리합니다. 가상 스레드가 없는 JDK(21 미만)에서는 고정 크기 스레드 풀을 씁니다.
+ */
+@Slf4j
+public class MenuApiServer implements AutoCloseable {
+
+    static final String MENU_PATH = "/menu/";
+    private static final String TODAY = "today";
+    private static final String SEARCH = "search";
+    static final String FOOD_IMAGE = "food.png";
+    static final String CARD_IMAGE = "card.png";
+    private static final String CONTENT_TYPE_JSON = "application/json; charset=utf-8";
+    private static final String CONTENT_TYPE_PNG = "image/png";
+    private static final String CACHE_TODAY = "public, max-age=60";
+    private static final String CACHE_DATED = "public, max-age=300";
+    private static final String CACHE_IMAGE = "public, max-age=3600";
+    private static final String CACHE_SEARCH = "no-cache";
+    private static final String GZIP = "gzip";
+    private static final String GZIP_ETAG_SUFFIX = "-gzip";
+    private static final int ETAG_LENGTH = 32;
+    private static final int MAX_PUBLISHED_DATES = 31;
+    private static final int DEFAULT_SEARCH_LIMIT = 10;
+    private static final int MAX_SEARCH_LIMIT = 50;
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_NOT_MODIFIED = 304;
+    private static final int HTTP_BAD_REQUEST = 400;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_METHOD_NOT_ALLOWED = 405;
+    private static final int HTTP_SERVICE_UNAVAILABLE = 503;
+    private static final Gson GSON = new Gson();
+
+    private final Supplier<DishSearchIndex> searchIndex;
+    /** "{날짜}", "{날짜}/food.png", "{날짜}/card.png" → 미리 만든 응답. */
+    private final Map<String, Resource> resources = new ConcurrentHashMap<>();
+    private final TreeSet<LocalDate> publishedDates = new TreeSet<>();
+    private volatile LocalDate latestDate;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * MenuApiServer 생성자.
+     *
+     * @param searchIndex 메뉴 검색 색인 (이력 저장소가 없으면 {@code null} 반환)
+     */
+    public MenuApiServer(Supplier<DishSearchIndex> searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * HTTP 서버를 시작합니다.
+     *
+     * @param port 수신 포트
+     * @throws IOException 포트 바인딩 실패 시
+     */
+    public synchronized void start(int port) throws IOException {
+        if (server != null) {
+            return;
+        }
+        executor = newExecutor();
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext(MENU_PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+        log.info("메뉴 API 시작: http://0.0.0.0:{}{}{}", port, MENU_PATH, TODAY);
+    }
+
+    /**
+     * 이력 저장소의 최근 메뉴로 응답을 채웁니다. 이력에는 이미지가 없으므로 JSON만 만들어집니다.
+     *
+     * @param store 메뉴 이력 저장소
+     */
+    public void publishHistory(MenuHistoryStore store) {
+        store.forEach(entry -> publish(entry, null, null));
+    }
+
+    /**
+     * 메뉴 하나의 응답을 미리 만들어 공개합니다. 같은 날짜의 이전 응답은 교체됩니다.
+     *
+     * @param entry     메뉴 기록
+     * @param foodImage 식판 이미지 PNG (없으면 {@code null})
+     * @param cardImage 칼로리 카드 PNG (없으면 {@code null})
+     * @return 날짜를 읽지 못해 공개하지 않았으면 {@code false}
+     */
+    public boolean publish(MenuHistoryEntry entry, byte[] foodImage, byte[] cardImage) {
+        LocalDate date = MenuDates.parse(entry.date());
+        if (date == null) {
+            log.warn("날짜를 읽지 못해 메뉴 API에 공개하지 않습니다: {}", entry.date());
+            return false;
+        }
+        String key = date.toString();
+        byte[] json = GSON.toJson(MenuJson.of(date, entry, foodImage != null, cardImage != null))
+            .getBytes(StandardCharsets.UTF_8);
+        synchronized (publishedDates) {
+            putOrRemove(key + "/" + FOOD_IMAGE, foodImage != null ? Resource.of(foodImage, CONTENT_TYPE_PNG) : null);
+            putOrRemove(key + "/" + CARD_IMAGE, cardImage != null ? Resource.of(cardImage, CONTENT_TYPE_PNG) : null);
+            resources.put(key, Resource.gzipped(json, CONTENT_TYPE_JSON));
+            publishedDates.add(date);
+            while (publishedDates.size() > MAX_PUBLISHED_DATES) {
+                String evicted = publishedDates.pollFirst().toString();
+                resources.remove(evicted);
+                resources.remove(evicted + "/" + FOOD_IMAGE);
+                resources.remove(evicted + "/" + CARD_IMAGE);
+            }
+            latestDate = publishedDates.last();
+        }
+        return true;
+    }
+
+    /**
+     * HTTP 서버를 종료합니다.
+     */
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            boolean head = "HEAD".equals(method);
+            if (!head && !"GET".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(HTTP_METHOD_NOT_ALLOWED, -1);
+                return;
+            }
+            String path = exchange.getRequestURI().getPath().substring(MENU_PATH.length());
+            if (SEARCH.equals(path)) {
+                handleSearch(exchange, head);
+                return;
+            }
+
+            int slash = path.indexOf('/');
+            String day = slash < 0 ? path : path.substring(0, slash);
+            String file = slash < 0 ? null : path.substring(slash + 1);
+            boolean today = TODAY.equals(day);
+            String key = today ? todayKey() : day;
+            Resource resource = key != null ? resources.get(file != null ? key + "/" + file : key) : null;
+            if (resource == null) {
+                sendError(exchange, HTTP_NOT_FOUND, "not found", head);
+                return;
+            }
+            // today 경로는 다음 날이나 재게시 때 다른 메뉴를 가리키므로 이미지도 짧게 캐시합니다.
+            send(exchange, resource, today ? CACHE_TODAY : file != null ? CACHE_IMAGE : CACHE_DATED, head);
+        }
+    }
+
+    /**
+     * 오늘 메뉴가 있으면 오늘, 없으면 가장 최근에 공개한 날짜를 반환합니다.
+     */
+    private String todayKey() {
+        String today = MenuDates.today().toString();
+        if (resources.containsKey(today)) {
+            return today;
+        }
+        LocalDate latest = latestDate;
+        return latest != null ? latest.toString() : null;
+    }
+
+    private void send(HttpExchange exchange, Resource resource, String cacheControl, boolean head)
+            throws IOException {
+        boolean gzip = resource.gzipBody() != null && acceptsGzip(exchange.getRequestHeaders());
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", resource.contentType());
+        headers.set("Cache-Control", cacheControl);
+        headers.set("ETag", gzip ? resource.gzipEtag() : resource.etag());
+        if (resource.gzipBody() != null) {
+            headers.set("Vary", "Accept-Encoding");
+        }
+        if (notModified(exchange.getRequestHeaders().getFirst("If-None-Match"), resource)) {
+            exchange.sendResponseHeaders(HTTP_NOT_MODIFIED, -1);
+            return;
+        }
+        byte[] body = gzip ? resource.gzipBody() : resource.body();
+        if (gzip) {
+            headers.set("Content-Encoding", GZIP);
+        }
+        if (head) {
+            headers.set("Content-Length", String.valueOf(body.length));
+            exchange.sendResponseHeaders(HTTP_OK, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(HTTP_OK, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private void handleSearch(HttpExchange exchange, boolean head) throws IOException {
+        DishSearchIndex index = searchIndex.get();
+        if (index == null) {
+            sendError(exchange, HTTP_SERVICE_UNAVAILABLE, "search unavailable", head);
+            return;
+        }
+        Map<String, String> params = queryParams(exchange.getRequestURI().getRawQuery());
+        String query = params.getOrDefault("q", "").trim();
+        int limit;
+        try {
+            limit = Math.min(MAX_SEARCH_LIMIT, Integer.parseInt(params.getOrDefault("limit",
+                String.valueOf(DEFAULT_SEARCH_LIMIT))));
+        } catch (NumberFormatException e) {
+            sendError(exchange, HTTP_BAD_REQUEST, "invalid limit", head);
+            return;
+        }
+        if (query.isEmpty()) {
+            sendError(exchange, HTTP_BAD_REQUEST, "missing q", head);
+            return;
+        }
+
+        JsonArray results = new JsonArray();
+        for (DishSearchIndex.DishHit hit : index.search(query, MenuDates.today(), limit)) {
+            JsonObject item = new JsonObject();
+            item.addProperty("dish", hit.dish());
+            item.addProperty("lastServed", hit.lastServed() != null ? hit.lastServed().toString() : null);
+            item.addProperty("nextServed", hit.nextServed() != null ? hit.nextServed().toString() : null);
+            item.addProperty("servings", hit.servings());
+            results.add(item);
+        }
+        JsonObject body = new JsonObject();
+        body.addProperty("query", query);
+        body.add("results", results);
+        send(exchange, Resource.of(GSON.toJson(body).getBytes(StandardCharsets.UTF_8), CONTENT_TYPE_JSON),
+            CACHE_SEARCH, head);
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message, boolean head)
+            throws IOException {
+        JsonObject error = new JsonObject();
+        error.addProperty("error", message);
+        byte[] body = GSON.toJson(error).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE_JSON);
+        exchange.getResponseHeaders().set("Cache-Control", CACHE_SEARCH);
+        exchange.sendResponseHeaders(status, head ? -1 : body.length);
+        if (!head) {
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        }
+    }
+
+    private void putOrRemove(String key, Resource resource) {
+        if (resource != null) {
+            resources.put(key, resource);
+        } else {
+            resources.remove(key);
+        }
+    }
+
+    private static boolean acceptsGzip(Headers requestHeaders) {
+        List<String> values = requestHeaders.get("Accept-Encoding");
+        if (values == null) {
+            return false;
+        }
+        for (String value : values) {
+            for (String coding : value.split(",")) {
+                String trimmed = coding.trim();
+                if (trimmed.startsWith(GZIP) && !trimmed.replace(" ", "").endsWith(";q=0")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@code If-None-Match}가 이 응답(어느 인코딩이든)의 ETag와 맞는지 약한 비교로 확인합니다.
+     */
+    private static boolean notModified(String ifNoneMatch, Resource resource) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if ("*".equals(trimmed) || trimmed.equals(resource.etag()) || trimmed.equals(resource.gzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, String> queryParams(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    /**
+     * 가상 스레드 실행기를 만듭니다. JDK 17 빌드에서도 컴파일되도록 리플렉션으로 찾고,
+     * 없으면 코어 수의 2배 크기 데몬 스레드 풀을 씁니다.
+     */
+    private static ExecutorService newExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            log.debug("메뉴 API: 가상 스레드 실행기 사용");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            int threads = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+            log.debug("메뉴 API: 가상 스레드를 쓸 수 없어 스레드 {}개 풀 사용", threads);
+            AtomicInteger sequence = new AtomicInteger();
+            return Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "menu-api-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * 미리 만든 응답.
+     *
+     * @param body        본문
+     * @param gzipBody    gzip 본문 (압축하지 않는 형식이면 {@code null})
+     * @param contentType Content-Type
+     * @param etag        본문의 강한 ETag
+     * @param gzipEtag    gzip 본문의 강한 ETag (압축하지 않으면 {@code null})
+     */
+    private record Resource(byte[] body, byte[] gzipBody, String contentType, String etag, String gzipEtag) {
+
+        private static Resource of(byte[] body, String contentType) {
+            return new Resource(body, null, contentType, etagOf(body), null);
+        }
+
+        private static Resource gzipped(byte[] body, String contentType) {
+            String etag = etagOf(body);
+            return new Resource(body, gzip(body), contentType, etag,
+                etag.substring(0, etag.length() - 1) + GZIP_ETAG_SUFFIX + "\"");
+        }
+
+        private static String etagOf(byte[] body) {
+            return "\"" + HashUtils.sha256Hex(body).substring(0, ETAG_LENGTH) + "\"";
+        }
+
+        private static byte[] gzip(byte[] body) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 2 + 64);
+            try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+                out.write(body);
+            } catch (IOException e) {
+                // 메모리 스트림은 IOException을 던지지 않습니다.
+                throw new IllegalStateException(e);
+            }
+            return buffer.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package analysislunch.infrastructure.api;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.gson.Gson;
+
+import lombok.extern.slf4j.Slf4j;
+
+import analysislunch.domain.model.MenuHistoryEntry;
+import analysislunch.infrastructure.history.MenuHistoryStore;
+import analysislunch.infrastructure.metrics.Counter;
+import analysislunch.infrastructure.metrics.Gauge;
+import analysislunch.infrastructure.metrics.MetricsRegistry;
+import analysislunch.utils.MenuDates;
+
+/**
+ * 새 메뉴를 Server-Sent Events로 밀어 주는 {@code GET /menu/stream} 서버.
+ *
+ * <p>{@link com.sun.net.httpserver.HttpServer}는 응답마다 스레드를 붙잡으므로, 오래 열려 있는 SSE 연결은
+ * NIO 셀렉터 스레드 하나로 따로 처리합니다. 연결마다 들고 있는 것은 소켓 채널과 아직 쓰지 못한 버퍼
+ * 목록뿐이라 유휴 연결 수만 개를 적은 메모리로 유지할 수 있습니다.
+ *
+ * <p>이벤트는 {@link #publish(MenuHistoryEntry, boolean, boolean)}에서 한 번만 {@code id/event/data}
+ * 형식 바이트로 직렬화하고, 각 연결에는 같은 읽기 전용 버퍼의 {@link ByteBuffer#duplicate()}를 씁니다.
+ * 쓰기가 밀린 연결은 {@code OP_WRITE}로 이어 쓰고, 밀린 버퍼가 {@value #MAX_PENDING_WRITES}개를 넘으면
+ * 느린 클라이언트로 보고 끊습니다.
+ *
+ * <p>최근 {@value #REPLAY_CAPACITY}개 이벤트를 보관해, {@code Last-Event-ID}로 재연결한 클라이언트에는
+ * 그 이후 이벤트를 다시 보내고, 처음 연결한 클라이언트에는 가장 최근 메뉴 하나를 바로 보냅니다.
+ * 이벤트 ID는 프로세스 시작 시각(ms)부터 증가하므로 재시작 뒤에도 대체로 커집니다.
+ */
+@Slf4j
+public class MenuEventStream implements AutoCloseable {
+
+    private static final String STREAM_PATH = "/menu/stream";
+    private static final String EVENT_MENU = "menu";
+    private static final String LAST_EVENT_ID_HEADER = "last-event-id:";
+    private static final int REPLAY_CAPACITY = 32;
+    private static final int ACCEPT_BACKLOG = 1024;
+    private static final int MAX_PENDING_WRITES = 64;
+    private static final int REQUEST_BUFFER_BYTES = 4 * 1024;
+    private static final int DISCARD_BUFFER_BYTES = 512;
+    private static final int RETRY_MS = 10_000;
+    private static final long TICK_MS = 5_000L;
+    private static final long REQUEST_TIMEOUT_MS = 10_000L;
+    private static final long HEARTBEAT_INTERVAL_MS = 30_000L;
+    private static final long SHUTDOWN_WAIT_MS = 2_000L;
+    private static final String METRIC_CONNECTIONS = "lunch_menu_stream_connections";
+    private static final String METRIC_DROPPED = "lunch_menu_stream_dropped_total";
+    private static final ByteBuffer STREAM_HEAD = ascii("HTTP/1.1 200 OK\r\n"
+        + "Content-Type: text/event-stream; charset=utf-8\r\n"
+        + "Cache-Control: no-cache\r\n"
+        + "Access-Control-Allow-Origin: *\r\n"
+        + "X-Accel-Buffering: no\r\n"
+        + "\r\n"
+        + "retry: " + RETRY_MS + "\n\n");
+    private static final ByteBuffer HEARTBEAT = ascii(": keepalive\n\n");
+    private static final Gson GSON = new Gson();
+
+    private final AtomicLong nextId = new AtomicLong(System.currentTimeMillis());
+    private final Queue<Event> published = new ConcurrentLinkedQueue<>();
+    private final Gauge connectionsGauge = MetricsRegistry.global()
+        .gauge(METRIC_CONNECTIONS, "메뉴 SSE 스트림 연결 수");
+    private final Counter droppedCounter = MetricsRegistry.global()
+        .counter(METRIC_DROPPED, "쓰기가 밀려 끊은 메뉴 SSE 연결 수");
+
+    // 아래 필드는 셀렉터 스레드에서만 사용합니다.
+    private final ArrayDeque<Event> replay = new ArrayDeque<>();
+    private final Set<Connection> streaming = new HashSet<>();
+    private final ByteBuffer discard = ByteBuffer.allocate(DISCARD_BUFFER_BYTES);
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread loop;
+    private volatile boolean running;
+
+    /**
+     * 스트림 서버를 시작합니다.
+     *
+     * @param port 수신 포트
+     * @throws IOException 포트 바인딩 실패 시
+     */
+    public synchronized void start(int port) throws IOException {
+        if (running) {
+            return;
+        }
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), ACCEPT_BACKLOG);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        loop = new Thread(this::runLoop, "menu-stream");
+        loop.setDaemon(true);
+        loop.start();
+        log.info("메뉴 SSE 스트림 시작: http://0.0.0.0:{}{}", port, STREAM_PATH);
+    }
+
+    /**
+     * 이력 저장소의 가장 최근 메뉴를 재전송 버퍼에 넣어, 처음 연결한 클라이언트가 바로 받게 합니다.
+     *
+     * @param store 메뉴 이력 저장소
+     */
+    public void publishLatest(MenuHistoryStore store) {
+        MenuHistoryEntry[] latest = new MenuHistoryEntry[1];
+        store.forEach(entry -> latest[0] = entry);
+        if (latest[0] != null) {
+            publish(latest[0], false, false);
+        }
+    }
+
+    /**
+     * 새 메뉴 이벤트를 모든 연결에 보냅니다. 직렬화는 여기서 한 번만 합니다.
+     *
+     * @param entry   메뉴 기록
+     * @param hasFood 메뉴 API가 식판 이미지를 제공하는지 여부
+     * @param hasCard 메뉴 API가 칼로리 카드를 제공하는지 여부
+     * @return 날짜를 읽지 못해 보내지 않았으면 {@code false}
+     */
+    public boolean publish(MenuHistoryEntry entry, boolean hasFood, boolean hasCard) {
+        LocalDate date = MenuDates.parse(entry.date());
+        if (date == null) {
+            log.warn("날짜를 읽지 못해 메뉴 이벤트를 보내지 않습니다: {}", entry.date());
+            return false;
+        }
+        long id = nextId.incrementAndGet();
+        String frame = "id: " + id + "\nevent: " + EVENT_MENU + "\ndata: "
+            + GSON.toJson(MenuJson.of(date, entry, hasFood, hasCard)) + "\n\n";
+        published.add(new Event(id, ByteBuffer.wrap(frame.getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer()));
+        Selector current = selector;
+        if (current != null) {
+            current.wakeup();
+        }
+        return true;
+    }
+
+    /**
+     * 스트림 서버를 종료하고 모든 연결을 닫습니다.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join(SHUTDOWN_WAIT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runLoop() {
+        long nextTick = System.currentTimeMillis() + TICK_MS;
+        long nextHeartbeat = System.currentTimeMillis() + HEARTBEAT_INTERVAL_MS;
+        try {
+            while (running) {
+                selector.select(Math.max(1L, nextTick - System.currentTimeMillis()));
+                drainPublished();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handleKey(key);
+                }
+                long now = System.currentTimeMillis();
+                if (now >= nextTick) {
+                    expireHandshakes(now);
+                    nextTick = now + TICK_MS;
+                }
+                if (now >= nextHeartbeat) {
+                    // 프록시 유휴 타임아웃을 피하고, 끊긴 연결을 쓰기 실패로 찾아냅니다.
+                    broadcast(HEARTBEAT);
+                    nextHeartbeat = now + HEARTBEAT_INTERVAL_MS;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("메뉴 SSE 스트림 루프 오류", e);
+        } finally {
+            shutdown();
+        }
+    }
+
+    private void handleKey(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isAcceptable()) {
+                accept();
+                return;
+            }
+            if (key.isReadable()) {
+                read(connection);
+            }
+            if (key.isValid() && key.isWritable()) {
+                flush(connection);
+            }
+        } catch (IOException | CancelledKeyException e) {
+            if (connection != null) {
+                closeConnection(connection);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Connection connection = new Connection(channel, System.currentTimeMillis());
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        }
+    }
+
+    private void read(Connection connection) throws IOException {
+        if (connection.request == null) {
+            // 스트리밍 중 클라이언트가 보내는 데이터는 버리고, 연결 종료만 감지합니다.
+            discard.clear();
+            if (connection.channel.read(discard) < 0) {
+                closeConnection(connection);
+            }
+            return;
+        }
+        if (connection.channel.read(connection.request) < 0) {
+            closeConnection(connection);
+            return;
+        }
+        String head = new String(connection.request.array(), 0, connection.request.position(),
+            StandardCharsets.ISO_8859_1);
+        int end = head.indexOf("\r\n\r\n");
+        if (end >= 0) {
+            handleRequest(connection, head.substring(0, end));
+        } else if (!connection.request.hasRemaining()) {
+            respondAndClose(connection, "431 Request Header Fields Too Large");
+        }
+    }
+
+    private void handleRequest(Connection connection, String head) throws IOException {
+        connection.request = null;
+        String[] lines = head.split("\r\n");
+        String[] requestLine = lines[0].split(" ");
+        if (requestLine.length < 2) {
+            respondAndClose(connection, "400 Bad Request");
+            return;
+        }
+        if (!"GET".equals(requestLine[0])) {
+            respondAndClose(connection, "405 Method Not Allowed");
+            return;
+        }
+        String path = requestLine[1];
+        int query = path.indexOf('?');
+        if (!STREAM_PATH.equals(query < 0 ? path : path.substring(0, query))) {
+            respondAndClose(connection, "404 Not Found");
+            return;
+        }
+
+        Long lastEventId = null;
+        for (int i = 1; i < lines.length; i++) {
+            if (lines[i].toLowerCase(Locale.ROOT).startsWith(LAST_EVENT_ID_HEADER)) {
+                try {
+                    lastEventId = Long.parseLong(lines[i].substring(LAST_EVENT_ID_HEADER.length()).trim());
+                } catch (NumberFormatException e) {
+                    // 알 수 없는 ID는 처음 연결한 것으로 봅니다.
+                }
+            }
+        }
+        streaming.add(connection);
+        connectionsGauge.set(streaming.size());
+        enqueue(connection, STREAM_HEAD.duplicate());
+        if (lastEventId == null) {
+            if (!replay.isEmpty()) {
+                enqueue(connection, replay.peekLast().bytes().duplicate());
+            }
+            return;
+        }
+        for (Event event : replay) {
+            if (event.id() > lastEventId) {
+                enqueue(connection, event.bytes().duplicate());
+            }
+        }
+    }
+
+    private void respondAndClose(Connection connection, String status) throws IOException {
+        connection.request = null;
+        connection.closeAfterFlush = true;
+        enqueue(connection, ascii("HTTP/1.1 " + status + "\r\nContent-Length: 0\r\nConnection: close\r\n\r\n"));
+    }
+
+    private void drainPublished() {
+        Event event;
+        while ((event = published.poll()) != null) {
+            replay.addLast(event);
+            if (replay.size() > REPLAY_CAPACITY) {
+                replay.removeFirst();
+            }
+            broadcast(event.bytes());
+        }
+    }
+
+    private void broadcast(ByteBuffer bytes) {
+        // enqueue 중 연결이 닫히며 집합에서 빠질 수 있으므로 복사본을 순회합니다.
+        for (Connection connection : new ArrayList<>(streaming)) {
+            try {
+                enqueue(connection, bytes.duplicate());
+            } catch (IOException | CancelledKeyException e) {
+                closeConnection(connection);
+            }
+        }
+    }
+
+    private void enqueue(Connection connection, ByteBuffer buffer) throws IOException {
+        if (connection.pending == null) {
+            connection.pending = new ArrayDeque<>(2);
+        }
+        if (connection.pending.size() >= MAX_PENDING_WRITES) {
+            droppedCounter.increment();
+            log.debug("쓰기가 밀린 SSE 연결을 끊습니다: {}", connection.channel.getRemoteAddress());
+            closeConnection(connection);
+            return;
+        }
+        connection.pending.addLast(buffer);
+        if (connection.pending.size() == 1) {
+            flush(connection);
+        }
+    }
+
+    private void flush(Connection connection) throws IOException {
+        ArrayDeque<ByteBuffer> pending = connection.pending;
+        while (pending != null && !pending.isEmpty()) {
+            ByteBuffer head = pending.peekFirst();
+            connection.channel.write(head);
+            if (head.hasRemaining()) {
+                connection.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+            pending.removeFirst();
+        }
+        if (connection.closeAfterFlush) {
+            closeConnection(connection);
+            return;
+        }
+        // 밀린 쓰기가 없으면 버퍼 목록도 놓아 유휴 연결의 메모리를 줄입니다.
+        connection.pending = null;
+        connection.key.interestOps(SelectionKey.OP_READ);
+    }
+
+    private void expireHandshakes(long now) {
+        for (SelectionKey key : new ArrayList<>(selector.keys())) {
+            if (key.attachment() instanceof Connection connection
+                    && connection.request != null && now - connection.acceptedAt >= REQUEST_TIMEOUT_MS) {
+                closeConnection(connection);
+            }
+        }
+    }
+
+    private void closeConnection(Connection connection) {
+        if (streaming.remove(connection)) {
+            connectionsGauge.set(streaming.size());
+        }
+        if (connection.key != null) {
+            connection.key.cancel();
+        }
+        try {
+            connection.channel.close();
+        } catch (IOException e) {
+            log.debug("SSE 연결 닫기 실패: {}", e.getMessage());
+        }
+    }
+
+    private void shutdown() {
+        List<SelectionKey> keys = new ArrayList<>(selector.keys());
+        for (SelectionKey key : keys) {
+            if (key.attachment() instanceof Connection connection) {
+                closeConnection(connection);
+            }
+        }
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            log.debug("메뉴 SSE 스트림 종료 중 오류: {}", e.getMessage());
+        }
+        running = false;
+        log.info("메뉴 SSE 스트림 종료");
+    }
+
+    private static ByteBuffer ascii(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)).asReadOnlyBuffer();
+    }
+
+    /**
+     * 직렬화가 끝난 이벤트.
+     *
+     * @param id    이벤트 ID
+     * @param bytes {@code id/event/data} 형식의 읽기 전용 바이트 (연결마다 duplicate해서 씁니다)
+     */
+    private record Event(long id, ByteBuffer bytes) {
+    }
+
+    /**
+     * SSE 연결 하나. 요청 헤더를 다 읽기 전까지만 요청 버퍼를 들고 있습니다.
+     */
+    private static final class Connection {
+
+        private final SocketChannel channel;
+        private final long acceptedAt;
+        private SelectionKey key;
+        private ByteBuffer request = ByteBuffer.allocate(REQUEST_BUFFER_BYTES);
+        private ArrayDeque<ByteBuffer> pending;
+        private boolean closeAfterFlush;
+
+        private Connection(SocketChannel channel, long acceptedAt) {
+            this.channel = channel;
+            this.acceptedAt = acceptedAt;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package analysislunch.infrastructure.api;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import analysislunch.domain.model.CalorieTable;
+import analysislunch.domain.model.MenuHistoryEntry;
+import analysislunch.infrastructure.history.MenuHistoryStore;
+
+/**
+ * 메뉴 API와 SSE 스트림이 함께 쓰는 메뉴 JSON 표현.
+ */
+final class MenuJson {
+
+    private MenuJson() {
+        // 유틸리티 클래스 - 인스턴스화 금지
+    }
+
+    /**
+     * 메뉴 기록을 JSON으로 바꿉니다.
+     *
+     * @param date    메뉴 날짜
+     * @param entry   메뉴 기록
+     * @param hasFood 식판 이미지를 제공하는지 여부
+     * @param hasCard 칼로리 카드를 제공하는지 여부
+     * @return 메뉴 JSON
+     */
+    static JsonObject of(LocalDate date, MenuHistoryEntry entry, boolean hasFood, boolean hasCard) {
+        JsonObject json = new JsonObject();
+        json.addProperty("date", date.toString());
+        json.addProperty("sourceDate", entry.date());
+        JsonArray dishes = new JsonArray();
+        MenuHistoryStore.dishesOf(entry.menu()).forEach(dishes::add);
+        json.add("dishes", dishes);
+        json.addProperty("menu", entry.menu());
+
+        CalorieTable table = CalorieTable.parse(entry.calorieAnalysis());
+        JsonArray items = new JsonArray();
+        for (CalorieTable.Row row : table.rows()) {
+            JsonObject item = new JsonObject();
+            item.addProperty("menu", row.menu());
+            item.addProperty("kcal", row.kcal() >= 0 ? row.kcal() : null);
+            item.addProperty("text", row.calorieText());
+            items.add(item);
+        }
+        JsonObject calories = new JsonObject();
+        calories.add("items", items);
+        int totalKcal = table.totalKcal();
+        calories.addProperty("totalKcal", totalKcal > 0 ? totalKcal : null);
+        calories.addProperty("totalText", table.totalLine());
+        json.add("calories", calories);
+
+        JsonObject images = new JsonObject();
+        if (hasFood) {
+            images.addProperty("food", MenuApiServer.MENU_PATH + date + "/" + MenuApiServer.FOOD_IMAGE);
+        }
+        if (hasCard) {
+            images.addProperty("card", MenuApiServer.MENU_PATH + date + "/" + MenuApiServer.CARD_IMAGE);
+        }
+        json.add("images", images);
+        json.addProperty("updatedAt", Instant.ofEpochMilli(entry.recordedAtMillis()).toString());
+        return json;
+    }
+}
@@ -2,15 +2,17 @@ package analysislunch.infrastructure.client;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.List;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 
 import lombok.extern.slf4j.Slf4j;
 
 import analysislunch.utils.HttpUtils;
+import analysislunch.utils.MultipartBody;
+import analysislunch.utils.WireTimingRecorder;
 
 /**
  * Discord Incoming Webhook과 통신하는 클라이언트 클래스.
@@ -18,7 +20,7 @@ import analysislunch.utils.HttpUtils;
  * <p>Webhook URL 하나로 텍스트와 사진을 채널에 브로드캐스트합니다. Google Chat
  * Webhook과 동일한 모델이라 서버 없는 GitHub Actions cron 환경에 그대로
  * 들어맞습니다. 사진은 외부 URL이 아닌 로컬 파일을 multipart로 직접 업로드하여
- * CDN 전파 지연의 영향을 받지 않습니다.
+ * CDN 전파 지연의 영향을 받지 않으며, 여러 장도 Webhook 호출 한 번으로 보냅니다.
  */
 @Slf4j
 public class DiscordClient {
@@ -26,6 +28,8 @@ public class DiscordClient {
     private static final String IMAGE_CONTENT_TYPE = "image/png";
     /** Discord 메시지 본문(content) 최대 길이. */
     private static final int MAX_CONTENT_LENGTH = 2000;
+    /** 메시지 하나에 붙일 수 있는 최대 첨부 수. */
+    private static final int MAX_ATTACHMENTS = 10;
     private static final Gson GSON = new Gson();
 
     private final String webhookUrl;
@@ -40,23 +44,40 @@ public class DiscordClient {
     }
 
     /**
-     * 본문 텍스트와 함께 사진 한 장을 전송합니다.
+     * 본문 텍스트와 여러 사진을 메시지 하나로 전송합니다.
      *
-     * <p>{@code payload_json} 필드에 본문을, {@code file} 파트에 이미지를 담아
-     * 한 번의 multipart 요청으로 전송합니다.
+     * <p>{@code payload_json} 필드에 본문과 첨부 목록을, {@code files[n]} 파트에 이미지를
+     * 담아 한 번의 multipart 요청으로 전송합니다. 파일은 메모리에 모으지 않고 스트리밍합니다.
      *
-     * @param image   전송할 이미지 파일
+     * @param images  전송할 이미지 파일 (최대 {@value #MAX_ATTACHMENTS}장, 순서대로 표시)
      * @param content 메시지 본문 (2000자 초과 시 잘림)
-     * @throws IOException API 호출 실패 또는 응답 코드가 정상이 아닐 때
+     * @throws IllegalArgumentException 이미지가 없거나 너무 많을 때
+     * @throws IOException              API 호출 실패 또는 응답 코드가 정상이 아닐 때
      */
-    public void sendPhoto(File image, String content) throws IOException {
+    @SuppressWarnings("try")
+    public void sendPhotos(List<File> images, String content) throws IOException {
+        if (images.isEmpty() || images.size() > MAX_ATTACHMENTS) {
+            throw new IllegalArgumentException("Discord 첨부는 1~" + MAX_ATTACHMENTS + "장이어야 합니다: " + images.size());
+        }
+        JsonArray attachments = new JsonArray();
+        for (int i = 0; i < images.size(); i++) {
+            JsonObject attachment = new JsonObject();
+            attachment.addProperty("id", i);
+            attachment.addProperty("filename", images.get(i).getName());
+            attachments.add(attachment);
+        }
         JsonObject payload = new JsonObject();
         payload.addProperty("content", truncate(content));
+        payload.add("attachments", attachments);
 
-        Map<String, String> fields = new LinkedHashMap<>();
-        fields.put("payload_json", GSON.toJson(payload));
+        MultipartBody body = new MultipartBody().field("payload_json", GSON.toJson(payload));
+        for (int i = 0; i < images.size(); i++) {
+            body.file("files[" + i + "]", images.get(i), IMAGE_CONTENT_TYPE);
+        }
 
-        HttpUtils.postMultipart(webhookUrl, fields, "file", image, IMAGE_CONTENT_TYPE);
+        try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("discord.sendPhotos")) {
+            HttpUtils.postMultipart(webhookUrl, body);
+        }
     }
 
     /**
@@ -5,6 +5,10 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
@@ -12,23 +16,27 @@ import com.google.gson.JsonObject;
 
 import lombok.extern.slf4j.Slf4j;
 
+import analysislunch.config.GeminiModelConfig;
 import analysislunch.domain.model.MenuInfo;
+import analysislunch.infrastructure.metrics.MetricsRegistry;
+import analysislunch.utils.CircuitOpenException;
+import analysislunch.utils.Deadline;
+import analysislunch.utils.DeadlineExceededException;
 import analysislunch.utils.HttpUtils;
+import analysislunch.utils.JsonPathResult;
 import analysislunch.utils.JsonUtils;
+import analysislunch.utils.WireTimingRecorder;
 
 /**
  * Google Gemini API와 통신하는 클라이언트 클래스.
  *
  * <p>메뉴 이미지 OCR, 음식 이미지 생성, 칼로리 분석 기능을 제공합니다.
+ * 작업마다 {@link ModelRouter}가 최근 지연/오류 통계와 SLO에 따라 기본 모델과 대체 모델 중
+ * 호출할 모델을 고르고, 응답의 토큰 사용량과 주고받은 이미지 크기는 {@link TokenLedger}에 기록됩니다.
  */
 @Slf4j
 public class GeminiClient {
 
-    private static final String API_URL_TEXT =
-        "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash-lite:generateContent";
-    private static final String API_URL_IMAGE =
-        "https://generativelanguage.googleapis.com/v1beta/models/gemini-3.1-flash-image-preview:generateContent";
-    private static final String TEMP_GENERATED_FILE = "generated_food.png";
     private static final String MIME_TYPE_JPEG = "image/jpeg";
     private static final String MIME_TYPE_PNG = "image/png";
     private static final String FALLBACK_DATE = "날짜 없음";
@@ -42,17 +50,40 @@ public class GeminiClient {
     /** 로그에 출력할 응답 본문 최대 길이. */
     private static final int LOG_RESPONSE_LIMIT = 500;
 
+    private static final String METRIC_RETRIES = "gemini_retries_total";
+    private static final String RETRY_REASON_TRANSIENT = "transient";
+    private static final String RETRY_REASON_NETWORK = "network";
+    /** 재시도할 차례였으나 실행 기한 때문에 그만둔 경우의 레이블. */
+    private static final String RETRY_REASON_DEADLINE = "deadline_cutoff";
+    /** 모델의 회로가 열려 요청을 보내지 못한 경우의 레이블. */
+    private static final String RETRY_REASON_CIRCUIT = "circuit_open";
+
+    private static final String[] USAGE_PATHS = {
+        JsonUtils.PATH_GEMINI_PROMPT_TOKENS, JsonUtils.PATH_GEMINI_OUTPUT_TOKENS, JsonUtils.PATH_GEMINI_THOUGHTS_TOKENS
+    };
+
     private static final Gson GSON = new Gson();
 
     private final String apiKey;
+    private final String apiBase;
+    private final Map<Task, ModelRouter> routers = new EnumMap<>(Task.class);
+    private final TokenLedger ledger;
 
     /**
      * GeminiClient 생성자.
      *
-     * @param apiKey Gemini API 키
+     * @param apiKey  Gemini API 키
+     * @param apiBase Gemini API 기본 URL (예: "https://generativelanguage.googleapis.com/v1beta")
+     * @param models  작업별 모델과 지연 SLO
+     * @param ledger  토큰 사용량/비용 장부
      */
-    public GeminiClient(String apiKey) {
+    public GeminiClient(String apiKey, String apiBase, GeminiModelConfig models, TokenLedger ledger) {
         this.apiKey = apiKey;
+        this.apiBase = apiBase;
+        this.ledger = ledger;
+        routers.put(Task.OCR, new ModelRouter(Task.OCR.label, models.getOcr()));
+        routers.put(Task.IMAGE_GENERATION, new ModelRouter(Task.IMAGE_GENERATION.label, models.getImageGeneration()));
+        routers.put(Task.CALORIE_ANALYSIS, new ModelRouter(Task.CALORIE_ANALYSIS.label, models.getCalorieAnalysis()));
     }
 
     /**
@@ -71,14 +102,15 @@ public class GeminiClient {
 
         String jsonBody = GSON.toJson(buildTextWithImageRequest(prompt, base64Image, MIME_TYPE_JPEG));
 
-        String response = callGeminiWithRetry(API_URL_TEXT + "?key=" + apiKey, jsonBody, "메뉴 OCR");
+        GeminiResponse response = callGeminiWithRetry(
+            jsonBody, Task.OCR, imageFile.length(), JsonUtils.PATH_GEMINI_TEXT);
         log.info("메뉴 텍스트 추출 응답 수신 완료");
-        log.debug("메뉴 OCR 원본 응답: {}", response);
+        log.debug("메뉴 OCR 원본 응답: {}", response.body());
 
-        String fullText = JsonUtils.extractGeminiText(response);
+        String fullText = JsonUtils.geminiText(response.fields());
         if (fullText == null || fullText.isBlank() || JsonUtils.FALLBACK_TEXT.equals(fullText.trim())) {
             log.warn("메뉴 OCR 실패. Gemini 원본 응답: {}",
-                response.substring(0, Math.min(2000, response.length())));
+                response.body().substring(0, Math.min(2000, response.body().length())));
             throw new IOException("메뉴 OCR 실패: Gemini 응답에서 유효한 텍스트를 추출할 수 없습니다.");
         }
 
@@ -92,11 +124,12 @@ public class GeminiClient {
     /**
      * 메뉴 텍스트를 기반으로 한국식 식판 음식 이미지를 생성합니다.
      *
-     * @param menuText 쉼표로 구분된 메뉴 텍스트
-     * @return 생성된 이미지 파일
+     * @param menuText   쉼표로 구분된 메뉴 텍스트
+     * @param outputFile 생성된 이미지를 저장할 파일
+     * @return 생성된 이미지 파일 ({@code outputFile})
      * @throws IOException 이미지 생성 API 호출 실패 또는 이미지 데이터 추출 실패 시
      */
-    public File generateFoodImage(String menuText) throws IOException {
+    public File generateFoodImage(String menuText, File outputFile) throws IOException {
         String prompt = String.format("""
             당신은 한국 구내식당 음식 사진 전문가입니다.
             다음 메뉴를 한국식 6칸 식판에 담긴 실제 음식 사진처럼 생성해주세요.
@@ -145,18 +178,18 @@ public class GeminiClient {
 
         String jsonBody = GSON.toJson(requestBody);
 
-        String response = callGeminiWithRetry(API_URL_IMAGE + "?key=" + apiKey, jsonBody, "이미지 생성");
-        log.info("이미지 생성 응답 수신 완료 (길이: {})", response.length());
+        GeminiResponse response = callGeminiWithRetry(jsonBody, Task.IMAGE_GENERATION, 0L,
+            JsonUtils.PATH_GEMINI_INLINE_DATA, JsonUtils.PATH_GEMINI_INLINE_DATA_SNAKE);
+        log.info("이미지 생성 응답 수신 완료 (길이: {})", response.body().length());
 
-        String base64Image = JsonUtils.extractImageData(response);
+        String base64Image = JsonUtils.geminiImageData(response.fields());
         if (base64Image == null || base64Image.isEmpty()) {
             throw new IOException(
-                "이미지 생성 실패. 응답: " + response.substring(0, Math.min(500, response.length()))
+                "이미지 생성 실패. 응답: " + response.body().substring(0, Math.min(500, response.body().length()))
             );
         }
 
         byte[] imageBytes = Base64.getDecoder().decode(base64Image);
-        File outputFile = new File(TEMP_GENERATED_FILE);
         try (FileOutputStream fos = new FileOutputStream(outputFile)) {
             fos.write(imageBytes);
         }
@@ -201,46 +234,141 @@ public class GeminiClient {
 
         String jsonBody = GSON.toJson(buildTextWithImageRequest(prompt, base64Image, MIME_TYPE_PNG));
 
-        String response = callGeminiWithRetry(API_URL_TEXT + "?key=" + apiKey, jsonBody, "칼로리 분석");
+        GeminiResponse response = callGeminiWithRetry(
+            jsonBody, Task.CALORIE_ANALYSIS, imageFile.length(), JsonUtils.PATH_GEMINI_TEXT);
         log.info("칼로리 분석 응답 수신 완료");
 
-        return JsonUtils.extractGeminiText(response);
+        return JsonUtils.geminiText(response.fields());
     }
 
     /**
      * Gemini API를 호출하되, 일시적 오류(429/500/503, UNAVAILABLE 등)나
      * 네트워크 예외 발생 시 지수 백오프로 재시도합니다.
      *
+     * <p>시도마다 작업의 {@link ModelRouter}가 호출할 모델을 고르고, 시도 결과를 통계에 남깁니다.
+     * 대체 모델이 있으면 일시 오류 뒤의 재시도는 다른 모델로 바로 보내며, 같은 모델로 다시 보낼
+     * 때만 백오프만큼 기다립니다. 현재 {@link Deadline}이 백오프를 기다릴 만큼 남지 않았거나 이미 지났으면
+     * 더 재시도하지 않고 마지막 결과로 끝냅니다. 회로는 모델마다 따로 열리므로, 고른 모델의 회로가 열려
+     * 있으면 대체 모델로 넘기고 두 모델이 모두 막혔을 때만 마지막 결과로 끝냅니다.
+     *
      * <p>최종 시도까지 일시 오류가 지속되면 마지막 응답을 그대로 반환하여,
      * 호출부의 기존 응답 검증/오류 처리 로직이 동작하도록 합니다.
      *
-     * @param url      요청 URL (API 키 포함)
-     * @param jsonBody 요청 본문 JSON
-     * @param taskName 로그 식별용 작업 이름
-     * @return Gemini 응답 본문 문자열
+     * <p>오류 판별용 경로, {@code usageMetadata} 토큰 수 경로와 호출부가 요청한 결과 경로를
+     * 한 번의 스트리밍 순회로 함께 추출하므로, 응답 본문은 시도마다 한 번만 파싱됩니다.
+     *
+     * @param jsonBody     요청 본문 JSON
+     * @param task         로그/메트릭 식별용 작업 종류
+     * @param imageBytesIn 요청에 담은 이미지 크기 (사용량 기록용)
+     * @param resultPaths  응답에서 함께 추출할 결과 경로
+     * @return Gemini 응답 본문과 추출 결과
      * @throws IOException 마지막 시도까지 네트워크 오류가 지속될 때
      */
-    private String callGeminiWithRetry(String url, String jsonBody, String taskName) throws IOException {
+    @SuppressWarnings("try")
+    private GeminiResponse callGeminiWithRetry(
+            String jsonBody, Task task, long imageBytesIn, String... resultPaths) throws IOException {
+        String taskName = task.displayName;
+        ModelRouter router = routers.get(task);
+        String[] paths = new String[resultPaths.length + USAGE_PATHS.length + 2];
+        paths[0] = JsonUtils.PATH_ERROR_CODE;
+        paths[1] = JsonUtils.PATH_ERROR_STATUS;
+        System.arraycopy(USAGE_PATHS, 0, paths, 2, USAGE_PATHS.length);
+        System.arraycopy(resultPaths, 0, paths, 2 + USAGE_PATHS.length, resultPaths.length);
+
         long backoffMs = INITIAL_BACKOFF_MS;
+        String failedModel = null;
+        GeminiResponse lastResponse = null;
+        IOException lastError = null;
+        Set<String> openModels = new HashSet<>();
         for (int attempt = 1; ; attempt++) {
+            String model = router.choose(failedModel).model();
+            if (openModels.contains(model)) {
+                log.warn("{} 호출할 수 있는 Gemini 모델의 회로가 모두 열려 있어 재시도하지 않습니다.", taskName);
+                if (lastError != null) {
+                    throw lastError;
+                }
+                return lastResponse;
+            }
+            if (model.equals(failedModel)) {
+                if (!Deadline.allows(backoffMs)) {
+                    countRetry(task, RETRY_REASON_DEADLINE);
+                    log.warn("{} 실행 기한이 {}ms 백오프보다 적게 남아 재시도하지 않습니다.", taskName, backoffMs);
+                    if (lastError != null) {
+                        throw lastError;
+                    }
+                    return lastResponse;
+                }
+                sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+            long start = System.nanoTime();
             try {
-                String response = HttpUtils.postJson(url, null, jsonBody);
-                if (!isTransientError(response) || attempt >= MAX_ATTEMPTS) {
+                String body;
+                try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("gemini." + task.label)) {
+                    body = HttpUtils.postJson(modelUrl(model), null, jsonBody);
+                }
+                GeminiResponse response = new GeminiResponse(body, JsonUtils.extractPaths(body, paths));
+                boolean transientError = isTransientError(response);
+                router.record(model, System.nanoTime() - start, !transientError);
+                recordUsage(task, model, response.fields(), imageBytesIn);
+                if (!transientError || attempt >= MAX_ATTEMPTS) {
                     return response;
                 }
-                log.warn("{} Gemini 일시 오류 (시도 {}/{}). {}ms 후 재시도. 응답: {}",
-                    taskName, attempt, MAX_ATTEMPTS, backoffMs,
-                    response.substring(0, Math.min(LOG_RESPONSE_LIMIT, response.length())));
-            } catch (IOException e) {
+                lastResponse = response;
+                lastError = null;
+                countRetry(task, RETRY_REASON_TRANSIENT);
+                log.warn("{} Gemini 일시 오류 (모델 {}, 시도 {}/{}). 재시도. 응답: {}",
+                    taskName, model, attempt, MAX_ATTEMPTS,
+                    body.substring(0, Math.min(LOG_RESPONSE_LIMIT, body.length())));
+            } catch (DeadlineExceededException e) {
+                // 요청을 보내지도 않았으므로 모델 통계에 남기지 않고, 기다려도 소용없으므로 재시도하지 않습니다.
+                throw e;
+            } catch (CircuitOpenException e) {
+                // 요청을 보내지 않았으므로 모델 통계에 남기지 않습니다. 앞선 시도의 응답이 있으면 그것을 결과로 둡니다.
+                openModels.add(model);
+                if (lastResponse == null) {
+                    lastError = e;
+                }
                 if (attempt >= MAX_ATTEMPTS) {
+                    if (lastError != null) {
+                        throw lastError;
+                    }
+                    return lastResponse;
+                }
+                countRetry(task, RETRY_REASON_CIRCUIT);
+                log.warn("{} 모델 {} 회로가 열려 있어 다른 모델로 넘깁니다: {}", taskName, model, e.getMessage());
+            } catch (IOException e) {
+                router.record(model, System.nanoTime() - start, false);
+                if (attempt >= MAX_ATTEMPTS || !Deadline.allows(0)) {
                     throw e;
                 }
-                log.warn("{} 네트워크 오류 (시도 {}/{}). {}ms 후 재시도: {}",
-                    taskName, attempt, MAX_ATTEMPTS, backoffMs, e.getMessage());
+                lastError = e;
+                countRetry(task, RETRY_REASON_NETWORK);
+                log.warn("{} 네트워크 오류 (모델 {}, 시도 {}/{}). 재시도: {}",
+                    taskName, model, attempt, MAX_ATTEMPTS, e.getMessage());
             }
-            sleep(backoffMs);
-            backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            failedModel = model;
+        }
+    }
+
+    /**
+     * 응답의 {@code usageMetadata}와 주고받은 이미지 크기를 장부에 남깁니다. 사용량이 없는 오류 응답은 건너뜁니다.
+     */
+    private void recordUsage(Task task, String model, JsonPathResult fields, long imageBytesIn) {
+        long promptTokens = fields.firstLong(JsonUtils.PATH_GEMINI_PROMPT_TOKENS, -1L);
+        if (promptTokens < 0) {
+            return;
         }
+        long outputTokens = fields.firstLong(JsonUtils.PATH_GEMINI_OUTPUT_TOKENS, 0L)
+            + fields.firstLong(JsonUtils.PATH_GEMINI_THOUGHTS_TOKENS, 0L);
+        String imageData = JsonUtils.geminiImageData(fields);
+        // base64 4글자가 3바이트이므로 디코딩하지 않고 크기를 어림합니다.
+        long imageBytesOut = imageData != null ? imageData.length() / 4L * 3L : 0L;
+        ledger.record(task.label, model, promptTokens, outputTokens, imageBytesIn, imageBytesOut);
+    }
+
+    private String modelUrl(String model) {
+        return apiBase + "/models/" + model + ":generateContent?key=" + apiKey;
     }
 
     /**
@@ -249,29 +377,32 @@ public class GeminiClient {
      * <p>응답이 비어 있거나, {@code error.code}가 429/500/503이거나
      * {@code error.status}가 UNAVAILABLE/RESOURCE_EXHAUSTED/INTERNAL이면 일시 오류로 봅니다.
      *
-     * @param response Gemini 응답 본문 문자열
+     * @param response Gemini 응답 본문과 추출 결과
      * @return 일시적 오류이면 {@code true}
      */
-    private boolean isTransientError(String response) {
-        if (response == null || response.isBlank()) {
+    private boolean isTransientError(GeminiResponse response) {
+        if (response.body() == null || response.body().isBlank()) {
             return true;
         }
-        try {
-            JsonObject obj = GSON.fromJson(response, JsonObject.class);
-            if (obj == null || !obj.has("error") || !obj.get("error").isJsonObject()) {
-                return false;
-            }
-            JsonObject error = obj.getAsJsonObject("error");
-            int code = error.has("code") ? error.get("code").getAsInt() : 0;
-            String status = error.has("status") ? error.get("status").getAsString() : "";
-            return code == 429 || code == 500 || code == 503
-                || "UNAVAILABLE".equals(status)
-                || "RESOURCE_EXHAUSTED".equals(status)
-                || "INTERNAL".equals(status);
-        } catch (RuntimeException e) {
-            // 파싱 불가한 응답은 인식된 일시 오류가 아니므로 재시도하지 않음
-            return false;
-        }
+        // 파싱 불가한 응답은 인식된 일시 오류가 아니므로 재시도하지 않음
+        JsonPathResult fields = response.fields();
+        long code = fields.firstLong(JsonUtils.PATH_ERROR_CODE, 0L);
+        String status = fields.first(JsonUtils.PATH_ERROR_STATUS);
+        return code == 429 || code == 500 || code == 503
+            || "UNAVAILABLE".equals(status)
+            || "RESOURCE_EXHAUSTED".equals(status)
+            || "INTERNAL".equals(status);
+    }
+
+    /**
+     * 재시도 횟수 메트릭을 증가시킵니다.
+     *
+     * @param task   작업 종류
+     * @param reason 재시도 사유 레이블
+     */
+    private void countRetry(Task task, String reason) {
+        MetricsRegistry.global().counter(METRIC_RETRIES, "Gemini 호출 재시도 횟수",
+            "task", task.label, "reason", reason).increment();
     }
 
     /**
@@ -331,4 +462,30 @@ public class GeminiClient {
         byte[] bytes = Files.readAllBytes(file.toPath());
         return Base64.getEncoder().encodeToString(bytes);
     }
+
+    /**
+     * Gemini 호출 작업 종류.
+     */
+    private enum Task {
+        OCR("메뉴 OCR", "ocr"),
+        IMAGE_GENERATION("이미지 생성", "image_generation"),
+        CALORIE_ANALYSIS("칼로리 분석", "calorie_analysis");
+
+        private final String displayName;
+        private final String label;
+
+        Task(String displayName, String label) {
+            this.displayName = displayName;
+            this.label = label;
+        }
+    }
+
+    /**
+     * Gemini 응답 본문과, 한 번의 스트리밍 순회로 추출한 경로 값 묶음.
+     *
+     * @param body   응답 본문 문자열
+     * @param fields 오류 판별 경로와 결과 경로의 추출 값
+     */
+    private record GeminiResponse(String body, JsonPathResult fields) {
+    }
 }
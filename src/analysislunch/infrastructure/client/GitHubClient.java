@@ -2,19 +2,21 @@ package analysislunch.infrastructure.client;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.Base64;
+import java.util.Map;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 
 import lombok.extern.slf4j.Slf4j;
 
+import analysislunch.utils.Deadline;
+import analysislunch.utils.HttpResponse;
+import analysislunch.utils.HttpUtils;
 import analysislunch.utils.JsonUtils;
+import analysislunch.utils.WireTimingRecorder;
 
 /**
  * GitHub Contents API와 통신하는 클라이언트 클래스.
@@ -24,30 +26,39 @@ import analysislunch.utils.JsonUtils;
 @Slf4j
 public class GitHubClient {
 
-    private static final String API_BASE = "https://api.github.com";
     private static final String BRANCH = "main";
     private static final String IMAGE_PATH = "images";
     private static final String COMMIT_MSG_UPDATE_IMAGE = "Update lunch image";
     private static final String COMMIT_MSG_ADD_IMAGE = "Add lunch image";
     private static final String COMMIT_MSG_UPDATE_HASH = "Update menu hash";
     private static final String COMMIT_MSG_CREATE_HASH = "Create menu hash";
+    private static final String COMMIT_MSG_UPDATE_STATE = "Update run state";
+    private static final String COMMIT_MSG_CREATE_STATE = "Create run state";
     private static final int HTTP_OK = 200;
     private static final int HTTP_CREATED = 201;
+    private static final long PROBE_INITIAL_DELAY_MS = 100L;
+    private static final long PROBE_MAX_DELAY_MS = 1000L;
 
     private static final Gson GSON = new Gson();
 
     private final String token;
     private final String repo;
+    private final String apiBase;
+    private final String rawBase;
 
     /**
      * GitHubClient 생성자.
      *
-     * @param token GitHub 개인 액세스 토큰
-     * @param repo  GitHub 저장소 (예: "owner/repo")
+     * @param token   GitHub 개인 액세스 토큰
+     * @param repo    GitHub 저장소 (예: "owner/repo")
+     * @param apiBase REST API 기본 URL (예: "https://api.github.com")
+     * @param rawBase Raw 콘텐츠 기본 URL (예: "https://raw.githubusercontent.com")
      */
-    public GitHubClient(String token, String repo) {
+    public GitHubClient(String token, String repo, String apiBase, String rawBase) {
         this.token = token;
         this.repo = repo;
+        this.apiBase = apiBase;
+        this.rawBase = rawBase;
     }
 
     /**
@@ -62,7 +73,7 @@ public class GitHubClient {
     public void uploadImage(File file, String filename) throws IOException {
         String base64Content = encodeFileToBase64(file);
         String path = IMAGE_PATH + "/" + filename;
-        String apiUrl = String.format("%s/repos/%s/contents/%s", API_BASE, repo, path);
+        String apiUrl = String.format("%s/repos/%s/contents/%s", apiBase, repo, path);
 
         String existingSha = getExistingFileSha(apiUrl);
 
@@ -88,13 +99,43 @@ public class GitHubClient {
      * @throws IOException API 호출 실패 시
      */
     public void uploadTextFile(String content, String filename) throws IOException {
-        String base64Content = Base64.getEncoder().encodeToString(content.getBytes(StandardCharsets.UTF_8));
-        String apiUrl = String.format("%s/repos/%s/contents/%s", API_BASE, repo, filename);
+        uploadRootFile(encodeTextToBase64(content), filename, COMMIT_MSG_UPDATE_HASH, COMMIT_MSG_CREATE_HASH);
+    }
+
+    /**
+     * 실행 사이에 이어져야 하는 상태 파일(사용량 장부 등)을 저장소 루트에 업로드합니다.
+     *
+     * <p>cron 실행기는 매번 저장소를 새로 체크아웃하므로, 여기에 올린 파일이 다음 실행의 작업
+     * 디렉터리에 그대로 놓입니다.
+     *
+     * @param content  업로드할 텍스트 내용
+     * @param filename 저장소 내 파일명
+     * @throws IOException API 호출 실패 시
+     */
+    public void uploadStateFile(String content, String filename) throws IOException {
+        uploadRootFile(encodeTextToBase64(content), filename, COMMIT_MSG_UPDATE_STATE, COMMIT_MSG_CREATE_STATE);
+    }
+
+    /**
+     * 바이너리 상태 파일(메뉴 이력 로그 등)을 내용 그대로 저장소 루트에 업로드합니다.
+     *
+     * @param file     업로드할 로컬 파일
+     * @param filename 저장소 내 파일명
+     * @throws IOException 파일 읽기 또는 API 호출 실패 시
+     * @see #uploadStateFile(String, String)
+     */
+    public void uploadStateFile(File file, String filename) throws IOException {
+        uploadRootFile(encodeFileToBase64(file), filename, COMMIT_MSG_UPDATE_STATE, COMMIT_MSG_CREATE_STATE);
+    }
+
+    private void uploadRootFile(String base64Content, String filename, String updateMessage, String createMessage)
+            throws IOException {
+        String apiUrl = String.format("%s/repos/%s/contents/%s", apiBase, repo, filename);
 
         String existingSha = getExistingFileSha(apiUrl);
 
         JsonObject body = new JsonObject();
-        body.addProperty("message", existingSha != null ? COMMIT_MSG_UPDATE_HASH : COMMIT_MSG_CREATE_HASH);
+        body.addProperty("message", existingSha != null ? updateMessage : createMessage);
         body.addProperty("content", base64Content);
         body.addProperty("branch", BRANCH);
         if (existingSha != null) {
@@ -113,27 +154,78 @@ public class GitHubClient {
      */
     public String getRawUrl(String filename) {
         return String.format(
-            "https://raw.githubusercontent.com/%s/%s/%s/%s",
-            repo, BRANCH, IMAGE_PATH, filename
+            "%s/%s/%s/%s/%s",
+            rawBase, repo, BRANCH, IMAGE_PATH, filename
         );
     }
 
+    /**
+     * Raw URL이 업로드한 이미지를 실제로 내려줄 때까지 {@code HEAD} 요청으로 확인합니다.
+     *
+     * <p>Contents API가 성공해도 raw CDN은 잠시 404나 빈 응답을 줄 수 있어, 곧바로 URL을
+     * 넘기면 Google Chat 카드 등에 깨진 이미지가 표시됩니다. 본문 없이 헤더만 받는
+     * {@code HEAD}를 {@code Cache-Control: no-cache}로 보내 200이고 {@code Content-Length}가
+     * 업로드한 크기와 같으면 준비된 것으로 봅니다. raw CDN의 {@code ETag}는 git blob SHA와 형식이
+     * 달라 비교하지 않습니다. 재확인 간격은
+     * {@value #PROBE_INITIAL_DELAY_MS}ms에서 시작해 두 배씩 늘려 {@value #PROBE_MAX_DELAY_MS}ms까지 씁니다.
+     *
+     * @param filename      이미지 파일명 ({@link #getRawUrl(String)}과 같은 이름)
+     * @param expectedBytes 업로드한 파일 크기 (모르면 -1)
+     * @param timeoutMillis 최대 대기 시간(ms), 현재 {@link Deadline}의 남은 시간을 넘지 않음
+     * @return 제한 시간 안에 준비되면 {@code true}, 아니면 {@code false}
+     * @throws InterruptedException 대기 중 인터럽트되었을 때
+     */
+    public boolean awaitRawUrl(String filename, long expectedBytes, long timeoutMillis) throws InterruptedException {
+        String rawUrl = getRawUrl(filename);
+        long deadline = System.nanoTime() + Deadline.cap(timeoutMillis) * 1_000_000L;
+        long delay = PROBE_INITIAL_DELAY_MS;
+        int probes = 0;
+        while (true) {
+            probes++;
+            if (isServed(rawUrl, expectedBytes)) {
+                log.debug("Raw URL 준비 확인 ({}회): {}", probes, rawUrl);
+                return true;
+            }
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000L;
+            if (remainingMillis <= 0) {
+                log.warn("Raw URL이 {}ms 안에 준비되지 않음 ({}회 확인): {}", timeoutMillis, probes, rawUrl);
+                return false;
+            }
+            Thread.sleep(Math.min(delay, remainingMillis));
+            delay = Math.min(delay * 2, PROBE_MAX_DELAY_MS);
+        }
+    }
+
+    @SuppressWarnings("try")
+    private boolean isServed(String rawUrl, long expectedBytes) {
+        try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("github.probeRaw")) {
+            HttpResponse response = HttpUtils.send("HEAD", rawUrl, Map.of("Cache-Control", "no-cache"), null);
+            if (response.status() != HTTP_OK) {
+                return false;
+            }
+            String length = response.header("Content-Length");
+            return expectedBytes < 0 || length == null || Long.parseLong(length.trim()) == expectedBytes;
+        } catch (IOException | NumberFormatException e) {
+            log.debug("Raw URL 확인 실패 (재시도): {}", e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * GitHub API로 파일의 현재 SHA를 조회합니다.
      *
      * @param apiUrl 조회할 파일의 GitHub Contents API URL
      * @return 파일이 존재하면 SHA 문자열, 없으면 {@code null}
      */
+    @SuppressWarnings("try")
     private String getExistingFileSha(String apiUrl) {
-        try {
-            HttpURLConnection conn = (HttpURLConnection) new URL(apiUrl).openConnection();
-            conn.setRequestMethod("GET");
-            conn.setRequestProperty("Authorization", "Bearer " + token);
-            conn.setRequestProperty("Accept", "application/vnd.github+json");
-
-            if (conn.getResponseCode() == HTTP_OK) {
-                String response = new String(conn.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-                return JsonUtils.extract(response, "sha");
+        Map<String, String> headers = Map.of(
+            "Authorization", "Bearer " + token,
+            "Accept", "application/vnd.github+json");
+        try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("github.getSha")) {
+            HttpResponse response = HttpUtils.send("GET", apiUrl, headers, null);
+            if (response.status() == HTTP_OK) {
+                return JsonUtils.extract(response.body(), "sha");
             }
         } catch (IOException e) {
             log.debug("파일 SHA 조회 실패 (신규 파일로 처리): {}", e.getMessage());
@@ -148,23 +240,21 @@ public class GitHubClient {
      * @param jsonBody 요청 본문 JSON 문자열
      * @throws IOException 업로드 실패 또는 응답 코드가 200/201이 아닐 때
      */
+    @SuppressWarnings("try")
     private void uploadToGitHub(String apiUrl, String jsonBody) throws IOException {
-        HttpURLConnection conn = (HttpURLConnection) new URL(apiUrl).openConnection();
-        conn.setRequestMethod("PUT");
-        conn.setDoOutput(true);
-        conn.setRequestProperty("Authorization", "Bearer " + token);
-        conn.setRequestProperty("Accept", "application/vnd.github+json");
-        conn.setRequestProperty("Content-Type", "application/json");
-        conn.setRequestProperty("X-GitHub-Api-Version", "2022-11-28");
-
-        try (OutputStream os = conn.getOutputStream()) {
-            os.write(jsonBody.getBytes(StandardCharsets.UTF_8));
-        }
+        Map<String, String> headers = Map.of(
+            "Authorization", "Bearer " + token,
+            "Accept", "application/vnd.github+json",
+            "Content-Type", "application/json",
+            "X-GitHub-Api-Version", "2022-11-28");
 
-        int responseCode = conn.getResponseCode();
+        HttpResponse response;
+        try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("github.put")) {
+            response = HttpUtils.send("PUT", apiUrl, headers, jsonBody);
+        }
+        int responseCode = response.status();
         if (responseCode != HTTP_OK && responseCode != HTTP_CREATED) {
-            String error = new String(conn.getErrorStream().readAllBytes(), StandardCharsets.UTF_8);
-            throw new IOException("GitHub 업로드 실패 (" + responseCode + "): " + error);
+            throw new IOException("GitHub 업로드 실패 (" + responseCode + "): " + response.body());
         }
     }
 
@@ -179,4 +269,8 @@ public class GitHubClient {
         byte[] bytes = Files.readAllBytes(file.toPath());
         return Base64.getEncoder().encodeToString(bytes);
     }
+
+    private static String encodeTextToBase64(String content) {
+        return Base64.getEncoder().encodeToString(content.getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -1,23 +1,27 @@
 package analysislunch.infrastructure.client;
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 
 import lombok.extern.slf4j.Slf4j;
+
+import analysislunch.utils.HttpResponse;
 import analysislunch.utils.HttpUtils;
+import analysislunch.utils.JsonUtils;
+import analysislunch.utils.WireTimingRecorder;
 
 /**
  * Google Chat Webhook API와 통신하는 클라이언트 클래스.
  *
  * <p>이미지와 텍스트가 포함된 카드 형식의 메시지를 Google Chat 공간에 전송합니다.
+ * 후속 메시지는 앞 메시지 응답의 스레드 이름으로 답글을 달아 순서를 보장합니다.
  */
 @Slf4j
 public class GoogleChatClient {
@@ -28,6 +32,7 @@ public class GoogleChatClient {
     private static final String IMAGE_TYPE = "SQUARE";
     private static final String THREAD_KEY_PARAM = "threadKey";
     private static final String REPLY_OPTION = "messageReplyOption=REPLY_MESSAGE_FALLBACK_TO_NEW_THREAD";
+    private static final String PATH_THREAD_NAME = "thread.name";
 
     private final String webhookUrl;
 
@@ -47,55 +52,119 @@ public class GoogleChatClient {
      * @param title     카드 헤더 제목
      * @param text      카드 본문 텍스트
      * @param threadKey 스레드 키 (null 또는 빈 문자열이면 새 스레드 생성)
+     * @return 메시지가 속한 스레드 이름 (예: "spaces/AAA/threads/BBB"), 응답에 없으면 {@code null}
      * @throws IOException 메시지 전송 실패 또는 응답 코드가 200이 아닐 때
      */
-    public void sendCard(String imageUrl, String title, String text, String threadKey) throws IOException {
-        String jsonBody = buildCardJson(imageUrl, title, text);
-        String requestUrl = buildRequestUrl(threadKey);
+    public String sendCard(String imageUrl, String title, String text, String threadKey) throws IOException {
+        return sendCard(title, List.of(new Section(null, imageUrl, text)), threadKey);
+    }
 
-        HttpURLConnection conn = (HttpURLConnection) new URL(requestUrl).openConnection();
-        conn.setRequestMethod("POST");
-        conn.setDoOutput(true);
-        conn.setRequestProperty("Content-Type", "application/json; charset=UTF-8");
+    /**
+     * 여러 이미지 섹션을 담은 카드 메시지 하나를 Google Chat에 전송합니다.
+     *
+     * <p>카드 헤더 아이콘은 첫 섹션의 이미지를 씁니다.
+     *
+     * @param title     카드 헤더 제목
+     * @param sections  카드 섹션 목록 (표시 순서)
+     * @param threadKey 스레드 키 (null 또는 빈 문자열이면 새 스레드 생성)
+     * @return 메시지가 속한 스레드 이름, 응답에 없으면 {@code null}
+     * @throws IOException 메시지 전송 실패 또는 응답 코드가 200이 아닐 때
+     */
+    public String sendCard(String title, List<Section> sections, String threadKey) throws IOException {
+        String threadName = post(buildRequestUrl(threadKey), buildCardJson(title, sections, null));
+        log.info("Google Chat 카드 전송 완료 (threadKey: {})", threadKey);
+        return threadName;
+    }
 
-        try (OutputStream os = conn.getOutputStream()) {
-            os.write(jsonBody.getBytes(StandardCharsets.UTF_8));
-        }
+    /**
+     * 이미 있는 스레드에 답글로 카드 메시지를 전송합니다.
+     *
+     * <p>{@link #sendCard(String, String, String, String)}가 돌려준 스레드 이름을 본문에 지정하므로,
+     * 앞 메시지의 응답을 받은 뒤 보내면 같은 스레드에서 순서가 보장됩니다.
+     *
+     * @param threadName 답글을 달 스레드 이름
+     * @param imageUrl   카드에 표시할 이미지 URL
+     * @param title      카드 헤더 제목
+     * @param text       카드 본문 텍스트
+     * @throws IOException 메시지 전송 실패 또는 응답 코드가 200이 아닐 때
+     */
+    public void replyCard(String threadName, String imageUrl, String title, String text) throws IOException {
+        String separator = webhookUrl.contains("?") ? "&" : "?";
+        post(webhookUrl + separator + REPLY_OPTION,
+            buildCardJson(title, List.of(new Section(null, imageUrl, text)), threadName));
+        log.info("Google Chat 답글 카드 전송 완료 (thread: {})", threadName);
+    }
 
-        int responseCode = conn.getResponseCode();
-        if (responseCode != HTTP_OK) {
-            String error = new String(conn.getErrorStream().readAllBytes(), StandardCharsets.UTF_8);
-            throw new IOException("Google Chat 전송 실패 (" + responseCode + "): " + error);
+    /**
+     * 메시지를 전송하고 응답의 스레드 이름을 반환합니다.
+     */
+    @SuppressWarnings("try")
+    private String post(String requestUrl, String jsonBody) throws IOException {
+        HttpResponse response;
+        try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("googlechat.sendCard")) {
+            response = HttpUtils.send("POST", requestUrl,
+                Map.of("Content-Type", "application/json; charset=UTF-8"), jsonBody);
         }
-        log.info("Google Chat 카드 전송 완료 (threadKey: {})", threadKey);
+        if (response.status() != HTTP_OK) {
+            throw new IOException("Google Chat 전송 실패 (" + response.status() + "): " + response.body());
+        }
+        return JsonUtils.extractPaths(response.body(), PATH_THREAD_NAME).first(PATH_THREAD_NAME);
     }
 
     /**
      * 카드 메시지 JSON 본문을 생성합니다.
      *
-     * @param imageUrl 이미지 URL
-     * @param title    카드 제목
-     * @param text     카드 본문 텍스트
+     * @param title      카드 제목
+     * @param sections   카드 섹션 목록
+     * @param threadName 답글을 달 스레드 이름 (새 메시지면 {@code null})
      * @return JSON 문자열
      */
-    private String buildCardJson(String imageUrl, String title, String text) {
+    private String buildCardJson(String title, List<Section> sections, String threadName) {
         JsonObject header = new JsonObject();
         header.addProperty("title", title);
-        header.addProperty("imageUrl", imageUrl);
+        header.addProperty("imageUrl", sections.get(0).imageUrl());
         header.addProperty("imageType", IMAGE_TYPE);
 
+        JsonArray sectionArray = new JsonArray();
+        for (Section section : sections) {
+            sectionArray.add(buildSection(section));
+        }
+
+        JsonObject card = new JsonObject();
+        card.add("header", header);
+        card.add("sections", sectionArray);
+
+        JsonObject cardWrapper = new JsonObject();
+        cardWrapper.addProperty("cardId", CARD_ID);
+        cardWrapper.add("card", card);
+
+        JsonArray cardsV2 = new JsonArray();
+        cardsV2.add(cardWrapper);
+
+        JsonObject body = new JsonObject();
+        body.add("cardsV2", cardsV2);
+        if (threadName != null) {
+            JsonObject thread = new JsonObject();
+            thread.addProperty("name", threadName);
+            body.add("thread", thread);
+        }
+
+        return GSON.toJson(body);
+    }
+
+    private static JsonObject buildSection(Section section) {
         JsonObject openLink = new JsonObject();
-        openLink.addProperty("url", imageUrl);
+        openLink.addProperty("url", section.imageUrl());
         JsonObject onClick = new JsonObject();
         onClick.add("openLink", openLink);
         JsonObject image = new JsonObject();
-        image.addProperty("imageUrl", imageUrl);
+        image.addProperty("imageUrl", section.imageUrl());
         image.add("onClick", onClick);
         JsonObject imageWidget = new JsonObject();
         imageWidget.add("image", image);
 
         JsonObject textParagraph = new JsonObject();
-        textParagraph.addProperty("text", text);
+        textParagraph.addProperty("text", section.text());
         JsonObject textWidget = new JsonObject();
         textWidget.add("textParagraph", textParagraph);
 
@@ -103,26 +172,12 @@ public class GoogleChatClient {
         widgets.add(imageWidget);
         widgets.add(textWidget);
 
-        JsonObject section = new JsonObject();
-        section.add("widgets", widgets);
-        JsonArray sections = new JsonArray();
-        sections.add(section);
-
-        JsonObject card = new JsonObject();
-        card.add("header", header);
-        card.add("sections", sections);
-
-        JsonObject cardWrapper = new JsonObject();
-        cardWrapper.addProperty("cardId", CARD_ID);
-        cardWrapper.add("card", card);
-
-        JsonArray cardsV2 = new JsonArray();
-        cardsV2.add(cardWrapper);
-
-        JsonObject body = new JsonObject();
-        body.add("cardsV2", cardsV2);
-
-        return GSON.toJson(body);
+        JsonObject json = new JsonObject();
+        if (section.header() != null) {
+            json.addProperty("header", section.header());
+        }
+        json.add("widgets", widgets);
+        return json;
     }
 
     /**
@@ -139,4 +194,14 @@ public class GoogleChatClient {
         String separator = webhookUrl.contains("?") ? "&" : "?";
         return webhookUrl + separator + THREAD_KEY_PARAM + "=" + encodedThreadKey + "&" + REPLY_OPTION;
     }
+
+    /**
+     * 카드의 이미지 섹션 하나.
+     *
+     * @param header   섹션 머리글 (없으면 {@code null})
+     * @param imageUrl 이미지 URL
+     * @param text     이미지 아래 본문 텍스트
+     */
+    public record Section(String header, String imageUrl, String text) {
+    }
 }
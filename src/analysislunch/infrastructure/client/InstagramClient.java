@@ -1,19 +1,35 @@
 package analysislunch.infrastructure.client;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import lombok.extern.slf4j.Slf4j;
 
+import analysislunch.utils.Deadline;
+import analysislunch.utils.DeadlineExceededException;
+import analysislunch.utils.HashUtils;
 import analysislunch.utils.HttpUtils;
+import analysislunch.utils.JsonPathResult;
+import analysislunch.utils.JsonUtils;
+import analysislunch.utils.WireTimingRecorder;
 
 /**
  * Instagram Graph API(Meta)와 통신하는 클라이언트 클래스.
@@ -26,44 +42,108 @@ import analysislunch.utils.HttpUtils;
  *
  * <p>게시는 컨테이너 생성 → 발행의 2~3단계로 이뤄집니다. 캐러셀(여러 장)은
  * 각 이미지로 자식 컨테이너를 만들고, 이를 묶는 캐러셀 컨테이너를 만든 뒤 발행합니다.
+ * Meta는 컨테이너를 만든 뒤 이미지를 비동기로 가져가므로, 발행 전에 컨테이너의
+ * {@code status_code}가 {@code FINISHED}인지 확인합니다.
+ *
+ * <p>발행하지 못한 컨테이너는 상태 파일을 지정하면 한 줄에 {@code 키<TAB>컨테이너 ID<TAB>생성 시각}
+ * 형식으로 저장되어, 프로세스가 새로 뜬 다음 실행에서도 재사용됩니다. 만료 시간이 지난 항목은
+ * 읽을 때 버립니다.
  */
 @Slf4j
 public class InstagramClient {
 
-    private static final String API_BASE = "https://graph.facebook.com/v21.0";
     private static final String MEDIA_ENDPOINT = "media";
     private static final String PUBLISH_ENDPOINT = "media_publish";
     private static final String MEDIA_TYPE_CAROUSEL = "CAROUSEL";
+    private static final String PATH_ID = "id";
     /** 인스타그램 캐러셀 최소 이미지 수. */
     private static final int CAROUSEL_MIN = 2;
     /** 인스타그램 캐러셀 최대 이미지 수. */
     private static final int CAROUSEL_MAX = 10;
+    private static final String PATH_STATUS_CODE = "status_code";
+    private static final String PATH_STATUS = "status";
+    private static final String STATUS_FINISHED = "FINISHED";
+    private static final String STATUS_IN_PROGRESS = "IN_PROGRESS";
+    private static final String STATUS_ERROR = "ERROR";
+    private static final String STATUS_EXPIRED = "EXPIRED";
+    private static final String STATUS_PUBLISHED = "PUBLISHED";
+    private static final long POLL_MIN_DELAY_MS = 200L;
+    private static final long POLL_MAX_DELAY_MS = 5_000L;
+    private static final double POLL_BACKOFF = 1.5d;
+    private static final double READY_EWMA_WEIGHT = 0.3d;
+    private static final long INITIAL_READY_ESTIMATE_MS = 1_000L;
+    private static final long CONTAINER_READY_TIMEOUT_MS = 120_000L;
+    /** 미발행 컨테이너는 24시간 뒤 만료되므로 여유를 두고 그보다 일찍 버립니다. */
+    private static final long CONTAINER_TTL_MS = 23L * 60 * 60 * 1000;
+    private static final int PUBLISH_ATTEMPTS = 3;
+    private static final String CAROUSEL_KEY_PREFIX = "carousel:";
+    private static final String CHILD_KEY_PREFIX = "child:";
+    private static final char SEPARATOR = '\t';
 
-    private static final Gson GSON = new Gson();
+    /** 자식 컨테이너 생성과 상태 확인을 동시에 진행하는 데몬 스레드 풀. */
+    private static final ExecutorService CONTAINER_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "instagram-container");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private final String accessToken;
     private final String igUserId;
+    private final String apiBase;
+    /** 발행하지 못한 컨테이너 (캐러셀 키 또는 자식 키 → 컨테이너). */
+    private final ConcurrentMap<String, PendingContainer> pending = new ConcurrentHashMap<>();
+    /** 미발행 컨테이너 상태 파일, 메모리에만 보관하면 {@code null}. */
+    private final Path stateFile;
+    /** 상태 파일에서 읽었거나 마지막으로 넘겨준 내용. 그 뒤로 달라졌는지 비교할 때 씁니다. */
+    private String sharedState;
+    /** 컨테이너가 준비되기까지 걸린 시간의 지수 이동 평균(ms). */
+    private volatile long typicalReadyMillis = INITIAL_READY_ESTIMATE_MS;
 
     /**
      * InstagramClient 생성자.
      *
      * @param accessToken Instagram Graph API 장기 액세스 토큰
      * @param igUserId    Instagram 비즈니스 계정 ID (IG User ID)
+     * @param apiBase     Graph API 기본 URL (버전 포함, 예: "https://graph.facebook.com/v21.0")
      */
-    public InstagramClient(String accessToken, String igUserId) {
+    public InstagramClient(String accessToken, String igUserId, String apiBase) {
+        this(accessToken, igUserId, apiBase, null);
+    }
+
+    /**
+     * 미발행 컨테이너를 파일에 저장하는 InstagramClient 생성자.
+     *
+     * <p>파일을 읽지 못하면 경고만 남기고 빈 목록으로 시작합니다. 목록이 없어도 컨테이너를
+     * 새로 만들 뿐 게시는 정상 동작합니다.
+     *
+     * @param accessToken Instagram Graph API 장기 액세스 토큰
+     * @param igUserId    Instagram 비즈니스 계정 ID (IG User ID)
+     * @param apiBase     Graph API 기본 URL (버전 포함, 예: "https://graph.facebook.com/v21.0")
+     * @param stateFile   미발행 컨테이너 상태 파일 ({@code null}이면 메모리에만 보관)
+     */
+    public InstagramClient(String accessToken, String igUserId, String apiBase, Path stateFile) {
         this.accessToken = accessToken;
         this.igUserId = igUserId;
+        this.apiBase = apiBase;
+        this.stateFile = stateFile;
+        if (stateFile != null && Files.exists(stateFile)) {
+            loadState();
+        }
+        this.sharedState = pendingState();
     }
 
     /**
      * 여러 장의 이미지를 캐러셀 게시물로 올립니다.
      *
-     * <p>각 이미지로 자식 컨테이너를 만들고, 이를 묶는 캐러셀 컨테이너를 생성한 뒤
-     * 발행합니다. 인스타그램 캐러셀은 2~10장만 허용합니다.
+     * <p>각 이미지의 자식 컨테이너를 동시에 만들고 저마다 {@code FINISHED}가 될 때까지
+     * 기다린 뒤, 이를 묶는 캐러셀 컨테이너를 만들어 역시 준비를 확인하고 발행합니다.
+     * 발행하지 못한 컨테이너는 이미지 URL과 캡션을 키로 기억해 두므로, 같은 인자로 다시
+     * 호출하면 Meta가 이미지를 다시 가져오지 않고 발행만 재시도합니다. 인스타그램 캐러셀은
+     * 2~10장만 허용합니다.
      *
      * @param imageUrls 공개 접근 가능한 이미지 URL 목록 (2~10개)
      * @param caption   게시물 캡션 (인스타그램은 마크다운 미지원, 평문)
-     * @throws IOException API 호출 실패 또는 이미지 수가 허용 범위를 벗어날 때
+     * @throws IOException API 호출 실패, 컨테이너 처리 실패 또는 이미지 수가 허용 범위를 벗어날 때
      */
     public void postCarousel(List<String> imageUrls, String caption) throws IOException {
         if (imageUrls == null || imageUrls.size() < CAROUSEL_MIN || imageUrls.size() > CAROUSEL_MAX) {
@@ -72,29 +152,56 @@ public class InstagramClient {
                     + (imageUrls == null ? 0 : imageUrls.size()) + "장)");
         }
 
-        // 1. 각 이미지로 자식 컨테이너 생성
-        List<String> childIds = new ArrayList<>();
-        for (String imageUrl : imageUrls) {
-            Map<String, String> params = new LinkedHashMap<>();
-            params.put("image_url", imageUrl);
-            params.put("is_carousel_item", "true");
-            childIds.add(extractId(post(MEDIA_ENDPOINT, params)));
-        }
+        String carouselKey = carouselKey(imageUrls, caption);
+        String carouselId = reusableContainer(carouselKey);
+        if (carouselId == null) {
+            // 1. 각 이미지로 자식 컨테이너를 동시에 생성하고 각각 준비 완료까지 대기
+            List<CompletableFuture<String>> children = new ArrayList<>(imageUrls.size());
+            for (String imageUrl : imageUrls) {
+                children.add(CompletableFuture.supplyAsync(Deadline.propagate(() -> {
+                    try {
+                        return readyChild(imageUrl);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }), CONTAINER_EXECUTOR));
+            }
+            List<String> childIds = awaitAll(children);
 
-        // 2. 자식들을 묶는 캐러셀 컨테이너 생성
-        Map<String, String> carouselParams = new LinkedHashMap<>();
-        carouselParams.put("media_type", MEDIA_TYPE_CAROUSEL);
-        carouselParams.put("children", String.join(",", childIds));
-        if (caption != null && !caption.isEmpty()) {
-            carouselParams.put("caption", caption);
+            // 2. 자식들을 묶는 캐러셀 컨테이너 생성
+            Map<String, String> carouselParams = new LinkedHashMap<>();
+            carouselParams.put("media_type", MEDIA_TYPE_CAROUSEL);
+            carouselParams.put("children", String.join(",", childIds));
+            if (caption != null && !caption.isEmpty()) {
+                carouselParams.put("caption", caption);
+            }
+            carouselId = extractId(post(MEDIA_ENDPOINT, carouselParams));
+            pending.put(carouselKey, new PendingContainer(carouselId, System.currentTimeMillis()));
+            imageUrls.forEach(imageUrl -> pending.remove(childKey(imageUrl)));
+            saveState();
         }
-        String carouselId = extractId(post(MEDIA_ENDPOINT, carouselParams));
+        awaitFinished(carouselId);
 
         // 3. 발행
-        publish(carouselId);
+        publishContainer(carouselKey, carouselId);
         log.info("Instagram 캐러셀 게시 완료 ({}장)", imageUrls.size());
     }
 
+    /**
+     * 같은 이미지 URL과 캡션으로 만든, 아직 발행하지 않은 캐러셀 컨테이너가 있는지 확인합니다.
+     *
+     * <p>있으면 {@link #postCarousel(List, String)}가 이미지를 다시 가져가지 않으므로, 호출부는
+     * 이미지 업로드를 건너뛸 수 있습니다.
+     *
+     * @param imageUrls 이미지 URL 목록
+     * @param caption   게시물 캡션
+     * @return 만료되지 않은 미발행 컨테이너가 있으면 {@code true}
+     */
+    public boolean hasPendingCarousel(List<String> imageUrls, String caption) {
+        PendingContainer container = pending.get(carouselKey(imageUrls, caption));
+        return container != null && !container.isExpired(System.currentTimeMillis());
+    }
+
     /**
      * 단일 이미지를 게시물로 올립니다.
      *
@@ -109,6 +216,7 @@ public class InstagramClient {
             params.put("caption", caption);
         }
         String containerId = extractId(post(MEDIA_ENDPOINT, params));
+        awaitFinished(containerId);
         publish(containerId);
         log.info("Instagram 단일 이미지 게시 완료");
     }
@@ -125,6 +233,267 @@ public class InstagramClient {
         extractId(post(PUBLISH_ENDPOINT, params));
     }
 
+    /**
+     * 컨테이너를 최대 {@value #PUBLISH_ATTEMPTS}회까지 발행하고, 성공하면 미발행 목록에서 지웁니다.
+     *
+     * <p>발행 응답을 받지 못했어도 실제로는 게시되었을 수 있으므로, 실패할 때마다 컨테이너
+     * 상태를 확인해 {@code PUBLISHED}이면 성공으로 봅니다. 끝내 실패하면 컨테이너를 남겨 두어
+     * 다음 호출이 이어서 발행합니다.
+     */
+    private void publishContainer(String key, String containerId) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                publish(containerId);
+                forget(key);
+                return;
+            } catch (IOException e) {
+                if (STATUS_PUBLISHED.equals(statusOrNull(containerId))) {
+                    forget(key);
+                    return;
+                }
+                if (attempt >= PUBLISH_ATTEMPTS) {
+                    throw new IOException("Instagram 발행 실패 (컨테이너 " + containerId + "는 다음 시도에 재사용): "
+                        + e.getMessage(), e);
+                }
+                log.warn("Instagram 발행 실패, 재시도 {}/{}: {}", attempt, PUBLISH_ATTEMPTS, e.getMessage());
+                sleep(POLL_MIN_DELAY_MS * attempt);
+            }
+        }
+    }
+
+    /**
+     * 이미지 하나의 자식 컨테이너를 만들거나 남아 있는 것을 재사용하고, 준비될 때까지 기다립니다.
+     */
+    private String readyChild(String imageUrl) throws IOException {
+        String key = childKey(imageUrl);
+        String childId = reusableContainer(key);
+        if (childId == null) {
+            Map<String, String> params = new LinkedHashMap<>();
+            params.put("image_url", imageUrl);
+            params.put("is_carousel_item", "true");
+            childId = extractId(post(MEDIA_ENDPOINT, params));
+            pending.put(key, new PendingContainer(childId, System.currentTimeMillis()));
+            saveState();
+        }
+        awaitFinished(childId);
+        return childId;
+    }
+
+    /**
+     * 남아 있는 미발행 컨테이너가 아직 쓸 수 있으면 ID를 반환하고, 아니면 목록에서 지웁니다.
+     */
+    private String reusableContainer(String key) {
+        PendingContainer container = pending.get(key);
+        if (container == null) {
+            return null;
+        }
+        String status = container.isExpired(System.currentTimeMillis()) ? null : statusOrNull(container.id());
+        if (STATUS_FINISHED.equals(status) || STATUS_IN_PROGRESS.equals(status)) {
+            log.info("Instagram 미발행 컨테이너 재사용: {} ({})", container.id(), status);
+            return container.id();
+        }
+        forget(key);
+        return null;
+    }
+
+    /**
+     * 상태 파일 이름을 반환합니다.
+     *
+     * @return 상태 파일 이름, 메모리에만 보관하면 {@code null}
+     */
+    public String stateFileName() {
+        return stateFile != null ? stateFile.getFileName().toString() : null;
+    }
+
+    /**
+     * 미발행 컨테이너 목록이 상태 파일에서 읽었거나 지난번에 넘겨준 뒤로 달라졌으면 현재 내용을 반환합니다.
+     *
+     * <p>cron 실행기처럼 작업 디렉터리가 실행마다 사라지는 환경에서 호출부가 이 내용을 저장소에
+     * 올려 다음 실행이 이어받게 합니다. 발행에 성공해 목록이 처음과 같아지면 올릴 것이 없습니다.
+     *
+     * @return 달라진 상태 파일 내용, 달라지지 않았거나 메모리에만 보관하면 {@code null}
+     */
+    public synchronized String takeChangedState() {
+        if (stateFile == null) {
+            return null;
+        }
+        String state = pendingState();
+        if (state.equals(sharedState)) {
+            return null;
+        }
+        sharedState = state;
+        return state;
+    }
+
+    private void forget(String key) {
+        if (pending.remove(key) != null) {
+            saveState();
+        }
+    }
+
+    private void loadState() {
+        long now = System.currentTimeMillis();
+        try {
+            for (String line : Files.readAllLines(stateFile, StandardCharsets.UTF_8)) {
+                String[] fields = line.split(String.valueOf(SEPARATOR));
+                if (fields.length != 3) {
+                    continue;
+                }
+                PendingContainer container = new PendingContainer(fields[1], Long.parseLong(fields[2]));
+                if (!container.isExpired(now)) {
+                    pending.put(fields[0], container);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Instagram 미발행 컨테이너 상태 읽기 실패 (빈 목록으로 시작): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 키 순서로 정렬해 같은 목록이면 같은 내용이 되도록 만듭니다.
+     */
+    private String pendingState() {
+        StringBuilder state = new StringBuilder();
+        new TreeMap<>(pending).forEach((key, container) -> state.append(key).append(SEPARATOR)
+            .append(container.id()).append(SEPARATOR).append(container.createdAtMillis()).append('\n'));
+        return state.toString();
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 교체하여 중간에 끊겨도 이전 상태가 남도록 저장합니다. 실패해도 메모리 목록은 유지합니다.
+     */
+    private synchronized void saveState() {
+        if (stateFile == null) {
+            return;
+        }
+        Path temp = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+        try {
+            Files.writeString(temp, pendingState(), StandardCharsets.UTF_8);
+            Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Instagram 미발행 컨테이너 상태 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 컨테이너 상태가 {@code FINISHED}가 될 때까지 간격을 늘려 가며 확인합니다.
+     *
+     * <p>Meta가 이미지를 가져가 처리하는 데 걸리는 시간은 대체로 일정하므로, 지금까지
+     * 관측한 준비 시간의 지수 이동 평균을 첫 확인 시점으로 삼고 이후에는
+     * {@value #POLL_BACKOFF}배씩 늘립니다. 빨리 끝나는 이미지에 불필요한 대기를 두지 않으면서
+     * 느린 이미지에 요청을 낭비하지 않습니다.
+     *
+     * @param containerId 컨테이너 ID
+     * @throws IOException 상태가 {@code ERROR}/{@code EXPIRED}이거나 제한 시간 또는 실행 기한 안에 끝나지 않을 때
+     */
+    private void awaitFinished(String containerId) throws IOException {
+        long start = System.nanoTime();
+        long deadline = start + CONTAINER_READY_TIMEOUT_MS * 1_000_000L;
+        long delay = Math.max(POLL_MIN_DELAY_MS, Math.min(typicalReadyMillis, POLL_MAX_DELAY_MS));
+        int polls = 0;
+        while (true) {
+            polls++;
+            String status = status(containerId);
+            if (STATUS_FINISHED.equals(status)) {
+                long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+                typicalReadyMillis = (long) (typicalReadyMillis * (1 - READY_EWMA_WEIGHT)
+                    + elapsedMillis * READY_EWMA_WEIGHT);
+                log.debug("Instagram 컨테이너 준비 완료: {} ({}ms, {}회 확인)", containerId, elapsedMillis, polls);
+                return;
+            }
+            if (STATUS_ERROR.equals(status) || STATUS_EXPIRED.equals(status)) {
+                throw new IOException("Instagram 컨테이너 처리 실패 (" + status + "): " + containerId);
+            }
+            if (System.nanoTime() + delay * 1_000_000L > deadline) {
+                throw new IOException("Instagram 컨테이너가 " + CONTAINER_READY_TIMEOUT_MS + "ms 안에 준비되지 않음 ("
+                    + status + "): " + containerId);
+            }
+            if (!Deadline.allows(delay)) {
+                throw new DeadlineExceededException("Instagram 컨테이너 준비 대기 중 실행 기한 초과 (" + status + "): "
+                    + containerId);
+            }
+            sleep(delay);
+            delay = Math.min((long) (delay * POLL_BACKOFF), POLL_MAX_DELAY_MS);
+        }
+    }
+
+    /**
+     * 컨테이너의 {@code status_code}를 조회합니다.
+     *
+     * @param containerId 컨테이너 ID
+     * @return 상태 코드 (예: "IN_PROGRESS", "FINISHED")
+     * @throws IOException API 호출 실패 또는 오류 응답일 때
+     */
+    @SuppressWarnings("try")
+    private String status(String containerId) throws IOException {
+        String url = apiBase + "/" + encode(containerId)
+            + "?fields=" + PATH_STATUS_CODE + "," + PATH_STATUS + "&access_token=" + encode(accessToken);
+        String response;
+        try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("instagram.status")) {
+            response = HttpUtils.get(url, null);
+        }
+        JsonPathResult fields = JsonUtils.extractPaths(response, PATH_STATUS_CODE, PATH_STATUS);
+        String statusCode = fields.first(PATH_STATUS_CODE);
+        if (statusCode == null) {
+            throw new IOException("Instagram 컨테이너 상태 조회 실패: " + response);
+        }
+        if (STATUS_ERROR.equals(statusCode)) {
+            log.warn("Instagram 컨테이너 오류 상세: {}", fields.first(PATH_STATUS));
+        }
+        return statusCode;
+    }
+
+    private String statusOrNull(String containerId) {
+        try {
+            return status(containerId);
+        } catch (IOException e) {
+            log.debug("Instagram 컨테이너 상태 확인 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Instagram 컨테이너 대기 중 인터럽트");
+        }
+    }
+
+    /**
+     * 모든 자식 컨테이너를 기다려 ID를 모읍니다. 하나라도 실패하면 원래 예외를 던집니다.
+     */
+    private static List<String> awaitAll(List<CompletableFuture<String>> children) throws IOException {
+        List<String> childIds = new ArrayList<>(children.size());
+        try {
+            for (CompletableFuture<String> child : children) {
+                childIds.add(child.join());
+            }
+        } catch (CompletionException | CancellationException e) {
+            children.forEach(child -> child.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            throw new IOException("Instagram 자식 컨테이너 생성 실패: " + (cause != null ? cause : e),
+                cause != null ? cause : e);
+        }
+        return childIds;
+    }
+
+    /**
+     * 캡션에 줄바꿈과 탭이 들어가므로 상태 파일 한 줄에 들어가도록 해시로 줄입니다.
+     */
+    private static String carouselKey(List<String> imageUrls, String caption) {
+        String identity = String.join("\n", imageUrls) + "\n" + (caption != null ? caption : "");
+        return CAROUSEL_KEY_PREFIX + HashUtils.sha256Hex(identity.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String childKey(String imageUrl) {
+        return CHILD_KEY_PREFIX + imageUrl;
+    }
+
     /**
      * IG 사용자 노드의 엔드포인트에 POST 요청을 보냅니다.
      *
@@ -136,14 +505,17 @@ public class InstagramClient {
      * @return API 응답 본문 문자열
      * @throws IOException 호출 실패 시
      */
+    @SuppressWarnings("try")
     private String post(String endpoint, Map<String, String> params) throws IOException {
-        StringBuilder url = new StringBuilder(API_BASE).append("/")
+        StringBuilder url = new StringBuilder(apiBase).append("/")
             .append(igUserId).append("/").append(endpoint)
             .append("?access_token=").append(encode(accessToken));
         for (Map.Entry<String, String> entry : params.entrySet()) {
             url.append("&").append(entry.getKey()).append("=").append(encode(entry.getValue()));
         }
-        return HttpUtils.postJson(url.toString(), null, "{}");
+        try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("instagram." + endpoint)) {
+            return HttpUtils.postJson(url.toString(), null, "{}");
+        }
     }
 
     /**
@@ -154,15 +526,15 @@ public class InstagramClient {
      * @throws IOException 응답에 {@code id}가 없거나 오류 응답일 때
      */
     private String extractId(String response) throws IOException {
-        try {
-            JsonObject json = GSON.fromJson(response, JsonObject.class);
-            if (json != null && json.has("id")) {
-                return json.get("id").getAsString();
-            }
-        } catch (RuntimeException e) {
-            throw new IOException("Instagram 응답 파싱 실패: " + response, e);
+        JsonPathResult fields = JsonUtils.extractPaths(response, PATH_ID);
+        if (!fields.isParsed()) {
+            throw new IOException("Instagram 응답 파싱 실패: " + response);
         }
-        throw new IOException("Instagram API 오류 응답: " + response);
+        String id = fields.first(PATH_ID);
+        if (id == null) {
+            throw new IOException("Instagram API 오류 응답: " + response);
+        }
+        return id;
     }
 
     /**
@@ -174,4 +546,17 @@ public class InstagramClient {
     private String encode(String value) {
         return URLEncoder.encode(value, StandardCharsets.UTF_8);
     }
+
+    /**
+     * 아직 발행하지 않은 미디어 컨테이너.
+     *
+     * @param id              컨테이너 ID
+     * @param createdAtMillis 생성 시각(epoch ms)
+     */
+    private record PendingContainer(String id, long createdAtMillis) {
+
+        private boolean isExpired(long nowMillis) {
+            return nowMillis - createdAtMillis > CONTAINER_TTL_MS;
+        }
+    }
 }
@@ -0,0 +1,240 @@
+package analysislunch.infrastructure.client;
+
+import java.util.Arrays;
+
+import lombok.extern.slf4j.Slf4j;
+
+import analysislunch.config.GeminiModelConfig;
+import analysislunch.infrastructure.metrics.Histogram;
+import analysislunch.infrastructure.metrics.MetricsRegistry;
+
+/**
+ * Gemini 작업 하나의 호출을 기본 모델과 대체 모델 사이에서 나누는 라우터.
+ *
+ * <p>모델마다 최근 호출의 지연과 성공 여부를 고정 크기 링 버퍼에 남기고, 기본 모델의 최근
+ * p90 지연이 SLO를 넘거나 오류율이 임계값을 넘으면 대체 모델로 보냅니다. 대체 모델로 보내는
+ * 동안에도 일정 간격마다 한 번은 기본 모델로 보내 회복 여부를 확인하고, 오래된 표본은
+ * 판정에서 빠지므로 기본 모델은 저절로 다시 선택됩니다. 일시 오류 뒤의 재시도는 방금 실패한
+ * 모델이 아닌 쪽으로 보냅니다.
+ *
+ * <p>통계는 프로세스 안에서만 유지되므로 판정은 데몬 모드에서 쌓이며, cron 1회 실행에서는
+ * 재시도 시 대체 모델로 넘기는 동작만 의미가 있습니다. 선택 결과와 모델별 지연/오류는
+ * {@link MetricsRegistry#global()}에 기록됩니다.
+ */
+@Slf4j
+final class ModelRouter {
+
+    /** 모델별로 판정에 쓰는 최근 표본 수. */
+    private static final int WINDOW_SIZE = 20;
+    /** 이보다 오래된 표본은 판정에서 뺍니다(ns). */
+    private static final long WINDOW_NANOS = 30L * 60 * 1_000_000_000L;
+    /** 판정에 필요한 최소 표본 수. 이보다 적으면 정상으로 봅니다. */
+    private static final int MIN_SAMPLES = 3;
+    /** 이 비율을 넘게 실패하면 오류율 초과로 봅니다. */
+    private static final double MAX_ERROR_RATE = 0.5;
+    /** 판정에 쓰는 지연 백분위수. */
+    private static final double LATENCY_QUANTILE = 0.9;
+    /** 대체 모델로 보내는 중에도 이 간격마다 기본 모델로 한 번 보냅니다(ns). */
+    private static final long PROBE_INTERVAL_NANOS = 5L * 60 * 1_000_000_000L;
+
+    private static final String METRIC_ROUTES = "gemini_model_routes_total";
+    private static final String METRIC_DURATION = "gemini_model_request_duration_seconds";
+    private static final String METRIC_ERRORS = "gemini_model_errors_total";
+    private static final String METRIC_LATENCY_P90 = "gemini_model_latency_p90_seconds";
+    private static final String METRIC_PRIMARY_HEALTHY = "gemini_model_primary_healthy";
+
+    /**
+     * 선택 사유. 메트릭 {@code reason} 레이블 값으로 쓰입니다.
+     */
+    enum Reason {
+        /** 기본 모델이 SLO를 지키고 있음. */
+        PRIMARY("primary"),
+        /** 기본 모델의 최근 p90 지연이 SLO 초과. */
+        SLO_BREACH("slo_breach"),
+        /** 기본 모델의 최근 오류율이 임계값 초과. */
+        ERROR_RATE("error_rate"),
+        /** 대체 모델로 보내는 중 기본 모델 회복 확인. */
+        PROBE("probe"),
+        /** 일시 오류 뒤 다른 모델로 재시도. */
+        RETRY("retry");
+
+        private final String label;
+
+        Reason(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * 라우팅 결과.
+     *
+     * @param model  호출할 모델 이름
+     * @param reason 선택 사유
+     */
+    record Choice(String model, Reason reason) {
+    }
+
+    private final String task;
+    private final GeminiModelConfig.Route route;
+    private final Stats primary = new Stats();
+    private final Stats fallback = new Stats();
+    private long lastPrimaryNanos = System.nanoTime();
+
+    /**
+     * ModelRouter 생성자.
+     *
+     * @param task  메트릭 레이블로 쓸 작업 이름 (예: "ocr")
+     * @param route 작업의 모델 경로
+     */
+    ModelRouter(String task, GeminiModelConfig.Route route) {
+        this.task = task;
+        this.route = route;
+    }
+
+    /**
+     * 다음 호출에 쓸 모델을 고릅니다.
+     *
+     * @param failedModel 직전 시도에서 일시 오류가 난 모델 (첫 시도면 {@code null})
+     * @return 라우팅 결과
+     */
+    synchronized Choice choose(String failedModel) {
+        Choice choice = decide(failedModel, System.nanoTime());
+        if (choice.model().equals(route.primaryModel())) {
+            lastPrimaryNanos = System.nanoTime();
+        }
+        MetricsRegistry.global().counter(METRIC_ROUTES, "Gemini 모델 라우팅 결정 수",
+            "task", task, "model", choice.model(), "reason", choice.reason().label).increment();
+        if (choice.reason() != Reason.PRIMARY) {
+            log.info("🔀 Gemini {} 모델 선택: {} ({})", task, choice.model(), choice.reason().label);
+        }
+        return choice;
+    }
+
+    /**
+     * 호출 결과를 통계에 남깁니다.
+     *
+     * @param model   호출한 모델 이름
+     * @param nanos   호출 소요 시간(ns)
+     * @param success 일시 오류나 네트워크 오류 없이 응답을 받았으면 {@code true}
+     */
+    synchronized void record(String model, long nanos, boolean success) {
+        boolean isPrimary = model.equals(route.primaryModel());
+        Stats stats = isPrimary ? primary : fallback;
+        long now = System.nanoTime();
+        stats.add(now, nanos, success);
+
+        MetricsRegistry metrics = MetricsRegistry.global();
+        metrics.histogram(METRIC_DURATION, "Gemini 모델별 호출 소요 시간",
+            Histogram.Unit.SECONDS, "task", task, "model", model).record(nanos);
+        if (!success) {
+            metrics.counter(METRIC_ERRORS, "Gemini 모델별 일시/네트워크 오류 수",
+                "task", task, "model", model).increment();
+        }
+        metrics.gauge(METRIC_LATENCY_P90, "Gemini 모델별 최근 호출 p90 지연",
+            "task", task, "model", model).set(stats.latencyQuantile(now, LATENCY_QUANTILE) / 1e9);
+        if (isPrimary) {
+            metrics.gauge(METRIC_PRIMARY_HEALTHY, "Gemini 기본 모델이 SLO를 지키고 있는지 여부 (1/0)",
+                "task", task).set(health(primary, now) == Reason.PRIMARY ? 1 : 0);
+        }
+    }
+
+    private Choice decide(String failedModel, long now) {
+        String fallbackModel = route.fallbackModel();
+        if (fallbackModel == null || fallbackModel.equals(route.primaryModel())) {
+            return new Choice(route.primaryModel(), Reason.PRIMARY);
+        }
+        if (failedModel != null) {
+            return failedModel.equals(route.primaryModel())
+                ? new Choice(fallbackModel, Reason.RETRY)
+                : new Choice(route.primaryModel(), Reason.RETRY);
+        }
+        Reason primaryHealth = health(primary, now);
+        if (primaryHealth == Reason.PRIMARY) {
+            return new Choice(route.primaryModel(), Reason.PRIMARY);
+        }
+        if (now - lastPrimaryNanos >= PROBE_INTERVAL_NANOS || health(fallback, now) != Reason.PRIMARY) {
+            // 대체 모델도 나쁘면 기본 모델을 유지합니다.
+            return new Choice(route.primaryModel(), Reason.PROBE);
+        }
+        return new Choice(fallbackModel, primaryHealth);
+    }
+
+    /**
+     * 최근 표본으로 모델 상태를 판정합니다. 정상이면 {@link Reason#PRIMARY}입니다.
+     */
+    private Reason health(Stats stats, long now) {
+        int samples = stats.count(now);
+        if (samples < MIN_SAMPLES) {
+            return Reason.PRIMARY;
+        }
+        if (stats.errors(now) > samples * MAX_ERROR_RATE) {
+            return Reason.ERROR_RATE;
+        }
+        return stats.latencyQuantile(now, LATENCY_QUANTILE) > route.sloMillis() * 1_000_000L
+            ? Reason.SLO_BREACH
+            : Reason.PRIMARY;
+    }
+
+    /**
+     * 모델 하나의 최근 호출 표본 링 버퍼.
+     */
+    private static final class Stats {
+
+        private final long[] at = new long[WINDOW_SIZE];
+        private final long[] latencies = new long[WINDOW_SIZE];
+        private final boolean[] failed = new boolean[WINDOW_SIZE];
+        private int next;
+        private int size;
+
+        void add(long now, long nanos, boolean success) {
+            at[next] = now;
+            latencies[next] = nanos;
+            failed[next] = !success;
+            next = (next + 1) % WINDOW_SIZE;
+            size = Math.min(size + 1, WINDOW_SIZE);
+        }
+
+        int count(long now) {
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (fresh(i, now)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        int errors(long now) {
+            int errors = 0;
+            for (int i = 0; i < size; i++) {
+                if (fresh(i, now) && failed[i]) {
+                    errors++;
+                }
+            }
+            return errors;
+        }
+
+        /**
+         * 오류 없이 끝난 최근 호출 지연의 백분위수(nearest-rank)를 구합니다. 표본이 없으면 0입니다.
+         */
+        long latencyQuantile(long now, double quantile) {
+            long[] values = new long[size];
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                if (fresh(i, now) && !failed[i]) {
+                    values[n++] = latencies[i];
+                }
+            }
+            if (n == 0) {
+                return 0L;
+            }
+            Arrays.sort(values, 0, n);
+            int rank = (int) Math.ceil(quantile * n);
+            return values[Math.max(0, Math.min(n - 1, rank - 1))];
+        }
+
+        private boolean fresh(int index, long now) {
+            return now - at[index] <= WINDOW_NANOS;
+        }
+    }
+}
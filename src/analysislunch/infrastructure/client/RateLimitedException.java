@@ -0,0 +1,36 @@
+package analysislunch.infrastructure.client;
+
+import java.io.IOException;
+
+/**
+ * API가 요청 한도 초과(429)로 거절했음을 나타내는 예외.
+ *
+ * <p>서버가 알려 준 재시도 대기 시간을 함께 전달하여, 호출부가 같은 한도를 공유하는
+ * 다른 요청까지 늦출 수 있게 합니다.
+ */
+public class RateLimitedException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterMillis;
+
+    /**
+     * RateLimitedException 생성자.
+     *
+     * @param message          오류 메시지
+     * @param retryAfterMillis 서버가 요구한 재시도 대기 시간(ms)
+     */
+    public RateLimitedException(String message, long retryAfterMillis) {
+        super(message);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * 재시도 전 기다려야 하는 시간을 반환합니다.
+     *
+     * @return 대기 시간(ms)
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
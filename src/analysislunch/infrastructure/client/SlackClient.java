@@ -2,8 +2,18 @@ package analysislunch.infrastructure.client;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
@@ -11,32 +21,53 @@ import com.google.gson.JsonObject;
 
 import lombok.extern.slf4j.Slf4j;
 
+import analysislunch.utils.Deadline;
+import analysislunch.utils.HttpResponse;
 import analysislunch.utils.HttpUtils;
+import analysislunch.utils.JsonPathResult;
 import analysislunch.utils.JsonUtils;
+import analysislunch.utils.WireTimingRecorder;
 
 /**
  * Slack API와 통신하는 클라이언트 클래스.
  *
- * <p>메시지 전송, 이미지 URL 기반 메시지, 파일 업로드 기능을 제공합니다.
+ * <p>메시지 전송, 이미지 URL 기반 메시지, 파일 업로드 기능을 제공합니다. 여러 채널에
+ * 보낼 때는 {@link #uploadOnly(File)}로 한 번 올리고 {@link #shareFiles(Map, List, String)}로
+ * 한꺼번에 공유합니다.
  */
 @Slf4j
 public class SlackClient {
 
-    private static final String API_GET_URL = "https://slack.com/api/files.getUploadURLExternal";
-    private static final String API_COMPLETE = "https://slack.com/api/files.completeUploadExternal";
-    private static final String API_POST_MESSAGE = "https://slack.com/api/chat.postMessage";
+    private static final String METHOD_GET_UPLOAD_URL = "/files.getUploadURLExternal";
+    private static final String METHOD_COMPLETE_UPLOAD = "/files.completeUploadExternal";
+    private static final String METHOD_POST_MESSAGE = "/chat.postMessage";
+    private static final String PATH_UPLOAD_URL = "upload_url";
+    private static final String PATH_FILE_ID = "file_id";
+    private static final String CONTENT_TYPE_JSON = "application/json; charset=UTF-8";
+    private static final String ERROR_RATELIMITED = "ratelimited";
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final long DEFAULT_RETRY_AFTER_MS = 1000L;
 
     private static final Gson GSON = new Gson();
+    /** 파일별 업로드를 동시에 진행하기 위한 스레드 풀 (유휴 스레드는 60초 뒤 정리). */
+    private static final ExecutorService UPLOAD_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "slack-upload");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private final String token;
+    private final String apiBase;
 
     /**
      * SlackClient 생성자.
      *
-     * @param token Slack 봇 토큰
+     * @param token   Slack 봇 토큰
+     * @param apiBase Slack Web API 기본 URL (예: "https://slack.com/api")
      */
-    public SlackClient(String token) {
+    public SlackClient(String token, String apiBase) {
         this.token = token;
+        this.apiBase = apiBase;
     }
 
     /**
@@ -60,6 +91,7 @@ public class SlackClient {
      * @return 전송된 메시지의 타임스탬프(ts), 실패 시 {@code null}
      * @throws IOException API 호출 실패 시
      */
+    @SuppressWarnings("try")
     public String postMessage(String channelId, String text, String threadTs) throws IOException {
         JsonObject body = new JsonObject();
         body.addProperty("channel", channelId);
@@ -67,11 +99,15 @@ public class SlackClient {
         if (threadTs != null && !threadTs.isEmpty()) {
             body.addProperty("thread_ts", threadTs);
         }
-        String response = HttpUtils.postJson(API_POST_MESSAGE, token, GSON.toJson(body));
-        if (!isResponseOk(response)) {
+        String response;
+        try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("slack.postMessage")) {
+            response = HttpUtils.postJson(apiBase + METHOD_POST_MESSAGE, token, GSON.toJson(body));
+        }
+        JsonPathResult fields = JsonUtils.extractPaths(response, JsonUtils.PATH_OK, JsonUtils.PATH_TS);
+        if (!fields.isTrue(JsonUtils.PATH_OK)) {
             throw new IOException("메시지 전송 실패: " + response);
         }
-        String messageTs = JsonUtils.extract(response, "ts");
+        String messageTs = fields.first(JsonUtils.PATH_TS);
         if (messageTs == null) {
             log.warn("Slack 메시지 ts를 응답에서 찾을 수 없습니다.");
         }
@@ -109,10 +145,94 @@ public class SlackClient {
      */
     public void uploadFile(String channelId, File file, String title, String initialComment, String threadTs)
             throws IOException {
+        Map<String, String> fileTitles = new LinkedHashMap<>();
+        fileTitles.put(uploadOnly(file), title);
+        completeUploads(fileTitles, channelId, initialComment, threadTs);
+    }
+
+    /**
+     * 부모 메시지를 올리고, 여러 파일을 그 스레드의 답글 하나로 묶어 공유합니다.
+     *
+     * <p>파일마다 업로드 URL 발급과 바이너리 전송을 부모 메시지 전송과 동시에 진행한 뒤,
+     * 부모 ts가 확보되면 {@code files.completeUploadExternal} 한 번으로 모든 파일을 완료
+     * 처리합니다. 임계 경로의 왕복은 파일 수와 관계없이 "URL 발급 → 바이너리 전송 →
+     * 완료" 세 번입니다(부모 메시지는 앞의 두 단계와 겹침).
+     *
+     * @param channelId      채널 ID
+     * @param text           부모 메시지 본문
+     * @param files          업로드할 파일 → 제목 (표시 순서대로)
+     * @param initialComment 파일 답글에 표시할 코멘트 (null 허용)
+     * @return 부모 메시지 ts, 응답에 없으면 {@code null} (이 경우 파일은 채널에 새 메시지로 공유됨)
+     * @throws IOException 메시지 전송, 업로드 또는 완료 처리 실패 시
+     */
+    public String postMessageWithFiles(
+            String channelId, String text, Map<File, String> files, String initialComment) throws IOException {
+        List<File> fileList = new ArrayList<>(files.keySet());
+        List<CompletableFuture<String>> uploads = uploadAllAsync(fileList);
+        String parentTs;
+        try {
+            parentTs = postMessage(channelId, text);
+        } catch (IOException e) {
+            uploads.forEach(upload -> upload.cancel(true));
+            throw e;
+        }
+        List<String> fileIds = awaitAll(uploads);
+
+        Map<String, String> fileTitles = new LinkedHashMap<>();
+        for (int i = 0; i < fileList.size(); i++) {
+            fileTitles.put(fileIds.get(i), files.get(fileList.get(i)));
+        }
+        completeUploads(fileTitles, channelId, initialComment, parentTs);
+        return parentTs;
+    }
+
+    /**
+     * 여러 파일을 동시에 {@link #uploadOnly(File)}하고 모두 끝날 때까지 기다립니다.
+     *
+     * @param files 업로드할 파일 목록
+     * @return 입력 순서대로 정렬된 공유 전 파일 ID 목록
+     * @throws IOException 하나라도 업로드에 실패했을 때
+     */
+    public List<String> uploadAll(List<File> files) throws IOException {
+        return awaitAll(uploadAllAsync(files));
+    }
+
+    /**
+     * {@link #uploadOnly(File)}로 올린 파일들을 한 채널(선택적으로 스레드)에 한 번의
+     * {@code files.completeUploadExternal} 호출로 공유합니다.
+     *
+     * @param fileTitles     파일 ID → 제목 (표시 순서대로)
+     * @param channelId      채널 ID
+     * @param initialComment 파일과 함께 표시할 초기 코멘트 (null 허용)
+     * @param threadTs       답글을 달 스레드의 타임스탬프 (null이면 새 메시지)
+     * @throws IOException API 호출 실패 시
+     */
+    public void completeUploads(
+            Map<String, String> fileTitles, String channelId, String initialComment, String threadTs)
+            throws IOException {
+        String completeResponse = callCompleteUpload(fileTitles, initialComment, channelId, threadTs);
+        if (!isResponseOk(completeResponse)) {
+            throw new IOException("업로드 완료 처리 실패: " + completeResponse);
+        }
+    }
+
+    /**
+     * 파일을 채널에 공유하지 않고 Slack에 올리기만 합니다.
+     *
+     * <p>업로드 URL 발급과 바이너리 전송까지 수행하며, 반환된 파일 ID를
+     * {@link #shareFiles(Map, List, String)}에 넘겨 여러 채널에 한 번에 공유합니다.
+     *
+     * @param file 업로드할 파일
+     * @return 공유 전 파일 ID
+     * @throws IOException API 호출 실패 시
+     */
+    @SuppressWarnings("try")
+    public String uploadOnly(File file) throws IOException {
         // 1단계: 업로드 URL 획득
         String getUrlResponse = callGetUploadUrl(file.getName(), file.length());
-        String uploadUrl = JsonUtils.extract(getUrlResponse, "upload_url");
-        String fileId = JsonUtils.extract(getUrlResponse, "file_id");
+        JsonPathResult urlFields = JsonUtils.extractPaths(getUrlResponse, PATH_UPLOAD_URL, PATH_FILE_ID);
+        String uploadUrl = urlFields.first(PATH_UPLOAD_URL);
+        String fileId = urlFields.first(PATH_FILE_ID);
 
         if (uploadUrl == null || fileId == null) {
             throw new IOException("업로드 URL 획득 실패: " + getUrlResponse);
@@ -120,29 +240,78 @@ public class SlackClient {
         uploadUrl = uploadUrl.replace("\\/", "/");
 
         // 2단계: 바이너리 업로드
-        HttpUtils.uploadBinary(uploadUrl, file);
+        try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("slack.uploadBinary")) {
+            HttpUtils.uploadBinary(uploadUrl, file);
+        }
+        return fileId;
+    }
 
-        // 3단계: 업로드 완료 처리
-        String completeResponse = callCompleteUpload(fileId, title, initialComment, channelId, threadTs);
-        if (!isResponseOk(completeResponse)) {
-            throw new IOException("업로드 완료 처리 실패: " + completeResponse);
+    /**
+     * {@link #uploadOnly(File)}로 올린 파일들을 여러 채널에 한 번의
+     * {@code files.completeUploadExternal} 호출로 공유합니다.
+     *
+     * <p>채널 목록은 {@code channels} 파라미터(쉼표 구분)로 넘깁니다. 스레드 답글은
+     * 단일 채널에만 지정할 수 있으므로 각 채널에 새 메시지로 공유됩니다. 파일 ID는 한 번만
+     * 완료 처리할 수 있으므로 같은 파일을 다른 채널 묶음에 공유하려면 다시 업로드해야 합니다.
+     *
+     * @param fileTitles     파일 ID → 제목 (순서대로 표시)
+     * @param channelIds     공유할 채널 ID 목록
+     * @param initialComment 파일과 함께 표시할 초기 코멘트 (null 허용)
+     * @throws RateLimitedException 요청 한도 초과로 거절되었을 때
+     * @throws IOException          API 호출 실패 시
+     */
+    @SuppressWarnings("try")
+    public void shareFiles(Map<String, String> fileTitles, List<String> channelIds, String initialComment)
+            throws IOException {
+        JsonObject body = new JsonObject();
+        body.add("files", filesArray(fileTitles));
+        body.addProperty("channels", String.join(",", channelIds));
+        if (initialComment != null && !initialComment.isEmpty()) {
+            body.addProperty("initial_comment", initialComment);
+        }
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Authorization", "Bearer " + token);
+        headers.put("Content-Type", CONTENT_TYPE_JSON);
+        HttpResponse response;
+        try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("slack.shareFiles")) {
+            response = HttpUtils.send("POST", apiBase + METHOD_COMPLETE_UPLOAD, headers, GSON.toJson(body));
+        }
+        String error = JsonUtils.extract(response.body(), "error");
+        if (response.status() == HTTP_TOO_MANY_REQUESTS || ERROR_RATELIMITED.equals(error)) {
+            throw new RateLimitedException("Slack 요청 한도 초과: " + response.body(), retryAfterMillis(response));
+        }
+        if (!isResponseOk(response.body())) {
+            throw new IOException("파일 공유 실패: " + response.body());
+        }
+    }
+
+    /**
+     * Slack 429 응답의 {@code Retry-After}(초) 헤더를 ms로 변환합니다.
+     *
+     * @param response API 응답
+     * @return 재시도 대기 시간(ms), 헤더가 없거나 형식이 잘못되면 {@value #DEFAULT_RETRY_AFTER_MS}
+     */
+    private long retryAfterMillis(HttpResponse response) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter == null) {
+            return DEFAULT_RETRY_AFTER_MS;
+        }
+        try {
+            return Long.parseLong(retryAfter.trim()) * 1000L;
+        } catch (NumberFormatException e) {
+            return DEFAULT_RETRY_AFTER_MS;
         }
     }
 
     /**
-     * Slack API 응답의 {@code ok} 필드를 Gson으로 파싱하여 성공 여부를 확인합니다.
+     * Slack API 응답의 {@code ok} 필드로 성공 여부를 확인합니다.
      *
      * @param response API 응답 JSON 문자열
      * @return {@code ok} 필드가 {@code true}이면 {@code true}, 그 외 {@code false}
      */
     private boolean isResponseOk(String response) {
-        try {
-            JsonObject json = GSON.fromJson(response, JsonObject.class);
-            return json != null && json.has("ok") && json.get("ok").getAsBoolean();
-        } catch (Exception e) {
-            log.warn("응답 JSON 파싱 실패: {}", e.getMessage());
-            return false;
-        }
+        return JsonUtils.extractPaths(response, JsonUtils.PATH_OK).isTrue(JsonUtils.PATH_OK);
     }
 
     /**
@@ -153,40 +322,36 @@ public class SlackClient {
      * @return API 응답 JSON 문자열
      * @throws IOException API 호출 실패 시
      */
+    @SuppressWarnings("try")
     private String callGetUploadUrl(String filename, long length) throws IOException {
         String params = String.format(
             "filename=%s&length=%d",
             URLEncoder.encode(filename, StandardCharsets.UTF_8),
             length
         );
-        return HttpUtils.get(API_GET_URL + "?" + params, token);
+        try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("slack.getUploadURL")) {
+            return HttpUtils.get(apiBase + METHOD_GET_UPLOAD_URL + "?" + params, token);
+        }
     }
 
     /**
      * Slack 파일 업로드 완료를 처리합니다.
      *
-     * @param fileId         업로드된 파일 ID
-     * @param title          파일 제목
+     * @param fileTitles     업로드된 파일 ID → 제목
      * @param initialComment 초기 코멘트
      * @param channelId      채널 ID
      * @param threadTs       스레드 타임스탬프 (null 허용)
      * @return API 응답 JSON 문자열
      * @throws IOException API 호출 실패 시
      */
+    @SuppressWarnings("try")
     private String callCompleteUpload(
-            String fileId,
-            String title,
+            Map<String, String> fileTitles,
             String initialComment,
             String channelId,
             String threadTs) throws IOException {
-        JsonObject file = new JsonObject();
-        file.addProperty("id", fileId);
-        file.addProperty("title", title);
-        JsonArray files = new JsonArray();
-        files.add(file);
-
         JsonObject body = new JsonObject();
-        body.add("files", files);
+        body.add("files", filesArray(fileTitles));
         body.addProperty("channel_id", channelId);
         if (initialComment != null && !initialComment.isEmpty()) {
             body.addProperty("initial_comment", initialComment);
@@ -195,6 +360,56 @@ public class SlackClient {
             body.addProperty("thread_ts", threadTs);
         }
 
-        return HttpUtils.postJson(API_COMPLETE, token, GSON.toJson(body));
+        try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("slack.completeUpload")) {
+            return HttpUtils.postJson(apiBase + METHOD_COMPLETE_UPLOAD, token, GSON.toJson(body));
+        }
+    }
+
+    private static JsonArray filesArray(Map<String, String> fileTitles) {
+        JsonArray files = new JsonArray();
+        fileTitles.forEach((fileId, title) -> {
+            JsonObject file = new JsonObject();
+            file.addProperty("id", fileId);
+            file.addProperty("title", title);
+            files.add(file);
+        });
+        return files;
+    }
+
+    /**
+     * 파일마다 {@link #uploadOnly(File)}를 업로드 전용 스레드에서 시작합니다. 현재 실행 기한도 함께 넘깁니다.
+     */
+    private List<CompletableFuture<String>> uploadAllAsync(List<File> files) {
+        List<CompletableFuture<String>> uploads = new ArrayList<>(files.size());
+        for (File file : files) {
+            uploads.add(CompletableFuture.supplyAsync(Deadline.propagate(() -> {
+                try {
+                    return uploadOnly(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }), UPLOAD_EXECUTOR));
+        }
+        return uploads;
+    }
+
+    /**
+     * 모든 업로드를 기다려 파일 ID를 모읍니다. 실패한 업로드가 있으면 원래 예외를 던집니다.
+     */
+    private static List<String> awaitAll(List<CompletableFuture<String>> uploads) throws IOException {
+        List<String> fileIds = new ArrayList<>(uploads.size());
+        try {
+            for (CompletableFuture<String> upload : uploads) {
+                fileIds.add(upload.join());
+            }
+        } catch (CompletionException | CancellationException e) {
+            uploads.forEach(upload -> upload.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            throw new IOException("파일 업로드 실패: " + (cause != null ? cause : e), cause != null ? cause : e);
+        }
+        return fileIds;
     }
 }
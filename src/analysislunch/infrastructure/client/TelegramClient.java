@@ -2,15 +2,25 @@ package analysislunch.infrastructure.client;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 
 import lombok.extern.slf4j.Slf4j;
 
 import analysislunch.utils.HttpUtils;
+import analysislunch.utils.JsonPathResult;
+import analysislunch.utils.JsonUtils;
+import analysislunch.utils.MultipartBody;
+import analysislunch.utils.WireTimingRecorder;
 
 /**
  * Telegram Bot API와 통신하는 클라이언트 클래스.
@@ -18,27 +28,57 @@ import analysislunch.utils.HttpUtils;
  * <p>봇 토큰과 채팅 ID(채널/그룹)만으로 텍스트와 사진을 브로드캐스트합니다.
  * 사용자별 상태 저장이 필요 없어 서버 없는 GitHub Actions cron 환경에 그대로
  * 들어맞습니다. 사진은 외부 URL이 아닌 로컬 파일을 multipart로 직접 업로드하여
- * CDN 전파 지연의 영향을 받지 않습니다.
+ * CDN 전파 지연의 영향을 받지 않습니다. 두 사진과 캡션은 앨범 하나로 묶어 한 번에
+ * 보내고, 처음 올린 사진의 {@code file_id}를 {@link TelegramFileCache}에 기록해
+ * 다른 채팅이나 재전송에서는 바이트를 다시 보내지 않습니다.
  */
 @Slf4j
 public class TelegramClient {
 
-    private static final String API_BASE = "https://api.telegram.org/bot";
+    private static final String BOT_PATH_PREFIX = "/bot";
     private static final String IMAGE_CONTENT_TYPE = "image/png";
+    private static final String PATH_RESULT_PHOTO = "result[*].photo";
+    private static final String PATH_SIZE_FILE_ID = "[*].file_id";
+    private static final String PATH_SINGLE_PHOTO_FILE_ID = "result.photo[*].file_id";
+    private static final String MEDIA_TYPE_PHOTO = "photo";
+    private static final String ATTACH_SCHEME = "attach://";
+    private static final String ATTACH_FIELD_PREFIX = "photo";
+    private static final int MIN_MEDIA_GROUP_SIZE = 2;
+    private static final int MAX_MEDIA_GROUP_SIZE = 10;
+    private static final int MAX_CAPTION_LENGTH = 1024;
+    private static final String PATH_ERROR_CODE = "error_code";
+    private static final String PATH_RETRY_AFTER = "parameters.retry_after";
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final long DEFAULT_RETRY_AFTER_SECONDS = 1L;
     private static final Gson GSON = new Gson();
 
-    private final String botToken;
+    private final String botApiUrl;
     private final String chatId;
+    private final TelegramFileCache fileCache;
 
     /**
-     * TelegramClient 생성자.
+     * 메모리 {@code file_id} 캐시를 쓰는 TelegramClient 생성자.
      *
      * @param botToken Telegram 봇 토큰 (BotFather 발급)
      * @param chatId   메시지를 보낼 채널/그룹 채팅 ID (예: "@my_channel" 또는 숫자 ID)
+     * @param apiBase  Bot API 기본 URL (예: "https://api.telegram.org")
+     */
+    public TelegramClient(String botToken, String chatId, String apiBase) {
+        this(botToken, chatId, apiBase, new TelegramFileCache());
+    }
+
+    /**
+     * TelegramClient 생성자.
+     *
+     * @param botToken  Telegram 봇 토큰 (BotFather 발급)
+     * @param chatId    메시지를 보낼 채널/그룹 채팅 ID (예: "@my_channel" 또는 숫자 ID)
+     * @param apiBase   Bot API 기본 URL (예: "https://api.telegram.org")
+     * @param fileCache 업로드한 사진의 {@code file_id} 캐시
      */
-    public TelegramClient(String botToken, String chatId) {
-        this.botToken = botToken;
+    public TelegramClient(String botToken, String chatId, String apiBase, TelegramFileCache fileCache) {
+        this.botApiUrl = apiBase + BOT_PATH_PREFIX + botToken;
         this.chatId = chatId;
+        this.fileCache = fileCache;
     }
 
     /**
@@ -52,50 +92,274 @@ public class TelegramClient {
      * @throws IOException API 호출 실패 또는 응답이 정상이 아닐 때
      */
     public void sendMessage(String text) throws IOException {
+        sendMessage(chatId, text);
+    }
+
+    /**
+     * 지정한 채팅에 텍스트 메시지를 평문으로 전송합니다.
+     *
+     * @param targetChatId 대상 채팅 ID
+     * @param text         전송할 텍스트
+     * @throws RateLimitedException 요청 한도 초과로 거절되었을 때
+     * @throws IOException          API 호출 실패 또는 응답이 정상이 아닐 때
+     */
+    @SuppressWarnings("try")
+    public void sendMessage(String targetChatId, String text) throws IOException {
         JsonObject body = new JsonObject();
-        body.addProperty("chat_id", chatId);
+        body.addProperty("chat_id", targetChatId);
         body.addProperty("text", text);
 
-        String response = HttpUtils.postJson(API_BASE + botToken + "/sendMessage", null, GSON.toJson(body));
-        if (!isResponseOk(response)) {
-            throw new IOException("Telegram 메시지 전송 실패: " + response);
+        String response;
+        try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("telegram.sendMessage")) {
+            response = HttpUtils.postJson(botApiUrl + "/sendMessage", null, GSON.toJson(body));
         }
+        checkResponse(response, "Telegram 메시지 전송 실패");
     }
 
     /**
-     * 채팅에 사진을 전송합니다.
+     * 채팅에 메뉴 안내 텍스트와 식판 이미지, 칼로리 카드를 전송합니다.
      *
-     * @param image   전송할 이미지 파일
-     * @param caption 사진 캡션 (평문, null 또는 빈 문자열 허용)
+     * @param foodImage   식판 이미지 파일
+     * @param cardImage   칼로리 카드 이미지 파일 ({@code null}이면 식판 이미지만 전송)
+     * @param text        메뉴 안내 본문
+     * @param cardCaption 칼로리 카드 캡션 (null 허용)
      * @throws IOException API 호출 실패 또는 응답이 정상이 아닐 때
      */
-    public void sendPhoto(File image, String caption) throws IOException {
-        Map<String, String> fields = new LinkedHashMap<>();
-        fields.put("chat_id", chatId);
-        if (caption != null && !caption.isEmpty()) {
-            fields.put("caption", caption);
+    public void sendMenu(File foodImage, File cardImage, String text, String cardCaption) throws IOException {
+        sendMenu(chatId, foodImage, cardImage, text, cardCaption);
+    }
+
+    /**
+     * 지정한 채팅에 메뉴 안내 텍스트와 두 이미지를 앨범 하나로 전송합니다.
+     *
+     * <p>본문이 캡션 한도 안이면 식판 사진의 캡션으로 붙여 요청 한 번으로 끝냅니다.
+     * 한도를 넘으면 본문을 텍스트 메시지로 먼저 보내고 앨범을 이어 보냅니다. 칼로리 카드가 없으면
+     * 식판 사진 한 장만 보냅니다.
+     *
+     * @param targetChatId 대상 채팅 ID
+     * @param foodImage    식판 이미지 파일
+     * @param cardImage    칼로리 카드 이미지 파일 ({@code null}이면 식판 이미지만 전송)
+     * @param text         메뉴 안내 본문
+     * @param cardCaption  칼로리 카드 캡션 (null 허용)
+     * @throws RateLimitedException 요청 한도 초과로 거절되었을 때
+     * @throws IOException          API 호출 실패 또는 응답이 정상이 아닐 때
+     */
+    public void sendMenu(String targetChatId, File foodImage, File cardImage, String text, String cardCaption)
+            throws IOException {
+        boolean inline = fitsCaption(text);
+        if (!inline) {
+            sendMessage(targetChatId, text);
+        }
+        String foodCaption = inline ? text : null;
+        if (cardImage == null) {
+            sendMediaGroup(targetChatId, List.of(foodImage), Collections.singletonList(foodCaption));
+        } else {
+            sendMediaGroup(targetChatId, List.of(foodImage, cardImage), Arrays.asList(foodCaption, cardCaption));
+        }
+    }
+
+    /**
+     * 텍스트를 사진 캡션으로 보낼 수 있는지 확인합니다.
+     *
+     * @param text 확인할 텍스트 (null 허용)
+     * @return 캡션 길이 한도({@value #MAX_CAPTION_LENGTH}자) 이내이면 {@code true}
+     */
+    public static boolean fitsCaption(String text) {
+        return text == null || text.length() <= MAX_CAPTION_LENGTH;
+    }
+
+    /**
+     * 여러 사진을 앨범({@code sendMediaGroup}) 하나로 전송하고, 사진별 {@code file_id}를 반환합니다.
+     *
+     * <p>{@link TelegramFileCache}에 있는 사진은 {@code file_id}만 보내고, 나머지만
+     * {@code attach://} 파트로 한 multipart 요청에 담아 올립니다. 모두 캐시에 있으면
+     * 바이트 없이 JSON 요청 하나로 끝납니다. 캐시된 ID가 거절되면(봇 변경, 만료 등)
+     * 해당 항목을 지우고 한 번 다시 업로드합니다. 앨범은 {@value #MIN_MEDIA_GROUP_SIZE}장부터이므로 사진이
+     * 한 장이면 {@code sendPhoto}로 보냅니다.
+     *
+     * @param targetChatId 대상 채팅 ID
+     * @param photos       전송할 사진 파일 (1~{@value #MAX_MEDIA_GROUP_SIZE}장)
+     * @param captions     사진별 캡션 (사진과 같은 순서, 항목은 null 허용)
+     * @return 사진별 가장 큰 해상도의 {@code file_id} (응답에 없으면 {@code null} 항목)
+     * @throws IllegalArgumentException 사진 수가 범위를 벗어나거나 캡션 수가 다를 때
+     * @throws RateLimitedException     요청 한도 초과로 거절되었을 때
+     * @throws IOException              API 호출 실패 또는 응답이 정상이 아닐 때
+     */
+    public List<String> sendMediaGroup(String targetChatId, List<File> photos, List<String> captions)
+            throws IOException {
+        if (photos.isEmpty() || photos.size() > MAX_MEDIA_GROUP_SIZE || captions.size() != photos.size()) {
+            throw new IllegalArgumentException(
+                "앨범은 사진 1~" + MAX_MEDIA_GROUP_SIZE + "장과 같은 수의 캡션이 필요합니다: "
+                    + photos.size() + "/" + captions.size());
+        }
+        List<String> keys = new ArrayList<>(photos.size());
+        for (File photo : photos) {
+            keys.add(fileCache.keyOf(photo));
+        }
+        List<String> cached = new ArrayList<>(photos.size());
+        for (String key : keys) {
+            cached.add(fileCache.get(key));
+        }
+        try {
+            return postMediaGroup(targetChatId, photos, captions, keys, cached);
+        } catch (RateLimitedException e) {
+            throw e;
+        } catch (IOException e) {
+            if (cached.stream().allMatch(Objects::isNull)) {
+                throw e;
+            }
+            log.warn("캐시된 Telegram file_id가 거절되어 다시 업로드합니다: {}", e.getMessage());
+            fileCache.invalidate(keys);
+            return postMediaGroup(targetChatId, photos, captions, keys, Collections.nCopies(photos.size(), null));
+        }
+    }
+
+    /**
+     * 모든 사진의 {@code file_id}가 캐시에 있는지 확인합니다.
+     *
+     * @param photos 확인할 사진 파일
+     * @return 모두 캐시되어 있어 업로드 없이 보낼 수 있으면 {@code true}
+     * @throws IOException 파일 읽기 실패 시
+     */
+    public boolean isCached(List<File> photos) throws IOException {
+        for (File photo : photos) {
+            if (fileCache.get(fileCache.keyOf(photo)) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 앨범 요청을 만들어 보내고, 새로 올린 사진의 {@code file_id}를 캐시에 기록합니다.
+     */
+    @SuppressWarnings("try")
+    private List<String> postMediaGroup(
+            String targetChatId, List<File> photos, List<String> captions, List<String> keys, List<String> cached)
+            throws IOException {
+        if (photos.size() < MIN_MEDIA_GROUP_SIZE) {
+            return postPhoto(targetChatId, photos.get(0), captions.get(0), keys.get(0), cached.get(0));
+        }
+        JsonArray media = new JsonArray();
+        Map<String, File> attachments = new LinkedHashMap<>();
+        for (int i = 0; i < photos.size(); i++) {
+            JsonObject item = new JsonObject();
+            item.addProperty("type", MEDIA_TYPE_PHOTO);
+            if (cached.get(i) != null) {
+                item.addProperty("media", cached.get(i));
+            } else {
+                String field = ATTACH_FIELD_PREFIX + i;
+                item.addProperty("media", ATTACH_SCHEME + field);
+                attachments.put(field, photos.get(i));
+            }
+            String caption = captions.get(i);
+            if (caption != null && !caption.isEmpty()) {
+                item.addProperty("caption", caption);
+            }
+            media.add(item);
+        }
+
+        String url = botApiUrl + "/sendMediaGroup";
+        String response;
+        if (attachments.isEmpty()) {
+            JsonObject body = new JsonObject();
+            body.addProperty("chat_id", targetChatId);
+            body.add("media", media);
+            try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("telegram.sendMediaGroupById")) {
+                response = HttpUtils.postJson(url, null, GSON.toJson(body));
+            }
+        } else {
+            MultipartBody body = new MultipartBody()
+                .field("chat_id", targetChatId)
+                .field("media", GSON.toJson(media));
+            attachments.forEach((field, photo) -> body.file(field, photo, IMAGE_CONTENT_TYPE));
+            try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("telegram.sendMediaGroup")) {
+                response = HttpUtils.sendMultipart(url, body).body();
+            }
+        }
+        checkResponse(response, "Telegram 앨범 전송 실패");
+
+        List<String> fileIds = largestPhotoIds(response);
+        for (int i = 0; i < photos.size() && i < fileIds.size(); i++) {
+            if (cached.get(i) == null && fileIds.get(i) != null) {
+                fileCache.put(keys.get(i), fileIds.get(i));
+            }
+        }
+        return fileIds;
+    }
+
+    /**
+     * 사진 한 장을 {@code sendPhoto}로 보내고, 새로 올렸으면 {@code file_id}를 캐시에 기록합니다.
+     */
+    @SuppressWarnings("try")
+    private List<String> postPhoto(String targetChatId, File photo, String caption, String key, String cachedId)
+            throws IOException {
+        String url = botApiUrl + "/sendPhoto";
+        boolean hasCaption = caption != null && !caption.isEmpty();
+        String response;
+        if (cachedId != null) {
+            JsonObject body = new JsonObject();
+            body.addProperty("chat_id", targetChatId);
+            body.addProperty("photo", cachedId);
+            if (hasCaption) {
+                body.addProperty("caption", caption);
+            }
+            try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("telegram.sendPhotoById")) {
+                response = HttpUtils.postJson(url, null, GSON.toJson(body));
+            }
+        } else {
+            MultipartBody body = new MultipartBody().field("chat_id", targetChatId);
+            if (hasCaption) {
+                body.field("caption", caption);
+            }
+            body.file(MEDIA_TYPE_PHOTO, photo, IMAGE_CONTENT_TYPE);
+            try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("telegram.sendPhoto")) {
+                response = HttpUtils.sendMultipart(url, body).body();
+            }
         }
+        checkResponse(response, "Telegram 사진 전송 실패");
 
-        String response = HttpUtils.postMultipart(
-            API_BASE + botToken + "/sendPhoto", fields, "photo", image, IMAGE_CONTENT_TYPE);
-        if (!isResponseOk(response)) {
-            throw new IOException("Telegram 사진 전송 실패: " + response);
+        List<String> sizes = JsonUtils.extractPaths(response, PATH_SINGLE_PHOTO_FILE_ID).all(PATH_SINGLE_PHOTO_FILE_ID);
+        String fileId = sizes.isEmpty() ? null : sizes.get(sizes.size() - 1);
+        if (cachedId == null && fileId != null) {
+            fileCache.put(key, fileId);
         }
+        return Collections.singletonList(fileId);
     }
 
     /**
-     * Telegram API 응답의 {@code ok} 필드로 성공 여부를 확인합니다.
+     * {@code sendMediaGroup} 응답의 메시지마다 가장 큰 해상도의 {@code file_id}를 뽑습니다.
+     *
+     * <p>Telegram은 사진을 여러 해상도로 저장하며 {@code photo} 배열의 마지막이 가장 큽니다.
+     */
+    private static List<String> largestPhotoIds(String response) {
+        List<String> photoSizes = JsonUtils.extractPaths(response, PATH_RESULT_PHOTO).all(PATH_RESULT_PHOTO);
+        List<String> fileIds = new ArrayList<>(photoSizes.size());
+        for (String sizes : photoSizes) {
+            List<String> ids = JsonUtils.extractPaths(sizes, PATH_SIZE_FILE_ID).all(PATH_SIZE_FILE_ID);
+            fileIds.add(ids.isEmpty() ? null : ids.get(ids.size() - 1));
+        }
+        return fileIds;
+    }
+
+    /**
+     * 응답이 정상이 아니면 예외를 던집니다. 429이면 {@code parameters.retry_after}를 담아
+     * {@link RateLimitedException}을 던집니다.
      *
      * @param response API 응답 JSON 문자열
-     * @return {@code ok}가 {@code true}이면 {@code true}
+     * @param message  실패 시 예외 메시지 머리말
+     * @throws IOException 응답이 정상이 아닐 때
      */
-    private boolean isResponseOk(String response) {
-        try {
-            JsonObject json = GSON.fromJson(response, JsonObject.class);
-            return json != null && json.has("ok") && json.get("ok").getAsBoolean();
-        } catch (Exception e) {
-            log.warn("Telegram 응답 JSON 파싱 실패: {}", e.getMessage());
-            return false;
+    private void checkResponse(String response, String message) throws IOException {
+        JsonPathResult fields = JsonUtils.extractPaths(
+            response, JsonUtils.PATH_OK, PATH_ERROR_CODE, PATH_RETRY_AFTER);
+        if (fields.isTrue(JsonUtils.PATH_OK)) {
+            return;
+        }
+        if (fields.firstLong(PATH_ERROR_CODE, 0L) == HTTP_TOO_MANY_REQUESTS) {
+            long retryAfterSeconds = fields.firstLong(PATH_RETRY_AFTER, DEFAULT_RETRY_AFTER_SECONDS);
+            throw new RateLimitedException(message + " (요청 한도 초과): " + response, retryAfterSeconds * 1000L);
         }
+        throw new IOException(message + ": " + response);
     }
 }
@@ -0,0 +1,130 @@
+package analysislunch.infrastructure.client;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+import analysislunch.utils.HashUtils;
+
+/**
+ * 업로드한 사진 내용(SHA-256)과 Telegram {@code file_id}의 대응을 기억하는 캐시.
+ *
+ * <p>같은 바이트를 다시 보낼 때(다른 채팅, 재전송) 업로드 대신 {@code file_id}만 보내도록
+ * {@link TelegramClient}가 사용합니다. 파일 경로를 지정하면 한 줄에 {@code 해시<TAB>file_id}
+ * 형식으로 덧붙여 저장하므로, 같은 작업 디렉터리를 쓰는 다음 실행도 캐시를 이어 씁니다.
+ * 나중에 기록된 줄이 앞의 줄을 덮어씁니다.
+ *
+ * <p>{@code file_id}는 봇마다 다르므로 봇 토큰을 바꾸면 캐시 항목이 거절될 수 있습니다.
+ * 이 경우 {@link TelegramClient}가 항목을 지우고 다시 업로드합니다.
+ */
+@Slf4j
+public class TelegramFileCache {
+
+    private static final char SEPARATOR = '\t';
+
+    private final Path file;
+    private final ConcurrentMap<String, String> fileIds = new ConcurrentHashMap<>();
+    /** 같은 파일을 채팅마다 다시 해시하지 않도록 경로/크기/수정 시각별 해시를 기억합니다. */
+    private final ConcurrentMap<String, String> contentKeys = new ConcurrentHashMap<>();
+
+    /**
+     * 메모리에만 보관하는 캐시를 생성합니다.
+     */
+    public TelegramFileCache() {
+        this.file = null;
+    }
+
+    /**
+     * 파일에 저장하는 캐시를 생성하고, 파일이 있으면 기존 항목을 읽습니다.
+     *
+     * <p>파일을 읽지 못하면 경고만 남기고 빈 캐시로 시작합니다. 캐시가 없어도 업로드가
+     * 한 번 더 일어날 뿐 전송은 정상 동작합니다.
+     *
+     * @param file 캐시 파일 경로
+     */
+    public TelegramFileCache(Path file) {
+        this.file = file;
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int separator = line.indexOf(SEPARATOR);
+                if (separator > 0 && separator < line.length() - 1) {
+                    fileIds.put(line.substring(0, separator), line.substring(separator + 1));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Telegram file_id 캐시 읽기 실패 (빈 캐시로 시작): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 파일 내용을 식별하는 캐시 키(SHA-256)를 반환합니다.
+     *
+     * @param image 사진 파일
+     * @return 내용 해시
+     * @throws IOException 파일 읽기 실패 시
+     */
+    public String keyOf(File image) throws IOException {
+        String identity = image.getAbsolutePath() + SEPARATOR + image.length() + SEPARATOR + image.lastModified();
+        String key = contentKeys.get(identity);
+        if (key == null) {
+            key = HashUtils.sha256Hex(image);
+            contentKeys.put(identity, key);
+        }
+        return key;
+    }
+
+    /**
+     * 캐시된 {@code file_id}를 반환합니다.
+     *
+     * @param key {@link #keyOf(File)}가 반환한 키
+     * @return {@code file_id}, 없으면 {@code null}
+     */
+    public String get(String key) {
+        return fileIds.get(key);
+    }
+
+    /**
+     * {@code file_id}를 기록합니다. 파일 저장에 실패해도 메모리 캐시는 유지합니다.
+     *
+     * @param key    {@link #keyOf(File)}가 반환한 키
+     * @param fileId Telegram이 돌려준 {@code file_id}
+     */
+    public void put(String key, String fileId) {
+        if (fileId.equals(fileIds.put(key, fileId)) || file == null) {
+            return;
+        }
+        append(key + SEPARATOR + fileId + System.lineSeparator());
+    }
+
+    /**
+     * 거절된 {@code file_id}들을 캐시에서 지웁니다.
+     *
+     * <p>파일에는 지운 기록을 남기지 않으며, 다시 업로드해 얻은 ID가 덧붙여져 다음
+     * 실행에서 앞의 줄을 덮어씁니다.
+     *
+     * @param keys 지울 키 목록
+     */
+    public void invalidate(List<String> keys) {
+        keys.forEach(fileIds::remove);
+    }
+
+    private synchronized void append(String line) {
+        try {
+            Files.writeString(file, line, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.warn("Telegram file_id 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+}
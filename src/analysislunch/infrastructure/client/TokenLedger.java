@@ -0,0 +1,311 @@
+package analysislunch.infrastructure.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+import lombok.extern.slf4j.Slf4j;
+
+import analysislunch.config.GeminiModelConfig;
+import analysislunch.infrastructure.metrics.MetricsRegistry;
+
+/**
+ * Gemini 호출의 토큰 사용량과 예상 비용을 작업/실행/테넌트/일 단위로 집계하는 장부.
+ *
+ * <p>{@link GeminiClient}가 응답의 {@code usageMetadata}(응답 본문 파싱과 같은 스트리밍 순회에서 추출)와
+ * 주고받은 이미지 크기를 시도마다 기록합니다. 비용은 모델별 공개 단가로 어림한 추정치이며,
+ * 사고(thinking) 토큰은 출력 토큰으로 계산합니다. 테넌트는 배포 단위인 GitHub 저장소입니다.
+ *
+ * <p>하루 누적치는 상태 파일에 저장되고 날짜가 바뀌면 0부터 다시 셉니다. cron 실행기는 매번 새로
+ * 체크아웃하므로, 호출부가 {@link #dailyState()}를 해시 파일처럼 저장소에 올려 다음 실행이 이어받게
+ * 합니다. {@link #withinBudget(String)}은 이미 쓴 비용만으로 판정하므로, 예산을 넘긴 호출 자체는
+ * 끝까지 진행되고 그다음 단계부터 건너뜁니다.
+ */
+@Slf4j
+public class TokenLedger {
+
+    private static final String KEY_DATE = "date";
+    private static final String KEY_COST_USD = "cost_usd";
+    private static final String KEY_PROMPT_TOKENS = "prompt_tokens";
+    private static final String KEY_OUTPUT_TOKENS = "output_tokens";
+    private static final String STATE_COMMENT = "gemini daily usage";
+
+    private static final String METRIC_TOKENS = "gemini_tokens_total";
+    private static final String METRIC_IMAGE_BYTES = "gemini_image_bytes_total";
+    private static final String METRIC_RUN_COST = "gemini_run_cost_usd";
+    private static final String METRIC_DAILY_COST = "gemini_daily_cost_usd";
+    private static final String METRIC_BUDGET_EXCEEDED = "gemini_budget_exceeded_total";
+
+    /** 100만 토큰당 USD 단가. 앞에서부터 접두사가 맞는 첫 항목을 씁니다. */
+    private static final List<Price> PRICES = List.of(
+        new Price("gemini-2.5-flash-lite", 0.10, 0.40),
+        new Price("gemini-2.5-pro", 1.25, 10.00),
+        new Price("gemini-2.5-flash-image", 0.30, 30.00),
+        new Price("gemini-2.5-flash", 0.30, 2.50));
+    /** 단가표에 없는 이미지 생성 모델의 단가. */
+    private static final Price DEFAULT_IMAGE_PRICE = new Price("", 0.30, 30.00);
+    /** 단가표에 없는 텍스트 모델의 단가. */
+    private static final Price DEFAULT_TEXT_PRICE = new Price("", 0.30, 2.50);
+
+    private final String tenant;
+    private final double runBudgetUsd;
+    private final double dailyBudgetUsd;
+    private final Path stateFile;
+    private final Properties daily = new Properties();
+    private final Map<String, Totals> runByTask = new LinkedHashMap<>();
+    private final Totals run = new Totals();
+
+    /**
+     * 모델별 100만 토큰당 단가.
+     *
+     * @param modelPrefix  모델 이름 접두사
+     * @param inputUsd     입력 토큰 단가
+     * @param outputUsd    출력 토큰 단가
+     */
+    private record Price(String modelPrefix, double inputUsd, double outputUsd) {
+    }
+
+    /**
+     * TokenLedger 생성자. 상태 파일이 있으면 오늘 누적치를 읽고, 읽지 못하면 0부터 시작합니다.
+     *
+     * @param tenant    메트릭 레이블로 쓸 테넌트 이름
+     * @param models    실행당/일일 예산을 담은 설정
+     * @param stateFile 하루 누적치를 저장할 파일
+     */
+    public TokenLedger(String tenant, GeminiModelConfig models, Path stateFile) {
+        this.tenant = tenant;
+        this.runBudgetUsd = models.getRunBudgetUsd();
+        this.dailyBudgetUsd = models.getDailyBudgetUsd();
+        this.stateFile = stateFile;
+        if (Files.exists(stateFile)) {
+            try (InputStream in = Files.newInputStream(stateFile)) {
+                daily.load(in);
+            } catch (IOException e) {
+                log.warn("Gemini 사용량 상태 파일 읽기 실패 (0부터 시작): {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 새 실행의 집계를 시작합니다. 이전 실행의 작업별 집계를 비웁니다.
+     */
+    public synchronized void startRun() {
+        runByTask.clear();
+        run.clear();
+        rollOverDay();
+    }
+
+    /**
+     * Gemini 응답 한 건의 사용량을 기록합니다.
+     *
+     * @param task          작업 이름 (예: "ocr")
+     * @param model         호출한 모델 이름
+     * @param promptTokens  입력 토큰 수 ({@code usageMetadata.promptTokenCount})
+     * @param outputTokens  출력 토큰 수 ({@code candidatesTokenCount + thoughtsTokenCount})
+     * @param imageBytesIn  요청에 담아 보낸 이미지 바이트 수
+     * @param imageBytesOut 응답으로 받은 이미지 바이트 수
+     */
+    public synchronized void record(
+            String task, String model, long promptTokens, long outputTokens, long imageBytesIn, long imageBytesOut) {
+        Price price = priceOf(model);
+        double cost = (promptTokens * price.inputUsd() + outputTokens * price.outputUsd()) / 1_000_000d;
+        runByTask.computeIfAbsent(task, k -> new Totals()).add(promptTokens, outputTokens, imageBytesIn,
+            imageBytesOut, cost);
+        run.add(promptTokens, outputTokens, imageBytesIn, imageBytesOut, cost);
+
+        rollOverDay();
+        daily.setProperty(KEY_COST_USD, Double.toString(dailyCostUsd() + cost));
+        daily.setProperty(KEY_PROMPT_TOKENS, Long.toString(dailyLong(KEY_PROMPT_TOKENS) + promptTokens));
+        daily.setProperty(KEY_OUTPUT_TOKENS, Long.toString(dailyLong(KEY_OUTPUT_TOKENS) + outputTokens));
+
+        MetricsRegistry metrics = MetricsRegistry.global();
+        metrics.counter(METRIC_TOKENS, "Gemini 토큰 사용량",
+            "tenant", tenant, "task", task, "model", model, "type", "prompt").add(promptTokens);
+        metrics.counter(METRIC_TOKENS, "Gemini 토큰 사용량",
+            "tenant", tenant, "task", task, "model", model, "type", "output").add(outputTokens);
+        metrics.counter(METRIC_IMAGE_BYTES, "Gemini와 주고받은 이미지 바이트",
+            "tenant", tenant, "task", task, "direction", "sent").add(imageBytesIn);
+        metrics.counter(METRIC_IMAGE_BYTES, "Gemini와 주고받은 이미지 바이트",
+            "tenant", tenant, "task", task, "direction", "received").add(imageBytesOut);
+        metrics.gauge(METRIC_RUN_COST, "현재(마지막) 실행의 Gemini 예상 비용", "tenant", tenant).set(run.costUsd);
+        metrics.gauge(METRIC_DAILY_COST, "오늘 누적 Gemini 예상 비용", "tenant", tenant).set(dailyCostUsd());
+    }
+
+    /**
+     * 실행당/일일 예산이 남아 있는지 확인합니다. 예산을 넘었으면 메트릭을 올리고 경고를 남깁니다.
+     *
+     * @param skippedStep 예산 초과 시 건너뛸 단계 이름 (로그/메트릭용)
+     * @return 두 예산 모두 남아 있으면 {@code true}
+     */
+    public synchronized boolean withinBudget(String skippedStep) {
+        rollOverDay();
+        String exceeded = runBudgetUsd > 0 && run.costUsd >= runBudgetUsd ? "run"
+            : dailyBudgetUsd > 0 && dailyCostUsd() >= dailyBudgetUsd ? "daily"
+            : null;
+        if (exceeded == null) {
+            return true;
+        }
+        MetricsRegistry.global().counter(METRIC_BUDGET_EXCEEDED, "Gemini 예산 초과로 건너뛴 단계 수",
+            "tenant", tenant, "budget", exceeded, "step", skippedStep).increment();
+        log.warn("💸 Gemini {} 예산 초과로 {} 단계를 건너뜁니다 (실행 ${}/{}, 오늘 ${}/{})", exceeded, skippedStep,
+            usd(run.costUsd), budget(runBudgetUsd), usd(dailyCostUsd()), budget(dailyBudgetUsd));
+        return false;
+    }
+
+    /**
+     * 실행 집계를 요약해 로그에 남기고 하루 누적치를 저장합니다. 기록이 없으면 아무것도 하지 않습니다.
+     *
+     * @return 이번 실행에서 하루 누적치가 바뀌었으면 {@code true}
+     */
+    public synchronized boolean finishRun() {
+        if (runByTask.isEmpty()) {
+            return false;
+        }
+        StringBuilder summary = new StringBuilder();
+        runByTask.forEach((task, totals) -> summary.append(String.format(Locale.ROOT,
+            "  %-18s 호출 %d, 입력 %,d / 출력 %,d 토큰, 이미지 %,dB 송신 / %,dB 수신, $%s%n",
+            task, totals.calls, totals.promptTokens, totals.outputTokens, totals.imageBytesIn, totals.imageBytesOut,
+            usd(totals.costUsd))));
+        log.info("Gemini 사용량 (테넌트 {}): 실행 ${}, 오늘 ${}\n{}", tenant, usd(run.costUsd), usd(dailyCostUsd()),
+            summary.toString().stripTrailing());
+        try {
+            save();
+        } catch (IOException e) {
+            log.warn("Gemini 사용량 상태 저장 실패 (오늘 누적치가 이번 실행만큼 적게 남습니다): {}", e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * 상태 파일 이름을 반환합니다. 저장소에 올릴 때 같은 이름을 써야 체크아웃 후 그대로 읽힙니다.
+     *
+     * @return 상태 파일 이름
+     */
+    public String stateFileName() {
+        return stateFile.getFileName().toString();
+    }
+
+    /**
+     * 하루 누적치를 상태 파일과 같은 형식의 문자열로 반환합니다.
+     *
+     * @return {@link Properties} 형식의 상태
+     */
+    public synchronized String dailyState() {
+        StringWriter out = new StringWriter();
+        try {
+            daily.store(out, STATE_COMMENT);
+        } catch (IOException e) {
+            // StringWriter는 IOException을 던지지 않습니다.
+            throw new IllegalStateException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * 현재 실행의 예상 비용을 반환합니다.
+     *
+     * @return 예상 비용(USD)
+     */
+    public synchronized double runCostUsd() {
+        return run.costUsd;
+    }
+
+    /**
+     * 오늘 누적 예상 비용을 반환합니다.
+     *
+     * @return 예상 비용(USD)
+     */
+    public synchronized double dailyCostUsd() {
+        String value = daily.getProperty(KEY_COST_USD);
+        try {
+            return value != null ? Double.parseDouble(value) : 0d;
+        } catch (NumberFormatException e) {
+            return 0d;
+        }
+    }
+
+    private long dailyLong(String key) {
+        try {
+            return Long.parseLong(daily.getProperty(key, "0"));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private void rollOverDay() {
+        String today = LocalDate.now().toString();
+        if (!today.equals(daily.getProperty(KEY_DATE))) {
+            daily.clear();
+            daily.setProperty(KEY_DATE, today);
+        }
+    }
+
+    private static Price priceOf(String model) {
+        for (Price price : PRICES) {
+            if (model.startsWith(price.modelPrefix())) {
+                return price;
+            }
+        }
+        return model.contains("image") ? DEFAULT_IMAGE_PRICE : DEFAULT_TEXT_PRICE;
+    }
+
+    private static String usd(double value) {
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+
+    private static String budget(double value) {
+        return value > 0 ? "$" + usd(value) : "제한 없음";
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 교체하여 중간에 끊겨도 이전 상태가 남도록 저장합니다.
+     */
+    private void save() throws IOException {
+        Path temp = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            daily.store(out, STATE_COMMENT);
+        }
+        Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * 사용량 합계.
+     */
+    private static final class Totals {
+
+        private int calls;
+        private long promptTokens;
+        private long outputTokens;
+        private long imageBytesIn;
+        private long imageBytesOut;
+        private double costUsd;
+
+        void add(long prompt, long output, long imageIn, long imageOut, double cost) {
+            calls++;
+            promptTokens += prompt;
+            outputTokens += output;
+            imageBytesIn += imageIn;
+            imageBytesOut += imageOut;
+            costUsd += cost;
+        }
+
+        void clear() {
+            calls = 0;
+            promptTokens = 0;
+            outputTokens = 0;
+            imageBytesIn = 0;
+            imageBytesOut = 0;
+            costUsd = 0;
+        }
+    }
+}
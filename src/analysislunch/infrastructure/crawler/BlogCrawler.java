@@ -1,41 +1,67 @@
 package analysislunch.infrastructure.crawler;
 
 import java.io.IOException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.List;
 
 import analysislunch.utils.HttpUtils;
+import analysislunch.utils.WireTimingRecorder;
 
 /**
  * 네이버 블로그 페이지에서 메뉴 이미지 URL을 크롤링하는 클래스.
+ *
+ * <p>페이지를 문자열로 모으지 않고 {@link HtmlImageScanner}로 응답 스트림을 훑으며,
+ * 필요한 이미지를 찾으면 나머지 본문은 받지 않고 연결을 닫습니다.
  */
 public class BlogCrawler {
 
     private static final String HTTPS_SCHEME = "https:";
-    private static final Pattern IMAGE_URL_PATTERN = Pattern.compile(
-        "class=\"se-module se-module-image\"[^>]*>[\\s\\S]*?<img[^>]+(?:data-lazy-src|src)=\"([^\"]+)\"",
-        Pattern.CASE_INSENSITIVE
-    );
 
     /**
-     * 네이버 블로그 페이지에서 {@code se-module-image} 클래스의 img 태그 URL을 추출합니다.
+     * 네이버 블로그 페이지에서 첫 번째 {@code se-module-image} 모듈의 img 태그 URL을 추출합니다.
      *
      * @param blogUrl 크롤링할 네이버 블로그 URL
      * @return 추출된 이미지 URL (절대 경로)
      * @throws IOException 페이지 로드 실패 또는 이미지를 찾을 수 없을 때
      */
+    @SuppressWarnings("try")
     public String extractImageUrlFromBlog(String blogUrl) throws IOException {
-        String html = HttpUtils.getHtml(blogUrl);
+        String imageUrl;
+        try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("naver.blog")) {
+            imageUrl = HttpUtils.streamHtml(blogUrl, HtmlImageScanner::findFirst);
+        }
+        if (imageUrl == null) {
+            throw new IOException("블로그 페이지에서 이미지를 찾을 수 없습니다: " + blogUrl);
+        }
+        return absolute(imageUrl);
+    }
 
-        Matcher matcher = IMAGE_URL_PATTERN.matcher(html);
-        if (matcher.find()) {
-            String imageUrl = matcher.group(1);
-            if (imageUrl.startsWith("//")) {
-                imageUrl = HTTPS_SCHEME + imageUrl;
-            }
-            return imageUrl;
+    /**
+     * 네이버 블로그 페이지의 모든 {@code se-module-image} 모듈에서 img 태그 URL을 순서대로 추출합니다.
+     *
+     * <p>페이지 끝까지 읽어야 하므로 {@link #extractImageUrlFromBlog(String)}보다 많이 내려받습니다.
+     *
+     * @param blogUrl 크롤링할 네이버 블로그 URL
+     * @return 추출된 이미지 URL 목록 (절대 경로, 문서 순서)
+     * @throws IOException 페이지 로드 실패 또는 이미지를 하나도 찾을 수 없을 때
+     */
+    @SuppressWarnings("try")
+    public List<String> extractImageUrlsFromBlog(String blogUrl) throws IOException {
+        List<String> imageUrls;
+        try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("naver.blog")) {
+            imageUrls = HttpUtils.streamHtml(blogUrl, HtmlImageScanner::findAll);
+        }
+        if (imageUrls.isEmpty()) {
+            throw new IOException("블로그 페이지에서 이미지를 찾을 수 없습니다: " + blogUrl);
         }
+        List<String> absoluteUrls = new ArrayList<>(imageUrls.size());
+        for (String imageUrl : imageUrls) {
+            absoluteUrls.add(absolute(imageUrl));
+        }
+        return absoluteUrls;
+    }
 
-        throw new IOException("블로그 페이지에서 이미지를 찾을 수 없습니다: " + blogUrl);
+    private static String absolute(String imageUrl) {
+        return imageUrl.startsWith("//") ? HTTPS_SCHEME + imageUrl : imageUrl;
     }
 }
@@ -0,0 +1,325 @@
+package analysislunch.infrastructure.crawler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import lombok.extern.slf4j.Slf4j;
+
+import analysislunch.utils.HttpResponse;
+import analysislunch.utils.HttpUtils;
+import analysislunch.utils.JsonPathResult;
+import analysislunch.utils.JsonUtils;
+import analysislunch.utils.WireTimingRecorder;
+
+/**
+ * 블로그 RSS 또는 JSON Feed를 조건부 요청으로 확인해 새 글이나 수정된 글이 있는지 판단하는 클래스.
+ *
+ * <p>고정된 글을 매번 크롤링하고 이미지까지 내려받아 해시를 비교하는 대신, 가벼운 피드만
+ * {@code If-None-Match}/{@code If-Modified-Since}로 요청합니다. 대부분의 확인은 본문 없는
+ * 304 응답으로 끝나며, 피드의 최신 글 ID/발행·수정 시각(RSS는 채널의 {@code lastBuildDate}
+ * 포함)을 이어 붙인 변경 신호가 마지막으로 처리한 신호와 다를 때만 글과 이미지를 받습니다.
+ *
+ * <p>검증자(ETag, Last-Modified), 마지막으로 본 신호와 최신 글 URL, 처리를 마친 신호를
+ * 작업 디렉터리의 상태 파일에 저장합니다. 304 응답에는 본문이 없으므로 마지막으로 본 신호를
+ * 그대로 쓰고, 처리 완료 표시는 {@link #markProcessed(FeedCheck)}로 따로 남기므로 피드를 본
+ * 뒤 파이프라인이 실패해도 다음 실행에서 다시 시도합니다. 작업 디렉터리가 실행마다 사라지는
+ * cron 실행기에서는 호출부가 {@link #takeChangedState()}로 바뀐 상태를 받아 저장소에 올립니다.
+ *
+ * <p>네이버 블로그 글 링크({@code blog.naver.com/아이디/글번호})는 크롤러가 읽을 수 있는
+ * 모바일 주소로 바꿔 돌려줍니다.
+ */
+@Slf4j
+public class BlogFeedWatcher {
+
+    private static final String KEY_ETAG = "etag";
+    private static final String KEY_LAST_MODIFIED = "last_modified";
+    private static final String KEY_SEEN_SIGNAL = "seen_signal";
+    private static final String KEY_SEEN_POST_URL = "seen_post_url";
+    private static final String KEY_PROCESSED_SIGNAL = "processed_signal";
+    private static final String ACCEPT = "application/rss+xml, application/feed+json, application/json;q=0.9, "
+        + "application/xml;q=0.8, */*;q=0.5";
+    private static final String SIGNAL_SEPARATOR = "|";
+    private static final int HTTP_NOT_MODIFIED = 304;
+    private static final String STATE_COMMENT = "blog feed state";
+
+    private static final String PATH_ITEM_ID = "items[*].id";
+    private static final String PATH_ITEM_URL = "items[*].url";
+    private static final String PATH_ITEM_MODIFIED = "items[*].date_modified";
+    private static final String PATH_ITEM_PUBLISHED = "items[*].date_published";
+
+    private static final Pattern NAVER_POST_LINK = Pattern.compile(
+        "^https?://(?:m\\.)?blog\\.naver\\.com/([A-Za-z0-9_-]+)/(\\d+)");
+    private static final String NAVER_MOBILE_POST_URL = "https://m.blog.naver.com/%s/%s";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = newXmlInputFactory();
+
+    private final String feedUrl;
+    private final Path stateFile;
+    private final Properties state = new Properties();
+    /** 상태 파일에서 읽었거나 마지막으로 넘겨준 상태. 그 뒤로 달라졌는지 비교할 때 씁니다. */
+    private final Properties sharedState = new Properties();
+
+    /**
+     * BlogFeedWatcher 생성자. 상태 파일이 있으면 읽고, 읽지 못하면 빈 상태로 시작합니다.
+     *
+     * @param feedUrl   RSS 또는 JSON Feed URL
+     * @param stateFile 검증자와 변경 신호를 저장할 파일
+     */
+    public BlogFeedWatcher(String feedUrl, Path stateFile) {
+        this.feedUrl = feedUrl;
+        this.stateFile = stateFile;
+        if (Files.exists(stateFile)) {
+            try (InputStream in = Files.newInputStream(stateFile)) {
+                state.load(in);
+            } catch (IOException e) {
+                log.warn("피드 상태 파일 읽기 실패 (빈 상태로 시작): {}", e.getMessage());
+            }
+        }
+        sharedState.putAll(state);
+    }
+
+    /**
+     * 피드를 조건부로 요청해 마지막 처리 이후 바뀐 글이 있는지 확인합니다.
+     *
+     * @return 확인 결과
+     * @throws IOException 네트워크 오류, 응답 코드가 304/2xx가 아니거나 최신 글을 찾지 못했을 때
+     */
+    @SuppressWarnings("try")
+    public synchronized FeedCheck check() throws IOException {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Accept", ACCEPT);
+        String etag = state.getProperty(KEY_ETAG);
+        String lastModified = state.getProperty(KEY_LAST_MODIFIED);
+        String seenSignal = state.getProperty(KEY_SEEN_SIGNAL);
+        if (seenSignal != null) {
+            // 본 적 있는 신호가 없으면 304를 받아도 쓸 값이 없으므로 검증자를 보내지 않습니다.
+            if (etag != null) {
+                headers.put("If-None-Match", etag);
+            }
+            if (lastModified != null) {
+                headers.put("If-Modified-Since", lastModified);
+            }
+        }
+
+        HttpResponse response;
+        try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("naver.feed")) {
+            response = HttpUtils.send("GET", feedUrl, headers, null);
+        }
+
+        boolean notModified = response.status() == HTTP_NOT_MODIFIED;
+        if (!notModified) {
+            if (!response.isSuccessful()) {
+                throw new IOException("피드 요청 실패 (응답 코드: " + response.status() + "): " + feedUrl);
+            }
+            LatestPost latest = parse(response.body(), response.header("Content-Type"));
+            state.setProperty(KEY_SEEN_SIGNAL, latest.signal());
+            state.setProperty(KEY_SEEN_POST_URL, latest.url());
+            setOrRemove(KEY_ETAG, response.header("ETag"));
+            setOrRemove(KEY_LAST_MODIFIED, response.header("Last-Modified"));
+            save();
+        }
+
+        String signal = state.getProperty(KEY_SEEN_SIGNAL);
+        if (signal == null) {
+            throw new IOException("검증자 없이 304 응답을 받았습니다: " + feedUrl);
+        }
+        boolean changed = !signal.equals(state.getProperty(KEY_PROCESSED_SIGNAL));
+        return new FeedCheck(changed, notModified, signal, state.getProperty(KEY_SEEN_POST_URL));
+    }
+
+    /**
+     * 확인 결과의 변경 신호를 처리 완료로 기록합니다. 같은 신호는 다음 확인부터 변경으로 보지 않습니다.
+     *
+     * @param check {@link #check()}가 반환한 결과
+     */
+    public synchronized void markProcessed(FeedCheck check) {
+        if (check.signal().equals(state.getProperty(KEY_PROCESSED_SIGNAL))) {
+            return;
+        }
+        state.setProperty(KEY_PROCESSED_SIGNAL, check.signal());
+        try {
+            save();
+        } catch (IOException e) {
+            log.warn("피드 상태 저장 실패 (다음 실행에서 글을 다시 확인합니다): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 상태 파일 이름을 반환합니다. 저장소에 올릴 때 같은 이름을 써야 체크아웃 후 그대로 읽힙니다.
+     *
+     * @return 상태 파일 이름
+     */
+    public String stateFileName() {
+        return stateFile.getFileName().toString();
+    }
+
+    /**
+     * 상태가 파일에서 읽었거나 지난번에 넘겨준 뒤로 달라졌으면 상태 파일과 같은 형식의 내용을 반환합니다.
+     *
+     * <p>피드가 304로 끝난 실행은 상태가 그대로이므로 올릴 것이 없습니다.
+     *
+     * @return 달라진 상태, 달라지지 않았으면 {@code null}
+     */
+    public synchronized String takeChangedState() {
+        if (state.equals(sharedState)) {
+            return null;
+        }
+        sharedState.clear();
+        sharedState.putAll(state);
+        StringWriter out = new StringWriter();
+        try {
+            state.store(out, STATE_COMMENT);
+        } catch (IOException e) {
+            // StringWriter는 IOException을 던지지 않습니다.
+            throw new IllegalStateException(e);
+        }
+        return out.toString();
+    }
+
+    private void setOrRemove(String key, String value) {
+        if (value == null) {
+            state.remove(key);
+        } else {
+            state.setProperty(key, value);
+        }
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 교체하여 중간에 끊겨도 이전 상태가 남도록 저장합니다.
+     */
+    private void save() throws IOException {
+        Path temp = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            state.store(out, STATE_COMMENT);
+        }
+        Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private LatestPost parse(String body, String contentType) throws IOException {
+        boolean json = contentType != null ? contentType.contains("json") : body.stripLeading().startsWith("{");
+        LatestPost latest = json ? parseJsonFeed(body) : parseRss(body);
+        if (latest == null) {
+            throw new IOException("피드에서 글을 찾을 수 없습니다: " + feedUrl);
+        }
+        return latest;
+    }
+
+    /**
+     * RSS 2.0에서 채널의 {@code lastBuildDate}와 첫 번째 {@code item}만 읽고 멈춥니다.
+     */
+    private static LatestPost parseRss(String body) throws IOException {
+        String lastBuildDate = null;
+        String guid = null;
+        String link = null;
+        String pubDate = null;
+        boolean inItem = false;
+        try {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(body));
+            try {
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.END_ELEMENT && "item".equals(reader.getLocalName())) {
+                        break;
+                    }
+                    if (event != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+                    String name = reader.getLocalName();
+                    if ("item".equals(name)) {
+                        inItem = true;
+                    } else if (!inItem && "lastBuildDate".equals(name)) {
+                        lastBuildDate = reader.getElementText().trim();
+                    } else if (inItem && "guid".equals(name)) {
+                        guid = reader.getElementText().trim();
+                    } else if (inItem && "link".equals(name)) {
+                        link = reader.getElementText().trim();
+                    } else if (inItem && "pubDate".equals(name)) {
+                        pubDate = reader.getElementText().trim();
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("RSS 파싱 실패: " + e.getMessage(), e);
+        }
+        if (link == null) {
+            return null;
+        }
+        String id = guid != null ? guid : link;
+        return new LatestPost(mobilePostUrl(link), signal(id, pubDate, lastBuildDate));
+    }
+
+    private static LatestPost parseJsonFeed(String body) {
+        JsonPathResult result = JsonUtils.extractPaths(
+            body, PATH_ITEM_ID, PATH_ITEM_URL, PATH_ITEM_MODIFIED, PATH_ITEM_PUBLISHED);
+        String url = result.first(PATH_ITEM_URL);
+        if (url == null) {
+            return null;
+        }
+        String id = result.first(PATH_ITEM_ID);
+        String modified = result.first(PATH_ITEM_MODIFIED);
+        String updated = modified != null ? modified : result.first(PATH_ITEM_PUBLISHED);
+        return new LatestPost(mobilePostUrl(url), signal(id != null ? id : url, updated, null));
+    }
+
+    private static String signal(String id, String updated, String feedUpdated) {
+        return String.join(SIGNAL_SEPARATOR, List.of(
+            id, updated != null ? updated : "", feedUpdated != null ? feedUpdated : ""));
+    }
+
+    /**
+     * 네이버 블로그 글 링크를 모바일 주소로 바꿉니다. 다른 주소는 그대로 반환합니다.
+     *
+     * @param link 피드의 글 링크 (예: {@code https://blog.naver.com/id/123?fromRss=true})
+     * @return 크롤링할 글 URL
+     */
+    static String mobilePostUrl(String link) {
+        Matcher matcher = NAVER_POST_LINK.matcher(link);
+        return matcher.find() ? String.format(NAVER_MOBILE_POST_URL, matcher.group(1), matcher.group(2)) : link;
+    }
+
+    private static XMLInputFactory newXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * 피드 확인 결과.
+     *
+     * @param changed     마지막으로 처리한 신호와 다른 글이 있으면 {@code true}
+     * @param notModified 서버가 304로 응답했으면 {@code true}
+     * @param signal      최신 글의 변경 신호 (글 ID, 발행·수정 시각)
+     * @param postUrl     최신 글 URL (크롤러가 읽을 수 있는 주소)
+     */
+    public record FeedCheck(boolean changed, boolean notModified, String signal, String postUrl) {
+    }
+
+    /**
+     * 피드에서 읽은 최신 글.
+     *
+     * @param url    크롤링할 글 URL
+     * @param signal 변경 신호
+     */
+    private record LatestPost(String url, String signal) {
+    }
+}
@@ -0,0 +1,359 @@
+package analysislunch.infrastructure.crawler;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HTML 문자 스트림을 앞에서부터 한 번만 훑으며 {@code se-module-image} 안의 이미지 URL을 찾는 스캐너.
+ *
+ * <p>문서 전체를 문자열로 모으거나 정규식을 돌리지 않고, 태그 단위로 읽으면서 필요한 속성
+ * ({@code class}, {@code data-lazy-src}, {@code src}) 값만 만듭니다. {@code class} 토큰에
+ * {@code se-module-image}가 있는 태그를 만나면 그 뒤에 처음 나오는 {@code img}의 URL을
+ * 수집하며, 원하는 개수를 채우는 즉시 반환하므로 호출자는 나머지 본문을 받지 않고 연결을
+ * 끊을 수 있습니다.
+ *
+ * <p>주석과 {@code script}/{@code style} 본문은 태그로 해석하지 않고 건너뜁니다.
+ * {@code data-lazy-src}가 있으면 {@code src}(저해상도 자리표시 이미지)보다 우선합니다.
+ */
+public final class HtmlImageScanner {
+
+    private static final String IMAGE_MODULE_CLASS = "se-module-image";
+    private static final String IMG_TAG = "img";
+    private static final int BUFFER_SIZE = 8192;
+    /** 관심 있는 태그 이름({@code script}/{@code style}/{@code img})보다 긴 이름은 끝까지 담지 않습니다. */
+    private static final int MAX_TAG_NAME = 8;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder name = new StringBuilder(MAX_TAG_NAME);
+    private final StringBuilder value = new StringBuilder();
+    private int position;
+    private int limit;
+
+    private HtmlImageScanner(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * 첫 번째 이미지 모듈의 이미지 URL을 찾습니다.
+     *
+     * @param reader HTML 문자 스트림 (닫지 않음)
+     * @return 속성 값 그대로의 이미지 URL, 없으면 {@code null}
+     * @throws IOException 스트림 읽기 실패 시
+     */
+    public static String findFirst(Reader reader) throws IOException {
+        List<String> urls = new HtmlImageScanner(reader).scan(1);
+        return urls.isEmpty() ? null : urls.get(0);
+    }
+
+    /**
+     * 문서 안의 모든 이미지 모듈에서 이미지 URL을 순서대로 찾습니다.
+     *
+     * @param reader HTML 문자 스트림 (닫지 않음)
+     * @return 속성 값 그대로의 이미지 URL 목록 (없으면 빈 목록)
+     * @throws IOException 스트림 읽기 실패 시
+     */
+    public static List<String> findAll(Reader reader) throws IOException {
+        return new HtmlImageScanner(reader).scan(Integer.MAX_VALUE);
+    }
+
+    private List<String> scan(int maxResults) throws IOException {
+        List<String> urls = new ArrayList<>();
+        boolean inImageModule = false;
+        int c;
+        while ((c = next()) >= 0) {
+            if (c != '<') {
+                continue;
+            }
+            c = next();
+            if (c == '!') {
+                skipDeclaration();
+            } else if (c == '/' || c == '?') {
+                skipPast('>');
+            } else if (isLetter(c)) {
+                Tag tag = readTag(c);
+                if (tag.imageModule) {
+                    inImageModule = true;
+                }
+                if (inImageModule && tag.imageUrl != null) {
+                    urls.add(decodeEntities(tag.imageUrl));
+                    if (urls.size() >= maxResults) {
+                        return urls;
+                    }
+                    inImageModule = false;
+                }
+                if (!tag.selfClosing && (nameIs("script") || nameIs("style"))) {
+                    skipRawText(name.toString());
+                }
+            } else {
+                pushBack(c);
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * 태그 이름과 속성을 읽고 {@code >} 뒤에 멈춥니다. 태그 이름은 {@link #name}에 남습니다.
+     */
+    private Tag readTag(int first) throws IOException {
+        name.setLength(0);
+        int c = first;
+        while (c >= 0 && !isSpace(c) && c != '>' && c != '/') {
+            if (name.length() < MAX_TAG_NAME) {
+                name.append(Character.toLowerCase((char) c));
+            }
+            c = next();
+        }
+        boolean img = nameIs(IMG_TAG);
+        Tag tag = new Tag();
+        String src = null;
+        String lazySrc = null;
+        while (c >= 0 && c != '>') {
+            if (isSpace(c)) {
+                c = next();
+                continue;
+            }
+            if (c == '/') {
+                tag.selfClosing = true;
+                c = next();
+                continue;
+            }
+            tag.selfClosing = false;
+            Attribute attribute = readAttributeName(c, img);
+            c = next();
+            while (isSpace(c)) {
+                c = next();
+            }
+            if (c != '=') {
+                continue;
+            }
+            c = next();
+            while (isSpace(c)) {
+                c = next();
+            }
+            boolean keep = attribute != Attribute.OTHER;
+            c = readAttributeValue(c, keep);
+            if (!keep) {
+                continue;
+            }
+            switch (attribute) {
+                case CLASS -> tag.imageModule |= hasClassToken(value, IMAGE_MODULE_CLASS);
+                case SRC -> src = value.toString();
+                case LAZY_SRC -> lazySrc = value.toString();
+                default -> { }
+            }
+        }
+        if (img) {
+            tag.imageUrl = lazySrc != null && !lazySrc.isEmpty() ? lazySrc : src;
+        }
+        return tag;
+    }
+
+    /**
+     * 속성 이름을 읽어 관심 있는 속성인지 판별합니다. 이름 뒤의 첫 문자는 {@link #pushBack}으로 되돌립니다.
+     */
+    private Attribute readAttributeName(int first, boolean img) throws IOException {
+        value.setLength(0);
+        int c = first;
+        while (c >= 0 && !isSpace(c) && c != '=' && c != '>' && c != '/') {
+            if (value.length() <= "data-lazy-src".length()) {
+                value.append(Character.toLowerCase((char) c));
+            }
+            c = next();
+        }
+        pushBack(c);
+        if (contentEquals(value, "class")) {
+            return Attribute.CLASS;
+        }
+        if (img && contentEquals(value, "src")) {
+            return Attribute.SRC;
+        }
+        if (img && contentEquals(value, "data-lazy-src")) {
+            return Attribute.LAZY_SRC;
+        }
+        return Attribute.OTHER;
+    }
+
+    /**
+     * 따옴표가 있거나 없는 속성 값을 읽습니다. {@code keep}이면 {@link #value}에 담습니다.
+     *
+     * @return 값 뒤의 다음 문자
+     */
+    private int readAttributeValue(int first, boolean keep) throws IOException {
+        value.setLength(0);
+        int c = first;
+        if (c == '"' || c == '\'') {
+            int quote = c;
+            while ((c = next()) >= 0 && c != quote) {
+                if (keep) {
+                    value.append((char) c);
+                }
+            }
+            return next();
+        }
+        while (c >= 0 && !isSpace(c) && c != '>') {
+            if (keep) {
+                value.append((char) c);
+            }
+            c = next();
+        }
+        return c;
+    }
+
+    /**
+     * {@code <!} 뒤를 건너뜁니다. 주석({@code <!-- -->})이면 닫는 {@code -->}까지 건너뜁니다.
+     */
+    private void skipDeclaration() throws IOException {
+        int c = next();
+        if (c != '-') {
+            pushBack(c);
+            skipPast('>');
+            return;
+        }
+        c = next();
+        if (c != '-') {
+            pushBack(c);
+            skipPast('>');
+            return;
+        }
+        int dashes = 0;
+        while ((c = next()) >= 0) {
+            if (c == '>' && dashes >= 2) {
+                return;
+            }
+            dashes = c == '-' ? dashes + 1 : 0;
+        }
+    }
+
+    /**
+     * {@code script}/{@code style} 본문을 대응하는 닫는 태그까지 건너뜁니다.
+     */
+    private void skipRawText(String tagName) throws IOException {
+        int c;
+        while ((c = next()) >= 0) {
+            if (c != '<') {
+                continue;
+            }
+            c = next();
+            if (c != '/') {
+                pushBack(c);
+                continue;
+            }
+            int matched = 0;
+            while (matched < tagName.length()) {
+                c = next();
+                if (c < 0 || Character.toLowerCase((char) c) != tagName.charAt(matched)) {
+                    break;
+                }
+                matched++;
+            }
+            if (matched == tagName.length()) {
+                skipPast('>');
+                return;
+            }
+            pushBack(c);
+        }
+    }
+
+    private void skipPast(int target) throws IOException {
+        int c;
+        while ((c = next()) >= 0 && c != target) {
+            // 건너뜀
+        }
+    }
+
+    private int next() throws IOException {
+        if (position >= limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    /**
+     * 방금 읽은 문자를 되돌립니다. {@link #next()} 직후에만 호출하므로 버퍼 안에 항상 남아 있습니다.
+     */
+    private void pushBack(int c) {
+        if (c >= 0 && position > 0) {
+            position--;
+        }
+    }
+
+    private boolean nameIs(String tagName) {
+        return contentEquals(name, tagName);
+    }
+
+    private static boolean contentEquals(CharSequence sequence, String text) {
+        if (sequence.length() != text.length()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (sequence.charAt(i) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 공백으로 구분된 클래스 목록에 {@code token}이 있는지 확인합니다.
+     */
+    static boolean hasClassToken(CharSequence classes, String token) {
+        int length = classes.length();
+        int start = 0;
+        while (start < length) {
+            while (start < length && isSpace(classes.charAt(start))) {
+                start++;
+            }
+            int end = start;
+            while (end < length && !isSpace(classes.charAt(end))) {
+                end++;
+            }
+            if (end - start == token.length() && contentEquals(classes.subSequence(start, end), token)) {
+                return true;
+            }
+            start = end;
+        }
+        return false;
+    }
+
+    /**
+     * URL에 나올 수 있는 기본 문자 참조({@code &amp;}, {@code &quot;}, {@code &#39;})를 풀어 줍니다.
+     */
+    private static String decodeEntities(String url) {
+        if (url.indexOf('&') < 0) {
+            return url;
+        }
+        return url.replace("&quot;", "\"").replace("&#39;", "'").replace("&amp;", "&");
+    }
+
+    private static boolean isLetter(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isSpace(int c) {
+        return c == ' ' || c == '\n' || c == '\t' || c == '\r' || c == '\f';
+    }
+
+    /**
+     * 관심 있는 속성 종류.
+     */
+    private enum Attribute {
+        CLASS, SRC, LAZY_SRC, OTHER
+    }
+
+    /**
+     * 읽은 태그에서 필요한 정보.
+     */
+    private static final class Tag {
+        private boolean imageModule;
+        private boolean selfClosing;
+        private String imageUrl;
+    }
+}
@@ -0,0 +1,412 @@
+package analysislunch.infrastructure.history;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+
+import analysislunch.domain.model.MenuHistoryEntry;
+import analysislunch.utils.MenuDates;
+
+/**
+ * 메뉴 이력의 메뉴 이름을 한국어 n-gram으로 색인해 "제육볶음 언제 나와?" 같은 질의에 답하는 역색인.
+ *
+ * <p>메뉴 이름은 NFC 정규화, 공백 제거, 소문자화 후 음절 unigram과 bigram으로 나누고,
+ * 한글 음절은 초성만 모은 문자열의 bigram도 함께 색인해 {@code ㅈㅇㅂㅇ}처럼 초성으로도 찾을 수
+ * 있습니다. 음절을 호환 자모로 모두 풀어 쓴 문자열(겹모음/겹받침도 낱자로 분해)도 색인하므로
+ * {@code 제육보}, {@code 젲}처럼 마지막 음절을 입력하는 중인 질의나 {@code 제육ㅂ}처럼 음절과 자모가
+ * 섞인 질의도 찾습니다. 게시 목록은 메뉴 ID 오름차순의 차분을 varint로 인코딩한 {@code byte[]}이며,
+ * 새 메뉴는 항상 가장 큰 ID를 받으므로 끝에 덧붙이기만 합니다. 메뉴마다 제공 날짜(epoch day)를
+ * 정렬된 {@code int[]}로 둡니다.
+ *
+ * <p>질의는 모든 토큰의 게시 목록 교집합을 구한 뒤 원문 포함 여부로 bigram 오탐을 거르고,
+ * 기준일 이후 가장 가까운 제공일, 이전 가장 최근 제공일 순으로 정렬합니다. 자모 토큰은 음절이
+ * 그대로 일치하는 메뉴가 없을 때만 씁니다. 모든 공개 메서드는 스레드 안전합니다.
+ */
+@Slf4j
+public class DishSearchIndex {
+
+    private static final int INITIAL_CAPACITY = 4;
+    private static final char HANGUL_BASE = '가';
+    private static final char HANGUL_LAST = '힣';
+    private static final int JUNGSEONG_COUNT = 21;
+    private static final int JONGSEONG_COUNT = 28;
+    private static final char[] CHOSEONG = {
+        'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ', 'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+    /** 음절 인덱스 순서의 중성. */
+    private static final String JUNGSEONG = "ㅏㅐㅑㅒㅓㅔㅕㅖㅗㅘㅙㅚㅛㅜㅝㅞㅟㅠㅡㅢㅣ";
+    /** 음절 인덱스 순서의 종성. 0번(받침 없음)은 쓰지 않습니다. */
+    private static final String JONGSEONG = " ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ";
+    /** 두 번에 나눠 입력하는 겹모음/겹받침과 그 낱자. */
+    private static final Map<Character, String> COMPOUND_JAMO = Map.ofEntries(
+        Map.entry('ㅘ', "ㅗㅏ"), Map.entry('ㅙ', "ㅗㅐ"), Map.entry('ㅚ', "ㅗㅣ"), Map.entry('ㅝ', "ㅜㅓ"),
+        Map.entry('ㅞ', "ㅜㅔ"), Map.entry('ㅟ', "ㅜㅣ"), Map.entry('ㅢ', "ㅡㅣ"),
+        Map.entry('ㄳ', "ㄱㅅ"), Map.entry('ㄵ', "ㄴㅈ"), Map.entry('ㄶ', "ㄴㅎ"), Map.entry('ㄺ', "ㄹㄱ"),
+        Map.entry('ㄻ', "ㄹㅁ"), Map.entry('ㄼ', "ㄹㅂ"), Map.entry('ㄽ', "ㄹㅅ"), Map.entry('ㄾ', "ㄹㅌ"),
+        Map.entry('ㄿ', "ㄹㅍ"), Map.entry('ㅀ', "ㄹㅎ"), Map.entry('ㅄ', "ㅂㅅ"));
+    /** 초성 토큰이 음절 토큰과 겹치지 않도록 붙이는 접두사. */
+    private static final String CHOSEONG_TOKEN_PREFIX = "#";
+    /** 자모 토큰이 음절/초성 토큰과 겹치지 않도록 붙이는 접두사. */
+    private static final String JAMO_TOKEN_PREFIX = "~";
+    private static final Comparator<DishHit> RANKING = Comparator
+        .comparing(DishHit::nextServed, Comparator.nullsLast(Comparator.<LocalDate>naturalOrder()))
+        .thenComparing(DishHit::lastServed, Comparator.nullsLast(Comparator.<LocalDate>reverseOrder()))
+        .thenComparing(DishHit::dish);
+
+    private final Map<String, Integer> dishIds = new HashMap<>();
+    private final List<String> dishNames = new ArrayList<>();
+    private final List<String> compactNames = new ArrayList<>();
+    private final List<String> choseongNames = new ArrayList<>();
+    private final List<String> jamoNames = new ArrayList<>();
+    private final List<ServedDays> servedDays = new ArrayList<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /**
+     * 이력 저장소의 모든 기록으로 색인을 만듭니다.
+     *
+     * @param store 메뉴 이력 저장소
+     * @return 검색 색인
+     */
+    public static DishSearchIndex from(MenuHistoryStore store) {
+        long started = System.nanoTime();
+        DishSearchIndex index = new DishSearchIndex();
+        store.forEach(index::add);
+        log.debug("메뉴 검색 색인 구성: 메뉴 {}종, 토큰 {}개 ({} ms)",
+            index.dishNames.size(), index.postings.size(), (System.nanoTime() - started) / 1_000_000);
+        return index;
+    }
+
+    /**
+     * 기록 하나의 메뉴를 색인에 더합니다.
+     *
+     * @param entry 메뉴 이력
+     * @return 날짜를 읽지 못해 건너뛰었으면 {@code false}
+     */
+    public synchronized boolean add(MenuHistoryEntry entry) {
+        LocalDate date = MenuDates.parse(entry.date());
+        if (date == null) {
+            log.warn("날짜를 읽지 못해 메뉴 검색 색인에서 제외합니다: {}", entry.date());
+            return false;
+        }
+        int day = (int) date.toEpochDay();
+        for (String dish : MenuHistoryStore.dishesOf(entry.menu())) {
+            servedDays.get(dishId(dish)).add(day);
+        }
+        return true;
+    }
+
+    /**
+     * 메뉴 이름으로 검색합니다.
+     *
+     * @param query 검색어 (메뉴 이름 일부, 초성 또는 입력 중인 자모)
+     * @param today 다음/최근 제공일을 가르는 기준일
+     * @param limit 최대 결과 수
+     * @return 다음 제공일이 가까운 순, 그다음 최근 제공일이 가까운 순 목록
+     */
+    public synchronized List<DishHit> search(String query, LocalDate today, int limit) {
+        String compact = compact(query);
+        if (compact.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int todayDay = (int) today.toEpochDay();
+        List<DishHit> hits;
+        if (isChoseongOnly(compact)) {
+            hits = find(compact, CHOSEONG_TOKEN_PREFIX, choseongNames, todayDay);
+        } else {
+            hits = find(compact, "", compactNames, todayDay);
+            String jamo = jamo(compact);
+            if (hits.isEmpty() && !jamo.equals(compact)) {
+                hits = find(jamo, JAMO_TOKEN_PREFIX, jamoNames, todayDay);
+            }
+        }
+        hits.sort(RANKING);
+        return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * 색인된 메뉴 종류 수를 반환합니다.
+     *
+     * @return 메뉴 수
+     */
+    public synchronized int dishCount() {
+        return dishNames.size();
+    }
+
+    /**
+     * 한 가지 표기(음절/초성/자모)의 토큰 게시 목록 교집합에서 원문에 질의가 들어 있는 메뉴를 찾습니다.
+     *
+     * @param text       해당 표기로 바꾼 질의
+     * @param prefix     해당 표기의 토큰 접두사
+     * @param haystacks  메뉴 ID별 해당 표기 문자열
+     * @param todayDay   기준일 (epoch day)
+     */
+    private List<DishHit> find(String text, String prefix, List<String> haystacks, int todayDay) {
+        int[] candidates = null;
+        for (String token : queryTokens(text, prefix)) {
+            Postings list = postings.get(token);
+            if (list == null) {
+                return new ArrayList<>();
+            }
+            candidates = candidates == null ? list.decode() : intersect(candidates, list.decode());
+            if (candidates.length == 0) {
+                return new ArrayList<>();
+            }
+        }
+
+        List<DishHit> hits = new ArrayList<>();
+        for (int dish : candidates) {
+            if (haystacks.get(dish).contains(text)) {
+                hits.add(servedDays.get(dish).hit(dishNames.get(dish), todayDay));
+            }
+        }
+        return hits;
+    }
+
+    private int dishId(String dish) {
+        Integer id = dishIds.get(dish);
+        if (id != null) {
+            return id;
+        }
+        int newId = dishNames.size();
+        String compact = compact(dish);
+        String choseong = choseong(compact);
+        String jamo = jamo(compact);
+        dishIds.put(dish, newId);
+        dishNames.add(dish);
+        compactNames.add(compact);
+        choseongNames.add(choseong);
+        jamoNames.add(jamo);
+        servedDays.add(new ServedDays());
+        for (String token : indexTokens(compact, "")) {
+            postings.computeIfAbsent(token, key -> new Postings()).add(newId);
+        }
+        for (String token : indexTokens(choseong, CHOSEONG_TOKEN_PREFIX)) {
+            postings.computeIfAbsent(token, key -> new Postings()).add(newId);
+        }
+        for (String token : indexTokens(jamo, JAMO_TOKEN_PREFIX)) {
+            postings.computeIfAbsent(token, key -> new Postings()).add(newId);
+        }
+        return newId;
+    }
+
+    /**
+     * 질의 문자열을 토큰으로 나눕니다. 한 글자면 unigram, 그보다 길면 bigram을 씁니다.
+     *
+     * @param text   정규화된 문자열
+     * @param prefix 토큰 접두사
+     */
+    private static List<String> queryTokens(String text, String prefix) {
+        List<String> tokens = new ArrayList<>(Math.max(1, text.length() - 1));
+        if (text.length() == 1) {
+            tokens.add(prefix + text);
+            return tokens;
+        }
+        for (int i = 0; i + 1 < text.length(); i++) {
+            String token = prefix + text.substring(i, i + 2);
+            if (!tokens.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 메뉴 이름을 색인할 토큰으로 나눕니다. 한 글자 질의도 찾을 수 있도록 unigram과 bigram을 모두 씁니다.
+     *
+     * @param text   정규화된 문자열
+     * @param prefix 토큰 접두사
+     */
+    private static Set<String> indexTokens(String text, String prefix) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            tokens.add(prefix + text.charAt(i));
+            if (i + 1 < text.length()) {
+                tokens.add(prefix + text.substring(i, i + 2));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * NFC 정규화 후 공백을 지우고 소문자로 바꿉니다. 자모가 분리되어 들어온 한글도 음절로 합쳐집니다.
+     */
+    static String compact(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        StringBuilder compact = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                compact.append(c);
+            }
+        }
+        return compact.toString();
+    }
+
+    /**
+     * 한글 음절을 초성 자모로 바꿉니다. 한글 음절이 아닌 문자는 그대로 둡니다.
+     */
+    static String choseong(String text) {
+        StringBuilder initials = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            initials.append(c >= HANGUL_BASE && c <= HANGUL_LAST
+                ? CHOSEONG[(c - HANGUL_BASE) / (JUNGSEONG_COUNT * JONGSEONG_COUNT)]
+                : c);
+        }
+        return initials.toString();
+    }
+
+    /**
+     * 한글 음절을 초성/중성/종성 호환 자모로 풀어 씁니다. 겹모음과 겹받침은 입력 순서대로 낱자로 나누고,
+     * 이미 자모로 들어온 문자도 같은 방식으로 나눕니다. 한글이 아닌 문자는 그대로 둡니다.
+     */
+    static String jamo(String text) {
+        StringBuilder jamo = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= HANGUL_BASE && c <= HANGUL_LAST) {
+                int offset = c - HANGUL_BASE;
+                jamo.append(CHOSEONG[offset / (JUNGSEONG_COUNT * JONGSEONG_COUNT)]);
+                appendJamo(jamo, JUNGSEONG.charAt(offset / JONGSEONG_COUNT % JUNGSEONG_COUNT));
+                if (offset % JONGSEONG_COUNT != 0) {
+                    appendJamo(jamo, JONGSEONG.charAt(offset % JONGSEONG_COUNT));
+                }
+            } else {
+                appendJamo(jamo, c);
+            }
+        }
+        return jamo.toString();
+    }
+
+    private static void appendJamo(StringBuilder jamo, char c) {
+        String parts = COMPOUND_JAMO.get(c);
+        if (parts != null) {
+            jamo.append(parts);
+        } else {
+            jamo.append(c);
+        }
+    }
+
+    private static boolean isChoseongOnly(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Arrays.binarySearch(CHOSEONG, text.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < left.length && j < right.length; ) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * 검색 결과 한 건.
+     *
+     * @param dish       메뉴 이름
+     * @param lastServed 기준일 전의 가장 최근 제공일, 없으면 {@code null}
+     * @param nextServed 기준일(포함) 이후 가장 가까운 제공일, 없으면 {@code null}
+     * @param servings   이력 전체의 제공 횟수
+     */
+    public record DishHit(String dish, LocalDate lastServed, LocalDate nextServed, int servings) {
+    }
+
+    /**
+     * 메뉴 ID 오름차순 게시 목록. 이전 ID와의 차분을 7비트 varint로 저장합니다.
+     */
+    private static final class Postings {
+
+        private byte[] bytes = new byte[4];
+        private int length;
+        private int count;
+        private int last = -1;
+
+        private void add(int id) {
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            int delta = id - last;
+            while ((delta & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            bytes[length++] = (byte) delta;
+            last = id;
+            count++;
+        }
+
+        private int[] decode() {
+            int[] ids = new int[count];
+            int value = -1;
+            for (int i = 0, position = 0; i < count; i++) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                value += delta;
+                ids[i] = value;
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * 메뉴 하나의 제공 날짜(epoch day) 정렬 목록. 같은 날짜는 한 번만 저장합니다.
+     */
+    private static final class ServedDays {
+
+        private int[] days = new int[INITIAL_CAPACITY];
+        private int size;
+
+        private void add(int day) {
+            int position = Arrays.binarySearch(days, 0, size, day);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size * 2);
+            }
+            System.arraycopy(days, insertAt, days, insertAt + 1, size - insertAt);
+            days[insertAt] = day;
+            size++;
+        }
+
+        private DishHit hit(String dish, int today) {
+            int position = Arrays.binarySearch(days, 0, size, today);
+            int next = position >= 0 ? position : -position - 1;
+            int last = next - 1;
+            return new DishHit(dish,
+                last >= 0 ? LocalDate.ofEpochDay(days[last]) : null,
+                next < size ? LocalDate.ofEpochDay(days[next]) : null,
+                size);
+        }
+    }
+}
@@ -0,0 +1,436 @@
+package analysislunch.infrastructure.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import lombok.extern.slf4j.Slf4j;
+
+import analysislunch.domain.model.MenuHistoryEntry;
+import analysislunch.utils.MenuDates;
+
+/**
+ * 메뉴 이력을 덧붙이기 전용 바이너리 로그 파일에 저장하고 날짜/메뉴 항목으로 찾는 내장 저장소.
+ *
+ * <p>레코드 형식 (빅엔디언):
+ * <pre>
+ * magic(4) | payloadLength(4) | payload(payloadLength) | crc32(4)
+ * payload = recordedAtMillis(8) | date | menu | calorieAnalysis | imageHash | refCount(2) | ref...
+ * 문자열 = byteLength(4) | UTF-8 바이트
+ * </pre>
+ * CRC32는 길이와 본문을 함께 덮습니다. 쓰기 도중 프로세스가 죽어 마지막 레코드가 파일 끝까지
+ * 다 쓰이지 못했으면(찢어진 꼬리) 다음에 열 때 그 레코드만 잘라 내고 이어 씁니다. 중간 레코드가
+ * 깨졌으면 오류를 남기고 다음 {@code magic}부터 CRC가 맞는 레코드를 찾아 이어 읽으며, 파일은
+ * 자르지 않습니다. 레코드로 읽을 수 없는 꼬리도 그대로 두고 그 뒤에 이어 쓰므로, 검증된
+ * 레코드는 어떤 경우에도 지워지지 않습니다.
+ *
+ * <p>읽기는 파일 전체를 {@link MappedByteBuffer}로 매핑해 수행합니다. 열 때 레코드를 한 번
+ * 훑으며 날짜 → 마지막 레코드 오프셋 인덱스와 메뉴 항목 → 오프셋 목록(게시 목록) 인덱스를
+ * 메모리에 다시 만들고, 조회는 인덱스로 찾은 레코드만 디코딩합니다. 같은 날짜로 여러 번
+ * 기록하면 마지막 레코드가 그 날짜의 메뉴가 됩니다. 날짜 키는 ISO 형식({@code yyyy-MM-dd})만
+ * 받으므로 범위 조회가 문자열 순서로 맞게 동작합니다. 이전 버전이 OCR 날짜를 그대로 남긴 레코드는
+ * 읽을 때 {@link MenuDates}로 정규화하고, 읽지 못하면 날짜 인덱스에서만 뺍니다.
+ *
+ * <p>매핑 한계 때문에 파일은 2GB를 넘을 수 없습니다. 하루 1건 기준으로 사실상 제한이 없습니다.
+ * 모든 공개 메서드는 스레드 안전합니다.
+ */
+@Slf4j
+public class MenuHistoryStore implements Closeable {
+
+    private static final int MAGIC = 0x4D48_5331; // "MHS1"
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int TRAILER_BYTES = Integer.BYTES;
+    private static final int MAX_PAYLOAD_BYTES = 16 * 1024 * 1024;
+    private static final int MAX_REFS = 0xFFFF;
+    private static final Pattern DISH_SEPARATORS = Pattern.compile("[,\\n]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Path file;
+    private final FileChannel channel;
+    private final NavigableMap<String, Integer> dateIndex = new TreeMap<>();
+    private final Map<String, Postings> dishIndex = new HashMap<>();
+    private final Postings allRecords = new Postings();
+    private MappedByteBuffer mapped;
+    private int end;
+
+    /**
+     * 로그 파일을 열고(없으면 생성) 인덱스를 다시 만듭니다. 끝까지 쓰이지 못한 마지막 레코드는 잘라 냅니다.
+     *
+     * @param file 로그 파일 경로
+     * @throws IOException 파일 열기/매핑 실패 또는 파일이 2GB를 넘을 때
+     */
+    public MenuHistoryStore(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long started = System.nanoTime();
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("메뉴 이력 파일이 너무 큽니다: " + file + " (" + size + " bytes)");
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            end = recover((int) size);
+            if (end < size) {
+                log.warn("메뉴 이력 파일 끝의 불완전한 레코드를 잘라 냅니다: {} ({} → {} bytes)", file, size, end);
+                channel.truncate(end);
+                channel.force(true);
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, end);
+            }
+            log.debug("메뉴 이력 {}건 인덱스 재구성 ({} ms, 날짜 {}개, 메뉴 항목 {}개)",
+                allRecords.size, (System.nanoTime() - started) / 1_000_000, dateIndex.size(), dishIndex.size());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 기록을 파일 끝에 덧붙이고 디스크에 반영한 뒤 인덱스에 추가합니다.
+     *
+     * @param entry 기록할 메뉴 이력 (날짜는 {@code yyyy-MM-dd})
+     * @throws IOException 날짜가 ISO 형식이 아니거나, 쓰기 실패 또는 파일 크기 한계를 넘을 때
+     */
+    public synchronized void append(MenuHistoryEntry entry) throws IOException {
+        try {
+            LocalDate.parse(entry.date());
+        } catch (DateTimeException e) {
+            throw new IOException("메뉴 이력 날짜는 yyyy-MM-dd 형식이어야 합니다: " + entry.date());
+        }
+        byte[] payload = encode(entry);
+        if (payload.length > MAX_PAYLOAD_BYTES) {
+            throw new IOException("메뉴 이력 레코드가 너무 큽니다: " + payload.length + " bytes");
+        }
+        int recordBytes = HEADER_BYTES + payload.length + TRAILER_BYTES;
+        if ((long) end + recordBytes > Integer.MAX_VALUE) {
+            throw new IOException("메뉴 이력 파일 크기 한계(2GB)에 도달했습니다: " + file);
+        }
+        ByteBuffer record = ByteBuffer.allocate(recordBytes);
+        record.putInt(MAGIC).putInt(payload.length).put(payload);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), Integer.BYTES, Integer.BYTES + payload.length);
+        record.putInt((int) crc.getValue());
+        record.flip();
+
+        int offset = end;
+        while (record.hasRemaining()) {
+            channel.write(record, offset + record.position());
+        }
+        channel.force(false);
+        end = offset + recordBytes;
+        index(offset, entry.date(), entry.menu());
+    }
+
+    /**
+     * 날짜의 마지막 기록을 반환합니다.
+     *
+     * @param date 메뉴 날짜 ({@code yyyy-MM-dd})
+     * @return 기록, 없으면 {@code null}
+     */
+    public synchronized MenuHistoryEntry findByDate(String date) {
+        Integer offset = dateIndex.get(date);
+        return offset != null ? read(offset) : null;
+    }
+
+    /**
+     * 날짜 범위의 기록을 날짜순으로 반환합니다. 날짜마다 마지막 기록 하나만 포함합니다.
+     *
+     * <p>날짜 문자열의 사전순으로 비교하므로 {@code yyyy-MM-dd}처럼 정렬 가능한 형식이어야 합니다.
+     *
+     * @param fromDate 시작 날짜 (포함)
+     * @param toDate   끝 날짜 (포함)
+     * @return 기록 목록
+     */
+    public synchronized List<MenuHistoryEntry> findBetween(String fromDate, String toDate) {
+        List<MenuHistoryEntry> entries = new ArrayList<>();
+        if (fromDate.compareTo(toDate) > 0) {
+            return entries;
+        }
+        for (int offset : dateIndex.subMap(fromDate, true, toDate, true).values()) {
+            entries.add(read(offset));
+        }
+        return entries;
+    }
+
+    /**
+     * 메뉴 항목이 포함된 기록을 기록 순서대로 반환합니다.
+     *
+     * @param dish 메뉴 항목 이름 (앞뒤 공백과 연속 공백은 무시)
+     * @return 기록 목록
+     */
+    public synchronized List<MenuHistoryEntry> findByDish(String dish) {
+        Postings postings = dishIndex.get(normalizeDish(dish));
+        if (postings == null) {
+            return List.of();
+        }
+        List<MenuHistoryEntry> entries = new ArrayList<>(postings.size);
+        for (int i = 0; i < postings.size; i++) {
+            entries.add(read(postings.offsets[i]));
+        }
+        return entries;
+    }
+
+    /**
+     * 메뉴 항목이 나온 기록 수를 레코드를 읽지 않고 반환합니다.
+     *
+     * @param dish 메뉴 항목 이름
+     * @return 기록 수
+     */
+    public synchronized int countByDish(String dish) {
+        Postings postings = dishIndex.get(normalizeDish(dish));
+        return postings != null ? postings.size : 0;
+    }
+
+    /**
+     * 로그 파일 경로를 반환합니다. 실행 사이에 이력을 이어 가려고 파일을 통째로 올릴 때 씁니다.
+     *
+     * @return 로그 파일 경로
+     */
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * 저장된 기록 수를 반환합니다.
+     *
+     * @return 기록 수
+     */
+    public synchronized int size() {
+        return allRecords.size;
+    }
+
+    /**
+     * 모든 기록을 기록 순서대로 읽어 {@code action}에 넘깁니다.
+     *
+     * @param action 기록 처리기
+     */
+    public synchronized void forEach(Consumer<MenuHistoryEntry> action) {
+        for (int i = 0; i < allRecords.size; i++) {
+            action.accept(read(allRecords.offsets[i]));
+        }
+    }
+
+    /**
+     * 메뉴 문자열을 인덱스에 쓰는 메뉴 항목 목록으로 나눕니다.
+     *
+     * @param menu 쉼표 또는 줄바꿈으로 구분된 메뉴 목록
+     * @return 정규화한 메뉴 항목 (중복 제거, 등장 순서)
+     */
+    public static List<String> dishesOf(String menu) {
+        Set<String> dishes = new LinkedHashSet<>();
+        for (String dish : DISH_SEPARATORS.split(menu)) {
+            String normalized = normalizeDish(dish);
+            if (!normalized.isEmpty()) {
+                dishes.add(normalized);
+            }
+        }
+        return new ArrayList<>(dishes);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 파일 앞에서부터 레코드를 검증하며 인덱스를 만들고, 다음 레코드를 덧붙일 오프셋을 반환합니다.
+     *
+     * <p>검증에 실패한 위치 뒤에 온전한 레코드가 있으면 중간 손상으로 보고 건너뜁니다. 없으면
+     * 마지막 레코드가 파일 끝까지 다 쓰이지 못한 경우에만 그 위치를 반환해 잘라 내게 하고,
+     * 그 밖의 읽을 수 없는 꼬리는 파일 끝을 반환해 보존합니다.
+     */
+    private int recover(int size) {
+        int offset = 0;
+        while (offset < size) {
+            int length = validPayloadLength(offset, size);
+            if (length >= 0) {
+                ByteBuffer payload = mapped.slice(offset + HEADER_BYTES, length);
+                payload.getLong();
+                String date = readString(payload);
+                String menu = readString(payload);
+                index(offset, date, menu);
+                offset += HEADER_BYTES + length + TRAILER_BYTES;
+                continue;
+            }
+            int next = nextValidRecord(offset + 1, size);
+            if (next >= 0) {
+                log.error("메뉴 이력 파일 중간의 손상된 데이터를 건너뜁니다: {} ({}~{} bytes)", file, offset, next);
+                offset = next;
+            } else if (isTornTail(offset, size)) {
+                return offset;
+            } else {
+                log.error("메뉴 이력 파일 끝의 읽을 수 없는 데이터를 보존하고 그 뒤에 이어 씁니다: {} ({}~{} bytes)",
+                    file, offset, size);
+                return size;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * {@code offset}에서 시작하는 레코드가 온전하면 본문 길이를, 아니면 -1을 반환합니다.
+     */
+    private int validPayloadLength(int offset, int size) {
+        if (offset + HEADER_BYTES + TRAILER_BYTES > size || mapped.getInt(offset) != MAGIC) {
+            return -1;
+        }
+        int length = mapped.getInt(offset + Integer.BYTES);
+        if (length < 0 || length > MAX_PAYLOAD_BYTES
+                || (long) offset + HEADER_BYTES + length + TRAILER_BYTES > size) {
+            return -1;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(mapped.slice(offset + Integer.BYTES, Integer.BYTES + length));
+        return (int) crc.getValue() == mapped.getInt(offset + HEADER_BYTES + length) ? length : -1;
+    }
+
+    /**
+     * {@code from}부터 한 바이트씩 옮겨 가며 온전한 레코드의 시작 오프셋을 찾습니다. 손상이 있을 때만 호출됩니다.
+     */
+    private int nextValidRecord(int from, int size) {
+        for (int offset = from; offset + HEADER_BYTES + TRAILER_BYTES <= size; offset++) {
+            if (mapped.getInt(offset) == MAGIC && validPayloadLength(offset, size) >= 0) {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@code offset}부터 파일 끝까지가 쓰다 만 마지막 레코드 하나인지 확인합니다. 헤더가 다 쓰이지
+     * 않았거나, {@code magic}이 맞고 기록된 길이가 파일 끝에 닿거나 넘는 경우입니다.
+     */
+    private boolean isTornTail(int offset, int size) {
+        int remaining = size - offset;
+        if (remaining < Integer.BYTES) {
+            return true;
+        }
+        if (mapped.getInt(offset) != MAGIC) {
+            return false;
+        }
+        if (remaining < HEADER_BYTES) {
+            return true;
+        }
+        long recordEnd = (long) offset + HEADER_BYTES + mapped.getInt(offset + Integer.BYTES) + TRAILER_BYTES;
+        return recordEnd >= size;
+    }
+
+    private void index(int offset, String date, String menu) {
+        LocalDate day = MenuDates.parse(date);
+        if (day != null) {
+            dateIndex.put(day.toString(), offset);
+        } else {
+            log.warn("메뉴 이력 레코드의 날짜를 읽지 못해 날짜 인덱스에서 뺍니다: {} (오프셋 {})", date, offset);
+        }
+        for (String dish : dishesOf(menu)) {
+            dishIndex.computeIfAbsent(dish, key -> new Postings()).add(offset);
+        }
+        allRecords.add(offset);
+    }
+
+    private MenuHistoryEntry read(int offset) {
+        if (mapped.capacity() < end) {
+            try {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, end);
+            } catch (IOException e) {
+                throw new IllegalStateException("메뉴 이력 파일 매핑 실패: " + file, e);
+            }
+        }
+        int length = mapped.getInt(offset + Integer.BYTES);
+        ByteBuffer payload = mapped.slice(offset + HEADER_BYTES, length);
+        long recordedAtMillis = payload.getLong();
+        String date = readString(payload);
+        String menu = readString(payload);
+        String calorieAnalysis = readString(payload);
+        String imageHash = readString(payload);
+        int refCount = Short.toUnsignedInt(payload.getShort());
+        List<String> refs = new ArrayList<>(refCount);
+        for (int i = 0; i < refCount; i++) {
+            refs.add(readString(payload));
+        }
+        return new MenuHistoryEntry(date, menu, calorieAnalysis, imageHash, refs, recordedAtMillis);
+    }
+
+    private static byte[] encode(MenuHistoryEntry entry) throws IOException {
+        List<String> refs = entry.imageRefs();
+        if (refs.size() > MAX_REFS) {
+            throw new IOException("이미지 참조가 너무 많습니다: " + refs.size());
+        }
+        List<byte[]> fields = new ArrayList<>(List.of(
+            utf8(entry.date()), utf8(entry.menu()), utf8(entry.calorieAnalysis()), utf8(entry.imageHash())));
+        List<byte[]> refBytes = new ArrayList<>(refs.size());
+        for (String ref : refs) {
+            refBytes.add(utf8(ref));
+        }
+        int length = Long.BYTES + Short.BYTES;
+        for (byte[] field : fields) {
+            length += Integer.BYTES + field.length;
+        }
+        for (byte[] ref : refBytes) {
+            length += Integer.BYTES + ref.length;
+        }
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        payload.putLong(entry.recordedAtMillis());
+        for (byte[] field : fields) {
+            payload.putInt(field.length).put(field);
+        }
+        payload.putShort((short) refBytes.size());
+        for (byte[] ref : refBytes) {
+            payload.putInt(ref.length).put(ref);
+        }
+        return payload.array();
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 메뉴 항목 이름의 앞뒤 공백을 지우고 연속 공백을 하나로 줄입니다.
+     */
+    static String normalizeDish(String dish) {
+        return WHITESPACE.matcher(dish.trim()).replaceAll(" ");
+    }
+
+    /**
+     * 메뉴 항목 하나의 레코드 오프셋 목록. 박싱 없이 늘어나는 {@code int} 배열입니다.
+     */
+    private static final class Postings {
+
+        private int[] offsets = new int[4];
+        private int size;
+
+        private void add(int offset) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            offsets[size++] = offset;
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package analysislunch.infrastructure.history;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+
+import analysislunch.domain.model.CalorieTable;
+import analysislunch.domain.model.MenuHistoryEntry;
+import analysislunch.utils.MenuDates;
+
+/**
+ * 메뉴 이력의 칼로리 분석 결과를 열 단위 배열로 보관하고 집계 질의에 답하는 분석 인덱스.
+ *
+ * <p>마크다운 표는 기록을 더할 때 한 번만 파싱합니다. 날짜(식사) 단위 열({@code int[]} epoch day,
+ * 총 kcal, 첫 메뉴 항목 위치)과 메뉴 항목 단위 열(사전 인코딩한 메뉴 ID {@code short[]}, kcal
+ * {@code short[]})을 따로 두고, 다음 집계는 기록마다 증분으로 갱신합니다.
+ * <ul>
+ *   <li>메뉴 ID별 제공 횟수와 kcal 합계</li>
+ *   <li>요일별 식사 수와 kcal 합계</li>
+ *   <li>주(월요일 시작)별, 월별 식사 수와 kcal 합계 (키로 바로 찾는 배열)</li>
+ * </ul>
+ * 전체 기간 질의는 집계 배열만 읽고, 기간을 지정한 메뉴 순위처럼 집계가 없는 질의는 열을
+ * 한 번 훑습니다. 같은 날짜가 다시 기록되면 이전 식사를 집계에서 빼고 새 기록으로 대체합니다.
+ *
+ * <p>날짜는 {@link MenuDates}로 읽으며, 읽지 못한 기록은 경고를 남기고 제외하고 총 칼로리를 알 수
+ * 없는 식사는 kcal 평균에서 제외합니다.
+ * 모든 공개 메서드는 스레드 안전합니다.
+ */
+@Slf4j
+public class NutritionAnalytics {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int DAYS_PER_WEEK = 7;
+    /** epoch day 0(1970-01-01)은 목요일이므로 3일을 더해 월요일에 주 경계를 맞춥니다. */
+    private static final int MONDAY_OFFSET = 3;
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final int MAX_DISHES = Short.MAX_VALUE;
+
+    // 식사(날짜) 열
+    private int[] mealDay = new int[INITIAL_CAPACITY];
+    private int[] mealKcal = new int[INITIAL_CAPACITY];
+    private int[] mealFirstServing = new int[INITIAL_CAPACITY];
+    private boolean[] mealLive = new boolean[INITIAL_CAPACITY];
+    private int meals;
+    private int liveMeals;
+    private final Map<Integer, Integer> mealByDay = new HashMap<>();
+
+    // 메뉴 항목(제공) 열
+    private short[] servingDish = new short[INITIAL_CAPACITY];
+    private short[] servingKcal = new short[INITIAL_CAPACITY];
+    private int servings;
+
+    // 메뉴 이름 사전
+    private final Map<String, Integer> dishIds = new HashMap<>();
+    private final List<String> dishNames = new ArrayList<>();
+
+    // 증분 집계
+    private int[] dishServings = new int[INITIAL_CAPACITY];
+    private long[] dishKcalSum = new long[INITIAL_CAPACITY];
+    private int[] dishKcalSamples = new int[INITIAL_CAPACITY];
+    private final long[] weekdayKcal = new long[DAYS_PER_WEEK];
+    private final int[] weekdayMeals = new int[DAYS_PER_WEEK];
+    private final Rollup weekly = new Rollup();
+    private final Rollup monthly = new Rollup();
+
+    /**
+     * 이력 저장소의 모든 기록으로 분석 인덱스를 만듭니다.
+     *
+     * @param store 메뉴 이력 저장소
+     * @return 분석 인덱스
+     */
+    public static NutritionAnalytics from(MenuHistoryStore store) {
+        long started = System.nanoTime();
+        NutritionAnalytics analytics = new NutritionAnalytics();
+        store.forEach(analytics::add);
+        log.debug("칼로리 분석 인덱스 구성: 식사 {}건, 메뉴 {}종 ({} ms)",
+            analytics.liveMeals, analytics.dishNames.size(), (System.nanoTime() - started) / 1_000_000);
+        return analytics;
+    }
+
+    /**
+     * 기록 하나를 더하고 집계를 갱신합니다. 같은 날짜의 이전 기록은 대체됩니다.
+     *
+     * @param entry 메뉴 이력
+     * @return 날짜를 읽지 못해 건너뛰었으면 {@code false}
+     */
+    public synchronized boolean add(MenuHistoryEntry entry) {
+        LocalDate date = MenuDates.parse(entry.date());
+        if (date == null) {
+            log.warn("날짜를 읽지 못해 분석에서 제외합니다: {}", entry.date());
+            return false;
+        }
+        int day = (int) date.toEpochDay();
+        Integer previous = mealByDay.get(day);
+        if (previous != null) {
+            apply(previous, -1);
+            mealLive[previous] = false;
+            liveMeals--;
+        }
+
+        CalorieTable table = CalorieTable.parse(entry.calorieAnalysis());
+        int meal = appendMeal(day, table.totalKcal());
+        if (table.rows().isEmpty()) {
+            for (String dish : MenuHistoryStore.dishesOf(entry.menu())) {
+                appendServing(dishId(dish), -1);
+            }
+        } else {
+            for (CalorieTable.Row row : table.rows()) {
+                String dish = MenuHistoryStore.normalizeDish(row.menu());
+                if (!dish.isEmpty()) {
+                    appendServing(dishId(dish), row.kcal());
+                }
+            }
+        }
+        mealByDay.put(day, meal);
+        apply(meal, 1);
+        liveMeals++;
+        return true;
+    }
+
+    /**
+     * 주별 평균 칼로리 추이를 반환합니다. 주는 월요일에 시작하며 식사가 있는 주만 포함합니다.
+     *
+     * @param from 시작 날짜 (이 날짜가 속한 주부터)
+     * @param to   끝 날짜 (이 날짜가 속한 주까지)
+     * @return 주 시작일 순 목록
+     */
+    public synchronized List<PeriodStat> weeklyTrend(LocalDate from, LocalDate to) {
+        List<PeriodStat> stats = new ArrayList<>();
+        for (int key = weekKey((int) from.toEpochDay()); key <= weekKey((int) to.toEpochDay()); key++) {
+            if (weekly.count(key) > 0) {
+                stats.add(new PeriodStat(LocalDate.ofEpochDay((long) key * DAYS_PER_WEEK - MONDAY_OFFSET),
+                    weekly.count(key), weekly.average(key)));
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 월별 평균 칼로리 추이를 반환합니다. 식사가 있는 달만 포함합니다.
+     *
+     * @param from 시작 월
+     * @param to   끝 월
+     * @return 월 순 목록 (시작일은 그 달 1일)
+     */
+    public synchronized List<PeriodStat> monthlyTrend(YearMonth from, YearMonth to) {
+        List<PeriodStat> stats = new ArrayList<>();
+        for (int key = monthKey(from); key <= monthKey(to); key++) {
+            if (monthly.count(key) > 0) {
+                LocalDate start = LocalDate.of(key / MONTHS_PER_YEAR, key % MONTHS_PER_YEAR + 1, 1);
+                stats.add(new PeriodStat(start, monthly.count(key), monthly.average(key)));
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 요일별 평균 칼로리를 반환합니다. 식사가 없는 요일은 포함하지 않습니다.
+     *
+     * @return 요일 → 평균 kcal
+     */
+    public synchronized Map<DayOfWeek, Double> averageKcalByWeekday() {
+        Map<DayOfWeek, Double> averages = new EnumMap<>(DayOfWeek.class);
+        for (int i = 0; i < DAYS_PER_WEEK; i++) {
+            if (weekdayMeals[i] > 0) {
+                averages.put(DayOfWeek.of(i + 1), (double) weekdayKcal[i] / weekdayMeals[i]);
+            }
+        }
+        return averages;
+    }
+
+    /**
+     * 전체 기간에서 가장 자주 나온 메뉴를 반환합니다. 증분 집계만 읽습니다.
+     *
+     * @param limit 최대 개수
+     * @return 제공 횟수 내림차순 목록 (같으면 이름순)
+     */
+    public synchronized List<DishStat> topDishes(int limit) {
+        return rank(dishServings, dishKcalSum, dishKcalSamples, limit);
+    }
+
+    /**
+     * 기간 안에서 가장 자주 나온 메뉴를 반환합니다. 식사/제공 열을 한 번 훑습니다.
+     *
+     * @param from  시작 날짜 (포함)
+     * @param to    끝 날짜 (포함)
+     * @param limit 최대 개수
+     * @return 제공 횟수 내림차순 목록 (같으면 이름순)
+     */
+    public synchronized List<DishStat> topDishes(LocalDate from, LocalDate to, int limit) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        int dishes = dishNames.size();
+        int[] counts = new int[dishes];
+        long[] kcalSums = new long[dishes];
+        int[] kcalSamples = new int[dishes];
+        for (int meal = 0; meal < meals; meal++) {
+            if (!mealLive[meal] || mealDay[meal] < fromDay || mealDay[meal] > toDay) {
+                continue;
+            }
+            for (int s = mealFirstServing[meal], end = servingEnd(meal); s < end; s++) {
+                int dish = servingDish[s];
+                counts[dish]++;
+                if (servingKcal[s] >= 0) {
+                    kcalSums[dish] += servingKcal[s];
+                    kcalSamples[dish]++;
+                }
+            }
+        }
+        return rank(counts, kcalSums, kcalSamples, limit);
+    }
+
+    /**
+     * 분석에 반영된 식사(날짜) 수를 반환합니다.
+     *
+     * @return 식사 수
+     */
+    public synchronized int mealCount() {
+        return liveMeals;
+    }
+
+    private int appendMeal(int day, int kcal) {
+        if (meals == mealDay.length) {
+            int capacity = meals * 2;
+            mealDay = Arrays.copyOf(mealDay, capacity);
+            mealKcal = Arrays.copyOf(mealKcal, capacity);
+            mealFirstServing = Arrays.copyOf(mealFirstServing, capacity);
+            mealLive = Arrays.copyOf(mealLive, capacity);
+        }
+        mealDay[meals] = day;
+        mealKcal[meals] = kcal;
+        mealFirstServing[meals] = servings;
+        mealLive[meals] = true;
+        return meals++;
+    }
+
+    private void appendServing(int dish, int kcal) {
+        if (servings == servingDish.length) {
+            int capacity = servings * 2;
+            servingDish = Arrays.copyOf(servingDish, capacity);
+            servingKcal = Arrays.copyOf(servingKcal, capacity);
+        }
+        servingDish[servings] = (short) dish;
+        servingKcal[servings] = (short) Math.min(kcal, Short.MAX_VALUE);
+        servings++;
+    }
+
+    private int dishId(String dish) {
+        Integer id = dishIds.get(dish);
+        if (id != null) {
+            return id;
+        }
+        if (dishNames.size() >= MAX_DISHES) {
+            throw new IllegalStateException("메뉴 사전 크기 한계를 넘었습니다: " + MAX_DISHES);
+        }
+        int newId = dishNames.size();
+        dishIds.put(dish, newId);
+        dishNames.add(dish);
+        if (newId == dishServings.length) {
+            int capacity = newId * 2;
+            dishServings = Arrays.copyOf(dishServings, capacity);
+            dishKcalSum = Arrays.copyOf(dishKcalSum, capacity);
+            dishKcalSamples = Arrays.copyOf(dishKcalSamples, capacity);
+        }
+        return newId;
+    }
+
+    /**
+     * 식사 하나를 집계에 더하거나({@code sign = 1}) 뺍니다({@code sign = -1}).
+     */
+    private void apply(int meal, int sign) {
+        for (int s = mealFirstServing[meal], end = servingEnd(meal); s < end; s++) {
+            int dish = servingDish[s];
+            dishServings[dish] += sign;
+            if (servingKcal[s] >= 0) {
+                dishKcalSum[dish] += sign * servingKcal[s];
+                dishKcalSamples[dish] += sign;
+            }
+        }
+        int kcal = mealKcal[meal];
+        if (kcal <= 0) {
+            return;
+        }
+        int day = mealDay[meal];
+        LocalDate date = LocalDate.ofEpochDay(day);
+        int weekday = date.getDayOfWeek().getValue() - 1;
+        weekdayKcal[weekday] += (long) sign * kcal;
+        weekdayMeals[weekday] += sign;
+        weekly.add(weekKey(day), kcal, sign);
+        monthly.add(monthKey(YearMonth.from(date)), kcal, sign);
+    }
+
+    private int servingEnd(int meal) {
+        return meal + 1 < meals ? mealFirstServing[meal + 1] : servings;
+    }
+
+    private List<DishStat> rank(int[] counts, long[] kcalSums, int[] kcalSamples, int limit) {
+        List<Integer> ids = new ArrayList<>();
+        for (int dish = 0; dish < dishNames.size(); dish++) {
+            if (counts[dish] > 0) {
+                ids.add(dish);
+            }
+        }
+        ids.sort((a, b) -> counts[a] != counts[b]
+            ? Integer.compare(counts[b], counts[a])
+            : dishNames.get(a).compareTo(dishNames.get(b)));
+        List<DishStat> stats = new ArrayList<>(Math.min(limit, ids.size()));
+        for (int i = 0; i < ids.size() && i < limit; i++) {
+            int dish = ids.get(i);
+            double average = kcalSamples[dish] > 0 ? (double) kcalSums[dish] / kcalSamples[dish] : Double.NaN;
+            stats.add(new DishStat(dishNames.get(dish), counts[dish], average));
+        }
+        return stats;
+    }
+
+    private static int weekKey(int epochDay) {
+        return Math.floorDiv(epochDay + MONDAY_OFFSET, DAYS_PER_WEEK);
+    }
+
+    private static int monthKey(YearMonth month) {
+        return month.getYear() * MONTHS_PER_YEAR + month.getMonthValue() - 1;
+    }
+
+    /**
+     * 기간 하나의 집계 결과.
+     *
+     * @param start       기간 시작일 (주는 월요일, 월은 1일)
+     * @param meals       kcal을 아는 식사 수
+     * @param averageKcal 식사당 평균 kcal
+     */
+    public record PeriodStat(LocalDate start, int meals, double averageKcal) {
+    }
+
+    /**
+     * 메뉴 하나의 집계 결과.
+     *
+     * @param dish        메뉴 이름
+     * @param servings    제공 횟수
+     * @param averageKcal 1회 제공 평균 kcal (알 수 없으면 {@link Double#NaN})
+     */
+    public record DishStat(String dish, int servings, double averageKcal) {
+    }
+
+    /**
+     * 연속한 정수 키(주 번호, 월 번호)별 kcal 합계와 식사 수. 키에서 시작 키를 뺀 위치에 저장하며,
+     * 범위 밖 키가 들어오면 앞뒤로 늘립니다.
+     */
+    private static final class Rollup {
+
+        private int base;
+        private long[] sums = new long[0];
+        private int[] counts = new int[0];
+
+        private void add(int key, int kcal, int sign) {
+            ensure(key);
+            sums[key - base] += (long) sign * kcal;
+            counts[key - base] += sign;
+        }
+
+        private int count(int key) {
+            int index = key - base;
+            return index >= 0 && index < counts.length ? counts[index] : 0;
+        }
+
+        private double average(int key) {
+            int count = count(key);
+            return count > 0 ? (double) sums[key - base] / count : 0d;
+        }
+
+        private void ensure(int key) {
+            if (counts.length == 0) {
+                base = key;
+                sums = new long[INITIAL_CAPACITY];
+                counts = new int[INITIAL_CAPACITY];
+                return;
+            }
+            if (key < base) {
+                int shift = Math.max(base - key, counts.length);
+                sums = prepend(sums, shift);
+                counts = prepend(counts, shift);
+                base -= shift;
+            } else if (key - base >= counts.length) {
+                int capacity = Math.max(key - base + 1, counts.length * 2);
+                sums = Arrays.copyOf(sums, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+            }
+        }
+
+        private static long[] prepend(long[] values, int shift) {
+            long[] grown = new long[values.length + shift];
+            System.arraycopy(values, 0, grown, shift, values.length);
+            return grown;
+        }
+
+        private static int[] prepend(int[] values, int shift) {
+            int[] grown = new int[values.length + shift];
+            System.arraycopy(values, 0, grown, shift, values.length);
+            return grown;
+        }
+    }
+}
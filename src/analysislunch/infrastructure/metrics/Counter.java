@@ -0,0 +1,43 @@
+package analysislunch.infrastructure.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 단조 증가하는 카운터 메트릭.
+ *
+ * <p>{@link LongAdder} 기반이라 여러 스레드가 동시에 증가시켜도 락 경합이 없습니다.
+ */
+public final class Counter {
+
+    private final LongAdder adder = new LongAdder();
+
+    Counter() {
+    }
+
+    /**
+     * 카운터를 1 증가시킵니다.
+     */
+    public void increment() {
+        adder.increment();
+    }
+
+    /**
+     * 카운터를 지정한 값만큼 증가시킵니다.
+     *
+     * @param amount 증가량 (음수는 무시)
+     */
+    public void add(long amount) {
+        if (amount > 0) {
+            adder.add(amount);
+        }
+    }
+
+    /**
+     * 현재 누적 값을 반환합니다.
+     *
+     * @return 누적 값
+     */
+    public long value() {
+        return adder.sum();
+    }
+}
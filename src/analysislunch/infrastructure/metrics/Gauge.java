@@ -0,0 +1,39 @@
+package analysislunch.infrastructure.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+
+/**
+ * 임의로 오르내리는 값을 나타내는 게이지 메트릭.
+ *
+ * <p>값을 직접 설정하거나, 수집 시점에 값을 읽어 오는 {@link DoubleSupplier}로
+ * 생성할 수 있습니다. 직접 설정하는 값은 {@code double} 비트를 {@link AtomicLong}에
+ * 저장하므로 락이 필요 없습니다.
+ */
+public final class Gauge {
+
+    private final AtomicLong bits = new AtomicLong(Double.doubleToRawLongBits(0d));
+    private final DoubleSupplier supplier;
+
+    Gauge(DoubleSupplier supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * 게이지 값을 설정합니다. 공급자 기반 게이지에서는 무시됩니다.
+     *
+     * @param value 설정할 값
+     */
+    public void set(double value) {
+        bits.set(Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * 현재 값을 반환합니다.
+     *
+     * @return 공급자가 있으면 공급자가 반환한 값, 없으면 마지막으로 설정한 값
+     */
+    public double value() {
+        return supplier != null ? supplier.getAsDouble() : Double.longBitsToDouble(bits.get());
+    }
+}
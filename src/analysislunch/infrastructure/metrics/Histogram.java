@@ -0,0 +1,191 @@
+package analysislunch.infrastructure.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HDR 방식의 로그-선형 버킷 히스토그램.
+ *
+ * <p>값(나노초, 바이트 등 정수 단위)을 2의 거듭제곱 구간마다 8개의 하위 버킷으로
+ * 나눠 세므로, 1ns부터 수십 년까지 상대 오차 약 12.5% 이내로 기록합니다.
+ * 버킷마다 {@link LongAdder}를 두어 동시 기록 시 락 없이 스트라이프로 분산됩니다.
+ *
+ * <p>Prometheus 노출 시에는 {@link Unit}이 정한 고정 경계({@code le})로 누적 합산합니다.
+ */
+public final class Histogram {
+
+    /** 하위 버킷 비트 수 (2^3 = 8개). */
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    /** 이 값 미만은 값 그대로 버킷 인덱스가 됩니다. */
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT * 2;
+    private static final int LINEAR_EXPONENT = Integer.numberOfTrailingZeros(LINEAR_LIMIT);
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - LINEAR_EXPONENT) * SUB_BUCKET_COUNT;
+
+    /**
+     * 히스토그램 값의 기록 단위와 노출 단위.
+     */
+    public enum Unit {
+        /** 나노초로 기록하고 초 단위로 노출합니다. */
+        SECONDS(1e-9, new double[] {
+            0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 120, 300}),
+        /** 바이트로 기록하고 바이트 단위로 노출합니다. */
+        BYTES(1d, new double[] {
+            1024, 8192, 65_536, 262_144, 1_048_576, 4_194_304, 16_777_216, 67_108_864});
+
+        private final double scale;
+        private final double[] bounds;
+
+        Unit(double scale, double[] bounds) {
+            this.scale = scale;
+            this.bounds = bounds;
+        }
+
+        double scale() {
+            return scale;
+        }
+
+        double[] bounds() {
+            return bounds.clone();
+        }
+    }
+
+    private final Unit unit;
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+
+    Histogram(Unit unit) {
+        this.unit = unit;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 값을 기록합니다.
+     *
+     * @param value 기록 단위의 값 (음수는 0으로 기록)
+     */
+    public void record(long value) {
+        long v = Math.max(0L, value);
+        buckets[bucketIndex(v)].increment();
+        count.increment();
+        sum.add(v);
+    }
+
+    /**
+     * {@link System#nanoTime()} 기준 시작 시각부터 지금까지의 경과 시간을 기록합니다.
+     *
+     * @param startNanos 시작 시각 ({@link System#nanoTime()})
+     * @return 기록한 경과 시간(ns)
+     */
+    public long recordSince(long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        record(elapsed);
+        return elapsed;
+    }
+
+    /**
+     * 기록된 값의 개수를 반환합니다.
+     *
+     * @return 기록 횟수
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * 기록된 값의 합을 반환합니다.
+     *
+     * @return 기록 단위의 합계
+     */
+    public long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * 지정한 분위수의 근사값을 반환합니다.
+     *
+     * @param quantile 0.0~1.0 사이의 분위수 (예: 0.99)
+     * @return 해당 분위수가 속한 버킷의 상한 (기록 단위), 기록이 없으면 0
+     */
+    public long valueAtQuantile(double quantile) {
+        long[] snapshot = snapshot();
+        long total = 0;
+        for (long c : snapshot) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(snapshot.length - 1);
+    }
+
+    Unit unit() {
+        return unit;
+    }
+
+    /**
+     * Prometheus 노출 경계마다 누적 개수를 계산합니다.
+     *
+     * @return {@link Unit#bounds()} 순서의 누적 개수
+     */
+    long[] cumulativeCounts() {
+        double[] bounds = unit.bounds();
+        long[] cumulative = new long[bounds.length];
+        long[] snapshot = snapshot();
+        int b = 0;
+        long running = 0;
+        for (int i = 0; i < snapshot.length && b < bounds.length; i++) {
+            double upper = upperBound(i) * unit.scale();
+            while (b < bounds.length && upper > bounds[b]) {
+                cumulative[b++] = running;
+            }
+            running += snapshot[i];
+        }
+        while (b < bounds.length) {
+            cumulative[b++] = running;
+        }
+        return cumulative;
+    }
+
+    private long[] snapshot() {
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets[i].sum();
+        }
+        return snapshot;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int mantissa = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return LINEAR_LIMIT + (exponent - LINEAR_EXPONENT) * SUB_BUCKET_COUNT + mantissa;
+    }
+
+    static long upperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int offset = index - LINEAR_LIMIT;
+        int exponent = offset / SUB_BUCKET_COUNT + LINEAR_EXPONENT;
+        int mantissa = offset % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        int shift = exponent - SUB_BUCKET_BITS;
+        if (exponent == 62 && mantissa == SUB_BUCKET_COUNT * 2 - 1) {
+            return Long.MAX_VALUE;
+        }
+        return ((long) (mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,227 @@
+package analysislunch.infrastructure.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+/**
+ * 카운터, 게이지, 히스토그램을 이름과 레이블로 관리하는 경량 메트릭 레지스트리.
+ *
+ * <p>메트릭 조회/생성은 {@link ConcurrentHashMap#computeIfAbsent}로만 이뤄지며,
+ * 값 기록 경로({@link Counter#increment()}, {@link Histogram#record(long)})에는
+ * 락이 없습니다. 프로세스 전역 인스턴스는 {@link #global()}로 얻습니다.
+ *
+ * <p>레이블은 {@code "key1", "value1", "key2", "value2"}처럼 키/값을 번갈아 넘깁니다.
+ */
+public final class MetricsRegistry {
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final ConcurrentMap<String, Family> families = new ConcurrentHashMap<>();
+
+    /**
+     * 새 레지스트리를 생성합니다. 애플리케이션 코드는 보통 {@link #global()}을 사용합니다.
+     */
+    public MetricsRegistry() {
+    }
+
+    /**
+     * 프로세스 전역 레지스트리를 반환합니다.
+     *
+     * @return 전역 {@link MetricsRegistry}
+     */
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * 카운터를 조회하거나 생성합니다.
+     *
+     * @param name   메트릭 이름 (예: {@code http_client_requests_total})
+     * @param help   메트릭 설명
+     * @param labels 레이블 키/값 쌍
+     * @return {@link Counter}
+     */
+    public Counter counter(String name, String help, String... labels) {
+        return (Counter) family(name, help, Type.COUNTER).series(labels, key -> new Counter());
+    }
+
+    /**
+     * 값을 직접 설정하는 게이지를 조회하거나 생성합니다.
+     *
+     * @param name   메트릭 이름
+     * @param help   메트릭 설명
+     * @param labels 레이블 키/값 쌍
+     * @return {@link Gauge}
+     */
+    public Gauge gauge(String name, String help, String... labels) {
+        return (Gauge) family(name, help, Type.GAUGE).series(labels, key -> new Gauge(null));
+    }
+
+    /**
+     * 수집 시점에 값을 읽는 게이지를 등록합니다. 같은 이름/레이블이 이미 있으면 기존 게이지를 반환합니다.
+     *
+     * @param name     메트릭 이름
+     * @param help     메트릭 설명
+     * @param supplier 값 공급자
+     * @param labels   레이블 키/값 쌍
+     * @return {@link Gauge}
+     */
+    public Gauge gauge(String name, String help, DoubleSupplier supplier, String... labels) {
+        return (Gauge) family(name, help, Type.GAUGE).series(labels, key -> new Gauge(supplier));
+    }
+
+    /**
+     * 히스토그램을 조회하거나 생성합니다.
+     *
+     * @param name   메트릭 이름 (예: {@code lunch_stage_duration_seconds})
+     * @param help   메트릭 설명
+     * @param unit   기록/노출 단위
+     * @param labels 레이블 키/값 쌍
+     * @return {@link Histogram}
+     */
+    public Histogram histogram(String name, String help, Histogram.Unit unit, String... labels) {
+        return (Histogram) family(name, help, Type.HISTOGRAM).series(labels, key -> new Histogram(unit));
+    }
+
+    /**
+     * 등록된 모든 메트릭을 Prometheus 텍스트 노출 형식(0.0.4)으로 직렬화합니다.
+     *
+     * @return Prometheus 텍스트
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        for (Family family : new TreeMap<>(families).values()) {
+            family.writeTo(out);
+        }
+        return out.toString();
+    }
+
+    private Family family(String name, String help, Type type) {
+        Family family = families.computeIfAbsent(name, n -> new Family(n, help, type));
+        if (family.type != type) {
+            throw new IllegalArgumentException("메트릭 타입 불일치: " + name + " (" + family.type + " ≠ " + type + ")");
+        }
+        return family;
+    }
+
+    /**
+     * 메트릭 타입 (Prometheus {@code # TYPE} 값).
+     */
+    private enum Type {
+        COUNTER("counter"), GAUGE("gauge"), HISTOGRAM("histogram");
+
+        private final String exposition;
+
+        Type(String exposition) {
+            this.exposition = exposition;
+        }
+    }
+
+    /**
+     * 같은 이름을 가진 메트릭 시계열의 묶음.
+     */
+    private static final class Family {
+
+        private final String name;
+        private final String help;
+        private final Type type;
+        private final ConcurrentMap<String, Object> series = new ConcurrentHashMap<>();
+
+        private Family(String name, String help, Type type) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+        }
+
+        private Object series(String[] labels, Function<String, Object> factory) {
+            return series.computeIfAbsent(labelKey(labels), factory);
+        }
+
+        private void writeTo(StringBuilder out) {
+            out.append("# HELP ").append(name).append(' ').append(escapeHelp(help)).append('\n');
+            out.append("# TYPE ").append(name).append(' ').append(type.exposition).append('\n');
+            List<Map.Entry<String, Object>> entries = new ArrayList<>(new TreeMap<>(series).entrySet());
+            for (Map.Entry<String, Object> entry : entries) {
+                String labels = entry.getKey();
+                Object metric = entry.getValue();
+                if (metric instanceof Counter counter) {
+                    sample(out, name, labels, formatLong(counter.value()));
+                } else if (metric instanceof Gauge gauge) {
+                    sample(out, name, labels, formatDouble(gauge.value()));
+                } else if (metric instanceof Histogram histogram) {
+                    writeHistogram(out, labels, histogram);
+                }
+            }
+        }
+
+        private void writeHistogram(StringBuilder out, String labels, Histogram histogram) {
+            double[] bounds = histogram.unit().bounds();
+            long[] cumulative = histogram.cumulativeCounts();
+            String prefix = labels.isEmpty() ? "" : labels + ",";
+            for (int i = 0; i < bounds.length; i++) {
+                sample(out, name + "_bucket", prefix + "le=\"" + formatDouble(bounds[i]) + "\"",
+                    formatLong(cumulative[i]));
+            }
+            long count = histogram.count();
+            sample(out, name + "_bucket", prefix + "le=\"+Inf\"", formatLong(count));
+            sample(out, name + "_sum", labels, formatDouble(histogram.sum() * histogram.unit().scale()));
+            sample(out, name + "_count", labels, formatLong(count));
+        }
+
+        private static void sample(StringBuilder out, String name, String labels, String value) {
+            out.append(name);
+            if (!labels.isEmpty()) {
+                out.append('{').append(labels).append('}');
+            }
+            out.append(' ').append(value).append('\n');
+        }
+    }
+
+    private static String labelKey(String[] labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("레이블은 키/값 쌍이어야 합니다: " + String.join(",", labels));
+        }
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                key.append(',');
+            }
+            key.append(labels[i]).append("=\"").append(escapeLabel(labels[i + 1])).append('"');
+        }
+        return key.toString();
+    }
+
+    private static String escapeLabel(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static String formatLong(long value) {
+        return Long.toString(value);
+    }
+
+    private static String formatDouble(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,100 @@
+package analysislunch.infrastructure.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link MetricsRegistry}를 Prometheus 텍스트 형식으로 내보내는 클래스.
+ *
+ * <p>cron 실행은 종료 직전에 {@link #writeFile(Path)}로 텍스트 파일을 남기고
+ * (node_exporter textfile collector 형식), 데몬 모드는 {@link #startHttp(int)}로
+ * {@code /metrics} 엔드포인트를 엽니다.
+ */
+@Slf4j
+public class PrometheusExporter implements AutoCloseable {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String METRICS_PATH = "/metrics";
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_METHOD_NOT_ALLOWED = 405;
+
+    private final MetricsRegistry registry;
+    private HttpServer server;
+
+    /**
+     * PrometheusExporter 생성자.
+     *
+     * @param registry 내보낼 메트릭 레지스트리
+     */
+    public PrometheusExporter(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 메트릭을 파일로 기록합니다.
+     *
+     * <p>임시 파일에 쓴 뒤 원자적으로 교체하므로, 수집기가 반쯤 쓰인 파일을 읽지 않습니다.
+     *
+     * @param file 기록할 파일 경로 (예: {@code metrics.prom})
+     * @throws IOException 파일 쓰기 실패 시
+     */
+    public void writeFile(Path file) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        Files.writeString(temp, registry.scrape(), StandardCharsets.UTF_8);
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("메트릭 파일 기록 완료: {}", absolute);
+    }
+
+    /**
+     * {@code /metrics} HTTP 엔드포인트를 시작합니다.
+     *
+     * @param port 수신 포트
+     * @throws IOException 포트 바인딩 실패 시
+     */
+    public synchronized void startHttp(int port) throws IOException {
+        if (server != null) {
+            return;
+        }
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext(METRICS_PATH, this::handle);
+        server.start();
+        log.info("메트릭 엔드포인트 시작: http://0.0.0.0:{}{}", port, METRICS_PATH);
+    }
+
+    /**
+     * HTTP 엔드포인트를 종료합니다.
+     */
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(HTTP_METHOD_NOT_ALLOWED, -1);
+                return;
+            }
+            byte[] body = registry.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(HTTP_OK, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package analysislunch.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import analysislunch.infrastructure.metrics.MetricsRegistry;
+
+/**
+ * 호스트 하나(또는 Google API 리소스 하나)의 HTTP 호출을 막거나 통과시키는 회로 차단기.
+ *
+ * <p>최근 호출 결과를 고정 크기 링 버퍼에 남기고, 판정 구간 안의 실패율이 임계값을 넘으면
+ * 회로를 엽니다(OPEN). 열린 동안의 호출은 네트워크에 나가지 않고 {@link CircuitOpenException}으로
+ * 바로 끝납니다. 열린 시간이 지나면 반쯤 열어(HALF_OPEN) 한 번에 하나의 확인 호출만 보내고,
+ * 성공하면 닫고(CLOSED) 실패하면 열린 시간을 두 배로 늘려 다시 엽니다.
+ *
+ * <p>연결 실패, 제한 시간 초과, 5xx 응답을 실패로 봅니다. 429 등 4xx는 서버가 살아 있다는
+ * 뜻이므로 성공으로 봅니다. 실행 기한 때문에 줄어든 제한 시간에 걸린 호출은 호스트 탓이 아니므로
+ * 세지 않습니다. 상태는 프로세스 안에서 유지되므로 데몬 모드에서는 실행 사이에도 이어집니다.
+ */
+@Slf4j
+final class CircuitBreaker {
+
+    /** 판정에 쓰는 최근 호출 수. */
+    private static final int WINDOW_SIZE = 20;
+    /** 이보다 오래된 호출은 판정에서 뺍니다(ns). 데몬 실행 간격보다 길게 둡니다. */
+    private static final long WINDOW_NANOS = 10L * 60 * 1_000_000_000L;
+    /** 판정에 필요한 최소 호출 수. Gemini 재시도 3회가 모두 실패하면 열리도록 맞췄습니다. */
+    private static final int MIN_CALLS = 3;
+    /** 이 비율 이상 실패하면 회로를 엽니다. */
+    private static final double FAILURE_RATE_THRESHOLD = 0.5;
+    /** 처음 열 때의 열림 시간(ns). */
+    private static final long INITIAL_OPEN_NANOS = 30L * 1_000_000_000L;
+    /** 확인 호출이 거듭 실패해도 열림 시간은 이 이상 늘리지 않습니다(ns). */
+    private static final long MAX_OPEN_NANOS = 5L * 60 * 1_000_000_000L;
+
+    private static final String METRIC_STATE = "http_client_circuit_state";
+    private static final String METRIC_TRANSITIONS = "http_client_circuit_transitions_total";
+    private static final String METRIC_REJECTIONS = "http_client_circuit_rejections_total";
+
+    /**
+     * 회로 상태. 메트릭 값은 {@code 0}(닫힘), {@code 1}(열림), {@code 2}(반열림)입니다.
+     */
+    enum State {
+        CLOSED("closed", 0),
+        OPEN("open", 1),
+        HALF_OPEN("half_open", 2);
+
+        private final String label;
+        private final int gaugeValue;
+
+        State(String label, int gaugeValue) {
+            this.label = label;
+            this.gaugeValue = gaugeValue;
+        }
+    }
+
+    /**
+     * 호출 한 번의 결과.
+     */
+    enum Outcome {
+        /** 응답을 받음 (5xx 제외). */
+        SUCCESS,
+        /** 연결/읽기 실패 또는 5xx 응답. */
+        FAILURE,
+        /** 판정에 넣지 않음 (실행 기한으로 줄어든 제한 시간 초과 등). */
+        IGNORED
+    }
+
+    private final String host;
+    private final long[] at = new long[WINDOW_SIZE];
+    private final boolean[] failed = new boolean[WINDOW_SIZE];
+    private int next;
+    private int size;
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private long openNanos = INITIAL_OPEN_NANOS;
+    private boolean probeInFlight;
+
+    /**
+     * CircuitBreaker 생성자.
+     *
+     * @param host 메트릭 레이블과 로그에 쓸 회로 이름 (호스트, 리소스별 회로면 호스트와 리소스 경로)
+     */
+    CircuitBreaker(String host) {
+        this.host = host;
+        publishState();
+    }
+
+    /**
+     * 호출을 시작해도 되는지 확인합니다. 반열림 상태에서 통과한 호출은 확인 호출이 됩니다.
+     *
+     * @return 확인 호출이면 {@code true} ({@link #record(Outcome, boolean)}에 그대로 넘김)
+     * @throws CircuitOpenException 회로가 열려 있거나 다른 확인 호출이 진행 중일 때
+     */
+    synchronized boolean acquire() throws CircuitOpenException {
+        if (state == State.CLOSED) {
+            return false;
+        }
+        long now = System.nanoTime();
+        if (state == State.OPEN) {
+            long waited = now - openedAtNanos;
+            if (waited < openNanos) {
+                throw reject((openNanos - waited) / 1_000_000L);
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (probeInFlight) {
+            throw reject(0L);
+        }
+        probeInFlight = true;
+        return true;
+    }
+
+    /**
+     * 호출 결과를 남깁니다.
+     *
+     * @param outcome 호출 결과
+     * @param probe   {@link #acquire()}가 확인 호출이라고 알려 준 호출이면 {@code true}
+     */
+    synchronized void record(Outcome outcome, boolean probe) {
+        if (probe) {
+            probeInFlight = false;
+            if (outcome == Outcome.SUCCESS) {
+                size = 0;
+                next = 0;
+                openNanos = INITIAL_OPEN_NANOS;
+                transition(State.CLOSED);
+                log.info("🔌 {} 회로를 닫습니다 (확인 호출 성공).", host);
+            } else if (outcome == Outcome.FAILURE) {
+                openNanos = Math.min(openNanos * 2, MAX_OPEN_NANOS);
+                open(System.nanoTime());
+            }
+            return;
+        }
+        // 회로가 열리기 전에 시작한 호출의 결과는 판정에 넣지 않습니다.
+        if (outcome == Outcome.IGNORED || state != State.CLOSED) {
+            return;
+        }
+        long now = System.nanoTime();
+        at[next] = now;
+        failed[next] = outcome == Outcome.FAILURE;
+        next = (next + 1) % WINDOW_SIZE;
+        size = Math.min(size + 1, WINDOW_SIZE);
+
+        int calls = 0;
+        int failures = 0;
+        for (int i = 0; i < size; i++) {
+            if (now - at[i] <= WINDOW_NANOS) {
+                calls++;
+                if (failed[i]) {
+                    failures++;
+                }
+            }
+        }
+        if (calls >= MIN_CALLS && failures >= calls * FAILURE_RATE_THRESHOLD) {
+            log.warn("🔌 {} 회로를 엽니다 (최근 {}회 중 {}회 실패, {}ms 동안 호출 차단).",
+                host, calls, failures, openNanos / 1_000_000L);
+            open(now);
+        }
+    }
+
+    private void open(long now) {
+        openedAtNanos = now;
+        transition(State.OPEN);
+    }
+
+    private CircuitOpenException reject(long retryAfterMillis) {
+        MetricsRegistry.global().counter(METRIC_REJECTIONS, "회로 차단으로 보내지 않은 HTTP 요청 수",
+            "host", host).increment();
+        return new CircuitOpenException(host, state == State.HALF_OPEN, retryAfterMillis);
+    }
+
+    private void transition(State to) {
+        if (state == to) {
+            return;
+        }
+        state = to;
+        MetricsRegistry.global().counter(METRIC_TRANSITIONS, "호스트별 회로 상태 전환 수",
+            "host", host, "to", to.label).increment();
+        publishState();
+    }
+
+    private void publishState() {
+        MetricsRegistry.global().gauge(METRIC_STATE, "호스트별 회로 상태 (0 닫힘, 1 열림, 2 반열림)",
+            "host", host).set(state.gaugeValue);
+    }
+}
@@ -0,0 +1,39 @@
+package analysislunch.utils;
+
+import java.io.IOException;
+
+/**
+ * 호스트의 회로가 열려 있어 요청을 보내지 않았음을 나타내는 예외.
+ *
+ * <p>해당 호스트가 최근 계속 실패했다는 뜻이므로, 재시도 루프는 이 예외를 받으면 기다렸다가
+ * 다시 시도하지 않고 바로 포기합니다.
+ */
+public class CircuitOpenException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String host;
+
+    /**
+     * CircuitOpenException 생성자.
+     *
+     * @param host             요청 대상 호스트
+     * @param probing          다른 요청이 복구 여부를 확인하는 중이라 막혔으면 {@code true}
+     * @param retryAfterMillis 회로를 다시 확인하기까지 남은 시간(ms)
+     */
+    public CircuitOpenException(String host, boolean probing, long retryAfterMillis) {
+        super(probing
+            ? host + " 호출 차단 중 (복구 확인 요청 진행 중)"
+            : host + " 호출 차단 중 (최근 실패가 많아 회로 열림, " + retryAfterMillis + "ms 후 재확인)");
+        this.host = host;
+    }
+
+    /**
+     * 요청 대상 호스트를 반환합니다.
+     *
+     * @return 호스트 이름
+     */
+    public String getHost() {
+        return host;
+    }
+}
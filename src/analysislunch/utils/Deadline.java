@@ -0,0 +1,191 @@
+package analysislunch.utils;
+
+import java.util.function.Supplier;
+
+/**
+ * 실행 전체 또는 단계 하나가 끝나야 하는 시각.
+ *
+ * <p>호출부는 {@link #enter(Deadline)}로 현재 스레드에 기한을 지정합니다. 기한은 스코프를 닫을
+ * 때까지 그 스레드의 모든 HTTP 요청에 연결/읽기 제한 시간으로 적용되고, 재시도와 폴링 대기는
+ * 남은 시간을 넘지 않도록 잘립니다. 스코프는 중첩할 수 있으며, 안쪽 기한이 바깥 기한보다 늦으면
+ * 바깥 기한이 그대로 유지됩니다.
+ * <pre>
+ * try (Deadline.Scope scope = Deadline.enter(Deadline.after(60_000))) {
+ *     geminiClient.extractMenuInfo(file);
+ * }
+ * </pre>
+ *
+ * <p>다른 스레드로 넘기는 작업은 {@link #propagate(Supplier)}로 감싸야 기한이 이어집니다.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * 지금부터 {@code millis} 뒤에 끝나는 기한을 만듭니다.
+     *
+     * @param millis 남은 시간(ms)
+     * @return 기한
+     */
+    public static Deadline after(long millis) {
+        return new Deadline(System.nanoTime() + millis * NANOS_PER_MILLI);
+    }
+
+    /**
+     * 이 기한과 지금부터 {@code millis} 뒤 중 이른 쪽을 반환합니다.
+     *
+     * @param millis 최대 남은 시간(ms)
+     * @return 둘 중 이른 기한
+     */
+    public Deadline within(long millis) {
+        return earlier(after(millis));
+    }
+
+    /**
+     * 이 기한보다 {@code millis}만큼 이른 기한을 반환합니다. 뒤에 남겨 둘 시간을 뺄 때 씁니다.
+     *
+     * @param millis 당길 시간(ms)
+     * @return 당긴 기한
+     */
+    public Deadline minus(long millis) {
+        return new Deadline(expiresAtNanos - millis * NANOS_PER_MILLI);
+    }
+
+    /**
+     * 이 기한과 {@code other} 중 이른 쪽을 반환합니다.
+     *
+     * @param other 비교할 기한 ({@code null}이면 이 기한)
+     * @return 이른 기한
+     */
+    public Deadline earlier(Deadline other) {
+        return other == null || expiresAtNanos - other.expiresAtNanos <= 0 ? this : other;
+    }
+
+    /**
+     * 남은 시간을 반환합니다.
+     *
+     * @return 남은 시간(ms), 지났으면 0
+     */
+    public long remainingMillis() {
+        return Math.max(0L, (expiresAtNanos - System.nanoTime()) / NANOS_PER_MILLI);
+    }
+
+    /**
+     * 기한이 지났는지 확인합니다.
+     *
+     * @return 지났으면 {@code true}
+     */
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * 현재 스레드에 기한을 지정합니다. 이미 더 이른 기한이 있으면 그 기한을 유지합니다.
+     *
+     * @param deadline 지정할 기한 ({@code null}이면 바깥 기한 유지)
+     * @return 닫으면 이전 기한을 복원하는 스코프
+     */
+    public static Scope enter(Deadline deadline) {
+        Deadline previous = CURRENT.get();
+        Deadline effective = deadline != null ? deadline.earlier(previous) : previous;
+        if (effective != null) {
+            CURRENT.set(effective);
+        }
+        return new Scope(previous);
+    }
+
+    /**
+     * 현재 스레드의 기한을 반환합니다.
+     *
+     * @return 기한, 지정되지 않았으면 {@code null}
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 대기 시간을 현재 기한의 남은 시간 이내로 자릅니다.
+     *
+     * @param millis 원래 대기 시간(ms)
+     * @return 잘린 대기 시간(ms), 기한이 없으면 그대로
+     */
+    public static long cap(long millis) {
+        Deadline deadline = CURRENT.get();
+        return deadline != null ? Math.min(millis, deadline.remainingMillis()) : millis;
+    }
+
+    /**
+     * {@code millis}만큼 기다린 뒤에도 현재 기한이 남아 있는지 확인합니다. 재시도 여부 판단에 씁니다.
+     *
+     * @param millis 기다릴 시간(ms)
+     * @return 기한이 없거나 기다린 뒤에도 시간이 남으면 {@code true}
+     */
+    public static boolean allows(long millis) {
+        Deadline deadline = CURRENT.get();
+        return deadline == null || deadline.remainingMillis() > millis;
+    }
+
+    /**
+     * 현재 기한이 지났으면 예외를 던집니다.
+     *
+     * @param what 예외 메시지에 넣을 작업 설명
+     * @throws DeadlineExceededException 기한이 지났을 때
+     */
+    public static void check(String what) throws DeadlineExceededException {
+        Deadline deadline = CURRENT.get();
+        if (deadline != null && deadline.isExpired()) {
+            throw new DeadlineExceededException("실행 기한 초과로 중단: " + what);
+        }
+    }
+
+    /**
+     * 현재 스레드의 기한을 다른 스레드에서 실행할 작업에 이어 붙입니다.
+     *
+     * @param task 감쌀 작업
+     * @param <T>  작업 결과 타입
+     * @return 실행 스레드에 같은 기한을 지정한 뒤 {@code task}를 실행하는 작업
+     */
+    @SuppressWarnings("try")
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope scope = enter(deadline)) {
+                return task.get();
+            }
+        };
+    }
+
+    /**
+     * {@link #enter(Deadline)}로 지정한 기한의 유효 범위.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Deadline previous;
+
+        private Scope(Deadline previous) {
+            this.previous = previous;
+        }
+
+        /**
+         * 이전 기한을 복원합니다.
+         */
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
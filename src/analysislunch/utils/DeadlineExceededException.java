@@ -0,0 +1,23 @@
+package analysislunch.utils;
+
+import java.io.InterruptedIOException;
+
+/**
+ * 현재 스레드의 {@link Deadline}이 지나 요청이나 대기를 시작하지 않았음을 나타내는 예외.
+ *
+ * <p>소켓 제한 시간 초과와 같은 {@link InterruptedIOException}이므로, 기존 {@link java.io.IOException}
+ * 처리 경로에서 그대로 실패로 다뤄집니다. 재시도 루프는 이 예외를 받으면 다시 시도하지 않습니다.
+ */
+public class DeadlineExceededException extends InterruptedIOException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * DeadlineExceededException 생성자.
+     *
+     * @param message 오류 메시지
+     */
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,67 @@
+package analysislunch.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 파일 내용 해시를 계산하는 유틸리티 클래스.
+ */
+public final class HashUtils {
+
+    private static final String SHA_256 = "SHA-256";
+    private static final int BUFFER_SIZE = 8192;
+
+    private HashUtils() {
+        // 유틸리티 클래스 - 인스턴스화 금지
+    }
+
+    /**
+     * 파일 내용의 SHA-256 해시를 소문자 16진수 문자열로 반환합니다.
+     *
+     * <p>파일 전체를 메모리에 올리지 않고 버퍼 단위로 읽습니다.
+     *
+     * @param file 해시를 계산할 파일
+     * @return 64자리 16진수 해시
+     * @throws IOException 파일 읽기 실패 시
+     */
+    public static String sha256Hex(File file) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 바이트 배열의 SHA-256 해시를 소문자 16진수 문자열로 반환합니다.
+     *
+     * @param data 해시를 계산할 데이터
+     * @return 64자리 16진수 해시
+     */
+    public static String sha256Hex(byte[] data) {
+        return HexFormat.of().formatHex(sha256().digest(data));
+    }
+
+    /**
+     * 새 SHA-256 {@link MessageDigest}를 만듭니다. 스트림을 흘려보내며 해시를 계산할 때 사용합니다.
+     *
+     * @return SHA-256 다이제스트
+     */
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance(SHA_256);
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 Java 플랫폼은 SHA-256을 제공해야 합니다.
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package analysislunch.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * HTTP 요청/응답을 파일에 녹화하고 다시 재생하는 카세트.
+ *
+ * <p>{@link HttpUtils#useCassette(HttpCassette)}로 설치하면 모든 요청이 이 카세트를 거칩니다.
+ * 녹화 모드는 실제로 요청을 보내면서 요청 지문(메서드, 비밀값을 가린 URL, 본문 SHA-256)과
+ * 응답 코드/헤더/본문, 첫 바이트까지의 시간과 전체 소요 시간을 파일 끝에 덧붙입니다.
+ * 재생 모드는 네트워크에 나가지 않고 녹화된 응답을 돌려주며, 녹화 당시 지연을 그대로
+ * 흉내 내거나 지연 없이 바로 응답할 수 있습니다.
+ *
+ * <p>같은 메서드와 URL의 녹화가 여러 개면 본문 해시가 같은 것을 먼저 고르고, 없으면 아직
+ * 쓰지 않은 것 중 가장 먼저 녹화된 것을 씁니다. multipart 경계처럼 실행마다 달라지는 본문도
+ * 녹화 순서대로 재생됩니다. 타임스탬프가 들어간 파일 이름이나 스레드 키처럼 URL이 실행마다
+ * 달라지면, 쿼리를 빼고 경로의 숫자를 지운 경로 패턴이 같은 녹화로 대신합니다.
+ * 그래도 없으면 {@link IOException}으로 실패합니다.
+ *
+ * <p>파일은 헤더 뒤에 {@code [길이][CRC32][레코드]}가 이어지는 구조이며, 압축되지 않은
+ * 텍스트 응답(예: 이미지를 base64로 담은 Gemini JSON)은 deflate로 줄여 저장합니다.
+ * 녹화가 중간에 끊겨 잘린 마지막 레코드는 읽을 때 버립니다.
+ */
+@Slf4j
+public final class HttpCassette implements AutoCloseable {
+
+    private static final int FILE_MAGIC = 0x48435354; // "HCST"
+    private static final int FILE_VERSION = 1;
+    private static final int HEADER_LENGTH = Integer.BYTES * 2;
+    private static final int MAX_RECORD_LENGTH = 256 * 1024 * 1024;
+    private static final int MIN_DEFLATE_LENGTH = 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte STORED = 0;
+    private static final byte DEFLATED = 1;
+    private static final String REDACTED = "***";
+
+    /** 카세트에 남기지 않는 응답 헤더. */
+    private static final List<String> SKIPPED_HEADERS = List.of("set-cookie");
+
+    /** URL 안의 비밀값. 첫 번째 그룹은 남기고 나머지를 가립니다. */
+    private static final List<Pattern> SECRET_PATTERNS = List.of(
+        Pattern.compile("(/bot)[^/]+"),
+        Pattern.compile("(/api/webhooks/\\d+/)[^/?]+"),
+        Pattern.compile("(/services/[^/]+/[^/]+/)[^/?]+"),
+        Pattern.compile("([?&](?:key|token|access_token|api_key)=)[^&]*"));
+
+    /** 스텁 서버처럼 실행마다 바뀌는 루프백 포트는 지문에서 뺍니다. */
+    private static final Pattern LOOPBACK_PORT = Pattern.compile("^(https?://(?:localhost|127\\.0\\.0\\.1)):\\d+");
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+
+    /**
+     * 카세트 동작 방식.
+     */
+    public enum Mode {
+        /** 실제로 요청하고 응답을 녹화합니다. */
+        RECORD,
+        /** 녹화된 응답을 지연 없이 재생합니다. */
+        REPLAY,
+        /** 녹화된 응답을 녹화 당시 지연대로 재생합니다. */
+        REPLAY_REALTIME;
+
+        /**
+         * 설정 문자열을 모드로 바꿉니다. 대소문자와 {@code -}/{@code _}를 구분하지 않습니다.
+         *
+         * @param value 모드 이름 (예: "record", "replay", "replay-realtime")
+         * @return 모드
+         * @throws IllegalArgumentException 알 수 없는 이름일 때
+         */
+        public static Mode parse(String value) {
+            return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * 녹화된 요청 하나.
+     *
+     * @param method           요청 메서드
+     * @param url              비밀값을 가린 요청 URL
+     * @param bodyDigest       요청 본문 SHA-256 (본문이 없으면 빈 본문의 해시)
+     * @param status           응답 코드
+     * @param headers          응답 헤더 (키는 소문자)
+     * @param body             응답 본문 (호출부가 읽은 만큼)
+     * @param firstByteNanos   요청 시작부터 응답 헤더 수신까지의 시간(ns)
+     * @param totalNanos       요청 시작부터 본문 수신 완료까지의 시간(ns)
+     */
+    record Recording(
+            String method,
+            String url,
+            byte[] bodyDigest,
+            int status,
+            Map<String, List<String>> headers,
+            byte[] body,
+            long firstByteNanos,
+            long totalNanos) {
+
+        private Recording withBody(byte[] newBody) {
+            return new Recording(method, url, bodyDigest, status, headers, newBody, firstByteNanos, totalNanos);
+        }
+    }
+
+    private final Mode mode;
+    private final Path file;
+    private final OutputStream out;
+    private final Map<String, List<Slot>> slots = new HashMap<>();
+    private final Map<String, List<Slot>> routes = new HashMap<>();
+    private int size;
+
+    private HttpCassette(Mode mode, Path file, OutputStream out) {
+        this.mode = mode;
+        this.file = file;
+        this.out = out;
+    }
+
+    /**
+     * 카세트를 엽니다. 녹화 모드는 파일 끝에 이어 쓰고, 재생 모드는 파일 전체를 읽어 둡니다.
+     *
+     * @param file 카세트 파일
+     * @param mode 동작 방식
+     * @return 카세트
+     * @throws IOException 파일을 열거나 읽지 못했을 때, 카세트 파일이 아닐 때
+     */
+    public static HttpCassette open(Path file, Mode mode) throws IOException {
+        return mode == Mode.RECORD ? openForRecording(file) : openForReplay(file, mode);
+    }
+
+    /**
+     * 동작 방식을 반환합니다.
+     *
+     * @return 동작 방식
+     */
+    public Mode mode() {
+        return mode;
+    }
+
+    /**
+     * 재생 모드인지 여부를 반환합니다.
+     *
+     * @return 재생 모드이면 {@code true}
+     */
+    public boolean isReplay() {
+        return mode != Mode.RECORD;
+    }
+
+    /**
+     * 녹화 수를 반환합니다. 녹화 모드에서는 이번에 녹화한 수입니다.
+     *
+     * @return 녹화 수
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * 모든 녹화를 다시 쓸 수 있게 합니다. 같은 카세트로 파이프라인을 여러 번 돌릴 때 사용합니다.
+     */
+    public synchronized void rewind() {
+        slots.values().forEach(list -> list.forEach(slot -> slot.used = false));
+    }
+
+    /**
+     * 요청에 맞는 녹화를 찾아 사용한 것으로 표시합니다.
+     *
+     * @param method     요청 메서드
+     * @param url        요청 URL (비밀값은 여기서 가림)
+     * @param bodyDigest 요청 본문 SHA-256
+     * @return 녹화
+     * @throws IOException 맞는 녹화가 없을 때
+     */
+    synchronized Recording find(String method, String url, byte[] bodyDigest) throws IOException {
+        String key = key(method, url);
+        Slot chosen = pick(slots.get(key), bodyDigest);
+        if (chosen == null) {
+            chosen = pick(routes.get(route(key)), bodyDigest);
+        }
+        if (chosen == null) {
+            throw new IOException("카세트에 녹화되지 않은 요청: " + key + " (" + file + ")");
+        }
+        chosen.used = true;
+        return chosen.recording.withBody(inflate(chosen));
+    }
+
+    /**
+     * 응답 하나를 카세트 끝에 덧붙입니다.
+     *
+     * @param method         요청 메서드
+     * @param url            요청 URL (비밀값은 여기서 가림)
+     * @param bodyDigest     요청 본문 SHA-256
+     * @param status         응답 코드
+     * @param headers        응답 헤더 (키는 소문자)
+     * @param body           호출부가 읽은 응답 본문
+     * @param firstByteNanos 응답 헤더 수신까지의 시간(ns)
+     * @param totalNanos     본문 수신 완료까지의 시간(ns)
+     * @throws IOException 쓰기 실패 시
+     */
+    synchronized void append(
+            String method, String url, byte[] bodyDigest, int status, Map<String, List<String>> headers,
+            byte[] body, long firstByteNanos, long totalNanos) throws IOException {
+        boolean deflate = body.length >= MIN_DEFLATE_LENGTH && !headers.containsKey("content-encoding")
+            && isCompressible(firstValue(headers, "content-type"));
+        byte[] stored = deflate ? deflate(body) : body;
+        boolean deflated = stored.length < body.length;
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.min(stored.length, body.length) + 512);
+        DataOutputStream record = new DataOutputStream(buffer);
+        record.writeUTF(method);
+        record.writeUTF(redact(url));
+        record.writeByte(bodyDigest.length);
+        record.write(bodyDigest);
+        record.writeInt(status);
+        record.writeLong(firstByteNanos);
+        record.writeLong(totalNanos);
+        List<Map.Entry<String, String>> pairs = new ArrayList<>();
+        headers.forEach((name, values) -> {
+            if (!SKIPPED_HEADERS.contains(name)) {
+                values.forEach(value -> pairs.add(Map.entry(name, value)));
+            }
+        });
+        record.writeShort(pairs.size());
+        for (Map.Entry<String, String> pair : pairs) {
+            record.writeUTF(pair.getKey());
+            record.writeUTF(pair.getValue());
+        }
+        record.writeByte(deflated ? DEFLATED : STORED);
+        record.writeInt(body.length);
+        byte[] payload = deflated ? stored : body;
+        record.writeInt(payload.length);
+        record.write(payload);
+        record.flush();
+
+        byte[] bytes = buffer.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        DataOutputStream frame = new DataOutputStream(out);
+        frame.writeInt(bytes.length);
+        frame.writeInt((int) crc.getValue());
+        frame.write(bytes);
+        frame.flush();
+        size++;
+    }
+
+    /**
+     * URL에서 토큰/키 같은 비밀값을 가립니다. 카세트 파일은 공유될 수 있으므로 저장 전에 항상 거칩니다.
+     *
+     * @param url 원래 URL
+     * @return 비밀값을 {@code ***}로 바꾼 URL
+     */
+    public static String redact(String url) {
+        String redacted = url;
+        for (Pattern pattern : SECRET_PATTERNS) {
+            redacted = pattern.matcher(redacted).replaceAll("$1" + REDACTED);
+        }
+        return redacted;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            synchronized (this) {
+                out.close();
+            }
+        }
+    }
+
+    private static HttpCassette openForRecording(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+        if (!fresh) {
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+                readHeader(in, file);
+            }
+        }
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(
+            file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND), BUFFER_SIZE);
+        if (fresh) {
+            DataOutputStream header = new DataOutputStream(out);
+            header.writeInt(FILE_MAGIC);
+            header.writeInt(FILE_VERSION);
+            header.flush();
+        }
+        log.info("📼 HTTP 카세트 녹화: {}", file);
+        return new HttpCassette(Mode.RECORD, file, out);
+    }
+
+    private static HttpCassette openForReplay(Path file, Mode mode) throws IOException {
+        HttpCassette cassette = new HttpCassette(mode, file, null);
+        long offset = HEADER_LENGTH;
+        try (DataInputStream in =
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            readHeader(in, file);
+            byte[] record;
+            while ((record = readRecord(in, file, offset)) != null) {
+                Slot slot = parse(record);
+                String key = key(slot.recording.method(), slot.recording.url());
+                cassette.slots.computeIfAbsent(key, k -> new ArrayList<>()).add(slot);
+                cassette.routes.computeIfAbsent(route(key), k -> new ArrayList<>()).add(slot);
+                cassette.size++;
+                offset += Integer.BYTES * 2L + record.length;
+            }
+        }
+        log.info("📼 HTTP 카세트 재생: {} (녹화 {}건, 모드 {})", file, cassette.size, mode);
+        return cassette;
+    }
+
+    private static void readHeader(DataInputStream in, Path file) throws IOException {
+        try {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException("HTTP 카세트 파일이 아닙니다: " + file);
+            }
+            int version = in.readInt();
+            if (version != FILE_VERSION) {
+                throw new IOException("지원하지 않는 HTTP 카세트 버전 " + version + ": " + file);
+            }
+        } catch (EOFException e) {
+            throw new IOException("HTTP 카세트 헤더가 잘렸습니다: " + file, e);
+        }
+    }
+
+    /**
+     * 레코드 하나를 읽습니다. 파일 끝이거나 마지막 레코드가 잘렸거나 깨졌으면 {@code null}입니다.
+     */
+    private static byte[] readRecord(DataInputStream in, Path file, long offset) throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+        try {
+            int length = first << 24 | in.readUnsignedByte() << 16 | in.readUnsignedShort();
+            int checksum = in.readInt();
+            if (length <= 0 || length > MAX_RECORD_LENGTH) {
+                log.warn("HTTP 카세트 레코드 길이 이상, 이후를 무시함: {} (offset {})", file, offset);
+                return null;
+            }
+            byte[] record = new byte[length];
+            in.readFully(record);
+            CRC32 crc = new CRC32();
+            crc.update(record);
+            if ((int) crc.getValue() != checksum) {
+                log.warn("HTTP 카세트 레코드 체크섬 불일치, 이후를 무시함: {} (offset {})", file, offset);
+                return null;
+            }
+            return record;
+        } catch (EOFException e) {
+            log.warn("HTTP 카세트 마지막 레코드가 잘림, 무시함: {} (offset {})", file, offset);
+            return null;
+        }
+    }
+
+    private static Slot parse(byte[] bytes) throws IOException {
+        DataInputStream record = new DataInputStream(new ByteArrayInputStream(bytes));
+        String method = record.readUTF();
+        String url = record.readUTF();
+        byte[] digest = new byte[record.readUnsignedByte()];
+        record.readFully(digest);
+        int status = record.readInt();
+        long firstByteNanos = record.readLong();
+        long totalNanos = record.readLong();
+        int headerCount = record.readUnsignedShort();
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (int i = 0; i < headerCount; i++) {
+            String name = record.readUTF();
+            headers.computeIfAbsent(name, k -> new ArrayList<>()).add(record.readUTF());
+        }
+        headers.replaceAll((name, values) -> List.copyOf(values));
+        boolean deflated = record.readByte() == DEFLATED;
+        int rawLength = record.readInt();
+        byte[] payload = new byte[record.readInt()];
+        record.readFully(payload);
+        Recording recording = new Recording(
+            method, url, digest, status, headers, payload, firstByteNanos, totalNanos);
+        return new Slot(recording, deflated, rawLength);
+    }
+
+    /**
+     * 아직 쓰지 않은 녹화 중 본문 해시가 같은 것을, 없으면 가장 먼저 녹화된 것을 고릅니다.
+     */
+    private static Slot pick(List<Slot> candidates, byte[] bodyDigest) {
+        if (candidates == null) {
+            return null;
+        }
+        Slot first = null;
+        for (Slot slot : candidates) {
+            if (!slot.used) {
+                if (Arrays.equals(slot.recording.bodyDigest(), bodyDigest)) {
+                    return slot;
+                }
+                if (first == null) {
+                    first = slot;
+                }
+            }
+        }
+        return first;
+    }
+
+    private static String key(String method, String url) {
+        return method + " " + LOOPBACK_PORT.matcher(redact(url)).replaceFirst("$1");
+    }
+
+    private static String route(String key) {
+        int query = key.indexOf('?');
+        return DIGITS.matcher(query >= 0 ? key.substring(0, query) : key).replaceAll("#");
+    }
+
+    private static boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return true;
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        return type.startsWith("text/") || type.contains("json") || type.contains("xml")
+            || type.contains("javascript") || type.contains("x-www-form-urlencoded");
+    }
+
+    private static String firstValue(Map<String, List<String>> headers, String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * 녹화 본문을 원래대로 풉니다. 재생할 때마다 풀어서 메모리에는 압축된 본문만 둡니다.
+     */
+    private static byte[] inflate(Slot slot) throws IOException {
+        byte[] payload = slot.recording.body();
+        if (!slot.deflated) {
+            return payload;
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(payload);
+            byte[] body = new byte[slot.rawLength];
+            int offset = 0;
+            while (offset < body.length && !inflater.finished()) {
+                int n = inflater.inflate(body, offset, body.length - offset);
+                if (n == 0 && inflater.needsInput()) {
+                    throw new IOException("HTTP 카세트 본문이 잘렸습니다: " + slot.recording.url());
+                }
+                offset += n;
+            }
+            return body;
+        } catch (DataFormatException e) {
+            throw new IOException("HTTP 카세트 본문 압축 해제 실패: " + slot.recording.url(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 재생 대기 중인 녹화와 사용 여부.
+     */
+    private static final class Slot {
+
+        private final Recording recording;
+        private final boolean deflated;
+        private final int rawLength;
+        private boolean used;
+
+        private Slot(Recording recording, boolean deflated, int rawLength) {
+            this.recording = recording;
+            this.deflated = deflated;
+            this.rawLength = rawLength;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package analysislunch.utils;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * HTTP 응답 코드, 본문, 헤더를 담는 불변 레코드.
+ *
+ * @param status  응답 코드
+ * @param body    응답 본문 문자열 (UTF-8)
+ * @param headers 응답 헤더 (키는 소문자, 상태 줄 제외)
+ */
+public record HttpResponse(int status, String body, Map<String, List<String>> headers) {
+
+    private static final int HTTP_SUCCESS_MIN = 200;
+    private static final int HTTP_SUCCESS_MAX = 299;
+
+    /**
+     * 응답 코드가 2xx인지 확인합니다.
+     *
+     * @return 2xx이면 {@code true}
+     */
+    public boolean isSuccessful() {
+        return status >= HTTP_SUCCESS_MIN && status <= HTTP_SUCCESS_MAX;
+    }
+
+    /**
+     * 헤더의 첫 번째 값을 반환합니다 (대소문자 무시).
+     *
+     * @param name 헤더 이름
+     * @return 헤더 값, 없으면 {@code null}
+     */
+    public String header(String name) {
+        List<String> values = headers.get(name.toLowerCase(Locale.ROOT));
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+}
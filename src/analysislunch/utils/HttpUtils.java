@@ -1,22 +1,59 @@
 package analysislunch.utils;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.io.Reader;
 import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.SocketTimeoutException;
 import java.net.URL;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPInputStream;
+
+import javax.net.ssl.HttpsURLConnection;
 
 import lombok.extern.slf4j.Slf4j;
 
+import analysislunch.infrastructure.metrics.Histogram;
+import analysislunch.infrastructure.metrics.MetricsRegistry;
+
 /**
  * HTTP 요청을 수행하는 유틸리티 클래스.
  *
  * <p>GET, POST(JSON), 바이너리 업로드 등의 공통 HTTP 작업을 제공합니다.
+ * 모든 요청은 {@code exchange}를 거치며, 호스트별 요청 수/지연/송수신 바이트와
+ * DNS·연결·TLS·TTFB·수신 구간 시간이 {@link MetricsRegistry#global()}에 기록되고
+ * 요청별 샘플은 {@link WireTimingRecorder}에 남습니다.
+ * {@link #useCassette(HttpCassette)}로 카세트를 설치하면 요청/응답을 녹화하거나
+ * 네트워크 없이 녹화된 응답을 재생합니다.
+ *
+ * <p>모든 요청에는 연결/읽기 제한 시간이 걸립니다. 현재 스레드에 {@link Deadline}이 있으면 기본값과
+ * 남은 시간 중 짧은 쪽을 쓰고, 기한이 이미 지났으면 요청을 보내지 않습니다. 읽기 제한 시간은
+ * 읽기 한 번마다 적용되므로, 본문을 조금씩 오래 보내는 응답은 기한을 다소 넘길 수 있습니다.
+ *
+ * <p>호스트마다 {@link CircuitBreaker}를 두어, 최근 실패가 많은 호스트로의 요청은 네트워크에 나가지 않고
+ * {@link CircuitOpenException}으로 바로 끝냅니다. 회로 상태는 모든 클라이언트가 공유합니다. 경로가
+ * {@code 리소스:메서드} 형식인 Google API 요청(예: Gemini {@code /models/{모델}:generateContent})은 리소스마다
+ * 회로를 따로 두므로, 모델 하나가 과부하로 실패해도 같은 호스트의 다른 모델 호출은 막히지 않습니다.
  */
 @Slf4j
 public class HttpUtils {
@@ -24,11 +61,43 @@ public class HttpUtils {
     private static final int BUFFER_SIZE = 8192;
     private static final int HTTP_OK = 200;
     private static final int HTTP_ERROR_THRESHOLD = 400;
+    private static final int HTTP_SERVER_ERROR_THRESHOLD = 500;
+    private static final int DEFAULT_CONNECT_TIMEOUT_MS = 10_000;
+    private static final int DEFAULT_READ_TIMEOUT_MS = 120_000;
+
+    private static final String METRIC_REQUESTS = "http_client_requests_total";
+    private static final String METRIC_DURATION = "http_client_request_duration_seconds";
+    private static final String METRIC_SENT_BYTES = "http_client_sent_bytes_total";
+    private static final String METRIC_RECEIVED_BYTES = "http_client_received_bytes_total";
+    private static final String METRIC_PHASE_DURATION = "http_client_phase_duration_seconds";
+    private static final String STATUS_IO_ERROR = "io_error";
+    private static final String GZIP_ENCODING = "gzip";
+    private static final String CHARSET_PARAMETER = "charset=";
+
+    /** keep-alive 캐시가 팩토리 동일성으로 연결을 찾으므로 모든 HTTPS 요청에 같은 인스턴스를 씁니다. */
+    private static final TimingSslSocketFactory TIMING_SSL_FACTORY =
+        new TimingSslSocketFactory(HttpsURLConnection.getDefaultSSLSocketFactory());
+
+    private static final ConcurrentMap<String, CircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+
+    private static volatile HttpCassette cassette;
 
     private HttpUtils() {
         // 유틸리티 클래스 - 인스턴스화 금지
     }
 
+    /**
+     * 이후 모든 요청이 거칠 HTTP 카세트를 설치합니다.
+     *
+     * <p>녹화 카세트는 실제 요청의 응답을 파일에 덧붙이고, 재생 카세트는 네트워크에 나가지 않고
+     * 녹화된 응답을 돌려줍니다. 재생 중에도 구간 측정과 메트릭은 평소처럼 기록됩니다.
+     *
+     * @param httpCassette 설치할 카세트 ({@code null}이면 해제)
+     */
+    public static void useCassette(HttpCassette httpCassette) {
+        cassette = httpCassette;
+    }
+
     /**
      * Bearer 토큰 인증을 포함한 GET 요청을 수행합니다.
      *
@@ -43,27 +112,36 @@ public class HttpUtils {
         if (token != null) {
             conn.setRequestProperty("Authorization", "Bearer " + token);
         }
-        return readResponse(conn);
+        return exchange(conn, -1, null).body();
     }
 
     /**
-     * 브라우저 User-Agent를 포함한 HTML 페이지 GET 요청을 수행합니다.
+     * HTML 페이지를 문자열로 모으지 않고 문자 스트림으로 {@code reader}에 넘깁니다.
+     *
+     * <p>gzip 전송을 요청하고 {@code Content-Type}의 charset(없으면 UTF-8)으로 디코딩합니다.
+     * {@code reader}가 필요한 부분만 읽고 반환하면 나머지 본문은 받지 않고 연결을 닫습니다.
+     * keep-alive 연결은 닫을 때 남은 본문을 백그라운드에서 끝까지 비우므로, 이 요청은
+     * {@code Connection: close}로 보내 연결을 재사용하지 않습니다.
      *
      * @param urlStr 요청 URL
-     * @return HTML 응답 본문 문자열
-     * @throws IOException 네트워크 오류 또는 응답 읽기 실패 시
+     * @param reader 본문 처리기
+     * @param <T>    처리 결과 타입
+     * @return {@code reader}의 처리 결과
+     * @throws IOException 네트워크 오류, 응답 코드가 400 이상이거나 읽기 실패 시
      */
-    public static String getHtml(String urlStr) throws IOException {
-        HttpURLConnection conn = (HttpURLConnection) new URL(urlStr).openConnection();
-        conn.setRequestMethod("GET");
-        conn.setRequestProperty(
-            "User-Agent",
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36"
-        );
-        conn.setRequestProperty("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8");
-        conn.setRequestProperty("Accept-Language", "ko-KR,ko;q=0.9,en-US;q=0.8,en;q=0.7");
-        conn.setInstanceFollowRedirects(true);
-        return readResponse(conn);
+    public static <T> T streamHtml(String urlStr, HtmlReader<T> reader) throws IOException {
+        HttpURLConnection conn = openHtml(urlStr);
+        conn.setRequestProperty("Accept-Encoding", "gzip");
+        conn.setRequestProperty("Connection", "close");
+        return exchange(conn, -1, null, (status, headers, in) -> {
+            if (status >= HTTP_ERROR_THRESHOLD) {
+                throw new IOException("페이지 요청 실패 (응답 코드: " + status + "): " + urlStr);
+            }
+            InputStream body = GZIP_ENCODING.equalsIgnoreCase(firstHeader(headers, "content-encoding"))
+                ? new GZIPInputStream(in, BUFFER_SIZE)
+                : in;
+            return reader.read(new InputStreamReader(body, charsetOf(firstHeader(headers, "content-type"))));
+        });
     }
 
     /**
@@ -84,10 +162,11 @@ public class HttpUtils {
         }
         conn.setRequestProperty("Content-Type", "application/json; charset=UTF-8");
 
-        try (OutputStream os = conn.getOutputStream()) {
-            os.write(jsonBody.getBytes(StandardCharsets.UTF_8));
-        }
-        return readResponse(conn);
+        byte[] payload = jsonBody.getBytes(StandardCharsets.UTF_8);
+        return exchange(conn, payload.length, os -> {
+            os.write(payload);
+            return payload.length;
+        }).body();
     }
 
     /**
@@ -103,16 +182,7 @@ public class HttpUtils {
         conn.setDoOutput(true);
         conn.setRequestProperty("Content-Type", "application/octet-stream");
 
-        try (OutputStream os = conn.getOutputStream();
-             BufferedInputStream bis = new BufferedInputStream(new FileInputStream(file))) {
-            byte[] buffer = new byte[BUFFER_SIZE];
-            int bytesRead;
-            while ((bytesRead = bis.read(buffer)) != -1) {
-                os.write(buffer, 0, bytesRead);
-            }
-        }
-
-        int responseCode = conn.getResponseCode();
+        int responseCode = exchange(conn, file.length(), os -> copyFile(file, os)).status();
         if (responseCode != HTTP_OK) {
             log.error("바이너리 업로드 실패 (응답 코드: {})", responseCode);
             throw new IOException("바이너리 업로드 실패 (응답 코드: " + responseCode + ")");
@@ -120,99 +190,550 @@ public class HttpUtils {
     }
 
     /**
-     * multipart/form-data 형식으로 텍스트 필드와 단일 파일을 POST합니다.
+     * multipart/form-data 본문을 POST합니다.
      *
-     * <p>Telegram {@code sendPhoto}, Discord Webhook 등 파일 첨부가 필요한
-     * API에 사용합니다. 외부에 공개된 이미지 URL에 의존하지 않고 로컬 파일을
-     * 직접 업로드하므로 CDN 전파 지연의 영향을 받지 않습니다.
+     * <p>Discord Webhook 등 파일 첨부가 필요한 API에 사용합니다. 외부에 공개된 이미지
+     * URL에 의존하지 않고 로컬 파일을 직접 업로드하므로 CDN 전파 지연의 영향을 받지 않습니다.
      *
-     * @param urlStr        요청 URL
-     * @param fields        폼 텍스트 필드 (key/value)
-     * @param fileFieldName 파일 파트의 필드명 (예: Telegram "photo", Discord "file")
-     * @param file          업로드할 파일
-     * @param fileContentType 파일 파트의 Content-Type (예: "image/png")
+     * @param urlStr 요청 URL
+     * @param body   요청 본문
      * @return 응답 본문 문자열
      * @throws IOException 네트워크 오류 또는 응답 코드가 200대가 아닐 때
      */
-    public static String postMultipart(
-            String urlStr,
-            java.util.Map<String, String> fields,
-            String fileFieldName,
-            File file,
-            String fileContentType) throws IOException {
-        String boundary = "----analysisLunchBoundary" + Long.toHexString(file.length());
-        String lineEnd = "\r\n";
-        String twoHyphens = "--";
+    public static String postMultipart(String urlStr, MultipartBody body) throws IOException {
+        HttpResponse response = sendMultipart(urlStr, body);
+        if (response.status() >= HTTP_ERROR_THRESHOLD) {
+            throw new IOException(
+                "multipart 업로드 실패 (응답 코드: " + response.status() + "): " + response.body());
+        }
+        return response.body();
+    }
 
+    /**
+     * multipart/form-data 본문을 POST하고 응답 코드/본문/헤더를 그대로 반환합니다.
+     *
+     * <p>본문 길이를 미리 계산해 고정 길이 스트리밍으로 보내므로 파일 파트가 메모리에
+     * 버퍼링되지 않습니다. 응답 코드에 따른 예외 처리는 호출부의 몫입니다.
+     *
+     * @param urlStr 요청 URL
+     * @param body   요청 본문
+     * @return 응답
+     * @throws IOException 네트워크 오류 또는 응답 읽기 실패 시
+     */
+    public static HttpResponse sendMultipart(String urlStr, MultipartBody body) throws IOException {
         HttpURLConnection conn = (HttpURLConnection) new URL(urlStr).openConnection();
         conn.setRequestMethod("POST");
         conn.setDoOutput(true);
-        conn.setRequestProperty("Content-Type", "multipart/form-data; boundary=" + boundary);
-
-        try (OutputStream os = conn.getOutputStream();
-             BufferedInputStream bis = new BufferedInputStream(new FileInputStream(file))) {
-            // 텍스트 필드
-            if (fields != null) {
-                for (java.util.Map.Entry<String, String> entry : fields.entrySet()) {
-                    StringBuilder part = new StringBuilder();
-                    part.append(twoHyphens).append(boundary).append(lineEnd);
-                    part.append("Content-Disposition: form-data; name=\"")
-                        .append(entry.getKey()).append("\"").append(lineEnd);
-                    part.append("Content-Type: text/plain; charset=UTF-8").append(lineEnd);
-                    part.append(lineEnd).append(entry.getValue()).append(lineEnd);
-                    os.write(part.toString().getBytes(StandardCharsets.UTF_8));
+        conn.setRequestProperty("Content-Type", body.contentType());
+        return exchange(conn, body.contentLength(), body::writeTo);
+    }
+
+    /**
+     * 임의의 메서드와 헤더로 요청을 보내고 응답 코드/본문/헤더를 그대로 반환합니다.
+     *
+     * <p>응답 코드에 따른 예외 처리는 호출부의 몫입니다.
+     *
+     * @param method  HTTP 메서드 (예: "GET", "PUT")
+     * @param urlStr  요청 URL
+     * @param headers 요청 헤더 (null 허용)
+     * @param body    요청 본문 문자열 (본문이 없으면 {@code null})
+     * @return 응답
+     * @throws IOException 네트워크 오류 또는 응답 읽기 실패 시
+     */
+    public static HttpResponse send(String method, String urlStr, Map<String, String> headers, String body)
+            throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL(urlStr).openConnection();
+        conn.setRequestMethod(method);
+        if (headers != null) {
+            headers.forEach(conn::setRequestProperty);
+        }
+        if (body == null) {
+            return exchange(conn, -1, null);
+        }
+        conn.setDoOutput(true);
+        byte[] payload = body.getBytes(StandardCharsets.UTF_8);
+        return exchange(conn, payload.length, os -> {
+            os.write(payload);
+            return payload.length;
+        });
+    }
+
+    /**
+     * URL의 내용을 파일로 내려받습니다. 본문은 메모리에 모으지 않고 파일로 바로 씁니다.
+     *
+     * @param urlStr      다운로드 URL
+     * @param destination 저장할 파일
+     * @throws IOException 네트워크 오류 또는 응답 코드가 400 이상일 때
+     */
+    public static void download(String urlStr, File destination) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL(urlStr).openConnection();
+        conn.setRequestMethod("GET");
+        conn.setInstanceFollowRedirects(true);
+        int responseCode = exchange(conn, -1, null, (status, headers, in) -> {
+            if (status >= HTTP_ERROR_THRESHOLD) {
+                return status;
+            }
+            try (OutputStream out = new FileOutputStream(destination)) {
+                in.transferTo(out);
+            }
+            return status;
+        });
+        if (responseCode >= HTTP_ERROR_THRESHOLD) {
+            throw new IOException("다운로드 실패 (응답 코드: " + responseCode + "): " + urlStr);
+        }
+    }
+
+    /**
+     * 요청 본문을 전송하고 응답을 문자열로 읽습니다.
+     *
+     * @param conn          요청 메서드/헤더가 설정된 {@link HttpURLConnection}
+     * @param contentLength 본문 길이 (알 수 없으면 -1, 본문이 없으면 무시)
+     * @param body          요청 본문 작성기 (본문이 없으면 {@code null})
+     * @return 응답 코드, 본문, 헤더
+     * @throws IOException 네트워크 오류 또는 응답 읽기 실패 시
+     */
+    private static HttpResponse exchange(HttpURLConnection conn, long contentLength, BodyWriter body)
+            throws IOException {
+        return exchange(conn, contentLength, body, (status, headers, in) ->
+            new HttpResponse(status, new String(in.readAllBytes(), StandardCharsets.UTF_8), headers));
+    }
+
+    /**
+     * 요청 본문을 전송하고 응답 스트림을 {@code reader}로 처리합니다.
+     *
+     * <p>DNS 조회, TCP 연결, TLS 핸드셰이크, 요청 전송, 첫 바이트 대기, 본문 수신 구간을
+     * 각각 측정하여 {@link WireTimingRecorder}에 샘플로 남기고, 호스트별 메트릭을
+     * {@link MetricsRegistry#global()}에 기록합니다. 길이를 아는 본문은 고정 길이
+     * 스트리밍 모드로 보내 {@link HttpURLConnection}의 메모리 버퍼링을 피합니다.
+     *
+     * @param conn          요청 메서드/헤더가 설정된 {@link HttpURLConnection}
+     * @param contentLength 본문 길이 (알 수 없으면 -1, 본문이 없으면 무시)
+     * @param body          요청 본문 작성기 (본문이 없으면 {@code null})
+     * @param reader        응답 처리기 (오류 응답이면 에러 스트림이 전달됨)
+     * @param <T>           처리 결과 타입
+     * @return {@code reader}의 처리 결과
+     * @throws IOException 네트워크 오류 또는 응답 읽기 실패 시
+     */
+    private static <T> T exchange(
+            HttpURLConnection conn, long contentLength, BodyWriter body, ResponseReader<T> reader)
+            throws IOException {
+        boolean deadlineCapped = applyTimeouts(conn);
+        HttpCassette active = cassette;
+        if (active != null && active.isReplay()) {
+            return replay(active, conn, body, reader);
+        }
+        String method = conn.getRequestMethod();
+        String host = conn.getURL().getHost();
+        CircuitBreaker breaker = BREAKERS.computeIfAbsent(circuitKey(conn.getURL()), CircuitBreaker::new);
+        boolean probe = breaker.acquire();
+        CircuitBreaker.Outcome outcome = CircuitBreaker.Outcome.FAILURE;
+        String operation = WireTimingRecorder.currentOperation("http." + method.toLowerCase(Locale.ROOT));
+        MessageDigest bodyDigest = active != null ? HashUtils.sha256() : null;
+        boolean https = conn instanceof HttpsURLConnection;
+        long epochMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        long dnsDone = 0;
+        long connected = 0;
+        long tcpConnected = 0;
+        long sendDone = 0;
+        long headersReceived = 0;
+        long sent = 0;
+        int responseCode = -1;
+        CountingInputStream counter = null;
+        try {
+            // JVM DNS 캐시를 미리 채워 두므로 connect() 안의 조회는 캐시 적중이 됩니다.
+            InetAddress.getAllByName(host);
+            dnsDone = System.nanoTime();
+
+            if (https) {
+                TimingSslSocketFactory.reset();
+                ((HttpsURLConnection) conn).setSSLSocketFactory(TIMING_SSL_FACTORY);
+            }
+            if (body != null && contentLength >= 0) {
+                conn.setFixedLengthStreamingMode(contentLength);
+            }
+            conn.connect();
+            connected = System.nanoTime();
+            tcpConnected = https ? TimingSslSocketFactory.tcpConnectedAt() : connected;
+
+            if (body != null) {
+                try (OutputStream os = conn.getOutputStream()) {
+                    sent = body.writeTo(bodyDigest != null ? new DigestOutputStream(os, bodyDigest) : os);
+                }
+            }
+            sendDone = System.nanoTime();
+
+            responseCode = conn.getResponseCode();
+            headersReceived = System.nanoTime();
+            outcome = responseCode >= HTTP_SERVER_ERROR_THRESHOLD
+                ? CircuitBreaker.Outcome.FAILURE
+                : CircuitBreaker.Outcome.SUCCESS;
+
+            InputStream stream = responseCode >= HTTP_ERROR_THRESHOLD
+                ? conn.getErrorStream()
+                : conn.getInputStream();
+            counter = new CountingInputStream(stream != null ? stream : InputStream.nullInputStream());
+            Map<String, List<String>> headers = normalizeHeaders(conn);
+            ByteArrayOutputStream captured = active != null ? new ByteArrayOutputStream() : null;
+            try (InputStream in = captured != null ? new TeeInputStream(counter, captured) : counter) {
+                return reader.read(responseCode, headers, in);
+            } finally {
+                if (captured != null) {
+                    // 처리기가 예외로 끝나도 응답 자체는 재생할 수 있도록 남깁니다.
+                    recordToCassette(active, conn, bodyDigest.digest(), responseCode, headers, captured.toByteArray(),
+                        headersReceived - start, System.nanoTime() - start);
                 }
             }
+        } catch (SocketTimeoutException e) {
+            if (deadlineCapped && responseCode < 0) {
+                // 실행 기한 때문에 줄인 제한 시간에 걸렸으면 호스트 실패로 보지 않습니다.
+                outcome = CircuitBreaker.Outcome.IGNORED;
+            }
+            throw e;
+        } finally {
+            breaker.record(outcome, probe);
+            long end = System.nanoTime();
+            long received = counter != null ? counter.count : 0L;
+            boolean reused = https && connected != 0 && tcpConnected == 0;
+            WireTiming timing = new WireTiming(
+                epochMillis, operation, method, host, responseCode,
+                span(start, dnsDone),
+                reused ? 0L : span(dnsDone, tcpConnected),
+                https && !reused ? span(tcpConnected, connected) : 0L,
+                span(connected, sendDone),
+                span(sendDone, headersReceived),
+                headersReceived != 0 ? end - headersReceived : 0L,
+                end - start,
+                sent, received, reused);
+            WireTimingRecorder.record(timing);
+            recordMetrics(timing);
+        }
+    }
 
-            // 파일 파트 헤더
-            StringBuilder fileHeader = new StringBuilder();
-            fileHeader.append(twoHyphens).append(boundary).append(lineEnd);
-            fileHeader.append("Content-Disposition: form-data; name=\"")
-                .append(fileFieldName).append("\"; filename=\"")
-                .append(file.getName()).append("\"").append(lineEnd);
-            fileHeader.append("Content-Type: ").append(fileContentType).append(lineEnd);
-            fileHeader.append(lineEnd);
-            os.write(fileHeader.toString().getBytes(StandardCharsets.UTF_8));
+    /**
+     * 네트워크에 나가지 않고 카세트에 녹화된 응답을 {@code reader}에 넘깁니다.
+     *
+     * <p>요청 본문은 녹화를 고르는 해시 계산에만 쓰입니다. {@link HttpCassette.Mode#REPLAY_REALTIME}이면
+     * 녹화 당시의 첫 바이트 시간과 전체 소요 시간만큼 기다립니다. 구간 측정값에는 연결 관련 구간이 없습니다.
+     */
+    private static <T> T replay(
+            HttpCassette active, HttpURLConnection conn, BodyWriter body, ResponseReader<T> reader)
+            throws IOException {
+        String method = conn.getRequestMethod();
+        String host = conn.getURL().getHost();
+        String operation = WireTimingRecorder.currentOperation("http." + method.toLowerCase(Locale.ROOT));
+        boolean realtime = active.mode() == HttpCassette.Mode.REPLAY_REALTIME;
+        long epochMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        long sendDone = 0;
+        long headersReceived = 0;
+        long sent = 0;
+        int responseCode = -1;
+        CountingInputStream counter = null;
+        try {
+            MessageDigest bodyDigest = HashUtils.sha256();
+            if (body != null) {
+                sent = body.writeTo(new DigestOutputStream(OutputStream.nullOutputStream(), bodyDigest));
+            }
+            sendDone = System.nanoTime();
+            HttpCassette.Recording recording = active.find(method, conn.getURL().toString(), bodyDigest.digest());
+            if (realtime) {
+                sleepUntil(start + recording.firstByteNanos());
+            }
+            responseCode = recording.status();
+            headersReceived = System.nanoTime();
 
-            // 파일 바이너리
+            counter = new CountingInputStream(new ByteArrayInputStream(recording.body()));
+            try (InputStream in = counter) {
+                T result = reader.read(responseCode, recording.headers(), in);
+                if (realtime) {
+                    sleepUntil(start + recording.totalNanos());
+                }
+                return result;
+            }
+        } finally {
+            long end = System.nanoTime();
+            WireTiming timing = new WireTiming(
+                epochMillis, operation, method, host, responseCode,
+                0L, 0L, 0L,
+                span(start, sendDone),
+                span(sendDone, headersReceived),
+                headersReceived != 0 ? end - headersReceived : 0L,
+                end - start,
+                sent, counter != null ? counter.count : 0L, true);
+            WireTimingRecorder.record(timing);
+            recordMetrics(timing);
+        }
+    }
+
+    /**
+     * 응답을 카세트에 남깁니다. 카세트 쓰기 실패는 실제 요청 결과에 영향을 주지 않습니다.
+     */
+    private static void recordToCassette(
+            HttpCassette active, HttpURLConnection conn, byte[] bodyDigest, int status,
+            Map<String, List<String>> headers, byte[] body, long firstByteNanos, long totalNanos) {
+        try {
+            active.append(conn.getRequestMethod(), conn.getURL().toString(), bodyDigest, status, headers, body,
+                firstByteNanos, totalNanos);
+        } catch (IOException e) {
+            log.warn("HTTP 카세트 녹화 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 요청의 연결/읽기 제한 시간을 기본값과 현재 {@link Deadline}의 남은 시간 중 짧은 쪽으로 정합니다.
+     *
+     * @return 기한 때문에 기본값보다 짧게 정했으면 {@code true}
+     * @throws DeadlineExceededException 기한이 이미 지났을 때
+     */
+    private static boolean applyTimeouts(HttpURLConnection conn) throws DeadlineExceededException {
+        Deadline.check(conn.getRequestMethod() + " " + conn.getURL().getHost());
+        long readTimeout = Deadline.cap(DEFAULT_READ_TIMEOUT_MS);
+        // 0은 무제한이므로 그 사이 기한이 지났어도 최소 1ms로 둡니다.
+        conn.setConnectTimeout((int) Math.max(1L, Deadline.cap(DEFAULT_CONNECT_TIMEOUT_MS)));
+        conn.setReadTimeout((int) Math.max(1L, readTimeout));
+        return readTimeout < DEFAULT_READ_TIMEOUT_MS;
+    }
+
+    /**
+     * 요청이 쓸 회로의 이름을 정합니다. 경로의 마지막 구간이 {@code 리소스:메서드} 형식이면 리소스 경로까지,
+     * 아니면 호스트만 씁니다.
+     */
+    private static String circuitKey(URL url) {
+        String path = url.getPath();
+        int verb = path.lastIndexOf(':');
+        return verb > path.lastIndexOf('/') ? url.getHost() + path.substring(0, verb) : url.getHost();
+    }
+
+    /**
+     * 녹화 당시 시각까지 기다립니다. 현재 {@link Deadline}이 먼저 오면 실제 요청처럼 읽기 제한 시간 초과로 끝납니다.
+     */
+    private static void sleepUntil(long targetNanos) throws InterruptedIOException {
+        long remaining = targetNanos - System.nanoTime();
+        if (remaining <= 0) {
+            return;
+        }
+        long waitMillis = (remaining + 999_999L) / 1_000_000L;
+        long allowedMillis = Deadline.cap(waitMillis);
+        try {
+            Thread.sleep(allowedMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("HTTP 카세트 재생 대기 중 인터럽트");
+        }
+        if (allowedMillis < waitMillis) {
+            throw new SocketTimeoutException("Read timed out (HTTP 카세트 재생 중 실행 기한 초과)");
+        }
+    }
+
+    private static HttpURLConnection openHtml(String urlStr) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL(urlStr).openConnection();
+        conn.setRequestMethod("GET");
+        conn.setRequestProperty(
+            "User-Agent",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36"
+        );
+        conn.setRequestProperty("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8");
+        conn.setRequestProperty("Accept-Language", "ko-KR,ko;q=0.9,en-US;q=0.8,en;q=0.7");
+        conn.setInstanceFollowRedirects(true);
+        return conn;
+    }
+
+    private static String firstHeader(Map<String, List<String>> headers, String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * {@code Content-Type}의 charset 매개변수를 해석합니다. 없거나 지원하지 않으면 UTF-8입니다.
+     */
+    private static Charset charsetOf(String contentType) {
+        if (contentType != null) {
+            for (String parameter : contentType.split(";")) {
+                String trimmed = parameter.trim();
+                if (trimmed.regionMatches(true, 0, CHARSET_PARAMETER, 0, CHARSET_PARAMETER.length())) {
+                    String name = trimmed.substring(CHARSET_PARAMETER.length()).replace("\"", "");
+                    try {
+                        return Charset.forName(name);
+                    } catch (IllegalArgumentException e) {
+                        log.debug("알 수 없는 charset, UTF-8로 읽음: {}", name);
+                    }
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static Map<String, List<String>> normalizeHeaders(HttpURLConnection conn) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> entry : conn.getHeaderFields().entrySet()) {
+            if (entry.getKey() != null) {
+                headers.put(entry.getKey().toLowerCase(Locale.ROOT), entry.getValue());
+            }
+        }
+        return headers;
+    }
+
+    private static long span(long from, long to) {
+        return from != 0 && to != 0 ? Math.max(0L, to - from) : 0L;
+    }
+
+    private static void recordMetrics(WireTiming timing) {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        String method = timing.method();
+        String host = timing.host();
+        String status = timing.status() < 0 ? STATUS_IO_ERROR : Integer.toString(timing.status());
+        metrics.counter(METRIC_REQUESTS, "HTTP 클라이언트 요청 수",
+            "method", method, "host", host, "status", status).increment();
+        metrics.histogram(METRIC_DURATION, "HTTP 클라이언트 요청 소요 시간",
+            Histogram.Unit.SECONDS, "method", method, "host", host).record(timing.totalNanos());
+        recordPhase(metrics, host, "dns", timing.dnsNanos());
+        recordPhase(metrics, host, "connect", timing.connectNanos());
+        recordPhase(metrics, host, "tls", timing.tlsNanos());
+        recordPhase(metrics, host, "first_byte", timing.firstByteNanos());
+        recordPhase(metrics, host, "transfer", timing.transferNanos());
+        metrics.counter(METRIC_SENT_BYTES, "HTTP 클라이언트 송신 본문 바이트", "host", host)
+            .add(timing.requestBytes());
+        metrics.counter(METRIC_RECEIVED_BYTES, "HTTP 클라이언트 수신 본문 바이트", "host", host)
+            .add(timing.responseBytes());
+    }
+
+    private static void recordPhase(MetricsRegistry metrics, String host, String phase, long nanos) {
+        metrics.histogram(METRIC_PHASE_DURATION, "HTTP 클라이언트 구간별 소요 시간",
+            Histogram.Unit.SECONDS, "host", host, "phase", phase).record(nanos);
+    }
+
+    private static long copyFile(File file, OutputStream os) throws IOException {
+        long written = 0;
+        try (BufferedInputStream bis = new BufferedInputStream(new FileInputStream(file))) {
             byte[] buffer = new byte[BUFFER_SIZE];
             int bytesRead;
             while ((bytesRead = bis.read(buffer)) != -1) {
                 os.write(buffer, 0, bytesRead);
+                written += bytesRead;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * 요청 본문을 출력 스트림에 쓰는 함수.
+     */
+    @FunctionalInterface
+    private interface BodyWriter {
+
+        /**
+         * 본문을 씁니다.
+         *
+         * @param os 연결의 출력 스트림
+         * @return 쓴 바이트 수
+         * @throws IOException 쓰기 실패 시
+         */
+        long writeTo(OutputStream os) throws IOException;
+    }
+
+    /**
+     * HTML 본문 문자 스트림을 받아 결과를 만드는 함수.
+     *
+     * @param <T> 처리 결과 타입
+     */
+    @FunctionalInterface
+    public interface HtmlReader<T> {
+
+        /**
+         * 본문을 처리합니다. 끝까지 읽지 않고 반환해도 됩니다.
+         *
+         * @param body 디코딩된 본문 문자 스트림
+         * @return 처리 결과
+         * @throws IOException 읽기 실패 시
+         */
+        T read(Reader body) throws IOException;
+    }
+
+    /**
+     * 응답 코드/헤더와 본문 스트림을 받아 결과를 만드는 함수.
+     *
+     * @param <T> 처리 결과 타입
+     */
+    @FunctionalInterface
+    private interface ResponseReader<T> {
+
+        /**
+         * 응답을 처리합니다.
+         *
+         * @param status  응답 코드
+         * @param headers 응답 헤더 (키는 소문자)
+         * @param in      응답 본문 스트림 (오류 응답이면 에러 스트림)
+         * @return 처리 결과
+         * @throws IOException 읽기 실패 시
+         */
+        T read(int status, Map<String, List<String>> headers, InputStream in) throws IOException;
+    }
+
+    /**
+     * 읽은 바이트를 그대로 복사해 두는 입력 스트림. 카세트 녹화에 사용합니다.
+     */
+    private static final class TeeInputStream extends FilterInputStream {
+
+        private final OutputStream copy;
+
+        private TeeInputStream(InputStream in, OutputStream copy) {
+            super(in);
+            this.copy = copy;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                copy.write(b);
             }
+            return b;
+        }
 
-            // 종료 경계
-            os.write((lineEnd + twoHyphens + boundary + twoHyphens + lineEnd)
-                .getBytes(StandardCharsets.UTF_8));
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                copy.write(buffer, offset, n);
+            }
+            return n;
         }
 
-        int responseCode = conn.getResponseCode();
-        String response = readResponse(conn);
-        if (responseCode >= HTTP_ERROR_THRESHOLD) {
-            throw new IOException("multipart 업로드 실패 (응답 코드: " + responseCode + "): " + response);
+        @Override
+        public long skip(long n) throws IOException {
+            // 건너뛴 바이트도 재생할 본문에 있어야 하므로 읽어서 버립니다.
+            return Math.max(0, read(new byte[(int) Math.min(n, BUFFER_SIZE)]));
         }
-        return response;
     }
 
     /**
-     * HTTP 응답 본문을 문자열로 읽습니다.
-     *
-     * @param conn 연결된 {@link HttpURLConnection}
-     * @return 응답 본문 문자열
-     * @throws IOException 응답 읽기 실패 시
-     */
-    private static String readResponse(HttpURLConnection conn) throws IOException {
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(
-                conn.getResponseCode() >= HTTP_ERROR_THRESHOLD
-                    ? conn.getErrorStream()
-                    : conn.getInputStream(),
-                StandardCharsets.UTF_8))) {
-            StringBuilder response = new StringBuilder();
-            String line;
-            while ((line = br.readLine()) != null) {
-                response.append(line);
-            }
-            return response.toString();
+     * 읽은 바이트 수를 세는 입력 스트림.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
         }
     }
 }
@@ -0,0 +1,204 @@
+package analysislunch.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gson.JsonParser;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * {@link JsonReader} 기반의 스트리밍 JSON 경로 추출기.
+ *
+ * <p>트리({@code JsonObject})를 만들지 않고 한 번의 순회로 여러 경로의 값을 모읍니다.
+ * 조회 대상이 아닌 하위 트리는 {@link JsonReader#skipValue()}로 건너뛰므로,
+ * 수 MB 크기의 Gemini 이미지 응답에서도 필요한 값만 메모리에 올라갑니다.
+ *
+ * <p>경로 문법은 점(.)으로 구분한 키와 배열 와일드카드 {@code [*]}입니다.
+ * <pre>
+ * error.code
+ * candidates[*].content.parts[*].text
+ * ok
+ * </pre>
+ *
+ * <p>일치한 값이 문자열/숫자/불리언이면 문자열로, 객체/배열이면 JSON 문자열로 저장합니다.
+ * JSON {@code null}은 저장하지 않습니다. {@code error}와 {@code error.code}처럼 한 경로가 다른 경로의
+ * 접두이면 두 경로 모두 값을 얻습니다.
+ */
+public final class JsonPathExtractor {
+
+    private static final String WILDCARD = "[*]";
+
+    private JsonPathExtractor() {
+        // 유틸리티 클래스 - 인스턴스화 금지
+    }
+
+    /**
+     * JSON 문자열에서 지정한 경로들의 값을 한 번에 추출합니다.
+     *
+     * @param json  JSON 문자열 (null 허용)
+     * @param paths 추출할 경로 목록
+     * @return 추출 결과, 파싱에 실패하면 {@link JsonPathResult#isParsed()}가 {@code false}인 결과
+     */
+    public static JsonPathResult extract(String json, String... paths) {
+        if (json == null || json.isBlank()) {
+            return JsonPathResult.unparsed();
+        }
+        return extract(new StringReader(json), paths);
+    }
+
+    /**
+     * 문자 스트림에서 지정한 경로들의 값을 한 번에 추출합니다.
+     *
+     * @param source JSON 문자 스트림 (호출자가 닫아야 함)
+     * @param paths  추출할 경로 목록
+     * @return 추출 결과, 파싱에 실패하면 {@link JsonPathResult#isParsed()}가 {@code false}인 결과
+     */
+    public static JsonPathResult extract(Reader source, String... paths) {
+        Query query = new Query(paths);
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        try {
+            JsonReader reader = new JsonReader(source);
+            reader.setStrictness(Strictness.LENIENT);
+            new Walker(reader, query, values).walk("");
+            return new JsonPathResult(true, values);
+        } catch (AllFound e) {
+            return new JsonPathResult(true, values);
+        } catch (IOException | RuntimeException e) {
+            // 잘린 응답 등: 순회 중 모은 값은 버리고 파싱 실패로 취급
+            return JsonPathResult.unparsed();
+        }
+    }
+
+    /**
+     * 조회 경로 집합과, 하위로 내려가야 하는 접두 경로 집합.
+     */
+    private static final class Query {
+
+        private final Set<String> targets = new HashSet<>();
+        private final Set<String> prefixes = new HashSet<>();
+        private final boolean hasWildcard;
+
+        private Query(String... paths) {
+            boolean wildcard = false;
+            for (String path : paths) {
+                targets.add(path);
+                wildcard |= path.contains(WILDCARD);
+                for (int i = 0; i < path.length(); i++) {
+                    char c = path.charAt(i);
+                    if (c == '.' || c == '[') {
+                        prefixes.add(path.substring(0, i));
+                    }
+                }
+            }
+            this.hasWildcard = wildcard;
+        }
+    }
+
+    /**
+     * 재귀 하강으로 JSON을 순회하며 조회 경로와 일치하는 값을 모읍니다.
+     */
+    private static final class Walker {
+
+        private final JsonReader reader;
+        private final Query query;
+        private final Map<String, List<String>> values;
+
+        private Walker(JsonReader reader, Query query, Map<String, List<String>> values) {
+            this.reader = reader;
+            this.query = query;
+            this.values = values;
+        }
+
+        private void walk(String path) throws IOException {
+            boolean target = query.targets.contains(path);
+            boolean descend = path.isEmpty() || query.prefixes.contains(path);
+            JsonToken token = reader.peek();
+            boolean container = token == JsonToken.BEGIN_OBJECT || token == JsonToken.BEGIN_ARRAY;
+
+            if (target && descend && container) {
+                captureAndDescend(path);
+            } else if (descend && container) {
+                descendInto(path, token);
+            } else if (target) {
+                capture(path, token);
+            } else {
+                reader.skipValue();
+            }
+        }
+
+        private void descendInto(String path, JsonToken token) throws IOException {
+            if (token == JsonToken.BEGIN_OBJECT) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    walk(path.isEmpty() ? name : path + "." + name);
+                }
+                reader.endObject();
+            } else {
+                reader.beginArray();
+                String elementPath = path + WILDCARD;
+                while (reader.hasNext()) {
+                    walk(elementPath);
+                }
+                reader.endArray();
+            }
+        }
+
+        /**
+         * 조회 경로이면서 더 긴 경로의 접두이기도 한 노드 (예: {@code error}와 {@code error.code}).
+         * 하위 트리를 JSON 문자열로 저장한 뒤, 그 문자열을 다시 읽어 하위 경로도 모읍니다.
+         */
+        private void captureAndDescend(String path) throws IOException {
+            String subtree = JsonParser.parseReader(reader).toString();
+            record(path, subtree);
+            JsonReader nested = new JsonReader(new StringReader(subtree));
+            nested.setStrictness(Strictness.LENIENT);
+            new Walker(nested, query, values).descendInto(path, nested.peek());
+        }
+
+        private void capture(String path, JsonToken token) throws IOException {
+            String value;
+            switch (token) {
+                case NULL -> {
+                    reader.nextNull();
+                    return;
+                }
+                case BOOLEAN -> value = String.valueOf(reader.nextBoolean());
+                case STRING, NUMBER -> value = reader.nextString();
+                default -> value = JsonParser.parseReader(reader).toString();
+            }
+            record(path, value);
+        }
+
+        private void record(String path, String value) {
+            values.computeIfAbsent(path, k -> new ArrayList<>(1)).add(value);
+            // 와일드카드가 없으면 경로마다 값이 하나뿐이므로 모두 찾으면 나머지는 읽지 않음
+            if (!query.hasWildcard && values.size() == query.targets.size()) {
+                throw AllFound.INSTANCE;
+            }
+        }
+    }
+
+    /**
+     * 모든 경로를 찾았을 때 순회를 즉시 끝내기 위한 신호 (스택 트레이스 없음).
+     */
+    private static final class AllFound extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final AllFound INSTANCE = new AllFound();
+
+        private AllFound() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package analysislunch.utils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link JsonPathExtractor}의 추출 결과를 담는 불변 클래스.
+ *
+ * <p>경로마다 문서 순서대로 일치한 값 목록을 보관합니다.
+ */
+public final class JsonPathResult {
+
+    private static final JsonPathResult UNPARSED = new JsonPathResult(false, Map.of());
+
+    private final boolean parsed;
+    private final Map<String, List<String>> values;
+
+    /**
+     * JsonPathResult 생성자.
+     *
+     * @param parsed 응답 전체를 JSON으로 파싱했는지 여부
+     * @param values 경로별 일치 값 목록
+     */
+    JsonPathResult(boolean parsed, Map<String, List<String>> values) {
+        this.parsed = parsed;
+        this.values = values;
+    }
+
+    /**
+     * 파싱에 실패한 결과를 반환합니다.
+     *
+     * @return 값이 없는 파싱 실패 결과
+     */
+    static JsonPathResult unparsed() {
+        return UNPARSED;
+    }
+
+    /**
+     * 입력이 유효한 JSON으로 파싱되었는지 확인합니다.
+     *
+     * @return 파싱에 성공했으면 {@code true}
+     */
+    public boolean isParsed() {
+        return parsed;
+    }
+
+    /**
+     * 경로에 일치한 첫 번째 값을 반환합니다.
+     *
+     * @param path 조회 경로
+     * @return 첫 번째 값, 없으면 {@code null}
+     */
+    public String first(String path) {
+        List<String> list = values.get(path);
+        return list == null || list.isEmpty() ? null : list.get(0);
+    }
+
+    /**
+     * 경로에 일치한 모든 값을 문서 순서대로 반환합니다.
+     *
+     * @param path 조회 경로
+     * @return 값 목록 (없으면 빈 목록)
+     */
+    public List<String> all(String path) {
+        List<String> list = values.get(path);
+        return list == null ? List.of() : Collections.unmodifiableList(list);
+    }
+
+    /**
+     * 경로의 첫 번째 값을 정수로 반환합니다.
+     *
+     * @param path         조회 경로
+     * @param defaultValue 값이 없거나 정수가 아닐 때 반환할 기본값
+     * @return 정수 값 또는 기본값
+     */
+    public long firstLong(String path, long defaultValue) {
+        String value = first(path);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * 경로의 첫 번째 값이 JSON {@code true}인지 확인합니다.
+     *
+     * @param path 조회 경로
+     * @return 값이 {@code "true"}이면 {@code true}
+     */
+    public boolean isTrue(String path) {
+        return "true".equals(first(path));
+    }
+}
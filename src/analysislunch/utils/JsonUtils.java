@@ -1,27 +1,59 @@
 package analysislunch.utils;
 
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParseException;
-import com.google.gson.JsonParser;
-
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * JSON 파싱 유틸리티 클래스.
  *
  * <p>Gemini API 응답, Slack API 응답 등의 JSON 데이터에서 필요한 값을 추출합니다.
+ * 모든 추출은 {@link JsonPathExtractor}의 단일 스트리밍 순회로 수행되며, 여러 값이
+ * 필요한 호출부는 {@link #extractPaths(String, String...)}로 한 번에 가져옵니다.
  */
 @Slf4j
 public final class JsonUtils {
     public static final String FALLBACK_TEXT = "분석 결과 없음";
 
+    /** API 오류 코드 경로 (Gemini/Google). */
+    public static final String PATH_ERROR_CODE = "error.code";
+    /** API 오류 상태 경로 (Gemini/Google). */
+    public static final String PATH_ERROR_STATUS = "error.status";
+    /** Gemini 응답 텍스트 파트 경로. */
+    public static final String PATH_GEMINI_TEXT = "candidates[*].content.parts[*].text";
+    /** Gemini 응답 인라인 이미지 데이터 경로 (camelCase 응답). */
+    public static final String PATH_GEMINI_INLINE_DATA = "candidates[*].content.parts[*].inlineData.data";
+    /** Gemini 응답 인라인 이미지 데이터 경로 (snake_case 응답). */
+    public static final String PATH_GEMINI_INLINE_DATA_SNAKE = "candidates[*].content.parts[*].inline_data.data";
+    /** Gemini 입력 토큰 수 경로. */
+    public static final String PATH_GEMINI_PROMPT_TOKENS = "usageMetadata.promptTokenCount";
+    /** Gemini 출력 토큰 수 경로. */
+    public static final String PATH_GEMINI_OUTPUT_TOKENS = "usageMetadata.candidatesTokenCount";
+    /** Gemini 사고(thinking) 토큰 수 경로. */
+    public static final String PATH_GEMINI_THOUGHTS_TOKENS = "usageMetadata.thoughtsTokenCount";
+    /** Slack/Telegram 응답 성공 여부 경로. */
+    public static final String PATH_OK = "ok";
+    /** Slack 메시지 타임스탬프 경로. */
+    public static final String PATH_TS = "ts";
+
     private JsonUtils() {
         // 유틸리티 클래스 - 인스턴스화 금지
     }
 
+    /**
+     * JSON 문자열에서 여러 경로의 값을 한 번의 스트리밍 순회로 추출합니다.
+     *
+     * @param json  JSON 문자열
+     * @param paths 추출할 경로 목록 (예: {@value #PATH_ERROR_CODE}, {@value #PATH_GEMINI_TEXT})
+     * @return 경로별 추출 결과
+     */
+    public static JsonPathResult extractPaths(String json, String... paths) {
+        JsonPathResult result = JsonPathExtractor.extract(json, paths);
+        if (!result.isParsed() && json != null && !json.isBlank()) {
+            log.warn("JSON 경로 추출 실패 (경로: {})", String.join(", ", paths));
+        }
+        return result;
+    }
+
     /**
      * JSON 문자열의 최상위 객체에서 특정 키의 값을 추출합니다.
      *
@@ -30,16 +62,7 @@ public final class JsonUtils {
      * @return 키에 해당하는 값 문자열, 없거나 파싱 실패 시 {@code null}
      */
     public static String extract(String json, String key) {
-        try {
-            JsonObject root = JsonParser.parseString(json).getAsJsonObject();
-            if (!root.has(key) || root.get(key).isJsonNull()) {
-                return null;
-            }
-            return jsonElementToString(root.get(key));
-        } catch (JsonParseException | IllegalStateException e) {
-            log.warn("JSON에서 키 '{}' 추출 실패: {}", key, e.getMessage());
-            return null;
-        }
+        return extractPaths(json, key).first(key);
     }
 
     /**
@@ -49,37 +72,7 @@ public final class JsonUtils {
      * @return 추출된 텍스트, 없거나 파싱 실패 시 {@value #FALLBACK_TEXT}
      */
     public static String extractGeminiText(String json) {
-        try {
-            JsonObject root = JsonParser.parseString(json).getAsJsonObject();
-            JsonArray candidates = getArray(root, "candidates");
-            if (candidates == null) {
-                return FALLBACK_TEXT;
-            }
-            for (JsonElement candidateEl : candidates) {
-                JsonObject candidate = asObject(candidateEl);
-                if (candidate == null) {
-                    continue;
-                }
-                JsonObject content = getObject(candidate, "content");
-                if (content == null) {
-                    continue;
-                }
-                JsonArray parts = getArray(content, "parts");
-                if (parts == null) {
-                    continue;
-                }
-                for (JsonElement partEl : parts) {
-                    JsonObject part = asObject(partEl);
-                    if (part != null && part.has("text")) {
-                        return jsonElementToString(part.get("text"));
-                    }
-                }
-            }
-            return FALLBACK_TEXT;
-        } catch (JsonParseException | IllegalStateException e) {
-            log.warn("Gemini 응답 텍스트 추출 실패: {}", e.getMessage());
-            return FALLBACK_TEXT;
-        }
+        return geminiText(extractPaths(json, PATH_GEMINI_TEXT));
     }
 
     /**
@@ -89,72 +82,28 @@ public final class JsonUtils {
      * @return Base64 이미지 데이터 문자열, 없거나 파싱 실패 시 {@code null}
      */
     public static String extractImageData(String json) {
-        try {
-            JsonObject root = JsonParser.parseString(json).getAsJsonObject();
-            JsonArray candidates = getArray(root, "candidates");
-            if (candidates == null) {
-                return null;
-            }
-            for (JsonElement candidateEl : candidates) {
-                JsonObject candidate = asObject(candidateEl);
-                if (candidate == null) {
-                    continue;
-                }
-                JsonObject content = getObject(candidate, "content");
-                if (content == null) {
-                    continue;
-                }
-                JsonArray parts = getArray(content, "parts");
-                if (parts == null) {
-                    continue;
-                }
-                for (JsonElement partEl : parts) {
-                    JsonObject part = asObject(partEl);
-                    if (part == null) {
-                        continue;
-                    }
-                    JsonObject inlineData = getObject(part, "inlineData");
-                    if (inlineData == null) {
-                        inlineData = getObject(part, "inline_data");
-                    }
-                    if (inlineData != null && inlineData.has("data")) {
-                        return jsonElementToString(inlineData.get("data"));
-                    }
-                }
-            }
-            return null;
-        } catch (JsonParseException | IllegalStateException e) {
-            log.warn("Gemini 응답 이미지 데이터 추출 실패: {}", e.getMessage());
-            return null;
-        }
+        return geminiImageData(extractPaths(json, PATH_GEMINI_INLINE_DATA, PATH_GEMINI_INLINE_DATA_SNAKE));
     }
 
-    private static JsonObject getObject(JsonObject obj, String key) {
-        if (obj == null || !obj.has(key) || obj.get(key).isJsonNull()) {
-            return null;
-        }
-        return asObject(obj.get(key));
-    }
-
-    private static JsonArray getArray(JsonObject obj, String key) {
-        if (obj == null || !obj.has(key) || obj.get(key).isJsonNull()) {
-            return null;
-        }
-        JsonElement el = obj.get(key);
-        return el.isJsonArray() ? el.getAsJsonArray() : null;
-    }
-
-    private static JsonObject asObject(JsonElement el) {
-        return el != null && el.isJsonObject() ? el.getAsJsonObject() : null;
+    /**
+     * 이미 추출한 결과에서 Gemini 텍스트를 꺼냅니다.
+     *
+     * @param result {@value #PATH_GEMINI_TEXT} 경로를 포함해 추출한 결과
+     * @return 첫 번째 텍스트 파트, 없으면 {@value #FALLBACK_TEXT}
+     */
+    public static String geminiText(JsonPathResult result) {
+        String text = result.first(PATH_GEMINI_TEXT);
+        return text != null ? text : FALLBACK_TEXT;
     }
 
-    private static String jsonElementToString(JsonElement el) {
-        if (el == null || el.isJsonNull()) {
-            return null;
-        }
-        if (el.isJsonPrimitive()) {
-            return el.getAsJsonPrimitive().getAsString();
-        }
-        return el.toString();
+    /**
+     * 이미 추출한 결과에서 Gemini 인라인 이미지 데이터를 꺼냅니다.
+     *
+     * @param result 인라인 이미지 경로 두 가지를 포함해 추출한 결과
+     * @return Base64 이미지 데이터, 없으면 {@code null}
+     */
+    public static String geminiImageData(JsonPathResult result) {
+        String data = result.first(PATH_GEMINI_INLINE_DATA);
+        return data != null ? data : result.first(PATH_GEMINI_INLINE_DATA_SNAKE);
     }
 }
@@ -0,0 +1,61 @@
+package analysislunch.utils;
+
+import java.util.function.Supplier;
+
+/**
+ * 처음 {@link #get()}할 때 한 번만 값을 만드는 스레드 안전한 지연 초기화 래퍼.
+ *
+ * <p>팩토리가 {@code null}을 반환해도 그 결과를 기억하므로, 설정이 없어 만들지 않는
+ * 선택 채널 클라이언트에도 그대로 쓸 수 있습니다.
+ *
+ * @param <T> 값 타입
+ */
+public final class Lazy<T> implements Supplier<T> {
+
+    private Supplier<? extends T> factory;
+    private volatile boolean initialized;
+    private T value;
+
+    private Lazy(Supplier<? extends T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * 지연 초기화 래퍼를 생성합니다.
+     *
+     * @param factory 값을 만드는 함수 (최대 한 번 호출됨)
+     * @param <T>     값 타입
+     * @return {@link Lazy} 인스턴스
+     */
+    public static <T> Lazy<T> of(Supplier<? extends T> factory) {
+        return new Lazy<>(factory);
+    }
+
+    /**
+     * 값을 반환합니다. 처음 호출될 때 팩토리를 실행합니다.
+     *
+     * @return 값 (팩토리가 {@code null}을 반환했으면 {@code null})
+     */
+    @Override
+    public T get() {
+        if (!initialized) {
+            synchronized (this) {
+                if (!initialized) {
+                    value = factory.get();
+                    factory = null;
+                    initialized = true;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 값이 이미 만들어졌는지 확인합니다.
+     *
+     * @return 초기화가 끝났으면 {@code true}
+     */
+    public boolean isInitialized() {
+        return initialized;
+    }
+}
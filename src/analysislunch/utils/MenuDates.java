@@ -0,0 +1,106 @@
+package analysislunch.utils;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * OCR로 읽은 메뉴 날짜 문자열을 {@link LocalDate}로 바꾸는 유틸리티 클래스.
+ *
+ * <p>메뉴판 날짜는 {@code 2026-10-20}, {@code 2026년 10월 20일}처럼 연도가 있을 때도 있지만
+ * {@code 10월 20일 (월)}, {@code 10/20(월)}처럼 월/일만 있는 경우가 더 흔합니다. 연도가 없으면
+ * 기준 날짜(실행 날짜)에 가장 가까운 해로 정하므로, 1월에 읽은 {@code 12/31}은 전년도가 됩니다.
+ * 이력과 API의 날짜 키는 모두 이 클래스로 정규화한 ISO 날짜를 씁니다.
+ */
+public final class MenuDates {
+
+    /** 식당이 있는 지역의 시간대. 실행 날짜와 "오늘"은 이 시간대로 셉니다. */
+    public static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private static final Pattern YEAR_MONTH_DAY = Pattern.compile("(\\d{4})\\D{1,3}(\\d{1,2})\\D{1,3}(\\d{1,2})");
+    private static final Pattern KOREAN_MONTH_DAY = Pattern.compile("(\\d{1,2})\\s*월\\s*(\\d{1,2})\\s*일");
+    private static final Pattern NUMERIC_MONTH_DAY = Pattern.compile("(?<!\\d)(\\d{1,2})\\s*[/.]\\s*(\\d{1,2})(?!\\d)");
+
+    private MenuDates() {
+        // 유틸리티 클래스 - 인스턴스화 금지
+    }
+
+    /**
+     * {@link #ZONE} 기준 오늘 날짜를 반환합니다.
+     *
+     * @return 오늘 날짜
+     */
+    public static LocalDate today() {
+        return LocalDate.now(ZONE);
+    }
+
+    /**
+     * 메뉴 날짜 문자열을 오늘을 기준으로 읽습니다.
+     *
+     * @param text 메뉴 날짜 문자열
+     * @return 날짜, 읽지 못하면 {@code null}
+     * @see #parse(String, LocalDate)
+     */
+    public static LocalDate parse(String text) {
+        return parse(text, today());
+    }
+
+    /**
+     * 메뉴 날짜 문자열을 읽습니다. 연도가 없으면 {@code reference}에 가장 가까운 해로 정합니다.
+     *
+     * @param text      {@code yyyy-MM-dd}, {@code M월 d일} 또는 {@code M/d} 형식이 들어 있는 문자열
+     * @param reference 연도가 없을 때 기준으로 삼을 날짜 (보통 실행 날짜)
+     * @return 날짜, 읽지 못하면 {@code null}
+     */
+    public static LocalDate parse(String text, LocalDate reference) {
+        if (text == null) {
+            return null;
+        }
+        try {
+            Matcher matcher = YEAR_MONTH_DAY.matcher(text);
+            if (matcher.find()) {
+                return LocalDate.of(Integer.parseInt(matcher.group(1)),
+                    Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(3)));
+            }
+            matcher = KOREAN_MONTH_DAY.matcher(text);
+            if (!matcher.find()) {
+                matcher = NUMERIC_MONTH_DAY.matcher(text);
+                if (!matcher.find()) {
+                    return null;
+                }
+            }
+            return nearest(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)), reference);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 기준 날짜의 전년/같은 해/다음 해 중 기준에 가장 가까운 월/일을 고릅니다.
+     */
+    private static LocalDate nearest(int month, int day, LocalDate reference) {
+        LocalDate best = null;
+        for (int year = reference.getYear() - 1; year <= reference.getYear() + 1; year++) {
+            LocalDate candidate;
+            try {
+                candidate = LocalDate.of(year, month, day);
+            } catch (DateTimeException e) {
+                // 2월 29일처럼 해에 따라 없는 날짜는 그 해만 건너뜁니다.
+                continue;
+            }
+            if (best == null || distance(candidate, reference) < distance(best, reference)) {
+                best = candidate;
+            }
+        }
+        if (best == null) {
+            throw new DateTimeException("없는 날짜: " + month + "/" + day);
+        }
+        return best;
+    }
+
+    private static long distance(LocalDate date, LocalDate reference) {
+        return Math.abs(date.toEpochDay() - reference.toEpochDay());
+    }
+}
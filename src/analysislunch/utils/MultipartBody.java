@@ -0,0 +1,139 @@
+package analysislunch.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * multipart/form-data 요청 본문.
+ *
+ * <p>텍스트 필드와 파일 파트를 원하는 수만큼 순서대로 담습니다. 파트 헤더는 추가할 때
+ * 미리 인코딩해 두고 파일은 크기만 기록하므로, 전송 전에 정확한 {@code Content-Length}를
+ * 알 수 있습니다. 덕분에 {@link HttpUtils}가 고정 길이 스트리밍으로 보내 파일 바이트가
+ * 메모리에 쌓이지 않고 소켓으로 바로 나갑니다. 경계 문자열은 본문마다 무작위로 만듭니다.
+ * <pre>
+ * MultipartBody body = new MultipartBody()
+ *     .field("payload_json", json)
+ *     .file("files[0]", foodImage, "image/png")
+ *     .file("files[1]", cardImage, "image/png");
+ * </pre>
+ */
+public final class MultipartBody {
+
+    private static final String CRLF = "\r\n";
+    private static final String TWO_HYPHENS = "--";
+    private static final String BOUNDARY_PREFIX = "----analysisLunchBoundary";
+    private static final String TEXT_CONTENT_TYPE = "text/plain; charset=UTF-8";
+
+    private final String boundary = BOUNDARY_PREFIX + UUID.randomUUID().toString().replace("-", "");
+    private final List<Part> parts = new ArrayList<>();
+
+    /**
+     * 텍스트 필드를 추가합니다.
+     *
+     * @param name  필드명
+     * @param value 값 (UTF-8로 인코딩)
+     * @return 이 본문
+     */
+    public MultipartBody field(String name, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        parts.add(new Part(header(name, null, TEXT_CONTENT_TYPE), bytes, null, bytes.length));
+        return this;
+    }
+
+    /**
+     * 파일 파트를 추가합니다. 파일 내용은 {@link #writeTo(OutputStream)} 때 읽습니다.
+     *
+     * @param name        필드명 (예: Telegram "photo0", Discord "files[0]")
+     * @param file        업로드할 파일
+     * @param contentType 파트의 Content-Type (예: "image/png")
+     * @return 이 본문
+     */
+    public MultipartBody file(String name, File file, String contentType) {
+        parts.add(new Part(header(name, file.getName(), contentType), null, file, file.length()));
+        return this;
+    }
+
+    /**
+     * 요청 헤더에 넣을 Content-Type 값을 반환합니다.
+     *
+     * @return 경계 문자열을 포함한 {@code multipart/form-data} 값
+     */
+    public String contentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    /**
+     * 본문 전체 바이트 수를 반환합니다.
+     *
+     * @return 종료 경계까지 포함한 본문 길이
+     */
+    public long contentLength() {
+        long length = closing().length;
+        for (Part part : parts) {
+            length += part.header().length + part.length() + CRLF.length();
+        }
+        return length;
+    }
+
+    /**
+     * 본문을 출력 스트림에 씁니다. 파일 파트는 디스크에서 스트림으로 바로 복사합니다.
+     *
+     * @param os 출력 스트림
+     * @return 쓴 바이트 수
+     * @throws IOException 파일 읽기 또는 쓰기 실패 시
+     */
+    public long writeTo(OutputStream os) throws IOException {
+        long written = 0;
+        byte[] crlf = CRLF.getBytes(StandardCharsets.US_ASCII);
+        for (Part part : parts) {
+            os.write(part.header());
+            if (part.file() != null) {
+                written += Files.copy(part.file().toPath(), os);
+            } else {
+                os.write(part.value());
+                written += part.value().length;
+            }
+            os.write(crlf);
+            written += part.header().length + crlf.length;
+        }
+        byte[] closing = closing();
+        os.write(closing);
+        return written + closing.length;
+    }
+
+    private byte[] header(String name, String filename, String contentType) {
+        StringBuilder header = new StringBuilder();
+        header.append(TWO_HYPHENS).append(boundary).append(CRLF);
+        header.append("Content-Disposition: form-data; name=\"").append(quote(name)).append('"');
+        if (filename != null) {
+            header.append("; filename=\"").append(quote(filename)).append('"');
+        }
+        header.append(CRLF);
+        header.append("Content-Type: ").append(contentType).append(CRLF);
+        header.append(CRLF);
+        return header.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] closing() {
+        return (TWO_HYPHENS + boundary + TWO_HYPHENS + CRLF).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 헤더의 따옴표 값 안에서 쓸 수 없는 문자를 HTML 폼 전송 규칙대로 퍼센트 인코딩합니다.
+     */
+    private static String quote(String value) {
+        return value.replace("\"", "%22").replace("\r", "%0D").replace("\n", "%0A");
+    }
+
+    /**
+     * 미리 인코딩한 파트 헤더와 내용(텍스트 바이트 또는 파일).
+     */
+    private record Part(byte[] header, byte[] value, File file, long length) {
+    }
+}
@@ -0,0 +1,70 @@
+package analysislunch.utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 고정 속도로 허가를 내주는 스레드 안전한 토큰 버킷.
+ *
+ * <p>{@link #acquire()}는 다음 허가 시각을 예약한 뒤 잠금 밖에서 기다리므로, 여러
+ * 스레드가 동시에 호출해도 허가가 정해진 간격으로 한 줄로 나갑니다. 서버가 429로
+ * 재시도 시각을 알려 주면 {@link #pauseFor(long)}로 모든 호출자를 함께 늦춥니다.
+ *
+ * <p>기다려야 할 시간이 현재 스레드의 {@link Deadline}을 넘으면 허가를 예약하지 않고 바로 실패하므로,
+ * 긴 {@code Retry-After}가 실행 기한을 잡아먹지 않습니다.
+ */
+public final class RateLimiter {
+
+    private final long intervalNanos;
+    private final long maxBurstNanos;
+    private long nextFreeNanos;
+
+    /**
+     * RateLimiter 생성자.
+     *
+     * @param permitsPerSecond 초당 허가 수
+     * @param burst            쉬고 난 뒤 연달아 내줄 수 있는 최대 허가 수 (1 이상)
+     */
+    public RateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("허가 속도와 버스트는 양수여야 합니다: " + permitsPerSecond + ", " + burst);
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.maxBurstNanos = intervalNanos * (burst - 1);
+        this.nextFreeNanos = System.nanoTime() - maxBurstNanos;
+    }
+
+    /**
+     * 허가를 하나 받을 때까지 기다립니다.
+     *
+     * @throws DeadlineExceededException 허가를 받기 전에 현재 기한이 지날 때
+     * @throws InterruptedException      기다리는 중 인터럽트되었을 때
+     */
+    public void acquire() throws DeadlineExceededException, InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            // 오래 쉬었어도 버스트 이상은 몰아서 내주지 않습니다.
+            long slot = Math.max(nextFreeNanos, now - maxBurstNanos);
+            waitNanos = slot - now;
+            // 기한 안에 못 받을 허가는 예약하지 않아야 뒤 호출자의 순서를 밀지 않습니다.
+            if (waitNanos > 0 && !Deadline.allows(TimeUnit.NANOSECONDS.toMillis(waitNanos))) {
+                throw new DeadlineExceededException(
+                    "실행 기한 안에 요청 허가를 받을 수 없음: " + TimeUnit.NANOSECONDS.toMillis(waitNanos) + "ms 대기 필요");
+            }
+            nextFreeNanos = slot + intervalNanos;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * 지금부터 지정한 시간 동안 새 허가를 내주지 않습니다.
+     *
+     * @param millis 멈출 시간(ms)
+     */
+    public synchronized void pauseFor(long millis) {
+        long resumeAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        nextFreeNanos = Math.max(nextFreeNanos, resumeAt);
+    }
+}
@@ -0,0 +1,92 @@
+package analysislunch.utils;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * TCP 연결 완료 시각을 기록하는 {@link SSLSocketFactory} 래퍼.
+ *
+ * <p>JDK의 {@code HttpsURLConnection}은 팩토리가 미연결 소켓 생성을 지원하지 않으면
+ * ({@link javax.net.SocketFactory#createSocket()} 기본 구현) 평문 TCP 소켓으로 먼저
+ * 연결한 뒤 {@link #createSocket(Socket, String, int, boolean)}으로 TLS를 얹습니다.
+ * 이 래퍼는 그 시점을 TCP 연결 완료 시각으로 기록하여, {@code connect()} 전체
+ * 시간을 TCP 연결과 TLS 핸드셰이크로 나눌 수 있게 합니다.
+ *
+ * <p>keep-alive 캐시는 팩토리 동일성으로 연결을 재사용하므로 단일 인스턴스만 사용합니다.
+ */
+final class TimingSslSocketFactory extends SSLSocketFactory {
+
+    private static final ThreadLocal<long[]> TCP_CONNECTED_AT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final SSLSocketFactory delegate;
+
+    TimingSslSocketFactory(SSLSocketFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 현재 스레드의 TCP 연결 완료 시각 기록을 초기화합니다.
+     */
+    static void reset() {
+        TCP_CONNECTED_AT.get()[0] = 0L;
+    }
+
+    /**
+     * 현재 스레드에서 마지막으로 TLS를 얹은 시각(= TCP 연결 완료 시각)을 반환합니다.
+     *
+     * @return {@link System#nanoTime()} 기준 시각, 이번 요청에서 새 연결이 없었으면 0
+     */
+    static long tcpConnectedAt() {
+        return TCP_CONNECTED_AT.get()[0];
+    }
+
+    @Override
+    public Socket createSocket(Socket socket, String host, int port, boolean autoClose) throws IOException {
+        TCP_CONNECTED_AT.get()[0] = System.nanoTime();
+        return delegate.createSocket(socket, host, port, autoClose);
+    }
+
+    @Override
+    public String[] getDefaultCipherSuites() {
+        return delegate.getDefaultCipherSuites();
+    }
+
+    @Override
+    public String[] getSupportedCipherSuites() {
+        return delegate.getSupportedCipherSuites();
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        return delegate.createSocket(host, port);
+    }
+
+    @Override
+    public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+        return delegate.createSocket(host, port, localHost, localPort);
+    }
+
+    @Override
+    public Socket createSocket(InetAddress host, int port) throws IOException {
+        return delegate.createSocket(host, port);
+    }
+
+    @Override
+    public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort)
+            throws IOException {
+        return delegate.createSocket(address, port, localAddress, localPort);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof TimingSslSocketFactory that && that.delegate.equals(delegate);
+    }
+
+    @Override
+    public int hashCode() {
+        return delegate.hashCode();
+    }
+}
@@ -0,0 +1,42 @@
+package analysislunch.utils;
+
+/**
+ * HTTP 요청 1건의 구간별 소요 시간과 송수신 바이트.
+ *
+ * <p>구간은 요청 순서대로 DNS 조회 → TCP 연결 → TLS 핸드셰이크 → 요청 전송 →
+ * 첫 바이트 대기(TTFB) → 본문 수신입니다. keep-alive로 재사용된 연결은
+ * 연결/TLS 구간이 0이고 {@code reused}가 {@code true}입니다.
+ *
+ * @param epochMillis   요청 시작 시각 (Unix ms)
+ * @param operation     논리 작업 이름 (예: "gemini.ocr", "slack.uploadBinary")
+ * @param method        HTTP 메서드
+ * @param host          대상 호스트
+ * @param status        응답 코드 (응답을 받지 못했으면 -1)
+ * @param dnsNanos      DNS 조회 시간(ns)
+ * @param connectNanos  TCP 연결 시간(ns)
+ * @param tlsNanos      TLS 핸드셰이크 시간(ns)
+ * @param sendNanos     요청 본문 전송 시간(ns)
+ * @param firstByteNanos 요청 전송 완료부터 응답 헤더 수신까지의 시간(ns)
+ * @param transferNanos 응답 본문 수신 시간(ns)
+ * @param totalNanos    전체 소요 시간(ns)
+ * @param requestBytes  송신 본문 바이트
+ * @param responseBytes 수신 본문 바이트
+ * @param reused        keep-alive 연결 재사용 여부
+ */
+public record WireTiming(
+        long epochMillis,
+        String operation,
+        String method,
+        String host,
+        int status,
+        long dnsNanos,
+        long connectNanos,
+        long tlsNanos,
+        long sendNanos,
+        long firstByteNanos,
+        long transferNanos,
+        long totalNanos,
+        long requestBytes,
+        long responseBytes,
+        boolean reused) {
+}
@@ -0,0 +1,235 @@
+package analysislunch.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * HTTP 요청별 {@link WireTiming} 샘플을 모으고, 실행 단위로 요약/기록하는 클래스.
+ *
+ * <p>호출부는 {@link #operation(String)}으로 논리 작업 이름을 지정합니다. 이름은
+ * 현재 스레드에만 적용되며, 스코프를 닫으면 이전 이름으로 돌아갑니다.
+ * <pre>
+ * try (WireTimingRecorder.Scope scope = WireTimingRecorder.operation("slack.uploadBinary")) {
+ *     HttpUtils.uploadBinary(uploadUrl, file);
+ * }
+ * </pre>
+ *
+ * <p>실행이 끝나면 {@link #drain()}으로 샘플을 꺼내 {@link #summarize(List)}로 요약 표를
+ * 로그에 남기고, {@link #appendJsonl(List, Path)}로 원본 샘플을 JSONL 파일에 덧붙입니다.
+ */
+public final class WireTimingRecorder {
+
+    private static final ThreadLocal<String> OPERATION = new ThreadLocal<>();
+    private static final ConcurrentLinkedQueue<WireTiming> SAMPLES = new ConcurrentLinkedQueue<>();
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private WireTimingRecorder() {
+        // 유틸리티 클래스 - 인스턴스화 금지
+    }
+
+    /**
+     * 현재 스레드의 논리 작업 이름을 지정합니다.
+     *
+     * @param name 작업 이름 (예: "gemini.ocr", "github.put")
+     * @return 닫으면 이전 이름을 복원하는 스코프
+     */
+    public static Scope operation(String name) {
+        String previous = OPERATION.get();
+        OPERATION.set(name);
+        return new Scope(previous);
+    }
+
+    /**
+     * 현재 스레드의 논리 작업 이름을 반환합니다.
+     *
+     * @param fallback 지정된 이름이 없을 때 사용할 이름
+     * @return 작업 이름
+     */
+    static String currentOperation(String fallback) {
+        String name = OPERATION.get();
+        return name != null ? name : fallback;
+    }
+
+    /**
+     * 샘플을 기록합니다.
+     *
+     * @param timing 요청 1건의 구간별 측정값
+     */
+    static void record(WireTiming timing) {
+        SAMPLES.add(timing);
+    }
+
+    /**
+     * 지금까지 기록된 샘플을 모두 꺼냅니다.
+     *
+     * @return 기록 순서대로 정렬된 샘플 목록
+     */
+    public static List<WireTiming> drain() {
+        List<WireTiming> drained = new ArrayList<>();
+        WireTiming timing;
+        while ((timing = SAMPLES.poll()) != null) {
+            drained.add(timing);
+        }
+        return drained;
+    }
+
+    /**
+     * 작업/호스트별 구간 평균과 최댓값을 표 형태의 문자열로 요약합니다.
+     *
+     * @param samples 요약할 샘플 목록
+     * @return 여러 줄의 요약 표 (샘플이 없으면 빈 문자열)
+     */
+    public static String summarize(List<WireTiming> samples) {
+        if (samples.isEmpty()) {
+            return "";
+        }
+        Map<String, List<WireTiming>> groups = new TreeMap<>();
+        for (WireTiming timing : samples) {
+            groups.computeIfAbsent(timing.operation() + " @ " + timing.host(), k -> new ArrayList<>()).add(timing);
+        }
+
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-48s %3s %8s %8s %8s %8s %9s %9s %9s %10s %10s%n",
+            "operation @ host", "n", "dns", "connect", "tls", "send", "ttfb", "transfer", "max", "sent", "received"));
+        for (Map.Entry<String, List<WireTiming>> entry : groups.entrySet()) {
+            List<WireTiming> group = entry.getValue();
+            long dns = 0;
+            long connect = 0;
+            long tls = 0;
+            long send = 0;
+            long ttfb = 0;
+            long transfer = 0;
+            long max = 0;
+            long sent = 0;
+            long received = 0;
+            for (WireTiming t : group) {
+                dns += t.dnsNanos();
+                connect += t.connectNanos();
+                tls += t.tlsNanos();
+                send += t.sendNanos();
+                ttfb += t.firstByteNanos();
+                transfer += t.transferNanos();
+                max = Math.max(max, t.totalNanos());
+                sent += t.requestBytes();
+                received += t.responseBytes();
+            }
+            int n = group.size();
+            table.append(String.format("%-48s %3d %8s %8s %8s %8s %9s %9s %9s %10d %10d%n",
+                entry.getKey(), n, ms(dns / n), ms(connect / n), ms(tls / n), ms(send / n),
+                ms(ttfb / n), ms(transfer / n), ms(max), sent, received));
+        }
+        return table.toString();
+    }
+
+    /**
+     * 샘플을 한 줄에 하나씩 JSON으로 파일에 덧붙입니다.
+     *
+     * @param samples 기록할 샘플 목록
+     * @param file    대상 JSONL 파일 (없으면 생성)
+     * @throws IOException 파일 쓰기 실패 시
+     */
+    public static void appendJsonl(List<WireTiming> samples, Path file) throws IOException {
+        if (samples.isEmpty()) {
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (WireTiming t : samples) {
+                writer.write(toJson(t));
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * 샘플 1건을 JSON 한 줄로 만듭니다.
+     *
+     * <p>조기 종료 실행도 이 경로를 지나므로 Gson을 로드하지 않도록 직접 작성합니다.
+     * 문자열 필드는 작업 이름, 메서드, 호스트뿐이라 이스케이프 규칙이 단순합니다.
+     */
+    private static String toJson(WireTiming t) {
+        StringBuilder json = new StringBuilder(320);
+        json.append("{\"ts\":").append(t.epochMillis());
+        json.append(",\"op\":");
+        appendString(json, t.operation());
+        json.append(",\"method\":");
+        appendString(json, t.method());
+        json.append(",\"host\":");
+        appendString(json, t.host());
+        json.append(",\"status\":").append(t.status());
+        json.append(",\"dns_ms\":").append(t.dnsNanos() / NANOS_PER_MILLI);
+        json.append(",\"connect_ms\":").append(t.connectNanos() / NANOS_PER_MILLI);
+        json.append(",\"tls_ms\":").append(t.tlsNanos() / NANOS_PER_MILLI);
+        json.append(",\"send_ms\":").append(t.sendNanos() / NANOS_PER_MILLI);
+        json.append(",\"ttfb_ms\":").append(t.firstByteNanos() / NANOS_PER_MILLI);
+        json.append(",\"transfer_ms\":").append(t.transferNanos() / NANOS_PER_MILLI);
+        json.append(",\"total_ms\":").append(t.totalNanos() / NANOS_PER_MILLI);
+        json.append(",\"req_bytes\":").append(t.requestBytes());
+        json.append(",\"resp_bytes\":").append(t.responseBytes());
+        json.append(",\"reused\":").append(t.reused());
+        return json.append('}').toString();
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    private static String ms(long nanos) {
+        return String.format("%.1fms", nanos / NANOS_PER_MILLI);
+    }
+
+    /**
+     * {@link #operation(String)}로 지정한 작업 이름의 유효 범위.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final String previous;
+
+        private Scope(String previous) {
+            this.previous = previous;
+        }
+
+        /**
+         * 이전 작업 이름을 복원합니다.
+         */
+        @Override
+        public void close() {
+            if (previous == null) {
+                OPERATION.remove();
+            } else {
+                OPERATION.set(previous);
+            }
+        }
+    }
+}